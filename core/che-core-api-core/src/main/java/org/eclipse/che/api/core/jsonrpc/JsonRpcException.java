@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Json rpc error received from endpoint in response to a request. Futures
+ * of transmitted requests are completed exceptionally with this exception
+ * when endpoint responds with an error object.
+ */
+public class JsonRpcException extends RuntimeException {
+    private final int         code;
+    private final JsonElement data;
+
+    public JsonRpcException(int code, String message, JsonElement data) {
+        super(message);
+        this.code = code;
+        this.data = data;
+    }
+
+    /** Returns error code as defined by json rpc 2.0 specification or by endpoint. */
+    public int getCode() {
+        return code;
+    }
+
+    /** Returns additional information about the error or {@code null} if endpoint provided none. */
+    public JsonElement getData() {
+        return data;
+    }
+}
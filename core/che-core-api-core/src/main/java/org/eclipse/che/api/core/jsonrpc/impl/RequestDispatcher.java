@@ -55,6 +55,25 @@ public class RequestDispatcher {
      *         json object
      */
     public void dispatch(String endpointId, JsonObject incomingJson) {
+        final JsonObject response = handle(endpointId, incomingJson);
+        LOG.debug("Generated response: " + response);
+
+        transmitter.transmit(endpointId, response.toString());
+    }
+
+    /**
+     * Handles json rpc request received from endpoint identified by a high
+     * level identifier and returns response without transmitting it, so
+     * responses to requests of a batch can be transmitted together.
+     *
+     * @param endpointId
+     *         high level endpoint identifier
+     * @param incomingJson
+     *         json object
+     *
+     * @return response or error represented as a json object
+     */
+    public JsonObject handle(String endpointId, JsonObject incomingJson) {
         LOG.debug("Dispatching incoming request from: " + endpointId + ", json: " + incomingJson);
 
         final String id = incomingJson.get("id").getAsString();
@@ -67,8 +86,7 @@ public class RequestDispatcher {
         if (handler == null) {
             LOG.error("Handler not found: " + method);
             // TODO make a centralized standard errors structure
-            transmitter.transmit(endpointId, error(-32601, "Method not found: " + method));
-            return;
+            return prepareError(id, -32601, "Method not found: " + method);
         }
 
         final Class resultClass = handler.getResultClass();
@@ -76,22 +94,24 @@ public class RequestDispatcher {
 
 
         JsonElement result;
-        if (incomingJson.has("params")) {
-            final JsonObject params = incomingJson.get("params").getAsJsonObject();
-            LOG.debug("Request is parametrized, processing parameters: " + params);
-
-            final Class paramsClass = handler.getParamsClass();
-            LOG.debug("Extracted request params class: " + paramsClass);
-            result = response(endpointId, handler, params, paramsClass, resultClass);
-        } else {
-            LOG.debug("Request is not parametrized.");
-            result = response(endpointId, handler, null, null, resultClass);
+        try {
+            if (incomingJson.has("params")) {
+                final JsonObject params = incomingJson.get("params").getAsJsonObject();
+                LOG.debug("Request is parametrized, processing parameters: " + params);
+
+                final Class paramsClass = handler.getParamsClass();
+                LOG.debug("Extracted request params class: " + paramsClass);
+                result = response(endpointId, handler, params, paramsClass, resultClass);
+            } else {
+                LOG.debug("Request is not parametrized.");
+                result = response(endpointId, handler, null, null, resultClass);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Error while handling request " + method + " from " + endpointId, e);
+            return prepareError(id, -32603, "Internal error: " + e.getMessage());
         }
 
-        final JsonElement response = prepareResponse(id, result);
-        LOG.debug("Generated response: " + response);
-
-        transmitter.transmit(endpointId, response.toString());
+        return prepareResponse(id, result);
     }
 
     private <P, R> JsonElement response(String endpointId,
@@ -132,7 +152,7 @@ public class RequestDispatcher {
     }
 
 
-    private JsonElement prepareResponse(String id, JsonElement result) {
+    private JsonObject prepareResponse(String id, JsonElement result) {
         final JsonObject response = new JsonObject();
 
         response.addProperty("jsonrpc", "2.0");
@@ -142,12 +162,22 @@ public class RequestDispatcher {
         return response;
     }
 
-    private String error(int code, String message) {
+    /**
+     * Prepares json rpc error response, identifier is {@code null} when
+     * it can't be extracted from the request.
+     */
+    static JsonObject prepareError(String id, int code, String message) {
+        final JsonObject error = new JsonObject();
+
+        error.addProperty("code", code);
+        error.addProperty("message", message);
+
         final JsonObject response = new JsonObject();
 
-        response.addProperty("code", code);
-        response.addProperty("message", message);
+        response.addProperty("jsonrpc", "2.0");
+        response.addProperty("id", id);
+        response.add("error", error);
 
-        return response.toString();
+        return response;
     }
 }
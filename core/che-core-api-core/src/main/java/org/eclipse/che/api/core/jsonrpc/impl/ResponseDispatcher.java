@@ -10,19 +10,23 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import org.eclipse.che.api.core.jsonrpc.JsonRpcException;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Singleton;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Dispatches incoming json rpc responses
+ * Dispatches incoming json rpc responses. Futures are registered by transmitting
+ * threads and resolved by threads which receive responses, so pending responses
+ * are kept in concurrent map and each of them is resolved once.
  *
  * @author Dmitry Kuleshov
  */
@@ -30,8 +34,7 @@ import java.util.concurrent.CompletableFuture;
 public class ResponseDispatcher {
     private static final Logger LOG = LoggerFactory.getLogger(ResponseDispatcher.class);
 
-    private final Map<String, CompletableFuture> futures       = new HashMap<>();
-    private final Map<String, Class<?>>          resultClasses = new HashMap<>();
+    private final Map<String, PendingResponse<?>> pendingResponses = new ConcurrentHashMap<>();
 
     /**
      * Dispatches json rpc response received from endpoint identified by a high
@@ -51,24 +54,22 @@ public class ResponseDispatcher {
         final String key = endpointId + '@' + id;
         LOG.debug("Combined response key: " + key);
 
-        final Class resultClass = resultClasses.get(key);
-        LOG.debug("Extracted result class: " + resultClass);
-
-        final CompletableFuture completableFuture = futures.get(key);
+        final PendingResponse<?> pendingResponse = pendingResponses.remove(key);
+        if (pendingResponse == null) {
+            LOG.error("Response {} wasn't expected or was already dispatched", key);
+            return;
+        }
+        LOG.debug("Extracted result class: " + pendingResponse.resultClass);
 
         if (incomingJson.has("result")) {
             LOG.debug("Response contains result field, processing result");
 
             final JsonObject result = incomingJson.get("result").getAsJsonObject();
-            final Object dto = DtoFactory.getInstance().createDtoFromJson(result.toString(), resultClass);
-
-            completableFuture.complete(dto);
+            pendingResponse.complete(result);
         } else {
             LOG.debug("Response contains error field, processing error");
 
-            final String error = "Error processing is not yet supported";
-            LOG.error(error);
-            throw new UnsupportedOperationException(error);
+            pendingResponse.future.completeExceptionally(toException(incomingJson.get("error")));
         }
 
     }
@@ -87,9 +88,34 @@ public class ResponseDispatcher {
      * @return completable future based on result represented by DTO
      */
     public <R> CompletableFuture<R> getCompletableFuture(String endpointId, String requestId, Class<R> resultClass) {
+        final PendingResponse<R> pendingResponse = new PendingResponse<>(resultClass);
+        pendingResponses.put(endpointId + '@' + requestId, pendingResponse);
+        return pendingResponse.future;
+    }
+
+    private static JsonRpcException toException(JsonElement error) {
+        if (error == null || !error.isJsonObject()) {
+            return new JsonRpcException(-32603, "Improper json rpc error: " + error, null);
+        }
+        final JsonObject errorObject = error.getAsJsonObject();
+        final int code = errorObject.has("code") ? errorObject.get("code").getAsInt() : -32603;
+        final String message = errorObject.has("message") ? errorObject.get("message").getAsString() : null;
+        final JsonElement data = errorObject.get("data");
+        LOG.debug("Extracted error code: {}, message: {}", code, message);
+
+        return new JsonRpcException(code, message, data);
+    }
+
+    private static class PendingResponse<R> {
         final CompletableFuture<R> future = new CompletableFuture<>();
-        futures.put(endpointId + '@' + requestId, future);
-        resultClasses.put(endpointId + '@' + requestId, resultClass);
-        return future;
+        final Class<R>             resultClass;
+
+        PendingResponse(Class<R> resultClass) {
+            this.resultClass = resultClass;
+        }
+
+        void complete(JsonObject result) {
+            future.complete(DtoFactory.getInstance().createDtoFromJson(result.toString(), resultClass));
+        }
     }
 }
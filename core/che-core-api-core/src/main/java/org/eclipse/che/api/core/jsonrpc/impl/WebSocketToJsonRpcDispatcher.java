@@ -10,20 +10,46 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
 import org.eclipse.che.api.core.websocket.WebSocketMessageReceiver;
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Dispatches messages received from web socket endpoint throughout json rpc
  * inner infrastructure.
+ * <p>
+ * Message may be a single json rpc object or a batch - an array of requests,
+ * notifications and responses. Responses to requests of a batch are transmitted
+ * back as a single array when all of them are handled.
+ * <p>
+ * Requests and notifications are handled by the worker pool, so web socket receiving
+ * thread isn't blocked by handlers. Requests are handled concurrently, while notifications
+ * of an endpoint are handled one by one in order of receiving, as they usually change
+ * state (e.g. start and stop tracking of a file). Responses only resolve futures, so they
+ * are dispatched immediately.
  *
  * @author Dmitry Kuleshov
  */
@@ -31,17 +57,43 @@ import javax.inject.Singleton;
 public class WebSocketToJsonRpcDispatcher implements WebSocketMessageReceiver {
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketToJsonRpcDispatcher.class);
 
-    private final RequestDispatcher      requestDispatcher;
-    private final NotificationDispatcher notificationDispatcher;
-    private final ResponseDispatcher     responseDispatcher;
+    private final RequestDispatcher           requestDispatcher;
+    private final NotificationDispatcher      notificationDispatcher;
+    private final ResponseDispatcher          responseDispatcher;
+    private final WebSocketMessageTransmitter transmitter;
+    private final Executor                    executor;
+    /** Notifications waiting to be handled per endpoint, endpoint is present while its notifications are handled. */
+    private final Map<String, Deque<Runnable>> notifications = new HashMap<>();
 
+    /**
+     * @param poolSize
+     *         max number of threads which handle requests and notifications
+     */
     @Inject
     public WebSocketToJsonRpcDispatcher(RequestDispatcher requestDispatcher,
                                         NotificationDispatcher notificationDispatcher,
-                                        ResponseDispatcher responseDispatcher) {
+                                        ResponseDispatcher responseDispatcher,
+                                        WebSocketMessageTransmitter transmitter,
+                                        @Named("che.jsonrpc.pool_size") int poolSize) {
+        this(requestDispatcher,
+             notificationDispatcher,
+             responseDispatcher,
+             transmitter,
+             Executors.newFixedThreadPool(poolSize, new ThreadFactoryBuilder().setNameFormat("JsonRpcDispatcher-%d")
+                                                                              .setDaemon(true)
+                                                                              .build()));
+    }
+
+    WebSocketToJsonRpcDispatcher(RequestDispatcher requestDispatcher,
+                                 NotificationDispatcher notificationDispatcher,
+                                 ResponseDispatcher responseDispatcher,
+                                 WebSocketMessageTransmitter transmitter,
+                                 Executor executor) {
         this.requestDispatcher = requestDispatcher;
         this.notificationDispatcher = notificationDispatcher;
         this.responseDispatcher = responseDispatcher;
+        this.transmitter = transmitter;
+        this.executor = executor;
     }
 
     @Override
@@ -50,13 +102,145 @@ public class WebSocketToJsonRpcDispatcher implements WebSocketMessageReceiver {
         final JsonParser jsonParser = new JsonParser();
         final JsonElement jsonElement = jsonParser.parse(message);
 
+        if (jsonElement.isJsonArray()) {
+            LOG.debug("It's a batch, processing each element.");
+            receiveBatch(endpointId, jsonElement.getAsJsonArray());
+            return;
+        }
+
         if (!jsonElement.isJsonObject()) {
-            final String error = "Json is an array, not supported yet";
-            LOG.error(error);
-            throw new UnsupportedOperationException(error);
+            throw new IllegalStateException("Improper json rpc message.");
         }
 
         final JsonObject incomingJson = jsonElement.getAsJsonObject();
+        switch (getType(incomingJson)) {
+            case REQUEST:
+                LOG.debug("It's a request, processing by request dispatcher.");
+                execute(() -> requestDispatcher.dispatch(endpointId, incomingJson));
+                return;
+            case NOTIFICATION:
+                LOG.debug("It's a notification, processing by notification dispatcher.");
+                executeInOrder(endpointId, () -> notificationDispatcher.dispatch(endpointId, incomingJson));
+                return;
+            case RESPONSE:
+                LOG.debug("It's a response, processing by response dispatcher.");
+                responseDispatcher.dispatch(endpointId, incomingJson);
+                return;
+            default:
+                throw new IllegalStateException("Improper json rpc message.");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService)executor).shutdownNow();
+        }
+    }
+
+    private void receiveBatch(String endpointId, JsonArray batch) {
+        final List<CompletableFuture<JsonObject>> responses = new ArrayList<>();
+
+        if (batch.size() == 0) {
+            responses.add(CompletableFuture.completedFuture(RequestDispatcher.prepareError(null, -32600, "Empty batch")));
+        }
+
+        for (JsonElement element : batch) {
+            final Type type = element.isJsonObject() ? getType(element.getAsJsonObject()) : Type.IMPROPER;
+            switch (type) {
+                case REQUEST:
+                    responses.add(handleAsync(endpointId, element.getAsJsonObject()));
+                    break;
+                case NOTIFICATION:
+                    final JsonObject notification = element.getAsJsonObject();
+                    executeInOrder(endpointId, () -> notificationDispatcher.dispatch(endpointId, notification));
+                    break;
+                case RESPONSE:
+                    responseDispatcher.dispatch(endpointId, element.getAsJsonObject());
+                    break;
+                default:
+                    LOG.error("Improper json rpc message in batch: " + element);
+                    responses.add(CompletableFuture.completedFuture(RequestDispatcher.prepareError(null, -32600, "Invalid request")));
+            }
+        }
+
+        if (responses.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[responses.size()])).thenRun(() -> {
+            final JsonArray batchResponse = new JsonArray();
+            responses.forEach(it -> batchResponse.add(it.join()));
+            LOG.debug("Generated batch response: " + batchResponse);
+
+            transmitter.transmit(endpointId, batchResponse.toString());
+        });
+    }
+
+    private CompletableFuture<JsonObject> handleAsync(String endpointId, JsonObject request) {
+        final String id = request.get("id").getAsString();
+        try {
+            return CompletableFuture.supplyAsync(() -> requestDispatcher.handle(endpointId, request), executor)
+                                    .exceptionally(e -> {
+                                        LOG.error(e.getMessage(), e);
+                                        return RequestDispatcher.prepareError(id, -32603, "Internal error");
+                                    });
+        } catch (RejectedExecutionException e) {
+            LOG.error("Can't dispatch json rpc request, {}", e.getMessage());
+            return CompletableFuture.completedFuture(RequestDispatcher.prepareError(id, -32603, "Internal error"));
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            LOG.error("Can't dispatch json rpc message, {}", e.getMessage());
+        }
+    }
+
+    /** Handles tasks of the endpoint one by one, different endpoints are handled concurrently. */
+    private void executeInOrder(String endpointId, Runnable task) {
+        synchronized (notifications) {
+            final Deque<Runnable> queue = notifications.get(endpointId);
+            if (queue != null) {
+                queue.add(task);
+                return;
+            }
+            notifications.put(endpointId, new ArrayDeque<>());
+        }
+        try {
+            executor.execute(() -> runInOrder(endpointId, task));
+        } catch (RejectedExecutionException e) {
+            synchronized (notifications) {
+                notifications.remove(endpointId);
+            }
+            LOG.error("Can't dispatch json rpc notification, {}", e.getMessage());
+        }
+    }
+
+    private void runInOrder(String endpointId, Runnable first) {
+        Runnable task = first;
+        while (task != null) {
+            run(task);
+            synchronized (notifications) {
+                task = notifications.get(endpointId).poll();
+                if (task == null) {
+                    notifications.remove(endpointId);
+                }
+            }
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    private Type getType(JsonObject incomingJson) {
         final boolean hasMethod = incomingJson.has("method");
         final boolean hasParams = incomingJson.has("params");
         final boolean hasId = incomingJson.has("id");
@@ -64,23 +248,24 @@ public class WebSocketToJsonRpcDispatcher implements WebSocketMessageReceiver {
         final boolean hasError = incomingJson.has("error");
 
         if (hasMethod && hasId && !hasResult && !hasError) {
-            LOG.debug("It's a request, processing by request dispatcher.");
-            requestDispatcher.dispatch(endpointId, incomingJson);
-            return;
+            return Type.REQUEST;
         }
 
         if (hasMethod && !hasId && !hasResult && !hasError) {
-            LOG.debug("It's a notification, processing by notification dispatcher.");
-            notificationDispatcher.dispatch(endpointId, incomingJson);
-            return;
+            return Type.NOTIFICATION;
         }
 
         if (!hasMethod && !hasParams && hasId && (hasError != hasResult)) {
-            LOG.debug("It's a response, processing by response dispatcher.");
-            responseDispatcher.dispatch(endpointId, incomingJson);
-            return;
+            return Type.RESPONSE;
         }
 
-        throw new IllegalStateException("Improper json rpc message.");
+        return Type.IMPROPER;
+    }
+
+    private enum Type {
+        REQUEST,
+        NOTIFICATION,
+        RESPONSE,
+        IMPROPER
     }
 }
@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Web socket based json rpc transmitter implementation
@@ -30,7 +31,7 @@ import java.util.concurrent.CompletableFuture;
 public class WebSocketTransmitter implements RequestTransmitter {
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketTransmitter.class);
 
-    private static long idCounter = 0L;
+    private static final AtomicLong ID_COUNTER = new AtomicLong();
 
     private final ResponseDispatcher          responseDispatcher;
     private final WebSocketMessageTransmitter transmitter;
@@ -59,9 +60,11 @@ public class WebSocketTransmitter implements RequestTransmitter {
     public <R> CompletableFuture<R> transmitRequest(String endpointId, String method, Class<R> resultClass) {
         LOG.debug("Transmitting a request to endpoint: " + endpointId + ", method: " + method + ", result class:" + resultClass);
 
-        final String id = Long.toString(++idCounter);
+        final String id = Long.toString(ID_COUNTER.incrementAndGet());
+        // response may be received by another thread right after transmission
+        final CompletableFuture<R> future = responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
         internalTransmit(endpointId, method, null, id);
-        return responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
+        return future;
     }
 
     @Override
@@ -71,9 +74,11 @@ public class WebSocketTransmitter implements RequestTransmitter {
                   ", params:" + params +
                   ", result class:" + resultClass);
 
-        final String id = Long.toString(++idCounter);
+        final String id = Long.toString(ID_COUNTER.incrementAndGet());
+        // response may be received by another thread right after transmission
+        final CompletableFuture<R> future = responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
         internalTransmit(endpointId, method, params, id);
-        return responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
+        return future;
     }
 
     @Override
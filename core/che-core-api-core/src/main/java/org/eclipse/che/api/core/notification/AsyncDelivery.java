@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Options of asynchronous delivery of events to a subscriber, see {@link EventService#subscribe(EventSubscriber, AsyncDelivery)}.
+ * <p>
+ * Events are put to the bounded queue of the subscriber and are delivered by the executor one by one
+ * in order of publishing, so the subscriber never receives events concurrently.
+ *
+ * @see OverflowPolicy
+ */
+public final class AsyncDelivery {
+
+    /** What to do with the published event when the queue of the subscriber is full. */
+    public enum OverflowPolicy {
+        /** Publisher waits until there is space in the queue. */
+        BLOCK,
+        /** Published event is not delivered to the subscriber. */
+        DROP_NEWEST,
+        /** The oldest event in the queue is not delivered to the subscriber, published event is queued. */
+        DROP_OLDEST
+    }
+
+    private final Executor       executor;
+    private final int            queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * @param executor
+     *         executor which delivers events, {@code null} to use executor of {@link EventService}
+     * @param queueCapacity
+     *         max number of events which are waiting for delivery to the subscriber
+     * @param overflowPolicy
+     *         what to do with the event when the queue is full
+     */
+    public AsyncDelivery(Executor executor, int queueCapacity, OverflowPolicy overflowPolicy) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Null overflow policy.");
+        }
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /** Delivery with executor of {@link EventService}. */
+    public AsyncDelivery(int queueCapacity, OverflowPolicy overflowPolicy) {
+        this(null, queueCapacity, overflowPolicy);
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AsyncDelivery)) {
+            return false;
+        }
+        final AsyncDelivery that = (AsyncDelivery)obj;
+        return queueCapacity == that.queueCapacity
+               && Objects.equals(executor, that.executor)
+               && overflowPolicy == that.overflowPolicy;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Objects.hashCode(executor);
+        hash = 31 * hash + queueCapacity;
+        hash = 31 * hash + overflowPolicy.hashCode();
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncDelivery{" +
+               "executor=" + executor +
+               ", queueCapacity=" + queueCapacity +
+               ", overflowPolicy=" + overflowPolicy +
+               '}';
+    }
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Puts events to the bounded queue and delivers them to the subscriber with executor.
+ * At most one task which delivers events of the subscriber runs at the same time,
+ * so events are delivered in order of publishing.
+ */
+class AsyncEventSubscriber implements EventSubscriber<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+    private final EventSubscriber<Object>      subscriber;
+    private final Executor                     executor;
+    private final AsyncDelivery                delivery;
+    private final AsyncDelivery.OverflowPolicy overflowPolicy;
+    private final BlockingQueue<QueuedEvent>   queue;
+    private final AtomicBoolean                scheduled    = new AtomicBoolean();
+    private final AtomicLong                   delivered    = new AtomicLong();
+    private final AtomicLong                   dropped      = new AtomicLong();
+    private final AtomicLong                   totalLatency = new AtomicLong();
+    private final AtomicLong                   maxLatency   = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    AsyncEventSubscriber(EventSubscriber<?> subscriber, Executor executor, AsyncDelivery delivery) {
+        this.subscriber = (EventSubscriber<Object>)subscriber;
+        this.executor = executor;
+        this.delivery = delivery;
+        this.overflowPolicy = delivery.getOverflowPolicy();
+        this.queue = new ArrayBlockingQueue<>(delivery.getQueueCapacity());
+    }
+
+    @Override
+    public void onEvent(Object event) {
+        final QueuedEvent queued = new QueuedEvent(event, System.nanoTime());
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(queued);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    return;
+                }
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(queued)) {
+                    drop(queued);
+                    return;
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(queued)) {
+                    final QueuedEvent oldest = queue.poll();
+                    if (oldest != null) {
+                        drop(oldest);
+                    }
+                }
+                break;
+        }
+        schedule();
+    }
+
+    EventSubscriber<?> getSubscriber() {
+        return subscriber;
+    }
+
+    AsyncDelivery getDelivery() {
+        return delivery;
+    }
+
+    SubscriberMetrics getMetrics() {
+        return new SubscriberMetrics(queue.size(), delivered.get(), dropped.get(), totalLatency.get(), maxLatency.get());
+    }
+
+    private void drop(QueuedEvent queued) {
+        dropped.incrementAndGet();
+        LOG.warn("Queue of subscriber {} is full, event {} is dropped", subscriber, queued.event);
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                LOG.error("Can't deliver events to subscriber {}, {}", subscriber, e.getMessage());
+            }
+        }
+    }
+
+    private void deliver() {
+        QueuedEvent queued;
+        while ((queued = queue.poll()) != null) {
+            try {
+                subscriber.onEvent(queued.event);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+            final long latency = System.nanoTime() - queued.published;
+            delivered.incrementAndGet();
+            totalLatency.addAndGet(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+        }
+        scheduled.set(false);
+        // event might be queued after the last poll but before the flag is reset
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEventSubscriber{" + subscriber + '}';
+    }
+
+    private static class QueuedEvent {
+        final Object event;
+        final long   published;
+
+        QueuedEvent(Object event, long published) {
+            this.event = event;
+            this.published = published;
+        }
+    }
+}
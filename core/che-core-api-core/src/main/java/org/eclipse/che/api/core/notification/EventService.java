@@ -13,10 +13,12 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -27,6 +29,9 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +45,10 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * Subscribers are invoked synchronously in the thread which publishes event.
+ * Subscribers which may be slow should be subscribed with {@link AsyncDelivery},
+ * then publisher only puts event to the queue of the subscriber and events
+ * are delivered by executor in order of publishing.
  *
  * @author andrew00x
  */
@@ -53,6 +62,9 @@ public class EventService {
 
     private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
     private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, AsyncEventSubscriber> asyncSubscribers = new ConcurrentHashMap<>();
+
+    private ExecutorService asyncExecutor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
@@ -136,6 +148,86 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe event listener which receives events asynchronously. The event to subscribe to is inferred
+     * by checking the generic type arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param delivery
+     *         options of delivery of events to the subscriber
+     * @throws IllegalArgumentException
+     *         if the subscriber is already subscribed with other delivery options
+     */
+    public void subscribe(EventSubscriber<?> subscriber, AsyncDelivery delivery) {
+        doSubscribe(getAsyncSubscriber(subscriber, delivery), getEventType(subscriber));
+    }
+
+    /**
+     * Subscribe to an event. The given subscriber will be called asynchronously whenever an instance
+     * of the specified event is published.
+     *
+     * @param subscriber
+     *         the subscriber to call when an event is published.
+     * @param eventType
+     *         the event to subscribe to.
+     * @param delivery
+     *         options of delivery of events to the subscriber
+     * @throws IllegalArgumentException
+     *         if the subscriber is already subscribed with other delivery options
+     */
+    public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType, AsyncDelivery delivery) {
+        doSubscribe(getAsyncSubscriber(subscriber, delivery), eventType);
+    }
+
+    /**
+     * Returns statistics of delivery of events to the subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @return statistics or {@code null} if the subscriber doesn't receive events asynchronously
+     */
+    public SubscriberMetrics getMetrics(EventSubscriber<?> subscriber) {
+        final AsyncEventSubscriber asyncSubscriber = asyncSubscribers.get(subscriber);
+        return asyncSubscriber == null ? null : asyncSubscriber.getMetrics();
+    }
+
+    /** Stops executor which delivers events to asynchronous subscribers. */
+    @PreDestroy
+    public synchronized void stop() {
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+            asyncExecutor = null;
+        }
+    }
+
+    /**
+     * Events of the subscriber subscribed to several event types are delivered with the same queue,
+     * so the subscriber can't be subscribed again with other delivery options.
+     */
+    private AsyncEventSubscriber getAsyncSubscriber(EventSubscriber<?> subscriber, AsyncDelivery delivery) {
+        if (delivery == null) {
+            throw new IllegalArgumentException("Null delivery.");
+        }
+        final Executor executor = delivery.getExecutor() != null ? delivery.getExecutor() : getAsyncExecutor();
+        final AsyncEventSubscriber asyncSubscriber =
+                asyncSubscribers.computeIfAbsent(subscriber, key -> new AsyncEventSubscriber(key, executor, delivery));
+        if (!asyncSubscriber.getDelivery().equals(delivery)) {
+            throw new IllegalArgumentException(String.format("Subscriber %s is already subscribed with %s",
+                                                             subscriber, asyncSubscriber.getDelivery()));
+        }
+        return asyncSubscriber;
+    }
+
+    private synchronized Executor getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EventService-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+        }
+        return asyncExecutor;
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -164,15 +256,20 @@ public class EventService {
     }
 
     private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+        final AsyncEventSubscriber asyncSubscriber = asyncSubscribers.get(subscriber);
+        final EventSubscriber<?> registered = asyncSubscriber != null ? asyncSubscriber : subscriber;
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
+            boolean changed = entries.remove(registered);
             if (changed) {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
                 }
             }
         }
+        if (asyncSubscriber != null && subscribersByEventType.values().stream().noneMatch(set -> set.contains(asyncSubscriber))) {
+            asyncSubscribers.remove(subscriber, asyncSubscriber);
+        }
     }
 
     private Class<?> getEventType(EventSubscriber<?> subscriber) {
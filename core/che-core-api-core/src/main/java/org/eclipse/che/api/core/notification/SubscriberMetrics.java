@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Snapshot of delivery statistics of a subscriber which receives events asynchronously.
+ * Latency is time between publishing of the event and the end of its processing by the subscriber.
+ */
+public final class SubscriberMetrics {
+    private final int  queueSize;
+    private final long delivered;
+    private final long dropped;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+
+    SubscriberMetrics(int queueSize, long delivered, long dropped, long totalLatencyNanos, long maxLatencyNanos) {
+        this.queueSize = queueSize;
+        this.delivered = delivered;
+        this.dropped = dropped;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    /** Returns number of events which are waiting for delivery. */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /** Returns number of events which were delivered to the subscriber. */
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /** Returns number of events which were dropped because the queue was full. */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /** Returns average latency of delivered events in nanoseconds. */
+    public long getAverageLatencyNanos() {
+        return delivered == 0 ? 0 : totalLatencyNanos / delivered;
+    }
+
+    /** Returns max latency of delivered events in nanoseconds. */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SubscriberMetrics{" +
+               "queueSize=" + queueSize +
+               ", delivered=" + delivered +
+               ", dropped=" + dropped +
+               ", averageLatencyNanos=" + getAverageLatencyNanos() +
+               ", maxLatencyNanos=" + maxLatencyNanos +
+               '}';
+    }
+}
@@ -28,6 +28,7 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -36,13 +37,19 @@ import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 /**
  * Implementation of {@link MessageBodyReader} and {@link MessageBodyWriter} needed for binding JSON content to and from Java Objects.
+ * <p>
+ * DTOs and collections of DTOs (e.g. {@code List<Link>}) are streamed with {@link DtoFactory}, other entities are written by
+ * {@link JsonEntityProvider}. Elements of DTO collections have the same JSON as DTOs returned alone: fields with {@code null}
+ * values are omitted and properties of type {@code Object} ("any" properties) are written as raw JSON instead of being
+ * introspected as java beans, as {@link JsonEntityProvider} used to do for such collections.
  *
  * @author andrew00x
  * @see DTO
@@ -53,6 +60,9 @@ import java.util.Set;
 @Produces({MediaType.APPLICATION_JSON})
 @Consumes({MediaType.APPLICATION_JSON})
 public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWriter<T> {
+    /** Value of Cache-Control header of JSON responses. */
+    public static final String CACHE_CONTROL = "public, no-cache, no-store, no-transform";
+
     private Set<Class> ignoredClasses;
     private final JsonEntityProvider delegate = new JsonEntityProvider<>();
 
@@ -78,10 +88,14 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
     public void writeTo(T t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
                         MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
         // Add Cache-Control before start write body.
-        httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
+        httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
         if (t instanceof JsonSerializable) {
-            try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
-                w.write(((JsonSerializable)t).toJson());
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(entityStream, StandardCharsets.UTF_8))) {
+                DtoFactory.getInstance().toJson(t, w);
+            }
+        } else if (t instanceof Collection && isDtoCollection(genericType)) {
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(entityStream, StandardCharsets.UTF_8))) {
+                DtoFactory.getInstance().toJsonArray((Collection<?>)t, w);
             }
         } else {
             delegate.writeTo(t, type, genericType, annotations, mediaType, httpHeaders, entityStream);
@@ -114,6 +128,15 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
         return (T)delegate.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
     }
 
+    /** Tests whether the type is a collection of DTOs, such collections are written directly without the delegate. */
+    private static boolean isDtoCollection(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            final Type elementType = ((ParameterizedType)genericType).getActualTypeArguments()[0];
+            return elementType instanceof Class && ((Class<?>)elementType).isAnnotationPresent(DTO.class);
+        }
+        return false;
+    }
+
     /**
      * Get Set of classes that we never try to serialize or deserialize. Returned Set is mutable and new classes may be added in ignored
      * Set.
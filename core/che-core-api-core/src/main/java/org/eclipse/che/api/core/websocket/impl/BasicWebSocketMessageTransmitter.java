@@ -10,14 +10,22 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -25,56 +33,112 @@ import static org.slf4j.LoggerFactory.getLogger;
  * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them.
  * If WEB SOCKET session is not opened adds messages to re-sender to try to send
  * them when session will be opened again.
+ * <p>
+ * Transmission doesn't wait for the message to be sent, messages are put to the bounded
+ * queue of the session and sent asynchronously, so one slow session doesn't stall
+ * outgoing traffic of others. Session which doesn't keep up with its queue is closed.
+ * Queue of the session is dropped when the session is unregistered.
  *
  * @author Dmitry Kuleshov
+ * @see SessionSendQueue
  */
 @Singleton
 public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
     private static final Logger LOG = getLogger(BasicWebSocketMessageTransmitter.class);
 
-    private final WebSocketSessionRegistry registry;
-    private final MessagesReSender         reSender;
+    private final WebSocketSessionRegistry       registry;
+    private final MessagesReSender               reSender;
+    private final int                            queueCapacity;
+    private final Executor                       executor;
+    private final Map<Session, SessionSendQueue> queues = new ConcurrentHashMap<>();
 
+    /**
+     * @param queueCapacity
+     *         max number of messages waiting to be sent to a session, session is closed when the limit is exceeded
+     */
     @Inject
-    public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry, MessagesReSender reSender) {
+    public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
+                                            MessagesReSender reSender,
+                                            @Named("che.websocket.send_queue.capacity") int queueCapacity) {
+        this(registry,
+             reSender,
+             queueCapacity,
+             Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("WebSocketTransmitter-%d")
+                                                                     .setDaemon(true)
+                                                                     .build()));
+    }
+
+    BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
+                                     MessagesReSender reSender,
+                                     int queueCapacity,
+                                     Executor executor) {
         this.registry = registry;
         this.reSender = reSender;
+        this.queueCapacity = queueCapacity;
+        this.executor = executor;
+
+        registry.addRemovalListener(queues::remove);
     }
 
     @Override
-    public synchronized void transmit(String endpointId, String message) {
-        final Optional<Session> sessionOptional = registry.get(endpointId);
-
-        if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
+    public void transmit(String endpointId, String message) {
+        if (!offer(endpointId, message)) {
             LOG.debug("Session is not registered or closed, adding message to pending");
 
             reSender.add(endpointId, message);
         } else {
-            LOG.debug("Session registered and open, sending message");
-
-            try {
-                sessionOptional.get().getBasicRemote().sendText(message);
-            } catch (IOException e) {
-                LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-            }
+            LOG.debug("Session registered and open, message is queued");
         }
     }
 
     @Override
-    public synchronized void transmit(String message) {
+    public void transmit(String message) {
         LOG.debug("Broadcasting a web socket transmission: ", message);
 
+        queues.keySet().removeIf(session -> !session.isOpen());
+
         registry.getSessions()
                 .stream()
                 .filter(Session::isOpen)
-                .map(Session::getBasicRemote)
-                .forEach(it -> {
-                    try {
-                        it.sendText(message);
-                    } catch (IOException e) {
-                        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-                    }
-                });
+                .forEach(session -> getQueue(session).offer(null, message));
+    }
+
+    /**
+     * Returns statistics of the outbound queue of the session opened from the given endpoint.
+     *
+     * @return metrics or empty optional if nothing was transmitted to the session
+     */
+    public Optional<SessionQueueMetrics> getMetrics(String endpointId) {
+        return registry.get(endpointId)
+                       .map(queues::get)
+                       .map(SessionSendQueue::getMetrics);
     }
 
+    /**
+     * Queues the message to the session opened from the given endpoint.
+     *
+     * @return {@code false} if the session is not registered, closed or evicted, so the message is not queued
+     */
+    boolean offer(String endpointId, String message) {
+        final Optional<Session> sessionOptional = registry.get(endpointId);
+
+        return sessionOptional.isPresent()
+               && sessionOptional.get().isOpen()
+               && getQueue(sessionOptional.get()).offer(endpointId, message);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService)executor).shutdownNow();
+        }
+    }
+
+    private SessionSendQueue getQueue(Session session) {
+        final SessionSendQueue queue = queues.computeIfAbsent(session, s -> new SessionSendQueue(s, executor, reSender, queueCapacity));
+        if (queue.isEvicted()) {
+            queues.remove(session, queue);
+        }
+        return queue;
+    }
 }
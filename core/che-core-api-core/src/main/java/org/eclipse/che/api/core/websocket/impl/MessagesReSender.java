@@ -10,76 +10,155 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.slf4j.Logger;
+
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
-import javax.websocket.Session;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
  * when WEB SOCKET session was closed. If session is closed during re-send process it
  * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
+ * <p>
+ * Messages are re-sent through the outbound queue of the session, see
+ * {@link BasicWebSocketMessageTransmitter}, so they keep order with other messages
+ * transmitted to the session and don't block the thread which opens the session.
+ * <p>
+ * Number of pending messages per endpoint is limited and messages which are kept longer
+ * than time to live are not re-sent, so endpoints which never come back don't hold memory.
+ * Instance is thread safe, messages may be added while other endpoints are re-sent.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-    private static final int MAX_MESSAGES = 100;
-
-    private final WebSocketSessionRegistry registry;
-
-    private final Map<String, List<String>> messagesMap = new HashMap<>();
-
+    private static final Logger LOG = getLogger(MessagesReSender.class);
+
+    public static final int  DEFAULT_MAX_MESSAGES = 100;
+    public static final long DEFAULT_TTL_MS       = 300_000;
+
+    private final Provider<BasicWebSocketMessageTransmitter> transmitter;
+    private final int                                        maxMessages;
+    private final long                                       ttl;
+    private final LongSupplier                               clock;
+    private final AtomicLong                                 lastCleanup;
+
+    private final Map<String, Deque<PendingMessage>> messagesMap = new ConcurrentHashMap<>();
+
+    /**
+     * @param transmitter
+     *         transmitter which queues re-sent messages to sessions, provider breaks the circular dependency
+     *         as transmitter passes messages which can't be sent to this instance
+     * @param maxMessages
+     *         max number of pending messages per endpoint, messages added when the limit is reached are dropped
+     * @param ttl
+     *         time (in milliseconds) during which pending message may be re-sent
+     */
     @Inject
-    public MessagesReSender(WebSocketSessionRegistry registry) {
-        this.registry = registry;
+    public MessagesReSender(Provider<BasicWebSocketMessageTransmitter> transmitter,
+                            @Named("che.websocket.resend.max_messages") int maxMessages,
+                            @Named("che.websocket.resend.ttl_ms") long ttl) {
+        this(transmitter, maxMessages, ttl, System::currentTimeMillis);
+    }
+
+    MessagesReSender(Provider<BasicWebSocketMessageTransmitter> transmitter, int maxMessages, long ttl, LongSupplier clock) {
+        this.transmitter = transmitter;
+        this.maxMessages = maxMessages;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.lastCleanup = new AtomicLong(clock.getAsLong());
     }
 
     public void add(String endpointId, String message) {
-        List<String> messages = messagesMap.get(endpointId);
+        final long now = clock.getAsLong();
 
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
-        }
+        messagesMap.compute(endpointId, (id, messages) -> {
+            if (messages == null) {
+                messages = new ArrayDeque<>();
+            }
+            removeExpired(messages, now);
+            if (messages.size() < maxMessages) {
+                messages.addLast(new PendingMessage(message, now));
+            } else {
+                LOG.debug("Too many pending messages for endpoint {}, message is dropped", endpointId);
+            }
+            return messages;
+        });
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
-        }
+        cleanup(now);
     }
 
     public void resend(String endpointId) {
-        final List<String> messages = messagesMap.remove(endpointId);
+        final Deque<PendingMessage> messages = messagesMap.remove(endpointId);
 
-        if (messages == null || messages.isEmpty()) {
+        if (messages == null) {
             return;
         }
 
-        final Optional<Session> sessionOptional = registry.get(endpointId);
-
-        if (!sessionOptional.isPresent()) {
+        removeExpired(messages, clock.getAsLong());
+        if (messages.isEmpty()) {
             return;
         }
 
-        final Session session = sessionOptional.get();
-
-        final List<String> backing = new ArrayList<>(messages);
-        messages.clear();
+        final BasicWebSocketMessageTransmitter sessionTransmitter = transmitter.get();
+        while (!messages.isEmpty() && sessionTransmitter.offer(endpointId, messages.peekFirst().message)) {
+            messages.pollFirst();
+        }
 
-        for (String message : backing) {
+        if (!messages.isEmpty()) {
+            LOG.debug("Session of endpoint {} is not available, {} messages are left pending", endpointId, messages.size());
+            putBack(endpointId, messages);
+        }
+    }
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message);
-            } else {
-                messages.add(message);
+    /** Returns pending messages to the registry keeping them before messages added while they were re-sent. */
+    private void putBack(String endpointId, Deque<PendingMessage> left) {
+        messagesMap.merge(endpointId, left, (added, leftMessages) -> {
+            leftMessages.addAll(added);
+            while (leftMessages.size() > maxMessages) {
+                leftMessages.pollLast();
             }
+            return leftMessages;
+        });
+    }
+
+    /** Removes expired messages of all endpoints, runs not more often than once per time to live. */
+    private void cleanup(long now) {
+        final long last = lastCleanup.get();
+        if (now - last < ttl || !lastCleanup.compareAndSet(last, now)) {
+            return;
         }
+        for (String endpointId : messagesMap.keySet()) {
+            messagesMap.computeIfPresent(endpointId, (id, messages) -> {
+                removeExpired(messages, now);
+                return messages.isEmpty() ? null : messages;
+            });
+        }
+    }
 
-        messagesMap.put(endpointId, messages);
+    private void removeExpired(Deque<PendingMessage> messages, long now) {
+        while (!messages.isEmpty() && now - messages.peekFirst().added > ttl) {
+            messages.pollFirst();
+        }
+    }
+
+    private static class PendingMessage {
+        final String message;
+        final long   added;
+
+        PendingMessage(String message, long added) {
+            this.message = message;
+            this.added = added;
+        }
     }
 }
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+/**
+ * Snapshot of statistics of the outbound queue of a WEB SOCKET session,
+ * see {@link BasicWebSocketMessageTransmitter#getMetrics(String)}.
+ */
+public final class SessionQueueMetrics {
+    private final int     queueSize;
+    private final long    sent;
+    private final long    failed;
+    private final long    flushes;
+    private final boolean evicted;
+
+    SessionQueueMetrics(int queueSize, long sent, long failed, long flushes, boolean evicted) {
+        this.queueSize = queueSize;
+        this.sent = sent;
+        this.failed = failed;
+        this.flushes = flushes;
+        this.evicted = evicted;
+    }
+
+    /** Returns number of messages which are waiting to be sent. */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /** Returns number of messages which were sent to the session. */
+    public long getSent() {
+        return sent;
+    }
+
+    /** Returns number of messages which were not sent because of errors or closed session. */
+    public long getFailed() {
+        return failed;
+    }
+
+    /** Returns number of network writes, several queued messages are coalesced into one write. */
+    public long getFlushes() {
+        return flushes;
+    }
+
+    /** Returns {@code true} when the session was closed because it didn't keep up with outgoing messages. */
+    public boolean isEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionQueueMetrics{" +
+               "queueSize=" + queueSize +
+               ", sent=" + sent +
+               ", failed=" + failed +
+               ", flushes=" + flushes +
+               ", evicted=" + evicted +
+               '}';
+    }
+}
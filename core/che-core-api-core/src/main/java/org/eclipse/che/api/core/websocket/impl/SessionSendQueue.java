@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.slf4j.Logger;
+
+import javax.websocket.CloseReason;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static javax.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bounded outbound queue of a WEB SOCKET session. Messages are sent by the executor, at most one
+ * task sends messages of the session at the same time, so messages are sent in order of transmission
+ * and slow session doesn't block transmission to other sessions.
+ * <p>
+ * Messages which are queued while the previous ones are being sent are written as a batch and flushed
+ * together. When the queue is full the session is considered too slow, it is closed and its pending
+ * messages are passed to {@link MessagesReSender} to be sent when the session is opened again.
+ */
+class SessionSendQueue {
+    private static final Logger LOG = getLogger(SessionSendQueue.class);
+
+    /** Max number of messages written before flush. */
+    static final int MAX_BATCH_SIZE = 64;
+
+    private final Session                      session;
+    private final Executor                     executor;
+    private final MessagesReSender             reSender;
+    private final BlockingQueue<QueuedMessage> queue;
+    private final AtomicBoolean                scheduled = new AtomicBoolean();
+    private final AtomicBoolean                evicted   = new AtomicBoolean();
+    private final AtomicLong                   sent      = new AtomicLong();
+    private final AtomicLong                   failed    = new AtomicLong();
+    private final AtomicLong                   flushes   = new AtomicLong();
+
+    SessionSendQueue(Session session, Executor executor, MessagesReSender reSender, int capacity) {
+        this.session = session;
+        this.executor = executor;
+        this.reSender = reSender;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Queues the message to be sent.
+     *
+     * @param endpointId
+     *         endpoint the message is addressed to or {@code null} for broadcast messages, which are not re-sent
+     * @param message
+     *         plain text message
+     * @return {@code false} when the message can't be queued because the session was evicted
+     */
+    boolean offer(String endpointId, String message) {
+        if (evicted.get()) {
+            return false;
+        }
+        final QueuedMessage queued = new QueuedMessage(endpointId, message);
+        if (!queue.offer(queued)) {
+            evict(queued);
+            return true;
+        }
+        schedule();
+        return true;
+    }
+
+    boolean isEvicted() {
+        return evicted.get();
+    }
+
+    SessionQueueMetrics getMetrics() {
+        return new SessionQueueMetrics(queue.size(), sent.get(), failed.get(), flushes.get(), evicted.get());
+    }
+
+    private void evict(QueuedMessage overflowed) {
+        if (!evicted.compareAndSet(false, true)) {
+            undelivered(overflowed);
+            return;
+        }
+        LOG.warn("Web socket session {} doesn't keep up with outgoing messages, {} messages are queued, closing it",
+                 session.getId(), queue.size());
+
+        final List<QueuedMessage> pending = new ArrayList<>(queue.size() + 1);
+        queue.drainTo(pending);
+        pending.add(overflowed);
+        pending.forEach(this::undelivered);
+
+        // closing may block on the slow connection as well
+        try {
+            executor.execute(() -> {
+                try {
+                    session.close(new CloseReason(TRY_AGAIN_LATER, "Slow consumer"));
+                } catch (IOException e) {
+                    LOG.debug("Error while closing web socket session {}, {}", session.getId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.error("Can't close web socket session {}, {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                LOG.error("Can't send messages to web socket session {}, {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void send() {
+        try {
+            final List<QueuedMessage> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            RemoteEndpoint.Basic remote = null;
+            while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+                if (!session.isOpen()) {
+                    batch.forEach(this::undelivered);
+                } else {
+                    if (remote == null) {
+                        remote = session.getBasicRemote();
+                    }
+                    sendBatch(remote, batch);
+                }
+                batch.clear();
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // message might be queued after the last drain but before the flag is reset
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void sendBatch(RemoteEndpoint.Basic remote, List<QueuedMessage> batch) {
+        final boolean batching = batch.size() > 1 && setBatchingAllowed(remote, true);
+        for (QueuedMessage queued : batch) {
+            try {
+                remote.sendText(queued.message);
+                sent.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+                LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+            }
+        }
+        // disabling of batching flushes written messages
+        if (batching) {
+            setBatchingAllowed(remote, false);
+        }
+        flushes.incrementAndGet();
+    }
+
+    private boolean setBatchingAllowed(RemoteEndpoint.Basic remote, boolean allowed) {
+        try {
+            remote.setBatchingAllowed(allowed);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Can't change batching mode of web socket session {}, {}", session.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void undelivered(QueuedMessage queued) {
+        failed.incrementAndGet();
+        if (queued.endpointId != null) {
+            reSender.add(queued.endpointId, queued.message);
+        }
+    }
+
+    private static class QueuedMessage {
+        final String endpointId;
+        final String message;
+
+        QueuedMessage(String endpointId, String message) {
+            this.endpointId = endpointId;
+            this.message = message;
+        }
+    }
+}
@@ -15,16 +15,22 @@ import org.slf4j.Logger;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import static java.util.stream.Collectors.toSet;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Binds WEB SOCKET session to a specific endpoint form which it was opened.
+ * <p>
+ * Removal listeners are notified when session registration is cancelled or
+ * the session is replaced by another session opened from the same endpoint.
  *
  * @author Dmitry Kuleshov
  */
@@ -32,18 +38,30 @@ import static org.slf4j.LoggerFactory.getLogger;
 public class WebSocketSessionRegistry {
     private static final Logger LOG = getLogger(WebSocketSessionRegistry.class);
 
-    private final Map<String, Session> sessionsMap = new ConcurrentHashMap<>();
+    private final Map<String, Session>    sessionsMap      = new ConcurrentHashMap<>();
+    private final List<Consumer<Session>> removalListeners = new CopyOnWriteArrayList<>();
 
     public void add(String endpointId, Session session) {
         LOG.debug("Registering session with endpoint {}", session.getId(), endpointId);
 
-        sessionsMap.put(endpointId, session);
+        final Session previous = sessionsMap.put(endpointId, session);
+        if (previous != null && previous != session) {
+            notifyRemoved(previous);
+        }
     }
 
     public void remove(String endpointId) {
         LOG.debug("Cancelling registration for session with endpoint {}", endpointId);
 
-        sessionsMap.remove(endpointId);
+        final Session session = sessionsMap.remove(endpointId);
+        if (session != null) {
+            notifyRemoved(session);
+        }
+    }
+
+    /** Adds listener which is notified with sessions which are not registered anymore. */
+    public void addRemovalListener(Consumer<Session> listener) {
+        removalListeners.add(listener);
     }
 
     public Optional<Session> get(String endpointId) {
@@ -53,4 +71,14 @@ public class WebSocketSessionRegistry {
     public Set<Session> getSessions() {
         return sessionsMap.values().stream().collect(toSet());
     }
+
+    private void notifyRemoved(Session session) {
+        for (Consumer<Session> listener : removalListeners) {
+            try {
+                listener.accept(session);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
 }
@@ -15,19 +15,29 @@ import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 
+import org.eclipse.che.api.core.rest.CheJsonProvider;
+import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Filter;
 import org.everrest.core.GenericContainerResponse;
 import org.everrest.core.ResponseFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.JSON_SERIALIZABLE;
@@ -38,11 +48,20 @@ import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
  * Filter implementing {@link org.everrest.core.ResponseFilter} in order to generate ETag for clients that want to use conditional
  * requests.
  * It is applying on GET method and JSON content type only.
+ * <p>
+ * DTO entities (and lists of DTOs) are serialized only once: JSON is written to the buffer while its hash is calculated
+ * and the buffered bytes become the entity of the response, so the hash is calculated over the bytes which are sent to the client.
+ * <p>
+ * Resources which know version of the entity (e.g. modification stamp) may set ETag themselves with
+ * {@link Response.ResponseBuilder#tag(EntityTag)}, in this case the entity isn't hashed and the given tag is used for evaluating
+ * of preconditions. Such resources may also check {@link Request#evaluatePreconditions(EntityTag)} before building the entity
+ * to respond with 304 without loading it.
  *
  * @author Florent Benoit
  */
 @Filter
 public class ETagResponseFilter implements ResponseFilter {
+    private static final Logger LOG = LoggerFactory.getLogger(ETagResponseFilter.class);
 
     public enum EntityType {
         JSON_SERIALIZABLE,
@@ -80,6 +99,38 @@ public class ETagResponseFilter implements ResponseFilter {
             return;
         }
 
+        // ETag provided by the resource, e.g. from the version of the entity, nothing to hash
+        final Object providedTag = containerResponse.getResponse().getMetadata().getFirst(HttpHeaders.ETAG);
+        if (providedTag != null) {
+            final EntityTag entityTag = providedTag instanceof EntityTag ? (EntityTag)providedTag
+                                                                         : EntityTag.valueOf(providedTag.toString());
+            final Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+            if (builder != null) {
+                containerResponse.setResponse(builder.tag(entityTag).build());
+            }
+            return;
+        }
+
+        // serialize DTOs once, hash the serialized bytes and send them instead of the entity
+        final byte[] json = serialize(entity);
+        if (json != null) {
+            final EntityTag entityTag = new EntityTag(Hashing.md5().hashBytes(json).toString());
+            final Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+            if (builder != null) {
+                containerResponse.setResponse(builder.tag(entityTag).build());
+            } else {
+                Response.ResponseBuilder responseBuilder = Response.fromResponse(containerResponse.getResponse())
+                                                                   .entity(json)
+                                                                   .tag(entityTag);
+                // the same header as JSON provider adds to DTO responses
+                if (containerResponse.getResponse().getMetadata().getFirst(HttpHeaders.CACHE_CONTROL) == null) {
+                    responseBuilder.header(HttpHeaders.CACHE_CONTROL, CheJsonProvider.CACHE_CONTROL);
+                }
+                containerResponse.setResponse(responseBuilder.build());
+            }
+            return;
+        }
+
         // calculate hash with MD5
         HashFunction hashFunction = Hashing.md5();
         Hasher hasher = hashFunction.newHasher();
@@ -122,6 +173,44 @@ public class ETagResponseFilter implements ResponseFilter {
 
     }
 
+    /**
+     * Serializes DTO or non empty list of DTOs to JSON.
+     *
+     * @param entity
+     *         the entity of the response
+     * @return JSON bytes in UTF-8 or {@code null} if the entity isn't DTO or list of DTOs or can't be serialized
+     */
+    private byte[] serialize(Object entity) {
+        final boolean dtoList = entity instanceof List && isDtoList((List<?>)entity);
+        if (!dtoList && getElementType(entity) != JSON_SERIALIZABLE) {
+            return null;
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            if (dtoList) {
+                DtoFactory.getInstance().toJsonArray((List<?>)entity, writer);
+            } else {
+                DtoFactory.getInstance().toJson(entity, writer);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to serialize entity of type {}, ETag is calculated without serialized JSON", entity.getClass().getName(), e);
+            return null;
+        }
+        return out.toByteArray();
+    }
+
+    private boolean isDtoList(List<?> entities) {
+        if (entities.isEmpty()) {
+            return false;
+        }
+        for (Object entity : entities) {
+            if (entity == null || getElementType(entity) != JSON_SERIALIZABLE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Helper method to add entity to hash. If there is an invalid entity type it will return false
      *
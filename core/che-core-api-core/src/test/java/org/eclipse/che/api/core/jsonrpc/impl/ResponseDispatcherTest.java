@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.api.core.jsonrpc.JsonRpcException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link ResponseDispatcher}
+ */
+public class ResponseDispatcherTest {
+    private static final String ENDPOINT_ID = "id";
+
+    private ResponseDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() {
+        dispatcher = new ResponseDispatcher();
+    }
+
+    @Test
+    public void shouldCompleteFutureExceptionallyWithJsonRpcError() throws Exception {
+        final CompletableFuture<Object> future = dispatcher.getCompletableFuture(ENDPOINT_ID, "1", Object.class);
+
+        dispatcher.dispatch(ENDPOINT_ID, parse("{\"jsonrpc\":\"2.0\",\"id\":\"1\"," +
+                                               "\"error\":{\"code\":-32601,\"message\":\"Method not found\",\"data\":{\"method\":\"m\"}}}"));
+
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("Future must be completed with json rpc error");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof JsonRpcException);
+            final JsonRpcException error = (JsonRpcException)e.getCause();
+            assertEquals(error.getCode(), -32601);
+            assertEquals(error.getMessage(), "Method not found");
+            assertEquals(error.getData(), parse("{\"method\":\"m\"}"));
+        }
+    }
+
+    @Test
+    public void shouldCompleteFutureWithJsonRpcErrorWithoutData() throws Exception {
+        final CompletableFuture<Object> future = dispatcher.getCompletableFuture(ENDPOINT_ID, "1", Object.class);
+
+        dispatcher.dispatch(ENDPOINT_ID, parse("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"error\":{\"code\":-32603,\"message\":\"Internal error\"}}"));
+
+        try {
+            future.get();
+            fail("Future must be completed with json rpc error");
+        } catch (ExecutionException e) {
+            final JsonRpcException error = (JsonRpcException)e.getCause();
+            assertEquals(error.getCode(), -32603);
+            assertNull(error.getData());
+        }
+    }
+
+    @Test
+    public void shouldNotCompleteFutureOfAnotherEndpoint() {
+        final CompletableFuture<Object> future = dispatcher.getCompletableFuture("another", "1", Object.class);
+
+        dispatcher.dispatch(ENDPOINT_ID, parse("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"error\":{\"code\":-32603,\"message\":\"Internal error\"}}"));
+
+        assertFalse(future.isDone());
+    }
+
+    private static JsonObject parse(String json) {
+        return new JsonParser().parse(json).getAsJsonObject();
+    }
+}
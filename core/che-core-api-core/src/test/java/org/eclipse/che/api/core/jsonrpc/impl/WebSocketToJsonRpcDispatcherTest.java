@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link WebSocketToJsonRpcDispatcher}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WebSocketToJsonRpcDispatcherTest {
+    private static final String ENDPOINT_ID = "id";
+
+    private static final String REQUEST_1    = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"first\"}";
+    private static final String REQUEST_2    = "{\"jsonrpc\":\"2.0\",\"id\":\"2\",\"method\":\"second\"}";
+    private static final String NOTIFICATION = "{\"jsonrpc\":\"2.0\",\"method\":\"notification\"}";
+    private static final String RESPONSE     = "{\"jsonrpc\":\"2.0\",\"id\":\"3\",\"result\":{}}";
+
+    @Mock
+    private RequestDispatcher           requestDispatcher;
+    @Mock
+    private NotificationDispatcher      notificationDispatcher;
+    @Mock
+    private ResponseDispatcher          responseDispatcher;
+    @Mock
+    private WebSocketMessageTransmitter transmitter;
+
+    private WebSocketToJsonRpcDispatcher dispatcher;
+    private List<Runnable>               tasks;
+
+    @BeforeMethod
+    public void setUp() {
+        tasks = new ArrayList<>();
+        dispatcher = new WebSocketToJsonRpcDispatcher(requestDispatcher, notificationDispatcher, responseDispatcher, transmitter, tasks::add);
+
+        when(requestDispatcher.handle(eq(ENDPOINT_ID), any(JsonObject.class))).thenAnswer(invocation -> {
+            final JsonObject request = (JsonObject)invocation.getArguments()[1];
+            final JsonObject response = new JsonObject();
+            response.add("id", request.get("id"));
+            return response;
+        });
+    }
+
+    @Test
+    public void shouldDispatchRequestWithWorker() {
+        dispatcher.receive(ENDPOINT_ID, REQUEST_1);
+
+        verify(requestDispatcher, never()).dispatch(anyString(), any());
+
+        runTasks();
+
+        verify(requestDispatcher).dispatch(ENDPOINT_ID, parse(REQUEST_1));
+    }
+
+    @Test
+    public void shouldDispatchResponseImmediately() {
+        dispatcher.receive(ENDPOINT_ID, RESPONSE);
+
+        verify(responseDispatcher).dispatch(ENDPOINT_ID, parse(RESPONSE));
+    }
+
+    @Test
+    public void shouldTransmitResponsesToBatchRequestsAsSingleMessage() {
+        dispatcher.receive(ENDPOINT_ID, '[' + REQUEST_1 + ',' + NOTIFICATION + ',' + REQUEST_2 + ']');
+        runTasks();
+
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(transmitter).transmit(eq(ENDPOINT_ID), captor.capture());
+        final JsonArray responses = new JsonParser().parse(captor.getValue()).getAsJsonArray();
+        assertEquals(responses.size(), 2);
+        assertEquals(responses.get(0).getAsJsonObject().get("id").getAsString(), "1");
+        assertEquals(responses.get(1).getAsJsonObject().get("id").getAsString(), "2");
+        verify(notificationDispatcher).dispatch(ENDPOINT_ID, parse(NOTIFICATION));
+    }
+
+    @Test
+    public void shouldNotTransmitAnythingForBatchOfNotificationsAndResponses() {
+        dispatcher.receive(ENDPOINT_ID, '[' + NOTIFICATION + ',' + RESPONSE + ']');
+        runTasks();
+
+        verify(notificationDispatcher).dispatch(ENDPOINT_ID, parse(NOTIFICATION));
+        verify(responseDispatcher).dispatch(ENDPOINT_ID, parse(RESPONSE));
+        verify(transmitter, never()).transmit(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldRespondWithErrorToImproperBatchElement() {
+        dispatcher.receive(ENDPOINT_ID, '[' + REQUEST_1 + ",1]");
+        runTasks();
+
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(transmitter).transmit(eq(ENDPOINT_ID), captor.capture());
+        final JsonArray responses = new JsonParser().parse(captor.getValue()).getAsJsonArray();
+        assertEquals(responses.size(), 2);
+        assertEquals(responses.get(1).getAsJsonObject().get("error").getAsJsonObject().get("code").getAsInt(), -32600);
+    }
+
+    @Test
+    public void shouldRespondWithErrorWithRequestIdWhenHandlerFailsInBatch() {
+        when(requestDispatcher.handle(ENDPOINT_ID, parse(REQUEST_2))).thenThrow(new IllegalStateException("failed"));
+
+        dispatcher.receive(ENDPOINT_ID, '[' + REQUEST_1 + ',' + REQUEST_2 + ']');
+        runTasks();
+
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(transmitter).transmit(eq(ENDPOINT_ID), captor.capture());
+        final JsonArray responses = new JsonParser().parse(captor.getValue()).getAsJsonArray();
+        assertEquals(responses.size(), 2);
+        assertEquals(responses.get(0).getAsJsonObject().get("id").getAsString(), "1");
+        final JsonObject error = responses.get(1).getAsJsonObject();
+        assertEquals(error.get("id").getAsString(), "2");
+        assertEquals(error.get("error").getAsJsonObject().get("code").getAsInt(), -32603);
+    }
+
+    @Test
+    public void shouldDispatchNotificationsOfEndpointInOrder() {
+        final String second = "{\"jsonrpc\":\"2.0\",\"method\":\"second\"}";
+
+        dispatcher.receive(ENDPOINT_ID, NOTIFICATION);
+        dispatcher.receive(ENDPOINT_ID, second);
+
+        assertEquals(tasks.size(), 1);
+
+        runTasks();
+
+        final InOrder inOrder = inOrder(notificationDispatcher);
+        inOrder.verify(notificationDispatcher).dispatch(ENDPOINT_ID, parse(NOTIFICATION));
+        inOrder.verify(notificationDispatcher).dispatch(ENDPOINT_ID, parse(second));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void shouldThrowExceptionOnImproperMessage() {
+        dispatcher.receive(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\"}");
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    private static JsonObject parse(String json) {
+        return new JsonParser().parse(json).getAsJsonObject();
+    }
+}
@@ -11,12 +11,22 @@
 package org.eclipse.che.api.core.notification;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.core.notification.AsyncDelivery.OverflowPolicy.BLOCK;
+import static org.eclipse.che.api.core.notification.AsyncDelivery.OverflowPolicy.DROP_NEWEST;
+import static org.eclipse.che.api.core.notification.AsyncDelivery.OverflowPolicy.DROP_OLDEST;
 
 /**
  * @author andrew00x
@@ -29,6 +39,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -218,4 +233,135 @@ public class EventServiceTest {
             super("message");
         }
     }
+
+    @Test(timeOut = 10000)
+    public void shouldNotWaitForAsyncSubscriber() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(1);
+        bus.subscribe(new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                received.countDown();
+            }
+        }, new AsyncDelivery(10, BLOCK));
+
+        bus.publish(new Event());
+        release.countDown();
+
+        Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeOut = 10000)
+    public void shouldDeliverEventsToAsyncSubscriberInOrderOfPublishing() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch received = new CountDownLatch(100);
+        final EventSubscriber<Event> subscriber = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                events.add(event.data);
+                received.countDown();
+            }
+        };
+        bus.subscribe(subscriber, new AsyncDelivery(10, BLOCK));
+
+        final List<String> published = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            published.add(String.valueOf(i));
+            bus.publish(new Event(String.valueOf(i)));
+        }
+
+        Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(events, published);
+        Assert.assertEquals(bus.getMetrics(subscriber).getDelivered(), 100);
+        Assert.assertEquals(bus.getMetrics(subscriber).getDropped(), 0);
+    }
+
+    @Test
+    public void shouldDropNewestEventsWhenQueueIsFull() {
+        final List<String> events = new ArrayList<>();
+        final List<Runnable> tasks = new ArrayList<>();
+        final EventSubscriber<Event> subscriber = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                events.add(event.data);
+            }
+        };
+        bus.subscribe(subscriber, new AsyncDelivery(tasks::add, 2, DROP_NEWEST));
+
+        bus.publish(new Event("1"));
+        bus.publish(new Event("2"));
+        bus.publish(new Event("3"));
+        Assert.assertEquals(bus.getMetrics(subscriber).getQueueSize(), 2);
+        tasks.forEach(Runnable::run);
+
+        Assert.assertEquals(events, asList("1", "2"));
+        Assert.assertEquals(bus.getMetrics(subscriber).getDropped(), 1);
+    }
+
+    @Test
+    public void shouldDropOldestEventsWhenQueueIsFull() {
+        final List<String> events = new ArrayList<>();
+        final List<Runnable> tasks = new ArrayList<>();
+        final EventSubscriber<Event> subscriber = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                events.add(event.data);
+            }
+        };
+        bus.subscribe(subscriber, new AsyncDelivery(tasks::add, 2, DROP_OLDEST));
+
+        bus.publish(new Event("1"));
+        bus.publish(new Event("2"));
+        bus.publish(new Event("3"));
+        tasks.forEach(Runnable::run);
+
+        Assert.assertEquals(events, asList("2", "3"));
+        Assert.assertEquals(bus.getMetrics(subscriber).getDropped(), 1);
+    }
+
+    @Test
+    public void shouldUnsubscribeAsyncSubscriber() {
+        final List<String> events = new ArrayList<>();
+        final EventSubscriber<Event> subscriber = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                events.add(event.data);
+            }
+        };
+        bus.subscribe(subscriber, new AsyncDelivery(Runnable::run, 2, BLOCK));
+        bus.publish(new Event());
+        bus.unsubscribe(subscriber);
+        bus.publish(new Event());
+
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertNull(bus.getMetrics(subscriber));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectSubscriptionOfAsyncSubscriberWithOtherDelivery() {
+        final EventSubscriber<Event> subscriber = event -> {};
+        final Executor executor = Runnable::run;
+        bus.subscribe(subscriber, Event.class, new AsyncDelivery(executor, 2, BLOCK));
+
+        bus.subscribe(subscriber, Event.class, new AsyncDelivery(executor, 2, DROP_OLDEST));
+    }
+
+    @Test
+    public void shouldSubscribeAsyncSubscriberAgainWithEqualDelivery() {
+        final List<String> events = new ArrayList<>();
+        final EventSubscriber<Event> subscriber = event -> events.add(event.data);
+        final Executor executor = Runnable::run;
+        bus.subscribe(subscriber, Event.class, new AsyncDelivery(executor, 2, BLOCK));
+        bus.subscribe(subscriber, Event.class, new AsyncDelivery(executor, 2, BLOCK));
+
+        bus.publish(new Event());
+
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(bus.getMetrics(subscriber).getDelivered(), 1);
+    }
 }
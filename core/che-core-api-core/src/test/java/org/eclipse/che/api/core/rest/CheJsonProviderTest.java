@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.reflect.TypeToken;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.core.util.LinksHelper.createLink;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests for {@link CheJsonProvider}
+ */
+public class CheJsonProviderTest {
+    private static final Type LINKS_TYPE = new TypeToken<List<Link>>() {}.getType();
+
+    private CheJsonProvider<Object> provider;
+
+    @BeforeMethod
+    public void setUp() {
+        provider = new CheJsonProvider<>(null);
+    }
+
+    @Test
+    public void shouldWriteListOfDtosAsJsonArrayOfDtos() throws Exception {
+        final List<Link> links = asList(createLink("GET", "http://localhost:8080/first", "first"),
+                                        createLink("POST", "http://localhost:8080/second", "application/json", "second"));
+        @SuppressWarnings("unchecked")
+        final MultivaluedMap<String, Object> headers = mock(MultivaluedMap.class);
+
+        final String json = write(links, LINKS_TYPE, headers);
+
+        assertEquals(DtoFactory.getInstance().createListDtoFromJson(json, Link.class), links);
+        assertEquals(json, '[' + DtoFactory.getInstance().toJson(links.get(0)) + ',' + DtoFactory.getInstance().toJson(links.get(1)) + ']');
+        assertFalse(json.contains("consumes"), "Fields with null values must be omitted");
+        verify(headers).putSingle(HttpHeaders.CACHE_CONTROL, CheJsonProvider.CACHE_CONTROL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReadListOfDtosWrittenByProvider() throws Exception {
+        final List<Link> links = asList(createLink("GET", "http://localhost:8080/first", "first"),
+                                        createLink("DELETE", "http://localhost:8080/second", "second"));
+        final byte[] json = write(links, LINKS_TYPE, mock(MultivaluedMap.class)).getBytes(UTF_8);
+
+        final Object read = provider.readFrom((Class)List.class, LINKS_TYPE, new Annotation[0], MediaType.APPLICATION_JSON_TYPE, null,
+                                              new ByteArrayInputStream(json));
+
+        assertEquals(read, links);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String write(Object entity, Type genericType, MultivaluedMap headers) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        provider.writeTo(entity, List.class, genericType, new Annotation[0], MediaType.APPLICATION_JSON_TYPE, headers, output);
+        return new String(output.toByteArray(), UTF_8);
+    }
+}
@@ -10,26 +10,38 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import javax.websocket.CloseReason;
 import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test for {@link BasicWebSocketMessageTransmitter}
@@ -45,7 +57,6 @@ public class BasicWebSocketMessageTransmitterTest {
     private WebSocketSessionRegistry         registry;
     @Mock
     private MessagesReSender                 reSender;
-    @InjectMocks
     private BasicWebSocketMessageTransmitter transmitter;
 
     @Mock
@@ -53,8 +64,13 @@ public class BasicWebSocketMessageTransmitterTest {
     @Mock
     private RemoteEndpoint.Basic remote;
 
+    private List<Runnable> tasks;
+
     @BeforeMethod
     public void setUp() throws Exception {
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 2, Runnable::run);
+        tasks = new ArrayList<>();
+
         when(session.getBasicRemote()).thenReturn(remote);
         when(session.isOpen()).thenReturn(true);
 
@@ -92,4 +108,105 @@ public class BasicWebSocketMessageTransmitterTest {
         verify(remote, never()).sendText(MESSAGE);
         verify(reSender).add(ENDPOINT_ID, MESSAGE);
     }
+
+    @Test
+    public void shouldNotWaitUntilMessageIsSent() throws IOException {
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 2, tasks::add);
+
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        verify(remote, never()).sendText(MESSAGE);
+        assertEquals(transmitter.getMetrics(ENDPOINT_ID).get().getQueueSize(), 1);
+
+        runTasks();
+
+        verify(remote).sendText(MESSAGE);
+        assertEquals(transmitter.getMetrics(ENDPOINT_ID).get().getSent(), 1);
+    }
+
+    @Test
+    public void shouldSendQueuedMessagesAsSingleBatch() throws IOException {
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 2, tasks::add);
+
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+        runTasks();
+
+        final InOrder inOrder = inOrder(remote);
+        inOrder.verify(remote).setBatchingAllowed(true);
+        inOrder.verify(remote).sendText("first");
+        inOrder.verify(remote).sendText("second");
+        inOrder.verify(remote).setBatchingAllowed(false);
+        assertEquals(transmitter.getMetrics(ENDPOINT_ID).get().getFlushes(), 1);
+    }
+
+    @Test
+    public void shouldBroadcastMessageToOpenSessions() throws IOException {
+        when(registry.getSessions()).thenReturn(singleton(session));
+
+        transmitter.transmit(MESSAGE);
+
+        verify(remote).sendText(MESSAGE);
+        verify(reSender, never()).add(any(), anyString());
+    }
+
+    @Test
+    public void shouldCloseSlowSessionAndPassPendingMessagesToReSender() throws IOException {
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 2, tasks::add);
+
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+        transmitter.transmit(ENDPOINT_ID, "third");
+        runTasks();
+
+        verify(session).close(any(CloseReason.class));
+        verify(remote, never()).sendText(anyString());
+        verify(reSender).add(ENDPOINT_ID, "first");
+        verify(reSender).add(ENDPOINT_ID, "second");
+        verify(reSender).add(ENDPOINT_ID, "third");
+        assertTrue(transmitter.getMetrics(ENDPOINT_ID).get().isEvicted());
+    }
+
+    @Test
+    public void shouldAddMessageToPendingIfSessionWasEvicted() throws IOException {
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 1, tasks::add);
+
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        verify(reSender, times(3)).add(eq(ENDPOINT_ID), anyString());
+        verify(reSender).add(ENDPOINT_ID, MESSAGE);
+    }
+
+    @Test
+    public void shouldDropQueueWhenSessionIsUnregistered() throws IOException {
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(registry, atLeastOnce()).addRemovalListener(captor.capture());
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        assertTrue(transmitter.getMetrics(ENDPOINT_ID).isPresent());
+
+        captor.getValue().accept(session);
+
+        assertFalse(transmitter.getMetrics(ENDPOINT_ID).isPresent());
+    }
+
+    @Test
+    public void shouldOfferMessageOnlyToOpenSession() throws IOException {
+        assertTrue(transmitter.offer(ENDPOINT_ID, MESSAGE));
+        verify(remote).sendText(MESSAGE);
+
+        when(session.isOpen()).thenReturn(false);
+        when(registry.get("unknown")).thenReturn(Optional.empty());
+
+        assertFalse(transmitter.offer(ENDPOINT_ID, "closed"));
+        assertFalse(transmitter.offer("unknown", "unknown"));
+        verify(reSender, never()).add(anyString(), anyString());
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
 }
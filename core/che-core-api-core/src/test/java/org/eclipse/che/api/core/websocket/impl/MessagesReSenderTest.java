@@ -10,21 +10,17 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.websocket.RemoteEndpoint;
-import javax.websocket.Session;
+import java.util.concurrent.atomic.AtomicLong;
 
-import java.util.Optional;
-
-import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -41,55 +37,70 @@ public class MessagesReSenderTest {
     private static final String ENDPOINT_ID = "id";
 
     @Mock
-    private WebSocketSessionRegistry sessionRegistry;
-    @InjectMocks
-    private MessagesReSender         reSender;
-
-    @Mock
-    private Session               session;
-    @Mock
-    private RemoteEndpoint.Async  endpoint;
+    private BasicWebSocketMessageTransmitter transmitter;
 
-    @BeforeMethod
-    public void beforeMethod() {
-        when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-        when(session.getAsyncRemote()).thenReturn(endpoint);
-        when(session.isOpen()).thenReturn(true);
-    }
+    private MessagesReSender reSender;
+    private AtomicLong       now;
 
     @BeforeMethod
     public void before() {
-        reSender = new MessagesReSender(sessionRegistry);
+        when(transmitter.offer(anyString(), anyString())).thenReturn(true);
+
+        now = new AtomicLong();
+        reSender = new MessagesReSender(() -> transmitter, 10, 60_000, now::get);
     }
 
     @Test
-    public void shouldStopIfSessionIsNotRegistered() {
-        when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
-
+    public void shouldKeepMessagesIfSessionIsNotAvailable() {
+        when(transmitter.offer(anyString(), anyString())).thenReturn(false);
         reSender.add(ENDPOINT_ID, MESSAGE);
 
         reSender.resend(ENDPOINT_ID);
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        verify(transmitter).offer(ENDPOINT_ID, MESSAGE);
+
+        when(transmitter.offer(anyString(), anyString())).thenReturn(true);
+        reSender.resend(ENDPOINT_ID);
+
+        verify(transmitter, times(2)).offer(ENDPOINT_ID, MESSAGE);
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(transmitter, times(2)).offer(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
-    public void shouldKeepMessagesIfSessionIsClosed() {
-        reSender.add(ENDPOINT_ID, MESSAGE);
+    public void shouldStopOnFirstMessageWhichIsNotAccepted() {
+        when(transmitter.offer(ENDPOINT_ID, "second")).thenReturn(false);
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second");
+        reSender.add(ENDPOINT_ID, "third");
 
-        when(session.isOpen()).thenReturn(false);
         reSender.resend(ENDPOINT_ID);
 
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        verify(transmitter, never()).offer(ENDPOINT_ID, "third");
 
-        when(session.isOpen()).thenReturn(true);
+        when(transmitter.offer(ENDPOINT_ID, "second")).thenReturn(true);
         reSender.resend(ENDPOINT_ID);
 
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).offer(ENDPOINT_ID, "first");
+        verify(transmitter, times(2)).offer(ENDPOINT_ID, "second");
+        verify(transmitter).offer(ENDPOINT_ID, "third");
+    }
+
+    @Test
+    public void shouldKeepOrderOfMessagesAddedWhileSessionIsNotAvailable() {
+        when(transmitter.offer(anyString(), anyString())).thenReturn(false);
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.resend(ENDPOINT_ID);
+        reSender.add(ENDPOINT_ID, "second");
+
+        when(transmitter.offer(anyString(), anyString())).thenReturn(true);
+        reSender.resend(ENDPOINT_ID);
+
+        final InOrder inOrder = inOrder(transmitter);
+        inOrder.verify(transmitter, times(2)).offer(ENDPOINT_ID, "first");
+        inOrder.verify(transmitter).offer(ENDPOINT_ID, "second");
     }
 
     @Test
@@ -98,9 +109,7 @@ public class MessagesReSenderTest {
 
         reSender.resend(ENDPOINT_ID);
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).offer(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
@@ -111,10 +120,8 @@ public class MessagesReSenderTest {
         reSender.resend(ENDPOINT_ID);
         reSender.resend("1");
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(transmitter).offer(ENDPOINT_ID, MESSAGE);
+        verify(transmitter).offer("1", MESSAGE);
     }
 
     @Test
@@ -122,14 +129,10 @@ public class MessagesReSenderTest {
         reSender.add(ENDPOINT_ID, MESSAGE);
 
         reSender.resend(ENDPOINT_ID);
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).offer(ENDPOINT_ID, MESSAGE);
 
         reSender.resend(ENDPOINT_ID);
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).offer(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
@@ -140,17 +143,54 @@ public class MessagesReSenderTest {
         reSender.resend(ENDPOINT_ID);
         reSender.resend("1");
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(transmitter).offer(ENDPOINT_ID, MESSAGE);
+        verify(transmitter).offer("1", MESSAGE);
 
         reSender.resend(ENDPOINT_ID);
         reSender.resend("1");
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(transmitter).offer(ENDPOINT_ID, MESSAGE);
+        verify(transmitter).offer("1", MESSAGE);
+    }
+
+    @Test
+    public void shouldNotResendExpiredMessages() {
+        reSender = new MessagesReSender(() -> transmitter, 10, 10, now::get);
+
+        reSender.add(ENDPOINT_ID, "expired");
+        now.addAndGet(11);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(transmitter, never()).offer(ENDPOINT_ID, "expired");
+        verify(transmitter).offer(ENDPOINT_ID, MESSAGE);
+    }
+
+    @Test
+    public void shouldNotResendMessagesWhichExpiredWhileSessionWasNotAvailable() {
+        reSender = new MessagesReSender(() -> transmitter, 10, 10, now::get);
+
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        now.addAndGet(11);
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(transmitter, never()).offer(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldDropMessagesAboveLimit() {
+        reSender = new MessagesReSender(() -> transmitter, 2, 60_000, now::get);
+
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second");
+        reSender.add(ENDPOINT_ID, "third");
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(transmitter).offer(ENDPOINT_ID, "first");
+        verify(transmitter).offer(ENDPOINT_ID, "second");
+        verify(transmitter, never()).offer(ENDPOINT_ID, "third");
     }
 }
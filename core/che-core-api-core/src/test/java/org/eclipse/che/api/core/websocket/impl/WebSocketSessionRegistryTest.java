@@ -18,8 +18,11 @@ import org.testng.annotations.Test;
 
 import javax.websocket.Session;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static java.util.Collections.singletonList;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.*;
 
@@ -87,4 +90,27 @@ public class WebSocketSessionRegistryTest {
         assertEquals(2, registry.getSessions().size());
     }
 
+    @Test
+    public void shouldNotifyListenersWhenSessionIsRemoved() {
+        final List<Session> removed = new ArrayList<>();
+        registry.addRemovalListener(removed::add);
+        registry.add("0", session);
+
+        registry.remove("0");
+        registry.remove("0");
+
+        assertEquals(removed, singletonList(session));
+    }
+
+    @Test
+    public void shouldNotifyListenersWhenSessionIsReplaced() {
+        final List<Session> removed = new ArrayList<>();
+        registry.addRemovalListener(removed::add);
+        registry.add("0", session);
+        registry.add("0", session);
+
+        registry.add("0", mock(Session.class));
+
+        assertEquals(removed, singletonList(session));
+    }
 }
@@ -10,7 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
+import com.google.common.hash.Hashing;
+
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.dto.server.DtoFactory;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.impl.ApplicationProviderBinder;
 import org.everrest.core.impl.ContainerRequest;
@@ -34,6 +38,7 @@ import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -84,6 +89,28 @@ public class ETagResponseFilterTest {
         }
 
 
+        @GET
+        @Path("/dto")
+        @Produces(APPLICATION_JSON)
+        public ServiceError getDto() {
+            return DtoFactory.newDto(ServiceError.class).withMessage("hello");
+        }
+
+        @GET
+        @Path("/dtos")
+        @Produces(APPLICATION_JSON)
+        public List<ServiceError> getDtos() {
+            return Arrays.asList(DtoFactory.newDto(ServiceError.class).withMessage("a"),
+                                 DtoFactory.newDto(ServiceError.class).withMessage("b"));
+        }
+
+        @GET
+        @Path("/versioned")
+        @Produces(APPLICATION_JSON)
+        public Response getVersioned() {
+            return Response.ok("versioned").tag("v1").build();
+        }
+
         @GET
         @Path("/modify")
         @Produces(APPLICATION_JSON)
@@ -206,6 +233,83 @@ public class ETagResponseFilterTest {
         Assert.assertNull(response.getEntity());
     }
 
+    /**
+     * Check if DTO is serialized once and ETag is hash of the serialized JSON
+     */
+    @Test
+    public void filterDtoEntityTest() throws Exception {
+        final byte[] json = DtoFactory.getInstance()
+                                      .toJson(DtoFactory.newDto(ServiceError.class).withMessage("hello"))
+                                      .getBytes(StandardCharsets.UTF_8);
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/dto", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        // entity is replaced with serialized JSON
+        Assert.assertEquals((byte[])response.getEntity(), json);
+        // Check etag
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertNotNull(headerTags);
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), new EntityTag(Hashing.md5().hashBytes(json).toString()));
+    }
+
+    /**
+     * Check if list of DTOs is serialized once as JSON array
+     */
+    @Test
+    public void filterDtoListEntityTest() throws Exception {
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/dtos", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        Assert.assertEquals(new String((byte[])response.getEntity(), StandardCharsets.UTF_8),
+                            "[{\"message\":\"a\"},{\"message\":\"b\"}]");
+        Assert.assertNotNull(response.getHttpHeaders().getFirst("ETag"));
+    }
+
+    /**
+     * Check if ETag sent with header is redirecting to NOT_MODIFIED for DTO entity
+     */
+    @Test
+    public void filterDtoEntityTestWithEtag() throws Exception {
+        final byte[] json = DtoFactory.getInstance()
+                                      .toJson(DtoFactory.newDto(ServiceError.class).withMessage("hello"))
+                                      .getBytes(StandardCharsets.UTF_8);
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag(Hashing.md5().hashBytes(json).toString()).toString()));
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/dto", BASE_URI, headers, null, null);
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        // check null body
+        Assert.assertNull(response.getEntity());
+    }
+
+    /**
+     * Check if ETag set by the resource is kept and entity isn't hashed
+     */
+    @Test
+    public void useETagProvidedByResource() throws Exception {
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, null, null,
+                                                                    null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        Assert.assertEquals(response.getEntity(), "versioned");
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), new EntityTag("v1"));
+    }
+
+    /**
+     * Check if ETag set by the resource is used for evaluating preconditions
+     */
+    @Test
+    public void filterEntityWithETagProvidedByResourceTestWithEtag() throws Exception {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag("v1").toString()));
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, headers, null,
+                                                                    null);
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        Assert.assertNull(response.getEntity());
+    }
+
     /**
      * Check if ETag sent with header is redirecting to NOT_MODIFIED
      */
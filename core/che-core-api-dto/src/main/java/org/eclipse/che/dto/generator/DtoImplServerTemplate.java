@@ -70,7 +70,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamSerializer(methods, builder);
         emitDeserializer(methods, builder);
+        emitStreamDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
@@ -301,8 +303,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        builder.append("      return JsonStreams.toJson(this);\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -451,6 +452,153 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /**
+     * Generates method which writes DTO directly to JSON stream without building of {@link com.google.gson.JsonElement} tree.
+     * Compact DTOs and DTOs which have several properties with the same JSON name are written through the tree.
+     */
+    private void emitStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void writeTo(JsonWriter writer) throws IOException {\n");
+        if (!isStreamable(getters)) {
+            builder.append("      gson.toJson(toJsonElementInt(false), writer);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      writer.beginObject();\n");
+        for (Method getter : getters) {
+            builder.append("      writer.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+            emitStreamSerializerImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()),
+                                     "      ");
+        }
+        builder.append("      writer.endObject();\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to write the value of the given variable to JSON stream.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java type that will be the input for serialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamSerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String value = depth == 0 ? "this." + inVar : inVar;
+        if (isList(rawClass) || isMap(rawClass)) {
+            String childIndentation = i;
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            } else {
+                builder.append(i).append("if (").append(value).append(" == null) {\n");
+                builder.append(i).append("  writer.nullValue();\n");
+                builder.append(i).append("} else {\n");
+                childIndentation = i + "  ";
+            }
+            emitStreamSerializeCollection(expandedTypes, depth, builder, value, inVar + "_", childIndentation);
+            if (depth != 0) {
+                builder.append(i).append("}\n");
+            }
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("writer.value(").append(value).append(" == null ? null : ").append(value).append(".name());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            emitStreamSerializeDto(getImplNameForDto(rawClass), value, builder, i);
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("writer.value(").append(value).append(");\n");
+        } else if (rawClass == boolean.class
+                   || rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == short.class
+                   || rawClass == byte.class) {
+            builder.append(i).append("writer.value(").append(value).append(");\n");
+        } else if (rawClass == double.class || rawClass == float.class) {
+            // written as number object to keep float precision and allow NaN like JsonPrimitive does
+            builder.append(i).append("writer.value((java.lang.Number)").append(value).append(");\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("if (").append(value).append(" == null) {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  writer.value(").append(value).append(".booleanValue());\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(i).append("writer.value((java.lang.Number)").append(value).append(");\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("if (").append(value).append(" instanceof JsonElement) {\n");
+            builder.append(i).append("  gson.toJson((JsonElement)").append(value).append(", writer);\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("}\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                emitStreamSerializeDto(dtoImplementation.getCanonicalName(), value, builder, i);
+            } else {
+                throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                   getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                   " is not allowed to use in DTO interface.");
+            }
+        }
+    }
+
+    private void emitStreamSerializeCollection(List<Type> expandedTypes, int depth, StringBuilder builder, String value,
+                                               String childInVar, String i) {
+        final String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+        if (isList(getRawClass(expandedTypes.get(depth)))) {
+            builder.append(i).append("writer.beginArray();\n");
+            builder.append(i).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ")
+                   .append(value).append(") {\n");
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "  ");
+            builder.append(i).append("}\n");
+            builder.append(i).append("writer.endArray();\n");
+        } else {
+            final String entryVar = "entry" + depth;
+            builder.append(i).append("writer.beginObject();\n");
+            builder.append(i).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                   .append(" : ").append(value).append(".entrySet()) {\n");
+            builder.append(i).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ")
+                   .append(entryVar).append(".getValue();\n");
+            builder.append(i).append("  writer.name(").append(entryVar).append(".getKey());\n");
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "  ");
+            builder.append(i).append("}\n");
+            builder.append(i).append("writer.endObject();\n");
+        }
+    }
+
+    private void emitStreamSerializeDto(String implName, String value, StringBuilder builder, String i) {
+        builder.append(i).append("if (").append(value).append(" == null) {\n");
+        builder.append(i).append("  writer.nullValue();\n");
+        builder.append(i).append("} else {\n");
+        builder.append(i).append("  ((").append(implName).append(")").append(value).append(").writeTo(writer);\n");
+        builder.append(i).append("}\n");
+    }
+
+    /**
+     * Tests whether DTO may be read and written as JSON stream. Compact DTOs are serialized as arrays and JSON name of each
+     * property must be unique to be written and read by name, other DTOs are read and written through JSON tree.
+     */
+    private boolean isStreamable(List<Method> getters) {
+        if (isCompactJson()) {
+            return false;
+        }
+        final Set<String> jsonNames = new HashSet<>();
+        for (Method getter : getters) {
+            if (!jsonNames.add(getJsonFieldName(getter))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -484,8 +632,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("      if (jsonString == null) {\n");
         builder.append("        return null;\n");
         builder.append("      }\n\n");
-        // The default fromJsonElement(json) creates its own JSON thus keeping parts of its as value is OK
-        builder.append("      return fromJsonElement(new JsonParser().parse(jsonString), false);\n");
+        builder.append("      return JsonStreams.fromJson(jsonString, ").append(getImplClassName()).append("::readFrom);\n");
         builder.append("    }\n\n");
     }
 
@@ -605,6 +752,126 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
     
+    /** Generates a static factory method that creates a new instance reading it directly from JSON stream. */
+    private void emitStreamDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" readFrom(JsonReader reader) throws IOException {\n");
+        if (!isStreamable(getters)) {
+            builder.append("      return fromJsonElement(new JsonParser().parse(reader), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (reader.peek() == JsonToken.NULL) {\n");
+        builder.append("        reader.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      reader.beginObject();\n");
+        builder.append("      while (reader.hasNext()) {\n");
+        builder.append("        switch (reader.nextName()) {\n");
+        for (Method getter : getters) {
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ").append(quoteStringLiteral(getJsonFieldName(getter))).append(": {\n");
+            emitStreamDeserializerImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ");
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      reader.endObject();\n");
+        builder.append("\n      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to read the value of the given type from JSON stream.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the variable that will be the output of deserialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final String childOutVar = outVar + "_";
+        final Class<?> rawClass = getRawClass(type);
+
+        if (isList(rawClass) || isMap(rawClass)) {
+            final boolean list = isList(rawClass);
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            builder.append(i).append(list ? "  reader.beginArray();\n" : "  reader.beginObject();\n");
+            builder.append(i).append("  while (reader.hasNext()) {\n");
+            final String keyVar = "key" + depth;
+            if (!list) {
+                builder.append(i).append("    String ").append(keyVar).append(" = reader.nextName();\n");
+            }
+            emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+            if (list) {
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+            } else {
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ")
+                       .append(childOutVar).append(");\n");
+            }
+            builder.append(i).append("  }\n");
+            builder.append(i).append(list ? "  reader.endArray();\n" : "  reader.endObject();\n");
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".readFrom(reader);\n");
+        } else if (rawClass.isPrimitive()) {
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = ")
+                   .append(getPrimitiveReadExpression(rawClass)).append(";\n");
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("String ").append(outVar).append(" = JsonStreams.readString(reader);\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(reader);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".readFrom(reader);\n");
+            } else {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(reader, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
+    /** Returns expression which reads primitive value the same way as JsonElement.getAsXXX() methods do. */
+    private String getPrimitiveReadExpression(Class<?> primitive) {
+        if (primitive == int.class) {
+            return "reader.nextInt()";
+        } else if (primitive == long.class) {
+            return "reader.nextLong()";
+        } else if (primitive == double.class) {
+            return "reader.nextDouble()";
+        } else if (primitive == float.class) {
+            return "java.lang.Float.parseFloat(reader.nextString())";
+        } else if (primitive == short.class) {
+            return "(short)reader.nextInt()";
+        } else if (primitive == byte.class) {
+            return "(byte)reader.nextInt()";
+        } else if (primitive == boolean.class) {
+            return "JsonStreams.readBoolean(reader)";
+        }
+        throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                           getDtoInterface().getCanonicalName() + ". Type " + primitive +
+                                           " is not allowed to use in DTO interface.");
+    }
+
     /**
      * Append the expression that clones the given JsonElement variable into a new value. If the copyJons run-time
      * parameter is set to false, then the expression won't perform a clone but instead will reuse the variable by
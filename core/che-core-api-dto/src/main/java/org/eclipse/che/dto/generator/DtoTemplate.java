@@ -192,6 +192,7 @@ public class DtoTemplate {
         builder.append(";\n\n");
         if ("server".equals(implType)) {
             builder.append("import org.eclipse.che.dto.server.JsonSerializable;\n");
+            builder.append("import org.eclipse.che.dto.server.JsonStreams;\n");
             builder.append("\n");
             builder.append("import com.google.gson.Gson;\n");
             builder.append("import com.google.gson.GsonBuilder;\n");
@@ -201,7 +202,11 @@ public class DtoTemplate {
             builder.append("import com.google.gson.JsonObject;\n");
             builder.append("import com.google.gson.JsonParser;\n");
             builder.append("import com.google.gson.JsonPrimitive;\n");
+            builder.append("import com.google.gson.stream.JsonReader;\n");
+            builder.append("import com.google.gson.stream.JsonToken;\n");
+            builder.append("import com.google.gson.stream.JsonWriter;\n");
             builder.append("\n");
+            builder.append("import java.io.IOException;\n");
             builder.append("import java.util.List;\n");
             builder.append("import java.util.Map;\n");
         }
@@ -248,6 +253,9 @@ public class DtoTemplate {
                 builder.append("        public ").append(dtoInterface).append(" fromJson(com.google.gson.JsonElement json) {\n")
                        .append("            return ").append(dto.getImplClassName()).append(".fromJsonElement(json);\n");
                 builder.append("        }\n\n");
+                builder.append("        public ").append(dtoInterface).append(" fromJson(JsonReader reader) throws IOException {\n")
+                       .append("            return ").append(dto.getImplClassName()).append(".readFrom(reader);\n");
+                builder.append("        }\n\n");
                 builder.append("        public ").append(dtoInterface).append(" clone(").append(dtoInterface).append(" origin) {\n")
                        .append("            return new ").append(dto.getImplClassName()).append("(origin);\n");
                 builder.append("        }\n");
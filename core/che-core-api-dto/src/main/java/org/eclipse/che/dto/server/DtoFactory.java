@@ -10,27 +10,21 @@
  *******************************************************************************/
 package org.eclipse.che.dto.server;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
-import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
 import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,24 +37,6 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author andrew00x
  */
 public final class DtoFactory {
-    private static final Gson gson = new GsonBuilder().serializeNulls().create();
-
-    private static final LoadingCache<Type, ParameterizedType> listTypeCache = CacheBuilder.newBuilder().concurrencyLevel(16).build(
-            new CacheLoader<Type, ParameterizedType>() {
-                @Override
-                public ParameterizedType load(Type type) {
-                    return new ParameterizedTypeImpl(List.class, type);
-                }
-            });
-
-    private static final LoadingCache<Type, ParameterizedType> mapTypeCache = CacheBuilder.newBuilder().concurrencyLevel(16).build(
-            new CacheLoader<Type, ParameterizedType>() {
-                @Override
-                public ParameterizedType load(Type type) {
-                    return new ParameterizedTypeImpl(Map.class, String.class, type);
-                }
-            });
-
     private static final DtoFactory INSTANCE = new DtoFactory();
 
     public static DtoFactory getInstance() {
@@ -143,6 +119,46 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Writes JSON representation of DTO to the specified writer without building of intermediate JSON string.
+     *
+     * @throws IllegalArgumentException
+     *         if specified object isn't {@link JsonSerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> void toJson(T dto, Writer writer) throws IOException {
+        if (dto instanceof JsonSerializable) {
+            JsonStreams.write((JsonSerializable)dto, writer);
+            return;
+        }
+        throw new IllegalArgumentException("JsonSerializable instance required. ");
+    }
+
+    /**
+     * Writes collection of DTOs to the specified writer as JSON array.
+     *
+     * @throws IllegalArgumentException
+     *         if any element of collection isn't {@link JsonSerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public void toJsonArray(Collection<?> dtos, Writer writer) throws IOException {
+        final JsonWriter jsonWriter = JsonStreams.newWriter(writer);
+        jsonWriter.beginArray();
+        for (Object dto : dtos) {
+            if (dto == null) {
+                jsonWriter.nullValue();
+            } else if (dto instanceof JsonSerializable) {
+                ((JsonSerializable)dto).writeTo(jsonWriter);
+            } else {
+                throw new IllegalArgumentException("JsonSerializable instance required. ");
+            }
+        }
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
     public <T> JsonElement toJsonElement(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJsonElement();
@@ -208,14 +224,8 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        StringBuilder sb = new StringBuilder();
-        BufferedReader br = new BufferedReader(json);
-        String line;
-        while ((line = br.readLine()) != null) {
-            sb.append(line);
-        }
-        return dtoProvider.fromJson(sb.toString());
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        return JsonStreams.read(json, dtoProvider::fromJson);
     }
 
     /**
@@ -250,12 +260,7 @@ public final class DtoFactory {
      */
     public <T> JsonArray<T> createListDtoFromJson(String json, Class<T> dtoInterface) {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final List<JsonElement> list = gson.fromJson(json, listTypeCache.getUnchecked(JsonElement.class));
-        final List<T> result = new ArrayList<>(list.size());
-        for (JsonElement e : list) {
-            result.add(dtoProvider.fromJson(e));
-        }
-        return new JsonArrayImpl<>(result);
+        return JsonStreams.fromJson(json, reader -> readList(reader, dtoProvider));
     }
 
 
@@ -272,21 +277,7 @@ public final class DtoFactory {
      */
     public <T> JsonArray<T> createListDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final List<JsonElement> list;
-        try {
-            list = gson.fromJson(json, listTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
-            }
-            throw e;
-        }
-        final List<T> result = new ArrayList<>(list.size());
-        for (JsonElement e : list) {
-            result.add(dtoProvider.fromJson(e));
-        }
-        return new JsonArrayImpl<>(result);
+        return JsonStreams.read(json, reader -> readList(reader, dtoProvider));
     }
 
     /**
@@ -321,12 +312,7 @@ public final class DtoFactory {
      */
     public <T> JsonStringMap<T> createMapDtoFromJson(String json, Class<T> dtoInterface) {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final Map<String, JsonElement> map = gson.fromJson(json, mapTypeCache.getUnchecked(JsonElement.class));
-        final Map<String, T> result = new LinkedHashMap<>(map.size());
-        for (Map.Entry<String, JsonElement> e : map.entrySet()) {
-            result.put(e.getKey(), dtoProvider.fromJson(e.getValue()));
-        }
-        return new JsonStringMapImpl<>(result);
+        return JsonStreams.fromJson(json, reader -> readMap(reader, dtoProvider));
     }
 
 
@@ -343,24 +329,9 @@ public final class DtoFactory {
      * @throws IOException
      *         if an i/o error occurs
      */
-    @SuppressWarnings("unchecked")
     public <T> JsonStringMap<T> createMapDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final Map<String, JsonElement> map;
-        try {
-            map = gson.fromJson(json, mapTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
-            }
-            throw e;
-        }
-        final Map<String, T> result = new LinkedHashMap<>(map.size());
-        for (Map.Entry<String, JsonElement> e : map.entrySet()) {
-            result.put(e.getKey(), dtoProvider.fromJson(e.getValue()));
-        }
-        return new JsonStringMapImpl<>(result);
+        return JsonStreams.read(json, reader -> readMap(reader, dtoProvider));
     }
 
     /**
@@ -382,6 +353,26 @@ public final class DtoFactory {
 
     //
 
+    private static <T> JsonArray<T> readList(JsonReader reader, DtoProvider<T> dtoProvider) throws IOException {
+        final List<T> result = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            result.add(dtoProvider.fromJson(reader));
+        }
+        reader.endArray();
+        return new JsonArrayImpl<>(result);
+    }
+
+    private static <T> JsonStringMap<T> readMap(JsonReader reader, DtoProvider<T> dtoProvider) throws IOException {
+        final Map<String, T> result = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            result.put(reader.nextName(), dtoProvider.fromJson(reader));
+        }
+        reader.endObject();
+        return new JsonStringMapImpl<>(result);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> DtoProvider<T> getDtoProvider(Class<T> dtoInterface) {
         DtoProvider<?> dtoProvider = dtoInterface2Providers.get(dtoInterface);
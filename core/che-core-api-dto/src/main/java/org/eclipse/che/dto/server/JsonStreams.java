@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Helpers used by generated server DTOs to write and read JSON as a stream,
+ * without building {@link com.google.gson.JsonElement} tree of the whole DTO.
+ * <p>
+ * Writers and readers are configured the same way as gson of generated DTOs, so
+ * streamed JSON is the same as JSON produced from the tree: {@code null} fields
+ * are omitted, HTML characters are not escaped and parsing is lenient.
+ */
+public final class JsonStreams {
+
+    /** Reads value from JSON stream. */
+    @FunctionalInterface
+    public interface ReadFunction<T> {
+        T read(JsonReader reader) throws IOException;
+    }
+
+    /** Creates writer which writes JSON to the given writer. */
+    public static JsonWriter newWriter(Writer writer) {
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setLenient(true);
+        jsonWriter.setHtmlSafe(false);
+        jsonWriter.setSerializeNulls(false);
+        return jsonWriter;
+    }
+
+    /** Creates reader which reads JSON from the given reader. */
+    public static JsonReader newReader(Reader reader) {
+        final JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setLenient(true);
+        return jsonReader;
+    }
+
+    /** Serializes DTO to JSON string. */
+    public static String toJson(JsonSerializable dto) {
+        final StringWriter writer = new StringWriter();
+        try {
+            write(dto, writer);
+        } catch (IOException e) {
+            // never happens with StringWriter
+            throw new JsonIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /** Serializes DTO to the given writer. */
+    public static void write(JsonSerializable dto, Writer writer) throws IOException {
+        final JsonWriter jsonWriter = newWriter(writer);
+        dto.writeTo(jsonWriter);
+        jsonWriter.flush();
+    }
+
+    /**
+     * Reads JSON string with the given function.
+     *
+     * @return read value or {@code null} if the string is empty
+     * @throws JsonSyntaxException
+     *         if JSON is malformed
+     */
+    public static <T> T fromJson(String json, ReadFunction<T> function) {
+        try {
+            return read(new StringReader(json), function);
+        } catch (JsonSyntaxException e) {
+            throw e;
+        } catch (IOException e) {
+            // never happens with StringReader
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Reads the whole JSON document from the given reader with the given function.
+     *
+     * @return read value or {@code null} if the document is empty
+     * @throws JsonSyntaxException
+     *         if JSON is malformed
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public static <T> T read(Reader reader, ReadFunction<T> function) throws IOException {
+        final JsonReader jsonReader = newReader(reader);
+        try {
+            jsonReader.peek();
+        } catch (EOFException e) {
+            return null;
+        }
+        try {
+            final T result = function.read(jsonReader);
+            if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            return result;
+        } catch (MalformedJsonException | EOFException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /** Reads string value, {@code null} and booleans are accepted as well. */
+    public static String readString(JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+        return reader.nextString();
+    }
+
+    /** Reads boolean value, boolean may be represented as string. */
+    public static boolean readBoolean(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        }
+        return reader.nextBoolean();
+    }
+
+    private JsonStreams() {
+    }
+}
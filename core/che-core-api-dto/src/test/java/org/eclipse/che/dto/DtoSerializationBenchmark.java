@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.dto.definitions.ComplicatedDto;
+import org.eclipse.che.dto.definitions.SimpleDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Compares streaming JSON serialization of server DTOs with serialization through
+ * {@link com.google.gson.JsonElement} tree on large payloads.
+ * <p>
+ * Benchmark isn't run with unit tests, to run it build test classes and start JMH runner with test classpath of module:
+ * <pre>
+ *     java -cp &lt;test classpath&gt; org.openjdk.jmh.Main DtoSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    /** Number of nested DTOs in the list and in the map of serialized DTO. */
+    @Param({"100", "10000"})
+    public int size;
+
+    private ComplicatedDto dto;
+    private String         json;
+
+    @Setup
+    public void setUp() {
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        final List<SimpleDto> simpleDtos = new ArrayList<>(size);
+        final Map<String, SimpleDto> map = new HashMap<>();
+        final List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class)
+                                                  .withId(i)
+                                                  .withName("name-" + i)
+                                                  .withDefault("default value of the dto number " + i);
+            simpleDtos.add(simpleDto);
+            map.put("key-" + i, simpleDto);
+            strings.add("string-" + i);
+        }
+        dto = dtoFactory.createDto(ComplicatedDto.class)
+                        .withSimpleDtos(simpleDtos)
+                        .withMap(map)
+                        .withStrings(strings)
+                        .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                        .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE, ComplicatedDto.SimpleEnum.THREE)));
+        json = dtoFactory.toJson(dto);
+    }
+
+    @Benchmark
+    public String writeThroughTree() {
+        return GSON.toJson(((JsonSerializable)dto).toJsonElement());
+    }
+
+    @Benchmark
+    public String writeStream() {
+        return DtoFactory.getInstance().toJson(dto);
+    }
+
+    @Benchmark
+    public String writeStreamToWriter() throws IOException {
+        final StringWriter writer = new StringWriter();
+        DtoFactory.getInstance().toJson(dto, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public ComplicatedDto readThroughTree() {
+        return DtoFactory.getInstance().createDtoFromJson(new JsonParser().parse(json), ComplicatedDto.class);
+    }
+
+    @Benchmark
+    public ComplicatedDto readStream() {
+        return DtoFactory.getInstance().createDtoFromJson(json, ComplicatedDto.class);
+    }
+
+    @Benchmark
+    public ComplicatedDto readStreamFromReader() throws IOException {
+        return DtoFactory.getInstance().createDtoFromJson(new StringReader(json), ComplicatedDto.class);
+    }
+}
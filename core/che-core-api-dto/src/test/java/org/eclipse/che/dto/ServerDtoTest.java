@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
 
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
@@ -26,9 +28,12 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -36,6 +41,7 @@ import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -325,6 +331,92 @@ public class ServerDtoTest {
         assertEquals(complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
     }
 
+    @Test
+    public void shouldWriteTheSameJsonAsJsonTree() throws Exception {
+        final ComplicatedDto complicatedDto = createComplicatedDto();
+        final DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class)
+                                                .withStuff(createTestValueForAny())
+                                                .withObjects(createListTestValueForAny());
+
+        assertEquals(dtoFactory.toJson(complicatedDto), toJsonThroughTree(complicatedDto));
+        assertEquals(dtoFactory.toJson(dtoWithAny), toJsonThroughTree(dtoWithAny));
+        assertEquals(dtoFactory.toJson(dtoFactory.createDto(DtoWithAny.class)),
+                     toJsonThroughTree(dtoFactory.createDto(DtoWithAny.class)));
+    }
+
+    @Test
+    public void shouldReadDtoFromReader() throws Exception {
+        final ComplicatedDto dto = createComplicatedDto();
+
+        final ComplicatedDto read = dtoFactory.createDtoFromJson(new StringReader(dtoFactory.toJson(dto)), ComplicatedDto.class);
+
+        assertEquals(read, dto);
+    }
+
+    @Test
+    public void shouldWriteDtoToWriter() throws Exception {
+        final ComplicatedDto dto = createComplicatedDto();
+        final StringWriter writer = new StringWriter();
+
+        dtoFactory.toJson(dto, writer);
+
+        assertEquals(writer.toString(), dtoFactory.toJson(dto));
+    }
+
+    @Test
+    public void shouldSkipUnknownPropertiesWhenReadingDto() throws Exception {
+        final SimpleDto dto = dtoFactory.createDtoFromJson("{\"unknown\":{\"a\":[1,{\"b\":null}]},\"id\":5,\"name\":null}",
+                                                           SimpleDto.class);
+
+        assertEquals(dto.getId(), 5);
+        assertNull(dto.getName());
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldThrowSyntaxExceptionWhenReadingMalformedJson() throws Exception {
+        dtoFactory.createDtoFromJson("{\"id\":", SimpleDto.class);
+    }
+
+    @Test
+    public void shouldWriteAndReadListOfDtos() throws Exception {
+        final List<SimpleDto> dtos = asList(dtoFactory.createDto(SimpleDto.class).withId(1).withName("first"),
+                                            dtoFactory.createDto(SimpleDto.class).withId(2).withName("second"));
+        final StringWriter writer = new StringWriter();
+
+        dtoFactory.toJsonArray(dtos, writer);
+        final List<SimpleDto> read = dtoFactory.createListDtoFromJson(new StringReader(writer.toString()), SimpleDto.class);
+
+        assertEquals(new ArrayList<>(read), dtos);
+    }
+
+    @Test
+    public void shouldReadMapOfDtosFromReader() throws Exception {
+        final SimpleDto dto = dtoFactory.createDto(SimpleDto.class).withId(1).withName("first");
+
+        final Map<String, SimpleDto> read = dtoFactory.createMapDtoFromJson(new StringReader("{\"key\":" + dtoFactory.toJson(dto) + "}"),
+                                                                            SimpleDto.class);
+
+        assertEquals(read.size(), 1);
+        assertEquals(read.get("key"), dto);
+    }
+
+    private ComplicatedDto createComplicatedDto() {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("<name> & 'quotes' \u00e9").withId(7);
+        final Map<String, SimpleDto> map = new HashMap<>();
+        map.put("simple", simpleDto);
+        return dtoFactory.createDto(ComplicatedDto.class)
+                         .withStrings(asList("first", null, "third"))
+                         .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                         .withMap(map)
+                         .withSimpleDtos(asList(simpleDto, null))
+                         .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE, null),
+                                                        asList(ComplicatedDto.SimpleEnum.THREE)));
+    }
+
+    private static String toJsonThroughTree(Object dto) {
+        return new GsonBuilder().disableHtmlEscaping().create().toJson(((JsonSerializable)dto).toJsonElement());
+    }
+
     private void checkSimpleDto(SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
         assertEquals(dto.getName(), expectedName);
         assertEquals(dto.getId(), expectedId);
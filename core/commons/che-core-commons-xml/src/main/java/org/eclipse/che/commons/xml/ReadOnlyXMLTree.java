@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.xml;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+import static javax.xml.stream.XMLInputFactory.IS_COALESCING;
+import static javax.xml.stream.XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES;
+import static javax.xml.stream.XMLInputFactory.SUPPORT_DTD;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.DTD;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.eclipse.che.commons.xml.XMLTreeUtil.UTF_8;
+
+/**
+ * Lightweight read-only alternative to {@link XMLTree} for clients
+ * which only extract values from xml document, e.g. read pom.xml to get
+ * project coordinates or check that document is well-formed.
+ * <p>
+ * Document is read with {@link XMLStreamReader} in a single pass and
+ * only names, attributes and text of elements are kept, so unlike
+ * {@link XMLTree} it keeps neither DOM nor source bytes and
+ * doesn't evaluate xpath.
+ * <p>
+ * Elements are selected with absolute paths which consist of element names,
+ * the last step of path may select attribute, for example:
+ * <pre>
+ *     ReadOnlyXMLTree tree = ReadOnlyXMLTree.from(...)
+ *
+ *     tree.getSingleText("/project/build/sourceDirectory");
+ *     tree.getText("/project/modules/module");
+ *     tree.getText("/project/build/plugins/plugin/@combine.children");
+ * </pre>
+ * Results are the same as results of the same expressions evaluated by {@link XMLTree}.
+ * Any other expression is rejected with {@link XMLTreeException}.
+ * <p>
+ * ReadOnlyXMLTree disallows using of {@code DOCTYPE} definition
+ * as well as {@link XMLTree} does.
+ * <p>
+ * Tree is immutable, so it is safe to share it between threads.
+ */
+public final class ReadOnlyXMLTree {
+
+    /**
+     * Reads tree from input stream.
+     * Doesn't close the stream
+     */
+    public static ReadOnlyXMLTree from(InputStream is) {
+        return new ReadOnlyXMLTree(read(requireNonNull(is, "Required not null input stream")));
+    }
+
+    /**
+     * Reads tree from file
+     */
+    public static ReadOnlyXMLTree from(java.io.File file) throws IOException {
+        return from(file.toPath());
+    }
+
+    /**
+     * Reads tree from path
+     */
+    public static ReadOnlyXMLTree from(Path path) throws IOException {
+        try (InputStream is = Files.newInputStream(path)) {
+            return from(is);
+        }
+    }
+
+    /**
+     * Reads tree from string
+     */
+    public static ReadOnlyXMLTree from(String xml) {
+        return from(xml.getBytes(UTF_8));
+    }
+
+    /**
+     * Reads tree from byte array
+     */
+    public static ReadOnlyXMLTree from(byte[] xml) {
+        requireNonNull(xml, "Required not null bytes");
+        if (xml.length == 0) {
+            throw new XMLTreeException("Source content is empty");
+        }
+        return from(new ByteArrayInputStream(xml));
+    }
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    /** Factory configuration, the same as configuration of {@link XMLTree} factories. */
+    static {
+        // Disable DTD support at all to avoid: XML Entity Expansion injection, XML External Entity Injection
+        XML_INPUT_FACTORY.setProperty(SUPPORT_DTD, false);
+        // Disable usage of external entities to avoid: XML External Entity Injection
+        XML_INPUT_FACTORY.setProperty(IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // Report adjacent text as single event
+        XML_INPUT_FACTORY.setProperty(IS_COALESCING, true);
+    }
+
+    private final Node root;
+
+    private ReadOnlyXMLTree(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns name of root element
+     */
+    public String getRootName() {
+        return root.name;
+    }
+
+    /**
+     * Returns text of the first element (or value of the first attribute)
+     * selected by path or empty string if nothing was found.
+     *
+     * @param path
+     *         absolute path of element or attribute
+     * @return requested text
+     * @see XMLTree#getSingleText(String)
+     */
+    public String getSingleText(String path) {
+        final List<String> text = getText(path);
+        return text.isEmpty() ? "" : text.get(0);
+    }
+
+    /**
+     * Returns text of all elements (or values of all attributes) selected by path.
+     *
+     * @param path
+     *         absolute path of elements or attributes
+     * @return list of elements text or empty list if nothing found
+     * @see XMLTree#getText(String)
+     */
+    public List<String> getText(String path) {
+        requireNonNull(path, "Required not null path");
+        final String[] steps = parse(path);
+        final String last = steps[steps.length - 1];
+        final boolean attribute = last.startsWith("@");
+        if (!root.name.equals(steps[0])) {
+            return Collections.emptyList();
+        }
+        List<Node> nodes = Collections.singletonList(root);
+        for (int i = 1; i < (attribute ? steps.length - 1 : steps.length) && !nodes.isEmpty(); i++) {
+            final List<Node> children = new ArrayList<>();
+            for (Node node : nodes) {
+                node.collectChildren(steps[i], children);
+            }
+            nodes = children;
+        }
+        final List<String> text = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            if (attribute) {
+                final String value = node.attributes.get(last.substring(1));
+                if (value != null) {
+                    text.add(value);
+                }
+            } else {
+                text.add(node.getText());
+            }
+        }
+        return text;
+    }
+
+    /** Splits path into steps, only steps which are names of elements or name of attribute as the last step are allowed. */
+    private static String[] parse(String path) {
+        if (!path.startsWith("/") || path.length() == 1) {
+            throw new XMLTreeException("Path " + path + " is not absolute path of element or attribute");
+        }
+        final String[] steps = path.substring(1).split("/", -1);
+        for (int i = 0; i < steps.length; i++) {
+            final String step = steps[i];
+            final int nameStart = i > 0 && i == steps.length - 1 && step.startsWith("@") ? 1 : 0;
+            if (step.length() == nameStart) {
+                throw new XMLTreeException("Path " + path + " contains empty step");
+            }
+            for (int j = nameStart; j < step.length(); j++) {
+                final char c = step.charAt(j);
+                if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c != '.' && c != ':') {
+                    throw new XMLTreeException("Path " + path + " is not supported by read-only tree, step " + step + " is not a name");
+                }
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Reads elements from stream.
+     * Rethrows all exceptions as {@link XMLTreeException}
+     */
+    private static Node read(InputStream is) {
+        try {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            try {
+                final LinkedList<Node> stack = new LinkedList<>();
+                Node root = null;
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case START_ELEMENT:
+                            final Node node = new Node(qName(reader.getPrefix(), reader.getLocalName()), attributes(reader));
+                            if (stack.isEmpty()) {
+                                root = node;
+                            } else {
+                                stack.peek().addContent(node);
+                            }
+                            stack.push(node);
+                            break;
+                        case END_ELEMENT:
+                            stack.pop();
+                            break;
+                        case CHARACTERS:
+                        case CDATA:
+                        case SPACE:
+                            if (!stack.isEmpty()) {
+                                stack.peek().addContent(reader.getText());
+                            }
+                            break;
+                        case DTD:
+                            throw new XMLTreeException("DOCTYPE is not allowed");
+                        default:
+                            // skip comments, processing instructions and other events
+                    }
+                }
+                if (root == null) {
+                    throw new XMLTreeException("Document doesn't contain root element");
+                }
+                return root;
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException xmlEx) {
+            throw XMLTreeException.wrap(xmlEx);
+        }
+    }
+
+    /** Attributes of current element including namespace declarations, as they are seen by {@link XMLTree}. */
+    private static Map<String, String> attributes(XMLStreamReader reader) {
+        final int attributesCount = reader.getAttributeCount();
+        final int namespacesCount = reader.getNamespaceCount();
+        if (attributesCount + namespacesCount == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> attributes = new HashMap<>(attributesCount + namespacesCount, 1);
+        for (int i = 0; i < namespacesCount; i++) {
+            final String prefix = reader.getNamespacePrefix(i);
+            attributes.put(prefix == null || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix, reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < attributesCount; i++) {
+            attributes.put(qName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)), reader.getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    private static String qName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+    }
+
+    /** Element with its attributes and content, content is either text or child element. */
+    private static class Node {
+        final String              name;
+        final Map<String, String> attributes;
+        List<Object> content;
+
+        Node(String name, Map<String, String> attributes) {
+            this.name = name;
+            this.attributes = attributes;
+        }
+
+        void addContent(Object item) {
+            if (content == null) {
+                content = new ArrayList<>(1);
+            }
+            content.add(item);
+        }
+
+        void collectChildren(String name, List<Node> target) {
+            if (content != null) {
+                for (Object item : content) {
+                    if (item instanceof Node && name.equals(((Node)item).name)) {
+                        target.add((Node)item);
+                    }
+                }
+            }
+        }
+
+        /** Returns text content of element the same way as {@link org.w3c.dom.Node#getTextContent()} does. */
+        String getText() {
+            if (content == null) {
+                return "";
+            }
+            if (content.size() == 1 && content.get(0) instanceof String) {
+                return (String)content.get(0);
+            }
+            final StringBuilder sb = new StringBuilder();
+            appendText(sb);
+            return sb.toString();
+        }
+
+        private void appendText(StringBuilder sb) {
+            if (content != null) {
+                for (Object item : content) {
+                    if (item instanceof Node) {
+                        ((Node)item).appendText(sb);
+                    } else {
+                        sb.append((String)item);
+                    }
+                }
+            }
+        }
+    }
+}
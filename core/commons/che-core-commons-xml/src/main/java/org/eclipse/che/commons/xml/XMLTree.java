@@ -21,7 +21,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
-import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathFactoryConfigurationException;
@@ -34,6 +34,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -174,6 +175,14 @@ public final class XMLTree {
     private static final XPathFactory           XPATH_FACTORY            = XPathFactory.newInstance();
     private static final String                 ROOT_TEMPLATE            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<%s>\n</%s>";
     private static final int                    EXPECTED_NAMESPACES_SIZE = 2;
+    private static final int                    XPATH_CACHE_SIZE         = 128;
+
+    /**
+     * Compiled xpath expressions, the same expressions are evaluated against each tree,
+     * e.g. when maven model is read, so they are compiled only once.
+     * Compiled expressions are not thread-safe that is why each thread has own cache.
+     */
+    private static final ThreadLocal<Map<String, XPathExpression>> XPATH_CACHE = ThreadLocal.withInitial(XPathCache::new);
 
     /** Factories configuration. */
     static {
@@ -414,14 +423,27 @@ public final class XMLTree {
      */
     @SuppressWarnings("unchecked")
     private Object evaluateXPath(String expression, QName returnType) {
-        final XPath xpath = XPATH_FACTORY.newXPath();
         try {
-            return xpath.evaluate(expression, document, returnType);
+            return compileXPath(expression).evaluate(document, returnType);
         } catch (XPathExpressionException xpathEx) {
             throw XMLTreeException.wrap(xpathEx);
         }
     }
 
+    /**
+     * Returns compiled xpath expression from cache of current thread,
+     * compiles expression if it is not cached yet.
+     */
+    private static XPathExpression compileXPath(String expression) throws XPathExpressionException {
+        final Map<String, XPathExpression> cache = XPATH_CACHE.get();
+        XPathExpression compiled = cache.get(expression);
+        if (compiled == null) {
+            compiled = XPATH_FACTORY.newXPath().compile(expression);
+            cache.put(expression, compiled);
+        }
+        return compiled;
+    }
+
     /**
      * Parses document using {@link DocumentBuilder}
      * Rethrows all exceptions as {@link XMLTreeException}
@@ -1021,6 +1043,20 @@ public final class XMLTree {
         return replaceAll(src, "\r".getBytes(), "\n".getBytes());
     }
 
+    /** Keeps at most {@link #XPATH_CACHE_SIZE} least recently used expressions. */
+    private static class XPathCache extends LinkedHashMap<String, XPathExpression> {
+        private static final long serialVersionUID = 1L;
+
+        XPathCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+            return size() > XPATH_CACHE_SIZE;
+        }
+    }
+
     /**
      * Describes element, attribute or text position in
      * the source array of bytes.
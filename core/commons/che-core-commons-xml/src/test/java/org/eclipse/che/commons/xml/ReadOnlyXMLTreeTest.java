@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.xml;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.nio.file.Files.readAllBytes;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+public class ReadOnlyXMLTreeTest {
+
+    private static final String XML_CONTENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                              "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+                                              "    <!-- comment -->\n" +
+                                              "    <artifactId>test-artifact</artifactId>\n" +
+                                              "    <name><![CDATA[Test & <cdata>]]></name>\n" +
+                                              "    <description>a &amp; b</description>\n" +
+                                              "    <parent>\n" +
+                                              "        <artifactId>test-parent</artifactId>\n" +
+                                              "        <version>1.0</version>\n" +
+                                              "    </parent>\n" +
+                                              "    <modules>\n" +
+                                              "        <module>first</module>\n" +
+                                              "        <module>second</module>\n" +
+                                              "    </modules>\n" +
+                                              "    <configuration>\n" +
+                                              "        <items combine.children=\"append\"/>\n" +
+                                              "        <items combine.children=\"merge\"/>\n" +
+                                              "    </configuration>\n" +
+                                              "</project>\n";
+
+    private static final String[] PATHS = {"/project",
+                                           "/project/modelVersion",
+                                           "/project/groupId",
+                                           "/project/artifactId",
+                                           "/project/version",
+                                           "/project/packaging",
+                                           "/project/parent",
+                                           "/project/parent/groupId",
+                                           "/project/parent/artifactId",
+                                           "/project/parent/version",
+                                           "/project/modules/module",
+                                           "/project/properties",
+                                           "/project/build/sourceDirectory",
+                                           "/project/build/resources/resource/directory",
+                                           "/project/dependencies/dependency/artifactId",
+                                           "/project/dependencies/dependency/scope",
+                                           "/project/build/plugins/plugin/configuration",
+                                           "/project/build/plugins/plugin/@combine.children",
+                                           "/project/missing/element",
+                                           "/book/title",
+                                           "/catalog/book/@id"};
+
+    @Test
+    public void shouldSelectElementsText() {
+        final ReadOnlyXMLTree tree = ReadOnlyXMLTree.from(XML_CONTENT);
+
+        assertEquals(tree.getRootName(), "project");
+        assertEquals(tree.getSingleText("/project/artifactId"), "test-artifact");
+        assertEquals(tree.getSingleText("/project/parent/version"), "1.0");
+        assertEquals(tree.getText("/project/modules/module"), asList("first", "second"));
+    }
+
+    @Test
+    public void shouldReadCdataAndEntities() {
+        final ReadOnlyXMLTree tree = ReadOnlyXMLTree.from(XML_CONTENT);
+
+        assertEquals(tree.getSingleText("/project/name"), "Test & <cdata>");
+        assertEquals(tree.getSingleText("/project/description"), "a & b");
+    }
+
+    @Test
+    public void shouldSelectAttributes() {
+        final ReadOnlyXMLTree tree = ReadOnlyXMLTree.from(XML_CONTENT);
+
+        assertEquals(tree.getText("/project/configuration/items/@combine.children"), asList("append", "merge"));
+        assertEquals(tree.getSingleText("/project/configuration/items/@missing"), "");
+    }
+
+    @Test
+    public void shouldReturnEmptyResultWhenNothingFound() {
+        final ReadOnlyXMLTree tree = ReadOnlyXMLTree.from(XML_CONTENT);
+
+        assertEquals(tree.getSingleText("/project/groupId"), "");
+        assertEquals(tree.getText("/project/build/sourceDirectory"), emptyList());
+        assertEquals(tree.getText("/book/title"), emptyList());
+    }
+
+    @Test(dataProvider = "unsupportedPaths", expectedExceptions = XMLTreeException.class)
+    public void shouldNotAllowUnsupportedPaths(String path) {
+        ReadOnlyXMLTree.from(XML_CONTENT).getText(path);
+    }
+
+    @DataProvider
+    public Object[][] unsupportedPaths() {
+        return new Object[][] {{"project/artifactId"},
+                               {"/"},
+                               {"//artifactId"},
+                               {"/project/modules/module[1]"},
+                               {"/project/*"},
+                               {"/project/@xmlns/name"},
+                               {"/project/artifactId/text()"}};
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldNotAllowDoctype() {
+        ReadOnlyXMLTree.from("<?xml version=\"1.0\"?>\n" +
+                             "<!DOCTYPE project [<!ENTITY x \"x\">]>\n" +
+                             "<project>&x;</project>");
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldFailWhenDocumentIsNotWellFormed() {
+        ReadOnlyXMLTree.from("<project><artifactId>test</project>");
+    }
+
+    @Test(dataProvider = "xmlFiles")
+    public void shouldSelectTheSameTextAsXMLTree(Path file) throws Exception {
+        final byte[] xml = readAllBytes(file);
+        final XMLTree tree = XMLTree.from(xml);
+        final ReadOnlyXMLTree readOnlyTree = ReadOnlyXMLTree.from(xml);
+
+        for (String path : PATHS) {
+            assertEquals(readOnlyTree.getText(path), tree.getText(path), path);
+            assertEquals(readOnlyTree.getSingleText(path), tree.getSingleText(path), path);
+        }
+    }
+
+    @DataProvider
+    public Object[][] xmlFiles() throws Exception {
+        final URL url = Thread.currentThread().getContextClassLoader().getResource("test-xml-files");
+        assertNotNull(url);
+        final Path root = Paths.get(url.toURI());
+        return new Object[][] {{root.resolve("book.xml")},
+                               {root.resolve("mr4c-build.xml")},
+                               {root.resolve("nuxeo-pom.xml")},
+                               {root.resolve("petclinic-pom.xml")}};
+    }
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.xml;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.io.ByteStreams.toByteArray;
+
+/**
+ * Measures reading of values from large poms with {@link XMLTree} and {@link ReadOnlyXMLTree},
+ * the same paths are requested as maven model reader requests.
+ * <p>
+ * Benchmark isn't run with unit tests, to run it build test classes and start JMH runner with test classpath of module:
+ * <pre>
+ *     java -cp &lt;test classpath&gt; org.openjdk.jmh.Main XMLTreeBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XMLTreeBenchmark {
+    private static final String[] PATHS = {"/project/modelVersion",
+                                           "/project/groupId",
+                                           "/project/artifactId",
+                                           "/project/version",
+                                           "/project/packaging",
+                                           "/project/name",
+                                           "/project/parent/groupId",
+                                           "/project/parent/artifactId",
+                                           "/project/parent/version",
+                                           "/project/build/sourceDirectory",
+                                           "/project/build/testSourceDirectory",
+                                           "/project/build/resources/resource/directory",
+                                           "/project/modules/module",
+                                           "/project/dependencies/dependency/artifactId"};
+
+    @Param({"nuxeo-pom.xml", "petclinic-pom.xml"})
+    public String pom;
+
+    private byte[]  xml;
+    private XMLTree tree;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("test-xml-files/" + pom)) {
+            xml = toByteArray(is);
+        }
+        tree = XMLTree.from(xml);
+    }
+
+    @Benchmark
+    public void readWithXMLTree(Blackhole blackhole) {
+        final XMLTree tree = XMLTree.from(xml);
+        for (String path : PATHS) {
+            blackhole.consume(tree.getText(path));
+        }
+    }
+
+    @Benchmark
+    public void readWithReadOnlyXMLTree(Blackhole blackhole) {
+        final ReadOnlyXMLTree tree = ReadOnlyXMLTree.from(xml);
+        for (String path : PATHS) {
+            blackhole.consume(tree.getText(path));
+        }
+    }
+
+    /** Evaluates xpath expressions against already parsed tree, shows cost of expressions evaluation. */
+    @Benchmark
+    public void queryXMLTree(Blackhole blackhole) {
+        for (String path : PATHS) {
+            blackhole.consume(tree.getText(path));
+        }
+    }
+}
@@ -305,7 +305,7 @@ public class JavaDebuggerTest {
                                     () -> projectManager);
         resourcesPlugin.start();
 
-        JavaPlugin javaPlugin = new JavaPlugin(root.getAbsolutePath() + "/.settings", resourcesPlugin, projectRegistry);
+        JavaPlugin javaPlugin = new JavaPlugin(root.getAbsolutePath() + "/.settings", resourcesPlugin, projectRegistry, 20);
         javaPlugin.start();
 
         projectRegistry.setProjectType("test", "java", false);
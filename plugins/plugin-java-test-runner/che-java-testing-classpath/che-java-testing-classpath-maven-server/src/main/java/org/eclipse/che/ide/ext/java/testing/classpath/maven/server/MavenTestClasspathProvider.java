@@ -11,6 +11,8 @@
 package org.eclipse.che.ide.ext.java.testing.classpath.maven.server;
 
 
+import com.google.inject.Singleton;
+
 import org.eclipse.che.api.core.util.CommandLine;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.ProcessUtil;
@@ -22,20 +24,38 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 /**
  * Maven implementation for the test classpath provider.
+ * <p>
+ * Computed classpath is cached per project until pom.xml of the project is changed, so maven is invoked
+ * to resolve dependencies only for the first run and after changes of pom.xml. Test classes are compiled
+ * only when pom.xml or sources of the project were changed after the previous compilation, previously
+ * compiled classes are removed before compilation so classes of removed sources don't stay on the classpath.
  *
  * @author Mirage Abeysekara
  */
+@Singleton
 public class MavenTestClasspathProvider implements TestClasspathProvider {
 
+    /** Directories of the project which contain main and test sources and resources. */
+    private static final String[] SOURCE_ROOTS = {"src/main", "src/test"};
+
+    private final Map<String, ProjectClasspath> classpathCache = new ConcurrentHashMap<>();
+
     private boolean buildClasspath(String projectPath) throws IOException, InterruptedException {
 
-        final CommandLine commandLineClassPath = new CommandLine("mvn", "clean", "dependency:build-classpath",
+        final CommandLine commandLineClassPath = new CommandLine("mvn", "dependency:build-classpath",
                 "-Dmdep.outputFile=target/test.classpath.maven");
         Process processBuildClassPath = new ProcessBuilder()
                 .redirectErrorStream(true)
@@ -43,7 +63,10 @@ public class MavenTestClasspathProvider implements TestClasspathProvider {
                 .command(commandLineClassPath.toShellCommand())
                 .start();
         ProcessUtil.process(processBuildClassPath, LineConsumer.DEV_NULL, LineConsumer.DEV_NULL);
-        processBuildClassPath.waitFor();
+        return processBuildClassPath.waitFor() == 0;
+    }
+
+    private boolean compileTests(String projectPath) throws IOException, InterruptedException {
 
         final CommandLine commandLineTestCompile = new CommandLine("mvn", "test-compile");
         Process processTestCompile = new ProcessBuilder()
@@ -87,15 +110,63 @@ public class MavenTestClasspathProvider implements TestClasspathProvider {
         List<URL> classUrls;
         try {
             if (updateClasspath) {
-                buildClasspath(projectPath);
+                classUrls = updateClasspath(projectPath);
+            } else {
+                classUrls = getProjectClasspath(projectPath);
             }
-            classUrls = getProjectClasspath(projectPath);
         } catch (IOException | InterruptedException e) {
             throw new Exception("Failed to build Maven classpath.", e);
         }
         return new URLClassLoader(classUrls.toArray(new URL[classUrls.size()]), null);
     }
 
+    private List<URL> updateClasspath(String projectPath) throws IOException, InterruptedException {
+        final File pom = new File(projectPath, "pom.xml");
+        final long pomModified = pom.lastModified();
+        ProjectClasspath classpath = classpathCache.get(projectPath);
+        if (classpath == null
+            || classpath.pomModified != pomModified
+            || !Paths.get(projectPath, "target", "test.classpath.maven").toFile().isFile()) {
+            classpathCache.remove(projectPath);
+            if (!buildClasspath(projectPath)) {
+                return getProjectClasspath(projectPath);
+            }
+            classpath = new ProjectClasspath(pomModified, getProjectClasspath(projectPath));
+        }
+        final long compileStarted = System.currentTimeMillis();
+        if (classpath.compiled == 0 || isModifiedAfter(projectPath, classpath.compiled)) {
+            // project isn't cleaned, so remove classes of deleted or renamed sources before compilation
+            deleteRecursive(Paths.get(projectPath, "target", "classes").toFile());
+            deleteRecursive(Paths.get(projectPath, "target", "test-classes").toFile());
+            classpath.compiled = compileTests(projectPath) ? compileStarted : 0;
+        }
+        classpathCache.put(projectPath, classpath);
+        return classpath.urls;
+    }
+
+    /**
+     * Checks whether pom.xml or any of the main and test sources and resources of the project was modified after
+     * the given time. Directories are checked as well, so removal of a file is detected by modification time of
+     * its parent directory.
+     */
+    private static boolean isModifiedAfter(String projectPath, long time) throws IOException {
+        if (new File(projectPath, "pom.xml").lastModified() > time) {
+            return true;
+        }
+        for (String sourceRoot : SOURCE_ROOTS) {
+            final Path root = Paths.get(projectPath, sourceRoot);
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                if (files.anyMatch(file -> file.toFile().lastModified() > time)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -103,4 +174,17 @@ public class MavenTestClasspathProvider implements TestClasspathProvider {
     public String getProjectType() {
         return "maven";
     }
+
+    /** Computed classpath of the project. */
+    private static class ProjectClasspath {
+        final long      pomModified;
+        final List<URL> urls;
+        /** Time of the last successful compilation of test classes, 0 if classes must be compiled. */
+        volatile long compiled;
+
+        ProjectClasspath(long pomModified, List<URL> urls) {
+            this.pomModified = pomModified;
+            this.urls = urls;
+        }
+    }
 }
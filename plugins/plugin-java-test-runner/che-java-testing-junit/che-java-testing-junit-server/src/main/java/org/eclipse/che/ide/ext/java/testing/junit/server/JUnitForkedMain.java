@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.testing.junit.server;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Entry point of the JVM forked by {@link JUnitTestRunner} for running JUnit 4.x test classes.
+ * <p>
+ * Reads names of test classes from stdin, one per line, runs them one by one and writes results to stdout:
+ * a {@value #FAILURE_RECORD} line for each failure of the class followed by a {@value #CLASS_RECORD} line
+ * when the class is finished. Fields of the lines are Base64 encoded and separated by spaces.
+ * Output of the tests themselves is redirected to stderr.
+ * <p>
+ * Class is started with the test classpath of the project, so it must not use anything except JDK and JUnit,
+ * JUnit classes are accessed with reflection as they are not available at compile time.
+ */
+public final class JUnitForkedMain {
+
+    static final String CLASS_RECORD   = "class";
+    static final String FAILURE_RECORD = "failure";
+
+    private static final String NULL_FIELD = "-";
+
+    public static void main(String[] args) throws Exception {
+        final PrintStream results = new PrintStream(new FileOutputStream(FileDescriptor.out), true, UTF_8.name());
+        System.setOut(System.err);
+
+        run(new BufferedReader(new InputStreamReader(System.in, UTF_8)), results);
+    }
+
+    /** Runs test classes which names are read from the given reader and writes results to the given stream. */
+    static void run(BufferedReader reader, PrintStream results) throws Exception {
+        final List<String> testClasses = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isEmpty()) {
+                testClasses.add(line);
+            }
+        }
+
+        final Class<?> clsJUnitCore = Class.forName("org.junit.runner.JUnitCore");
+        for (String testClass : testClasses) {
+            try {
+                final Object result = clsJUnitCore.getMethod("runClasses", Class[].class)
+                                                  .invoke(null, new Object[] {new Class[] {Class.forName(testClass)}});
+                for (Object failure : (List<?>)result.getClass().getMethod("getFailures").invoke(result)) {
+                    final Object description = failure.getClass().getMethod("getDescription").invoke(failure);
+                    final String failClassName = (String)description.getClass().getMethod("getClassName").invoke(description);
+                    final Throwable exception = (Throwable)failure.getClass().getMethod("getException").invoke(failure);
+                    writeFailure(results,
+                                 testClass,
+                                 failClassName,
+                                 exception,
+                                 (String)failure.getClass().getMethod("getMessage").invoke(failure),
+                                 (String)failure.getClass().getMethod("getTrace").invoke(failure));
+                }
+            } catch (Throwable e) {
+                final StringWriter trace = new StringWriter();
+                e.printStackTrace(new PrintWriter(trace));
+                writeFailure(results, testClass, testClass, e, e.getMessage(), trace.toString());
+            }
+            results.println(record(CLASS_RECORD, testClass));
+        }
+    }
+
+    private static void writeFailure(PrintStream results,
+                                     String testClass,
+                                     String failClassName,
+                                     Throwable exception,
+                                     String message,
+                                     String trace) {
+        String failMethod = "";
+        String failLine = null;
+        if (exception != null) {
+            for (StackTraceElement stackElement : exception.getStackTrace()) {
+                if (stackElement.getClassName().equals(failClassName)) {
+                    failMethod = stackElement.getMethodName();
+                    failLine = String.valueOf(stackElement.getLineNumber());
+                    break;
+                }
+            }
+        }
+        results.println(record(FAILURE_RECORD, testClass, failClassName, failMethod, failLine, message, trace));
+    }
+
+    /** Creates line of the output with the given type and fields. */
+    static String record(String type, String... fields) {
+        final StringBuilder record = new StringBuilder(type);
+        for (String field : fields) {
+            record.append(' ').append(field == null ? NULL_FIELD : Base64.getEncoder().encodeToString(field.getBytes(UTF_8)));
+        }
+        return record.toString();
+    }
+
+    /** Splits line of the output, the first element is type of the line, others are decoded fields. */
+    static String[] parse(String record) {
+        final String[] fields = record.split(" ", -1);
+        for (int i = 1; i < fields.length; i++) {
+            fields[i] = NULL_FIELD.equals(fields[i]) ? null : new String(Base64.getDecoder().decode(fields[i]), UTF_8);
+        }
+        return fields;
+    }
+
+    private JUnitForkedMain() {
+    }
+}
@@ -11,6 +11,9 @@
 package org.eclipse.che.ide.ext.java.testing.junit.server;
 
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
 import org.eclipse.che.dto.server.DtoFactory;
 
 import org.eclipse.che.ide.ext.java.testing.core.server.classpath.TestClasspathProvider;
@@ -19,16 +22,35 @@ import org.eclipse.che.ide.ext.java.testing.junit4x.shared.JUnitTestResult;
 import org.eclipse.che.ide.ext.java.testing.core.shared.Failure;
 import org.eclipse.che.ide.ext.java.testing.core.shared.TestResult;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.ide.ext.java.testing.junit.server.JUnitForkedMain.CLASS_RECORD;
+import static org.eclipse.che.ide.ext.java.testing.junit.server.JUnitForkedMain.FAILURE_RECORD;
 
 /**
  * JUnit implementation for the test runner service.
@@ -41,6 +63,9 @@ import java.util.Map;
  * <em>runClass</em> : A boolean indicating whether the test runner should execute all the test cases or a test class
  *            indicated by <em>fqn</em> parameter.
  * <em>fqn</em> : Fully qualified class name of the test class if the <em>runClass</em> is true.
+ * <em>forkCount</em> : Number of JVMs to run JUnit 4.x test classes of the project in parallel. If it is not set
+ *            the value of <em>che.testing.junit.fork_count</em> property is used, zero means that test classes
+ *            are run one by one in the current JVM.
  * </pre>
  *
  * @author Mirage Abeysekara
@@ -49,9 +74,19 @@ public class JUnitTestRunner implements TestRunner {
 
     private static final String JUNIT4X_RUNNER_CLASS = "org.junit.runner.JUnitCore";
     private static final String JUNIT3X_RUNNER_CLASS = "junit.textui.TestRunner";
+
+    /** Max number of characters of the forked JVM error output which are kept in the test result. */
+    private static final int MAX_ERROR_OUTPUT = 64 * 1024;
+
+    private final int defaultForkCount;
     private String projectPath;
     private ClassLoader projectClassLoader;
 
+    @Inject
+    public JUnitTestRunner(@Named("che.testing.junit.fork_count") int defaultForkCount) {
+        this.defaultForkCount = defaultForkCount;
+    }
+
 
     private TestResult run4x(String testClass) throws Exception {
         ClassLoader classLoader = projectClassLoader;
@@ -61,6 +96,11 @@ public class JUnitTestRunner implements TestRunner {
     }
 
     private TestResult runAll4x() throws Exception {
+        List<Class> testableClasses = findTestClasses4x();
+        return run4xTestClasses(testableClasses.toArray(new Class[testableClasses.size()]));
+    }
+
+    private List<Class> findTestClasses4x() throws Exception {
 
         List<String> testClassNames = new ArrayList<>();
         Files.walk(Paths.get(projectPath, "target", "test-classes")).forEach(filePath -> {
@@ -79,7 +119,162 @@ public class JUnitTestRunner implements TestRunner {
                 testableClasses.add(clazz);
             }
         }
-        return run4xTestClasses(testableClasses.toArray(new Class[testableClasses.size()]));
+        return testableClasses;
+    }
+
+    private TestResult runAll4xForked(int forkCount) throws Exception {
+        List<List<String>> forkClasses = new ArrayList<>();
+        List<Class> testableClasses = findTestClasses4x();
+        for (int i = 0; i < testableClasses.size(); i++) {
+            if (i < forkCount) {
+                forkClasses.add(new ArrayList<>());
+            }
+            forkClasses.get(i % forkCount).add(testableClasses.get(i).getName());
+        }
+
+        List<Failure> jUnitFailures = new ArrayList<>();
+        if (!forkClasses.isEmpty()) {
+            String classpath = getForkClasspath();
+            ExecutorService executor = Executors.newFixedThreadPool(forkClasses.size());
+            try {
+                List<Future<List<Failure>>> forks = new ArrayList<>();
+                for (List<String> classes : forkClasses) {
+                    forks.add(executor.submit(() -> runFork(projectPath, classpath, classes)));
+                }
+                for (Future<List<Failure>> fork : forks) {
+                    jUnitFailures.addAll(fork.get());
+                }
+            } catch (ExecutionException e) {
+                throw new Exception("Failed to run tests in forked JVM.", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        return createResult4x(jUnitFailures);
+    }
+
+    /**
+     * Runs test classes in a new JVM. Error output of the JVM is kept in the failures of the test classes
+     * which were not finished.
+     *
+     * @return failures of all the test classes
+     */
+    private List<Failure> runFork(String projectPath, String classpath, List<String> testClasses)
+            throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Path errors = Files.createTempFile("junit-fork-", ".err");
+        List<Failure> jUnitFailures = new ArrayList<>();
+        Set<String> finishedClasses = new HashSet<>();
+        Process process = null;
+        try {
+            process = new ProcessBuilder(java, "-cp", classpath, JUnitForkedMain.class.getName())
+                    .directory(new File(projectPath))
+                    .redirectError(errors.toFile())
+                    .start();
+            try (Writer writer = new OutputStreamWriter(process.getOutputStream(), UTF_8)) {
+                for (String testClass : testClasses) {
+                    writer.write(testClass);
+                    writer.write('\n');
+                }
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), UTF_8))) {
+                jUnitFailures.addAll(readResults(reader, finishedClasses));
+            }
+            int exitCode = process.waitFor();
+            jUnitFailures.addAll(failUnfinished(testClasses, finishedClasses, exitCode, readErrors(errors)));
+        } finally {
+            if (process != null) {
+                process.destroy();
+            }
+            Files.deleteIfExists(errors);
+        }
+        return jUnitFailures;
+    }
+
+    /** Reads the end of the forked JVM error output, the beginning of too long output is dropped. */
+    private static String readErrors(Path errors) throws IOException {
+        String output = new String(Files.readAllBytes(errors), UTF_8);
+        return output.length() > MAX_ERROR_OUTPUT ? output.substring(output.length() - MAX_ERROR_OUTPUT) : output;
+    }
+
+    /**
+     * Reads results written by {@link JUnitForkedMain}. Lines which are not results, e.g. written by JVM
+     * itself, are skipped.
+     *
+     * @param output
+     *         output of the forked JVM
+     * @param finishedClasses
+     *         names of the finished test classes are added to this set
+     * @return failures of the finished test classes
+     */
+    List<Failure> readResults(BufferedReader output, Set<String> finishedClasses) throws IOException {
+        List<Failure> jUnitFailures = new ArrayList<>();
+        List<Failure> classFailures = new ArrayList<>();
+        String line;
+        while ((line = output.readLine()) != null) {
+            if (line.startsWith(FAILURE_RECORD + ' ')) {
+                String[] record = JUnitForkedMain.parse(line);
+                classFailures.add(createFailure(record[2],
+                                                record[3],
+                                                record[4] == null ? null : Integer.valueOf(record[4]),
+                                                record[5],
+                                                record[6]));
+            } else if (line.startsWith(CLASS_RECORD + ' ')) {
+                String testClass = JUnitForkedMain.parse(line)[1];
+                finishedClasses.add(testClass);
+                jUnitFailures.addAll(classFailures);
+                classFailures = new ArrayList<>();
+            }
+        }
+        return jUnitFailures;
+    }
+
+    /**
+     * Reports test classes which were not finished by the forked JVM as failed.
+     *
+     * @param errors
+     *         error output of the forked JVM, it is used as trace of the failures
+     */
+    List<Failure> failUnfinished(List<String> testClasses, Set<String> finishedClasses, int exitCode, String errors) {
+        List<Failure> jUnitFailures = new ArrayList<>();
+        for (String testClass : testClasses) {
+            if (!finishedClasses.contains(testClass)) {
+                jUnitFailures.add(createFailure(testClass, "", null,
+                                                "Forked JVM exited with code " + exitCode + " before test class was finished",
+                                                errors));
+            }
+        }
+        return jUnitFailures;
+    }
+
+    /** Classpath of the project with location of {@link JUnitForkedMain}. */
+    private String getForkClasspath() throws URISyntaxException {
+        StringBuilder classpath = new StringBuilder();
+        for (URL url : ((URLClassLoader)projectClassLoader).getURLs()) {
+            classpath.append(Paths.get(url.toURI())).append(File.pathSeparatorChar);
+        }
+        URL runnerLocation = JUnitForkedMain.class.getProtectionDomain().getCodeSource().getLocation();
+        return classpath.append(Paths.get(runnerLocation.toURI())).toString();
+    }
+
+    private static Failure createFailure(String failClassName, String failMethod, Integer failLine, String message, String trace) {
+        Failure dtoFailure = DtoFactory.getInstance().createDto(Failure.class);
+        dtoFailure.setFailingClass(failClassName);
+        dtoFailure.setFailingMethod(failMethod);
+        dtoFailure.setFailingLine(failLine);
+        dtoFailure.setMessage(message);
+        dtoFailure.setTrace(trace);
+        return dtoFailure;
+    }
+
+    private static JUnitTestResult createResult4x(List<Failure> jUnitFailures) {
+        JUnitTestResult dtoResult = DtoFactory.getInstance().createDto(JUnitTestResult.class);
+        dtoResult.setTestFramework("JUnit4x");
+        dtoResult.setSuccess(jUnitFailures.isEmpty());
+        dtoResult.setFailureCount(jUnitFailures.size());
+        dtoResult.setFailures(new ArrayList<>(jUnitFailures));
+        dtoResult.setFrameworkVersion("4.x");
+        return dtoResult;
     }
 
 
@@ -263,6 +458,8 @@ public class JUnitTestRunner implements TestRunner {
         projectPath = testParameters.get("absoluteProjectPath");
         boolean updateClasspath = Boolean.valueOf(testParameters.get("updateClasspath"));
         boolean runClass = Boolean.valueOf(testParameters.get("runClass"));
+        String forkCountParameter = testParameters.get("forkCount");
+        int forkCount = forkCountParameter == null ? defaultForkCount : Integer.parseInt(forkCountParameter);
         projectClassLoader = classpathProvider.getClassLoader(projectPath, updateClasspath);
         TestResult testResult;
 
@@ -271,6 +468,8 @@ public class JUnitTestRunner implements TestRunner {
             if (runClass) {
                 String fqn = testParameters.get("fqn");
                 testResult = run4x(fqn);
+            } else if (forkCount > 0 && projectClassLoader instanceof URLClassLoader) {
+                testResult = runAll4xForked(forkCount);
             } else {
                 testResult = runAll4x();
             }
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.testing.junit.server;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit 4.x test classes of a test project run by the tests of {@link JUnitForkedMain} and {@link JUnitTestRunner}.
+ * They use nothing except JUnit, so they can be loaded from the test project classpath.
+ */
+public class ForkedTestClasses {
+
+    public static class Passing {
+        @Test
+        public void pass() {
+        }
+    }
+
+    public static class Failing {
+        @Test
+        public void fail() {
+            Assert.fail("expected failure");
+        }
+
+        @Test
+        public void pass() {
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.testing.junit.server;
+
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.ide.ext.java.testing.junit.server.JUnitForkedMain.CLASS_RECORD;
+import static org.eclipse.che.ide.ext.java.testing.junit.server.JUnitForkedMain.FAILURE_RECORD;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link JUnitForkedMain}
+ */
+public class JUnitForkedMainTest {
+
+    @Test
+    public void shouldParseRecordWithEncodedFields() {
+        final String record = JUnitForkedMain.record(FAILURE_RECORD, "a b", null, "line\nbreak", "", "\u00e9");
+
+        assertEquals(record.split(" ").length, 6);
+        final String[] fields = JUnitForkedMain.parse(record);
+        assertEquals(fields.length, 6);
+        assertEquals(fields[0], FAILURE_RECORD);
+        assertEquals(fields[1], "a b");
+        assertNull(fields[2]);
+        assertEquals(fields[3], "line\nbreak");
+        assertEquals(fields[4], "");
+        assertEquals(fields[5], "\u00e9");
+    }
+
+    @Test
+    public void shouldWriteOnlyClassRecordForPassingClass() throws Exception {
+        final String[] lines = run(ForkedTestClasses.Passing.class.getName());
+
+        assertEquals(lines.length, 1);
+        assertEquals(JUnitForkedMain.parse(lines[0]), new String[] {CLASS_RECORD, ForkedTestClasses.Passing.class.getName()});
+    }
+
+    @Test
+    public void shouldWriteFailureRecordsBeforeClassRecord() throws Exception {
+        final String failing = ForkedTestClasses.Failing.class.getName();
+        final String passing = ForkedTestClasses.Passing.class.getName();
+
+        final String[] lines = run(failing, passing);
+
+        assertEquals(lines.length, 3);
+        final String[] failure = JUnitForkedMain.parse(lines[0]);
+        assertEquals(failure[0], FAILURE_RECORD);
+        assertEquals(failure[1], failing);
+        assertEquals(failure[2], failing);
+        assertEquals(failure[3], "fail");
+        assertTrue(Integer.parseInt(failure[4]) > 0);
+        assertEquals(failure[5], "expected failure");
+        assertTrue(failure[6].contains("expected failure"));
+        assertEquals(JUnitForkedMain.parse(lines[1]), new String[] {CLASS_RECORD, failing});
+        assertEquals(JUnitForkedMain.parse(lines[2]), new String[] {CLASS_RECORD, passing});
+    }
+
+    @Test
+    public void shouldReportClassWhichCanNotBeLoadedAsFailed() throws Exception {
+        final String[] lines = run("org.example.Missing");
+
+        assertEquals(lines.length, 2);
+        final String[] failure = JUnitForkedMain.parse(lines[0]);
+        assertEquals(failure[0], FAILURE_RECORD);
+        assertEquals(failure[1], "org.example.Missing");
+        assertTrue(failure[6].contains("ClassNotFoundException"));
+        assertEquals(JUnitForkedMain.parse(lines[1]), new String[] {CLASS_RECORD, "org.example.Missing"});
+    }
+
+    private static String[] run(String... testClasses) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final PrintStream results = new PrintStream(output, true, UTF_8.name());
+
+        JUnitForkedMain.run(new BufferedReader(new StringReader(String.join("\n", testClasses) + '\n')), results);
+
+        return new String(output.toByteArray(), UTF_8).split(System.lineSeparator());
+    }
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.testing.junit.server;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.ide.ext.java.testing.core.server.classpath.TestClasspathProvider;
+import org.eclipse.che.ide.ext.java.testing.core.shared.Failure;
+import org.eclipse.che.ide.ext.java.testing.core.shared.TestResult;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.eclipse.che.ide.ext.java.testing.junit.server.JUnitForkedMain.CLASS_RECORD;
+import static org.eclipse.che.ide.ext.java.testing.junit.server.JUnitForkedMain.FAILURE_RECORD;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link JUnitTestRunner}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class JUnitTestRunnerTest {
+    private static final String FIRST  = "org.example.FirstTest";
+    private static final String SECOND = "org.example.SecondTest";
+
+    @Mock
+    private TestClasspathProvider classpathProvider;
+
+    private JUnitTestRunner runner;
+    private Path            projectDir;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        runner = new JUnitTestRunner(0);
+        projectDir = Files.createTempDirectory("junit-runner-test");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(projectDir.toFile());
+    }
+
+    @Test
+    public void shouldGroupFailuresOfForkedJvmOutputByTestClass() throws Exception {
+        final String output = String.join("\n",
+                                          JUnitForkedMain.record(FAILURE_RECORD, FIRST, FIRST, "test", "42", "message", "trace"),
+                                          JUnitForkedMain.record(CLASS_RECORD, FIRST),
+                                          JUnitForkedMain.record(CLASS_RECORD, SECOND));
+        final Set<String> finished = new HashSet<>();
+
+        final List<Failure> failures = runner.readResults(new BufferedReader(new StringReader(output)), finished);
+
+        assertEquals(finished, new HashSet<>(asList(FIRST, SECOND)));
+        assertEquals(failures.size(), 1);
+        final Failure failure = failures.get(0);
+        assertEquals(failure.getFailingClass(), FIRST);
+        assertEquals(failure.getFailingMethod(), "test");
+        assertEquals(failure.getFailingLine(), Integer.valueOf(42));
+        assertEquals(failure.getMessage(), "message");
+        assertEquals(failure.getTrace(), "trace");
+    }
+
+    @Test
+    public void shouldSkipLinesWhichAreNotResults() throws Exception {
+        final String output = String.join("\n",
+                                          "Picked up JAVA_TOOL_OPTIONS: -Xmx1g",
+                                          JUnitForkedMain.record(FAILURE_RECORD, FIRST, FIRST, "", null, null, "trace"),
+                                          "",
+                                          JUnitForkedMain.record(CLASS_RECORD, FIRST));
+        final Set<String> finished = new HashSet<>();
+
+        final List<Failure> failures = runner.readResults(new BufferedReader(new StringReader(output)), finished);
+
+        assertEquals(finished, singleton(FIRST));
+        assertEquals(failures.size(), 1);
+        assertNull(failures.get(0).getFailingLine());
+        assertNull(failures.get(0).getMessage());
+    }
+
+    @Test
+    public void shouldReportUnfinishedClassesAsFailedWithErrorOutput() {
+        final List<Failure> failures = runner.failUnfinished(asList(FIRST, SECOND), singleton(FIRST), 137, "java.lang.OutOfMemoryError");
+
+        assertEquals(failures.size(), 1);
+        assertEquals(failures.get(0).getFailingClass(), SECOND);
+        assertTrue(failures.get(0).getMessage().contains("137"));
+        assertEquals(failures.get(0).getTrace(), "java.lang.OutOfMemoryError");
+    }
+
+    @Test
+    public void shouldRunTestClassesInForkedJvms() throws Exception {
+        final Path testClasses = projectDir.resolve("target").resolve("test-classes");
+        copyTestClass(testClasses, ForkedTestClasses.class);
+        copyTestClass(testClasses, ForkedTestClasses.Passing.class);
+        copyTestClass(testClasses, ForkedTestClasses.Failing.class);
+        final URLClassLoader projectClassLoader = new URLClassLoader(new URL[] {testClasses.toUri().toURL(),
+                                                                                location(org.junit.Test.class),
+                                                                                location(org.hamcrest.Matcher.class)}, null);
+        when(classpathProvider.getClassLoader(anyString(), anyBoolean())).thenReturn(projectClassLoader);
+
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("absoluteProjectPath", projectDir.toString());
+        parameters.put("forkCount", "2");
+        final TestResult result = runner.execute(parameters, classpathProvider);
+
+        assertNotNull(result);
+        assertFalse(result.isSuccess());
+        assertEquals(result.getFailureCount(), 1);
+        assertEquals(result.getFailures().get(0).getFailingClass(), ForkedTestClasses.Failing.class.getName());
+        assertEquals(result.getFailures().get(0).getFailingMethod(), "fail");
+    }
+
+    private static void copyTestClass(Path testClasses, Class<?> testClass) throws Exception {
+        final Path target = testClasses.resolve(testClass.getName().replace('.', '/') + ".class");
+        Files.createDirectories(target.getParent());
+        try (InputStream in = testClass.getResourceAsStream('/' + testClass.getName().replace('.', '/') + ".class")) {
+            Files.copy(in, target);
+        }
+    }
+
+    private static URL location(Class<?> cls) {
+        return cls.getProtectionDomain().getCodeSource().getLocation();
+    }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.core.resources;
+
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Delta of workspace root which combines changes of several resources,
+ * so they are processed by java model in a single pass.
+ * Each change is represented by child {@link ResourceDeltaImpl}.
+ */
+public class BatchResourceDelta implements IResourceDelta {
+
+    private final File                workspace;
+    private final ResourceDeltaImpl[] children;
+
+    public BatchResourceDelta(File workspace, List<ProjectItemModifiedEvent> events) {
+        this.workspace = workspace;
+        children = new ResourceDeltaImpl[events.size()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = new ResourceDeltaImpl(workspace, events.get(i));
+        }
+    }
+
+    @Override
+    public File getFile() {
+        return workspace;
+    }
+
+    @Override
+    public void accept(IResourceDeltaVisitor visitor) throws CoreException {
+        accept(visitor, IResource.NONE);
+    }
+
+    @Override
+    public void accept(IResourceDeltaVisitor visitor, boolean includePhantoms) throws CoreException {
+        accept(visitor, IResource.NONE);
+    }
+
+    @Override
+    public void accept(IResourceDeltaVisitor visitor, int memberFlags) throws CoreException {
+        if (visitor.visit(this)) {
+            for (ResourceDeltaImpl child : children) {
+                child.accept(visitor, memberFlags);
+            }
+        }
+    }
+
+    @Override
+    public org.eclipse.core.resources.IResourceDelta findMember(IPath path) {
+        return null;
+    }
+
+    @Override
+    public org.eclipse.core.resources.IResourceDelta[] getAffectedChildren() {
+        return children.clone();
+    }
+
+    @Override
+    public org.eclipse.core.resources.IResourceDelta[] getAffectedChildren(int kindMask) {
+        return getAffectedChildren();
+    }
+
+    @Override
+    public org.eclipse.core.resources.IResourceDelta[] getAffectedChildren(int kindMask, int memberFlags) {
+        return getAffectedChildren();
+    }
+
+    @Override
+    public int getFlags() {
+        return 0;
+    }
+
+    @Override
+    public IPath getFullPath() {
+        return Path.ROOT;
+    }
+
+    @Override
+    public int getKind() {
+        return CHANGED;
+    }
+
+    @Override
+    public IMarkerDelta[] getMarkerDeltas() {
+        return new IMarkerDelta[0];
+    }
+
+    @Override
+    public IPath getMovedFromPath() {
+        return null;
+    }
+
+    @Override
+    public IPath getMovedToPath() {
+        return null;
+    }
+
+    @Override
+    public IPath getProjectRelativePath() {
+        return null;
+    }
+
+    @Override
+    public IResource getResource() {
+        return ResourcesPlugin.getWorkspace().getRoot();
+    }
+
+    @Override
+    public Object getAdapter(Class aClass) {
+        return null;
+    }
+}
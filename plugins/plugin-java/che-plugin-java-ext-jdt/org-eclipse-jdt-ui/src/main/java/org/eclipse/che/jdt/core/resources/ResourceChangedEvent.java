@@ -19,6 +19,7 @@ import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceDelta;
 
 import java.io.File;
+import java.util.List;
 
 /**
  * @author Evgen Vidolob
@@ -26,13 +27,21 @@ import java.io.File;
 public class ResourceChangedEvent implements IResourceChangeEvent {
 
 
-    private ResourceDeltaImpl resourceDelta;
+    private org.eclipse.che.jdt.core.resources.IResourceDelta resourceDelta;
 
     public ResourceChangedEvent(File workspace, ProjectItemModifiedEvent event) {
         resourceDelta = new ResourceDeltaImpl(workspace, event);
 
     }
 
+    /**
+     * Creates event which combines changes of several resources,
+     * changes are processed by java model in a single pass.
+     */
+    public ResourceChangedEvent(File workspace, List<ProjectItemModifiedEvent> events) {
+        resourceDelta = new BatchResourceDelta(workspace, events);
+    }
+
     public ResourceChangedEvent(File workspace, ProjectCreatedEvent event) {
         resourceDelta = new ResourceDeltaImpl(workspace, event);
 
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.javaeditor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaModel;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of compilation unit ASTs shared by reconcile, code assist and other Java endpoints.
+ * <p>
+ * ASTs are cached per file and versioned by the content of the buffer they were created from.
+ * Every request works with its own working copy, so buffers of the same file don't share modification
+ * stamps, instead cached AST is returned only when the current buffer has exactly the same content.
+ * When the cache is full the least recently used AST is evicted.
+ * <p>
+ * Bindings and problems of AST depend on other compilation units and classpath of the project,
+ * so cache listens to changes of java model and evicts ASTs of the changed project and projects
+ * which depend on it.
+ */
+public class ASTCache implements IElementChangedListener {
+    private static final Logger LOG = LoggerFactory.getLogger(ASTCache.class);
+
+    /** Changes of project which affect bindings of ASTs of all its compilation units. */
+    private static final int PROJECT_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED |
+                                             IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED |
+                                             IJavaElementDelta.F_OPENED |
+                                             IJavaElementDelta.F_CLOSED;
+
+    private final Map<String, Entry> entries;
+    private final AtomicLong         hits   = new AtomicLong();
+    private final AtomicLong         misses = new AtomicLong();
+
+    /**
+     * @param maxSize
+     *         max number of cached ASTs, caching is disabled when it is not positive
+     */
+    public ASTCache(int maxSize) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns cached AST of the given element.
+     *
+     * @return AST created from the current content of the element or {@code null} if there is no such AST
+     */
+    public CompilationUnit get(ITypeRoot input) {
+        final char[] source = getSource(input);
+        if (source != null) {
+            final String key = key(input);
+            final int hash = Arrays.hashCode(source);
+            final Entry entry;
+            synchronized (entries) {
+                entry = entries.get(key);
+            }
+            if (entry != null && entry.hash == hash && Arrays.equals(entry.source, source)) {
+                hits.incrementAndGet();
+                return entry.ast;
+            }
+        }
+        misses.incrementAndGet();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("AST cache miss for {}, hits: {}, misses: {}", input.getElementName(), hits.get(), misses.get());
+        }
+        return null;
+    }
+
+    /**
+     * Caches AST created from the given content of the element.
+     * AST isn't cached if content of the element was changed while AST was created.
+     *
+     * @param input
+     *         element AST was created for
+     * @param source
+     *         content of the element which was parsed, see {@link #getSource(ITypeRoot)}
+     * @param ast
+     *         AST to cache
+     */
+    public void put(ITypeRoot input, char[] source, CompilationUnit ast) {
+        if (ast == null || source == null || !Arrays.equals(source, getSource(input))) {
+            return;
+        }
+        final Entry entry = new Entry(source, projectName(input), ast);
+        synchronized (entries) {
+            entries.put(key(input), entry);
+        }
+    }
+
+    /** Removes all cached ASTs. */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /** Evicts ASTs of projects which are affected by the change of java model. */
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        final IJavaElementDelta delta = event.getDelta();
+        final Set<String> changed = new HashSet<>();
+        collectChangedProjects(delta, changed);
+        if (changed.isEmpty()) {
+            return;
+        }
+        final Set<String> affected;
+        try {
+            affected = withDependents(delta.getElement().getJavaModel(), changed);
+        } catch (JavaModelException e) {
+            LOG.debug("Can't find dependent projects of {}, all ASTs are evicted", changed, e);
+            clear();
+            return;
+        }
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.project == null || affected.contains(entry.project));
+        }
+    }
+
+    /** Returns number of requests which were served with cached AST. */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** Returns number of requests for which there was no cached AST. */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns current content of the element, it should be taken before AST is created
+     * and passed to {@link #put(ITypeRoot, char[], CompilationUnit)}.
+     *
+     * @return content of the element or {@code null} if element has no source
+     */
+    public static char[] getSource(ITypeRoot input) {
+        try {
+            final IBuffer buffer = input.getBuffer();
+            return buffer == null ? null : buffer.getCharacters();
+        } catch (JavaModelException e) {
+            return null;
+        }
+    }
+
+    private static void collectChangedProjects(IJavaElementDelta delta, Set<String> projects) {
+        final IJavaElement element = delta.getElement();
+        if (element.getElementType() == IJavaElement.JAVA_MODEL) {
+            for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                collectChangedProjects(child, projects);
+            }
+        } else if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
+            if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & PROJECT_FLAGS) != 0 || hasChanges(delta)) {
+                projects.add(element.getElementName());
+            }
+        }
+    }
+
+    /** Tests whether there are changes below project except of switching of compilation units to working copy mode. */
+    private static boolean hasChanges(IJavaElementDelta delta) {
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            final int type = child.getElement().getElementType();
+            if (child.getKind() != IJavaElementDelta.CHANGED) {
+                return true;
+            }
+            if (type == IJavaElement.COMPILATION_UNIT || type == IJavaElement.CLASS_FILE) {
+                if ((child.getFlags() & ~IJavaElementDelta.F_PRIMARY_WORKING_COPY) != 0) {
+                    return true;
+                }
+            } else if ((child.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0 || hasChanges(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns the given projects and projects which depend on them directly or through other projects. */
+    private static Set<String> withDependents(IJavaModel model, Set<String> projects) throws JavaModelException {
+        final Set<String> affected = new HashSet<>(projects);
+        final IJavaProject[] javaProjects = model.getJavaProjects();
+        boolean added;
+        do {
+            added = false;
+            for (IJavaProject javaProject : javaProjects) {
+                if (affected.contains(javaProject.getElementName())) {
+                    continue;
+                }
+                for (String required : javaProject.getRequiredProjectNames()) {
+                    if (affected.contains(required)) {
+                        added = affected.add(javaProject.getElementName());
+                        break;
+                    }
+                }
+            }
+        } while (added);
+        return affected;
+    }
+
+    private static String key(ITypeRoot input) {
+        return input.getPath().toString() + '#' + input.getElementName();
+    }
+
+    private static String projectName(ITypeRoot input) {
+        final IJavaProject project = input.getJavaProject();
+        return project == null ? null : project.getElementName();
+    }
+
+    private static class Entry {
+        final char[]          source;
+        final int             hash;
+        final String          project;
+        final CompilationUnit ast;
+
+        Entry(char[] source, String project, CompilationUnit ast) {
+            this.source = source.clone();
+            this.hash = Arrays.hashCode(source);
+            this.project = project;
+            this.ast = ast;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.internal.core.ClassFileWorkingCopy;
+import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -79,7 +80,10 @@ public class JavaReconciler {
                 compilationUnit = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
             }
             requestor.reset();
+            final char[] source = ASTCache.getSource(compilationUnit);
             CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, null);
+            // share AST with code assist and other requests for the same content of the file
+            JavaPlugin.getDefault().getASTProvider().shareReconciledAST(unit, compilationUnit, source);
             positions = semanticHighlighting.reconcileSemanticHighlight(unit);
             if (compilationUnit instanceof ClassFileWorkingCopy) {
                 //we don't wont to show any errors from ".class" files
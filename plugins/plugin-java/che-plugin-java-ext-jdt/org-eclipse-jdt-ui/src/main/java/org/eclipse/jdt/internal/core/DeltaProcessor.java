@@ -1845,7 +1845,15 @@ public class DeltaProcessor {
 //
 //				// traverse delta
 //				traverseDelta(changes, IJavaElement.JAVA_PROJECT, null, null);
-            updateCurrentDeltaAndIndex(changes, IJavaElement.COMPILATION_UNIT, null);
+            IResourceDelta[] children = changes.getAffectedChildren();
+            if (children.length == 0) {
+                updateCurrentDeltaAndIndex(changes, IJavaElement.COMPILATION_UNIT, null);
+            } else {
+                // batch of changes, see org.eclipse.che.jdt.core.resources.BatchResourceDelta
+                for (IResourceDelta child : children) {
+                    updateCurrentDeltaAndIndex(child, IJavaElement.COMPILATION_UNIT, null);
+                }
+            }
 //
 //				if (elementType == NON_JAVA_RESOURCE
 //						|| (wasJavaProject != isJavaProject && (delta.getKind()) == IResourceDelta.CHANGED)) { // project has changed
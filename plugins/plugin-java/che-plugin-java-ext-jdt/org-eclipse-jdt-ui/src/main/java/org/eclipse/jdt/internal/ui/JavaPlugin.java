@@ -146,10 +146,15 @@ public class JavaPlugin {
     private final ResourcesPlugin resourcesPlugin;
     private final ProjectRegistry registry;
     private String                  cahPath;
+    private final int               astCacheSize;
 
     @Inject
-    public JavaPlugin(@Named("che.jdt.settings.dir") String settingsDir, ResourcesPlugin resourcesPlugin, ProjectRegistry registry) {
+    public JavaPlugin(@Named("che.jdt.settings.dir") String settingsDir,
+                      ResourcesPlugin resourcesPlugin,
+                      ProjectRegistry registry,
+                      @Named("che.java.ast_cache.size") int astCacheSize) {
         this.settingsDir = settingsDir;
+        this.astCacheSize = astCacheSize;
         this.resourcesPlugin = resourcesPlugin;
         this.registry = registry;
         fgJavaPlugin = this;
@@ -236,7 +241,7 @@ public class JavaPlugin {
      */
     public synchronized ASTProvider getASTProvider() {
         if (fASTProvider == null)
-            fASTProvider = new ASTProvider();
+            fASTProvider = new ASTProvider(astCacheSize);
 
         return fASTProvider;
     }
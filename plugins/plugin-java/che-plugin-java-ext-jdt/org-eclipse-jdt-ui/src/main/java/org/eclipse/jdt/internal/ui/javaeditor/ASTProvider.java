@@ -11,12 +11,15 @@
 package org.eclipse.jdt.internal.ui.javaeditor;
 
 import org.eclipse.che.jdt.dom.ASTNodes;
+import org.eclipse.che.jdt.javaeditor.ASTCache;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -40,12 +43,31 @@ public class ASTProvider {
     private static final String  DEBUG_PREFIX                  = "ASTProvider > "; //$NON-NLS-1$
     private Object fReconcileLock= new Object();
     private CompilationUnit fAST;
+    private final ASTCache fCache;
     /**
      * Tells whether this class is in debug mode.
      * @since 3.0
      */
     private static final boolean DEBUG                         = false;
 
+    /**
+     * @param cacheSize max number of ASTs which are cached for reuse by subsequent requests
+     */
+    public ASTProvider(int cacheSize) {
+        fCache= new ASTCache(cacheSize);
+        // cached ASTs become stale when other compilation units or classpath are changed
+        JavaCore.addElementChangedListener(fCache, ElementChangedEvent.POST_CHANGE);
+    }
+
+    /**
+     * Returns the cache of ASTs which are shared between requests.
+     *
+     * @return the AST cache
+     */
+    public ASTCache getCache() {
+        return fCache;
+    }
+
     /**
      * Checks whether the given Java element has accessible source.
      *
@@ -230,7 +252,14 @@ public class ASTProvider {
             return null;*/
 
 
-        CompilationUnit ast= null;
+        // content which is parsed, AST is cached only if content isn't changed while it is parsed
+        final char[] source= ASTCache.getSource(input);
+        CompilationUnit ast= fCache.get(input);
+        if (ast != null) {
+            if (DEBUG)
+                System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning cached AST:" + toString(ast) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            return ast;
+        }
         try {
             ast= createAST(input, progressMonitor);
             if (progressMonitor != null && progressMonitor.isCanceled()) {
@@ -250,9 +279,26 @@ public class ASTProvider {
                     reconciled(ast, input, null);
             }
         }
+        if (ast != null)
+            fCache.put(input, source, ast);
         return ast;
     }
 
+    /**
+     * Shares AST created by reconcile with subsequent requests for the same content of the element.
+     *
+     * @param ast the compilation unit AST
+     * @param javaElement the Java element for which the AST was built
+     * @param source content of the element which was reconciled, taken before reconcile
+     */
+    public void shareReconciledAST(CompilationUnit ast, ITypeRoot javaElement, char[] source) {
+        if (ast != null && javaElement != null) {
+            //mark as unmodifiable, the AST is shared with other requests
+            ASTNodes.setFlagsToAST(ast, ASTNode.PROTECT);
+            fCache.put(javaElement, source, ast);
+        }
+    }
+
     /**
      * Update internal structures after reconcile.
      *
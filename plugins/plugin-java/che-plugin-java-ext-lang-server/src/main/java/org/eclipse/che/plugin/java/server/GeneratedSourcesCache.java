@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server;
+
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps sources generated from bytecode of library classes on disk, so they are not generated
+ * each time the class is opened. Cache is shared by all projects of the workspace.
+ * <p>
+ * Sources are stored per hash of content of the jar and fully qualified name of the type,
+ * so the same library used by different projects is stored once and changed jar never gets stale sources.
+ * When total size of stored sources exceeds the limit, sources which were not used for the longest time are removed.
+ */
+@Singleton
+public class GeneratedSourcesCache {
+    private static final Logger LOG = LoggerFactory.getLogger(GeneratedSourcesCache.class);
+
+    /** Changes of format of generated sources must increment the version to not use sources generated before. */
+    private static final String VERSION = "1";
+
+    private final File                 cacheDir;
+    private final long                 maxSize;
+    private final Map<String, JarHash> jarHashes = new ConcurrentHashMap<>();
+    private       long                 size      = -1;
+
+    /**
+     * @param cacheDir
+     *         directory to store sources in
+     * @param maxSizeMb
+     *         max size of stored sources in megabytes
+     */
+    @Inject
+    public GeneratedSourcesCache(@Named("che.java.generated_sources_cache.dir") File cacheDir,
+                                 @Named("che.java.generated_sources_cache.max_size_mb") long maxSizeMb) {
+        this.cacheDir = new File(cacheDir, VERSION);
+        this.maxSize = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * Returns stored sources of the given type.
+     *
+     * @return sources or {@code null} when sources of the type are not stored or type isn't from jar
+     */
+    public String get(IType type) {
+        final File file = entryFile(type);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        try {
+            final String source = new String(Files.readAllBytes(file.toPath()), UTF_8);
+            // last modification time is used as time of last access for eviction
+            file.setLastModified(System.currentTimeMillis());
+            return source;
+        } catch (IOException e) {
+            LOG.warn("Can't read generated sources of {} from {}, {}", type.getFullyQualifiedName(), file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores sources of the given type, nothing is stored if type isn't from jar.
+     */
+    public void put(IType type, String source) {
+        final File file = entryFile(type);
+        if (file == null) {
+            return;
+        }
+        final byte[] content = source.getBytes(UTF_8);
+        try {
+            final File dir = file.getParentFile();
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Can't create directory " + dir);
+            }
+            final File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+            try {
+                Files.write(tmp.toPath(), content);
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp.toPath());
+            }
+            synchronized (this) {
+                size = (size < 0 ? computeSize() : size + content.length);
+                if (size > maxSize) {
+                    evict();
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Can't store generated sources of {}, {}", type.getFullyQualifiedName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Removes sources which were not used for the longest time until the size of the cache is less than 90% of the limit,
+     * so eviction doesn't happen on each subsequent put.
+     */
+    private void evict() throws IOException {
+        final List<File> files = listFiles();
+        files.sort(Comparator.comparingLong(File::lastModified));
+        size = files.stream().mapToLong(File::length).sum();
+        for (File file : files) {
+            if (size <= maxSize / 10 * 9) {
+                break;
+            }
+            final long length = file.length();
+            if (file.delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    private long computeSize() throws IOException {
+        return listFiles().stream().mapToLong(File::length).sum();
+    }
+
+    private List<File> listFiles() throws IOException {
+        if (!cacheDir.isDirectory()) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> paths = Files.walk(cacheDir.toPath())) {
+            return paths.map(Path::toFile)
+                        .filter(File::isFile)
+                        .collect(Collectors.toList());
+        }
+    }
+
+    private File entryFile(IType type) {
+        final IPackageFragmentRoot root = (IPackageFragmentRoot)type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+        if (root == null || !root.isArchive() || root.getPath() == null) {
+            return null;
+        }
+        final IResource resource = root.getResource();
+        final File jar = resource != null && resource.getLocation() != null ? resource.getLocation().toFile()
+                                                                            : root.getPath().toFile();
+        final String jarHash = hash(jar);
+        if (jarHash == null) {
+            return null;
+        }
+        return new File(new File(cacheDir, jarHash), type.getFullyQualifiedName() + ".java");
+    }
+
+    /** Returns hash of jar content, hash is computed again only when jar is modified. */
+    private String hash(File jar) {
+        if (!jar.isFile()) {
+            return null;
+        }
+        final long modified = jar.lastModified();
+        final long length = jar.length();
+        final JarHash jarHash = jarHashes.get(jar.getAbsolutePath());
+        if (jarHash != null && jarHash.modified == modified && jarHash.length == length) {
+            return jarHash.hash;
+        }
+        try {
+            final String hash = com.google.common.io.Files.asByteSource(jar).hash(Hashing.sha1()).toString();
+            jarHashes.put(jar.getAbsolutePath(), new JarHash(modified, length, hash));
+            return hash;
+        } catch (IOException e) {
+            LOG.warn("Can't compute hash of {}, {}", jar, e.getMessage());
+            return null;
+        }
+    }
+
+    private static class JarHash {
+        final long   modified;
+        final long   length;
+        final String hash;
+
+        JarHash(long modified, long length, String hash) {
+            this.modified = modified;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+}
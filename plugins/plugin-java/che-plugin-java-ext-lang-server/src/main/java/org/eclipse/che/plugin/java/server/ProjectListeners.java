@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.java.server;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
@@ -21,6 +22,7 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.server.ProjectCreatedEvent;
 import org.eclipse.che.api.project.server.ProjectRegistry;
 import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
 import org.eclipse.che.jdt.core.resources.ResourceChangedEvent;
 import org.eclipse.core.filebuffers.FileBuffers;
@@ -34,27 +36,56 @@ import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.CREATED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.DELETED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.UPDATED;
 
 /**
+ * Updates java model when files of java projects are changed.
+ * <p>
+ * Changes are collected during short period after the first change and then
+ * are passed to java model as a single delta per project, so burst of changes,
+ * e.g. checkout of a branch, is processed in a few passes instead of a pass per file.
+ * Java model is updated in a separate thread, so publisher of events isn't blocked.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class ProjectListeners {
     private static final Logger LOG = LoggerFactory.getLogger(ProjectListeners.class);
 
-    private final File                workspace;
-    private final ProjectRegistry     projectRegistry;
-    private final ProjectTypeRegistry projectTypeRegistry;
+    private final File                     workspace;
+    private final ProjectRegistry          projectRegistry;
+    private final ProjectTypeRegistry      projectTypeRegistry;
+    private final long                     eventsWindowMs;
+    private final ScheduledExecutorService executor;
+
+    private final Object                         lock          = new Object();
+    private       List<ProjectItemModifiedEvent> pendingEvents = new ArrayList<>();
 
     @Inject
     public ProjectListeners(@Named("che.user.workspaces.storage") String workspacePath,
                             EventService eventService,
                             ProjectRegistry projectRegistry,
-                            ProjectTypeRegistry projectTypeRegistry) {
+                            ProjectTypeRegistry projectTypeRegistry,
+                            @Named("che.java.model.events_window_ms") long eventsWindowMs) {
         this.projectRegistry = projectRegistry;
         this.projectTypeRegistry = projectTypeRegistry;
+        this.eventsWindowMs = eventsWindowMs;
         workspace = new File(workspacePath);
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("ProjectListeners")
+                                                                                        .setDaemon(true)
+                                                                                        .build());
         eventService.subscribe(new ProjectCreated());
         eventService.subscribe(new EventSubscriber<ProjectItemModifiedEvent>() {
             @Override
@@ -64,43 +95,119 @@ public class ProjectListeners {
         });
     }
 
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules update of java model with the given change,
+     * model is updated together with other changes received during the same period.
+     */
     public void handleEvent(ProjectItemModifiedEvent event) {
-        final String eventPath = event.getPath();
         if (!isJavaProject(event.getProject())) {
             return;
         }
-        try {
-            JavaModelManager.getJavaModelManager().deltaState.resourceChanged(
-                    new ResourceChangedEvent(workspace, event));
-        } catch (Throwable t) {
-            //catch all exceptions that may be happened
-            LOG.error("Can't update java model in " + eventPath, t);
+        synchronized (lock) {
+            pendingEvents.add(event);
+            if (pendingEvents.size() == 1) {
+                executor.schedule(this::processPendingEvents, eventsWindowMs, MILLISECONDS);
+            }
         }
-        if (event.getType() == ProjectItemModifiedEvent.EventType.UPDATED) {
-            ITextFileBufferManager manager = FileBuffers.getTextFileBufferManager();
-            ITextFileBuffer fileBuffer = manager.getTextFileBuffer(new Path(eventPath), LocationKind.IFILE);
-            if (fileBuffer != null) {
-                try {
-                    fileBuffer.revert(new NullProgressMonitor());
-                } catch (CoreException e) {
-                    LOG.error("Can't read file content: " + eventPath, e);
+    }
+
+    private void processPendingEvents() {
+        final List<ProjectItemModifiedEvent> events;
+        synchronized (lock) {
+            if (pendingEvents.isEmpty()) {
+                return;
+            }
+            events = pendingEvents;
+            pendingEvents = new ArrayList<>();
+        }
+        final Map<String, List<ProjectItemModifiedEvent>> projectEvents = new LinkedHashMap<>();
+        for (ProjectItemModifiedEvent event : coalesce(events)) {
+            projectEvents.computeIfAbsent(event.getProject(), project -> new ArrayList<>()).add(event);
+        }
+        for (Map.Entry<String, List<ProjectItemModifiedEvent>> entry : projectEvents.entrySet()) {
+            try {
+                JavaModelManager.getJavaModelManager().deltaState.resourceChanged(
+                        new ResourceChangedEvent(workspace, entry.getValue()));
+            } catch (Throwable t) {
+                //catch all exceptions that may be happened
+                LOG.error("Can't update java model in " + entry.getKey(), t);
+            }
+            for (ProjectItemModifiedEvent event : entry.getValue()) {
+                if (event.getType() == ProjectItemModifiedEvent.EventType.UPDATED) {
+                    revertFileBuffer(event.getPath());
                 }
             }
         }
     }
 
+    private void revertFileBuffer(String path) {
+        ITextFileBufferManager manager = FileBuffers.getTextFileBufferManager();
+        ITextFileBuffer fileBuffer = manager.getTextFileBuffer(new Path(path), LocationKind.IFILE);
+        if (fileBuffer != null) {
+            try {
+                fileBuffer.revert(new NullProgressMonitor());
+            } catch (CoreException e) {
+                LOG.error("Can't read file content: " + path, e);
+            }
+        }
+    }
+
+    /**
+     * Leaves single change per path, the resulting change describes difference between
+     * state before the first change and state after the last one, e.g. file which was
+     * created and then updated is reported as created, file which was created and deleted
+     * is not reported at all.
+     *
+     * @return changes in order of the first change of each path
+     */
+    static List<ProjectItemModifiedEvent> coalesce(List<ProjectItemModifiedEvent> events) {
+        final Map<String, ProjectItemModifiedEvent> changes = new LinkedHashMap<>();
+        for (ProjectItemModifiedEvent event : events) {
+            final ProjectItemModifiedEvent previous = changes.get(event.getPath());
+            if (previous == null) {
+                changes.put(event.getPath(), event);
+                continue;
+            }
+            final EventType previousType = previous.getType();
+            final EventType type = event.getType();
+            if (previousType == CREATED && type == UPDATED) {
+                // file is still new
+            } else if (previousType == CREATED && type == DELETED) {
+                changes.remove(event.getPath());
+            } else if (previousType == DELETED && type == CREATED) {
+                changes.put(event.getPath(), new ProjectItemModifiedEvent(UPDATED,
+                                                                          event.getWorkspace(),
+                                                                          event.getProject(),
+                                                                          event.getPath(),
+                                                                          event.isFolder()));
+            } else {
+                changes.put(event.getPath(), event);
+            }
+        }
+        return new ArrayList<>(changes.values());
+    }
+
     private class ProjectCreated implements EventSubscriber<ProjectCreatedEvent> {
         @Override
         public void onEvent(ProjectCreatedEvent event) {
             if (!isJavaProject(event.getProjectPath())) {
                 return;
             }
-            try {
-                JavaModelManager.getJavaModelManager().deltaState.resourceChanged(new ResourceChangedEvent(workspace, event));
-            } catch (Throwable t) {
-                //catch all exceptions that may be happened
-                LOG.error("Can't update java model " + event.getProjectPath(), t);
-            }
+            // keep order of changes, changes received before creation of project are processed first
+            executor.execute(() -> {
+                processPendingEvents();
+                try {
+                    JavaModelManager.getJavaModelManager().deltaState.resourceChanged(new ResourceChangedEvent(workspace, event));
+                } catch (Throwable t) {
+                    //catch all exceptions that may be happened
+                    LOG.error("Can't update java model " + event.getProjectPath(), t);
+                }
+            });
         }
     }
 
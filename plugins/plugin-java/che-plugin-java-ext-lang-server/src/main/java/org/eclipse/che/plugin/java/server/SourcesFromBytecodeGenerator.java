@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.java.server;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.jdt.dom.ASTNodes;
@@ -42,7 +43,23 @@ public class SourcesFromBytecodeGenerator {
             "\n // Failed to get sources. Instead, stub sources have been generated.\n // Implementation of methods is unavailable.\n");
     private static final String TAB         = "    ";
 
+    private final GeneratedSourcesCache cache;
+
+    @Inject
+    public SourcesFromBytecodeGenerator(GeneratedSourcesCache cache) {
+        this.cache = cache;
+    }
+
     public String generateSource(IType type) throws JavaModelException {
+        String source = cache.get(type);
+        if (source == null) {
+            source = doGenerateSource(type);
+            cache.put(type, source);
+        }
+        return source;
+    }
+
+    private String doGenerateSource(IType type) throws JavaModelException {
         StringBuilder builder = new StringBuilder();
         builder.append(COMMENT);
         builder.append("package ").append(type.getPackageFragment().getElementName()).append(";\n");
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server;
+
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.CREATED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.DELETED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.UPDATED;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ProjectListenersTest {
+
+    @Test
+    public void shouldLeaveSingleChangePerFile() throws Exception {
+        List<ProjectItemModifiedEvent> changes = ProjectListeners.coalesce(asList(event(UPDATED, "/test/A.java"),
+                                                                                  event(UPDATED, "/test/B.java"),
+                                                                                  event(UPDATED, "/test/A.java")));
+
+        assertThat(changes).hasSize(2);
+        assertThat(changes.get(0).getPath()).isEqualTo("/test/A.java");
+        assertThat(changes.get(1).getPath()).isEqualTo("/test/B.java");
+    }
+
+    @Test
+    public void shouldReportCreatedAndUpdatedFileAsCreated() throws Exception {
+        List<ProjectItemModifiedEvent> changes = ProjectListeners.coalesce(asList(event(CREATED, "/test/A.java"),
+                                                                                  event(UPDATED, "/test/A.java")));
+
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).getType()).isEqualTo(CREATED);
+    }
+
+    @Test
+    public void shouldNotReportCreatedAndDeletedFile() throws Exception {
+        List<ProjectItemModifiedEvent> changes = ProjectListeners.coalesce(asList(event(CREATED, "/test/A.java"),
+                                                                                  event(UPDATED, "/test/A.java"),
+                                                                                  event(DELETED, "/test/A.java")));
+
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void shouldReportDeletedAndCreatedFileAsUpdated() throws Exception {
+        List<ProjectItemModifiedEvent> changes = ProjectListeners.coalesce(asList(event(DELETED, "/test/A.java"),
+                                                                                  event(CREATED, "/test/A.java")));
+
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).getType()).isEqualTo(UPDATED);
+        assertThat(changes.get(0).getProject()).isEqualTo("test");
+    }
+
+    @Test
+    public void shouldReportUpdatedAndDeletedFileAsDeleted() throws Exception {
+        List<ProjectItemModifiedEvent> changes = ProjectListeners.coalesce(asList(event(UPDATED, "/test/A.java"),
+                                                                                  event(DELETED, "/test/A.java")));
+
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).getType()).isEqualTo(DELETED);
+    }
+
+    private static ProjectItemModifiedEvent event(EventType type, String path) {
+        return new ProjectItemModifiedEvent(type, "workspace", "test", path, false);
+    }
+}
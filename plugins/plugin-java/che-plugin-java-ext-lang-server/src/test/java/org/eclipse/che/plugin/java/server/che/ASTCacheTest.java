@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.che;
+
+import org.eclipse.che.jdt.javaeditor.ASTCache;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaModel;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ASTCacheTest {
+
+    private ASTCache        cache;
+    private CompilationUnit ast;
+    private IJavaModel      javaModel;
+    private IJavaProject    lib;
+    private IJavaProject    app;
+    private IJavaProject    other;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new ASTCache(10);
+        ast = mock(CompilationUnit.class);
+        javaModel = mock(IJavaModel.class);
+        lib = javaProject("lib");
+        app = javaProject("app", "lib");
+        other = javaProject("other");
+        when(javaModel.getJavaProjects()).thenReturn(new IJavaProject[] {lib, app, other});
+    }
+
+    @Test
+    public void shouldReturnAstForTheSameContent() throws Exception {
+        put(typeRoot("/test/src/A.java", "class A {}"), ast);
+
+        assertThat(cache.get(typeRoot("/test/src/A.java", "class A {}"))).isSameAs(ast);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldNotReturnAstForChangedContent() throws Exception {
+        put(typeRoot("/test/src/A.java", "class A {}"), ast);
+
+        assertThat(cache.get(typeRoot("/test/src/A.java", "class A { int a; }"))).isNull();
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotCacheAstIfContentWasChangedAfterItWasParsed() throws Exception {
+        final ITypeRoot typeRoot = typeRoot("/test/src/A.java", "class A { int a; }");
+
+        cache.put(typeRoot, "class A {}".toCharArray(), ast);
+
+        assertThat(cache.get(typeRoot("/test/src/A.java", "class A {}"))).isNull();
+        assertThat(cache.get(typeRoot)).isNull();
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedAst() throws Exception {
+        cache = new ASTCache(2);
+        put(typeRoot("/test/src/A.java", "class A {}"), ast);
+        put(typeRoot("/test/src/B.java", "class B {}"), mock(CompilationUnit.class));
+        cache.get(typeRoot("/test/src/A.java", "class A {}"));
+        put(typeRoot("/test/src/C.java", "class C {}"), mock(CompilationUnit.class));
+
+        assertThat(cache.get(typeRoot("/test/src/A.java", "class A {}"))).isSameAs(ast);
+        assertThat(cache.get(typeRoot("/test/src/B.java", "class B {}"))).isNull();
+    }
+
+    @Test
+    public void shouldEvictAstsOfProjectsDependentOnChangedCompilationUnit() throws Exception {
+        put(typeRoot("/lib/src/L.java", "class L {}", lib), mock(CompilationUnit.class));
+        put(typeRoot("/app/src/A.java", "class A { L l; }", app), ast);
+        final CompilationUnit otherAst = mock(CompilationUnit.class);
+        put(typeRoot("/other/src/O.java", "class O {}", other), otherAst);
+
+        cache.elementChanged(event(delta(lib, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CHILDREN,
+                                         delta(element(IJavaElement.COMPILATION_UNIT, "L.java"),
+                                               IJavaElementDelta.CHANGED,
+                                               IJavaElementDelta.F_CONTENT))));
+
+        assertThat(cache.get(typeRoot("/lib/src/L.java", "class L {}", lib))).isNull();
+        assertThat(cache.get(typeRoot("/app/src/A.java", "class A { L l; }", app))).isNull();
+        assertThat(cache.get(typeRoot("/other/src/O.java", "class O {}", other))).isSameAs(otherAst);
+    }
+
+    @Test
+    public void shouldEvictAstsOfProjectWhenClasspathIsChanged() throws Exception {
+        put(typeRoot("/app/src/A.java", "class A {}", app), ast);
+
+        cache.elementChanged(event(delta(app, IJavaElementDelta.CHANGED, IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)));
+
+        assertThat(cache.get(typeRoot("/app/src/A.java", "class A {}", app))).isNull();
+    }
+
+    @Test
+    public void shouldKeepAstsWhenCompilationUnitOnlyBecomesWorkingCopy() throws Exception {
+        put(typeRoot("/lib/src/L.java", "class L {}", lib), ast);
+
+        cache.elementChanged(event(delta(lib, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CHILDREN,
+                                         delta(element(IJavaElement.COMPILATION_UNIT, "L.java"),
+                                               IJavaElementDelta.CHANGED,
+                                               IJavaElementDelta.F_PRIMARY_WORKING_COPY))));
+
+        assertThat(cache.get(typeRoot("/lib/src/L.java", "class L {}", lib))).isSameAs(ast);
+    }
+
+    private void put(ITypeRoot typeRoot, CompilationUnit ast) {
+        cache.put(typeRoot, ASTCache.getSource(typeRoot), ast);
+    }
+
+    private ElementChangedEvent event(IJavaElementDelta projectDelta) {
+        final IJavaElementDelta modelDelta = delta(javaModel, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CHILDREN, projectDelta);
+        when(javaModel.getElementType()).thenReturn(IJavaElement.JAVA_MODEL);
+        when(javaModel.getJavaModel()).thenReturn(javaModel);
+        return new ElementChangedEvent(modelDelta, ElementChangedEvent.POST_CHANGE);
+    }
+
+    private static IJavaElementDelta delta(IJavaElement element, int kind, int flags, IJavaElementDelta... children) {
+        final IJavaElementDelta delta = mock(IJavaElementDelta.class);
+        when(delta.getElement()).thenReturn(element);
+        when(delta.getKind()).thenReturn(kind);
+        when(delta.getFlags()).thenReturn(flags);
+        when(delta.getAffectedChildren()).thenReturn(children);
+        return delta;
+    }
+
+    private static IJavaElement element(int type, String name) {
+        final IJavaElement element = mock(IJavaElement.class);
+        when(element.getElementType()).thenReturn(type);
+        when(element.getElementName()).thenReturn(name);
+        return element;
+    }
+
+    private static IJavaProject javaProject(String name, String... requiredProjects) throws Exception {
+        final IJavaProject project = mock(IJavaProject.class);
+        when(project.getElementType()).thenReturn(IJavaElement.JAVA_PROJECT);
+        when(project.getElementName()).thenReturn(name);
+        when(project.getRequiredProjectNames()).thenReturn(requiredProjects);
+        return project;
+    }
+
+    private static ITypeRoot typeRoot(String path, String content) throws Exception {
+        return typeRoot(path, content, null);
+    }
+
+    private static ITypeRoot typeRoot(String path, String content, IJavaProject project) throws Exception {
+        IBuffer buffer = mock(IBuffer.class);
+        when(buffer.getCharacters()).thenReturn(content.toCharArray());
+        ITypeRoot typeRoot = mock(ITypeRoot.class);
+        when(typeRoot.getPath()).thenReturn(new Path(path));
+        when(typeRoot.getElementName()).thenReturn(new Path(path).lastSegment());
+        when(typeRoot.getBuffer()).thenReturn(buffer);
+        when(typeRoot.getJavaProject()).thenReturn(project);
+        return typeRoot;
+    }
+}
@@ -11,12 +11,14 @@
 package org.eclipse.che.plugin.java.server.che;
 
 import org.eclipse.che.ide.ext.java.shared.OpenDeclarationDescriptor;
+import org.eclipse.che.plugin.java.server.GeneratedSourcesCache;
 import org.eclipse.che.plugin.java.server.JavaNavigation;
 import org.eclipse.che.plugin.java.server.SourcesFromBytecodeGenerator;
 import org.junit.Ignore;
 import org.junit.Test;
 
 import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author Evgen Vidolob
@@ -25,7 +27,7 @@ import static org.fest.assertions.Assertions.assertThat;
 @Ignore
 public class FindDeclarationTest extends BaseTest {
 
-    private JavaNavigation navigation = new JavaNavigation(new SourcesFromBytecodeGenerator());
+    private JavaNavigation navigation = new JavaNavigation(new SourcesFromBytecodeGenerator(mock(GeneratedSourcesCache.class)));
 
     @Test
     public void testFindClassIsNotNullOrEmpty() throws Exception {
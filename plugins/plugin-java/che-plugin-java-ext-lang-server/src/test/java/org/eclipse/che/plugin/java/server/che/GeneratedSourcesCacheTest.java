@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.che;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.plugin.java.server.GeneratedSourcesCache;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GeneratedSourcesCacheTest {
+
+    private File                  root;
+    private File                  jar;
+    private GeneratedSourcesCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("generated-sources").toFile();
+        jar = new File(root, "library.jar");
+        Files.write(jar.toPath(), "jar".getBytes());
+        cache = new GeneratedSourcesCache(new File(root, "cache"), 1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldReturnStoredSources() throws Exception {
+        cache.put(type("org.test.A", jar), "class A {}");
+
+        assertThat(new GeneratedSourcesCache(new File(root, "cache"), 1).get(type("org.test.A", jar))).isEqualTo("class A {}");
+        assertThat(cache.get(type("org.test.B", jar))).isNull();
+    }
+
+    @Test
+    public void shouldShareSourcesBetweenCopiesOfTheSameJar() throws Exception {
+        File copy = new File(root, "copy.jar");
+        Files.copy(jar.toPath(), copy.toPath());
+        cache.put(type("org.test.A", jar), "class A {}");
+
+        assertThat(cache.get(type("org.test.A", copy))).isEqualTo("class A {}");
+    }
+
+    @Test
+    public void shouldNotReturnSourcesWhenJarIsChanged() throws Exception {
+        cache.put(type("org.test.A", jar), "class A {}");
+        Files.write(jar.toPath(), "changed jar".getBytes());
+
+        assertThat(cache.get(type("org.test.A", jar))).isNull();
+    }
+
+    @Test
+    public void shouldNotStoreSourcesOfClassesFromFolders() throws Exception {
+        IType type = type("org.test.A", jar);
+        when(((IPackageFragmentRoot)type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT)).isArchive()).thenReturn(false);
+        cache.put(type, "class A {}");
+
+        assertThat(cache.get(type("org.test.A", jar))).isNull();
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedSourcesWhenCacheIsFull() throws Exception {
+        String source = new String(new char[400 * 1024]).replace('\0', 'a');
+        cache.put(type("org.test.A", jar), source);
+        cache.put(type("org.test.B", jar), source);
+        setAccessTime("org.test.A", 1000);
+        setAccessTime("org.test.B", 2000);
+        cache.put(type("org.test.C", jar), source);
+
+        assertThat(cache.get(type("org.test.A", jar))).isNull();
+        assertThat(cache.get(type("org.test.B", jar))).isEqualTo(source);
+        assertThat(cache.get(type("org.test.C", jar))).isEqualTo(source);
+    }
+
+    private void setAccessTime(String fqn, long time) throws Exception {
+        Files.walk(new File(root, "cache").toPath())
+             .filter(path -> path.getFileName().toString().equals(fqn + ".java"))
+             .forEach(path -> path.toFile().setLastModified(time));
+    }
+
+    private static IType type(String fqn, File jar) {
+        IPackageFragmentRoot root = mock(IPackageFragmentRoot.class);
+        when(root.isArchive()).thenReturn(true);
+        when(root.getPath()).thenReturn(new Path(jar.getAbsolutePath()));
+        IType type = mock(IType.class);
+        when(type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT)).thenReturn(root);
+        when(type.getFullyQualifiedName()).thenReturn(fqn);
+        return type;
+    }
+}
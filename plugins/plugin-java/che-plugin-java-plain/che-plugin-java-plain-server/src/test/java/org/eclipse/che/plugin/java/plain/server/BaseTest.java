@@ -67,7 +67,7 @@ public abstract class BaseTest {
 
     @BeforeClass
     protected void initProjectApi() throws Exception {
-        JavaPlugin javaPlugin = new JavaPlugin(wsPath + "/set", null, null);
+        JavaPlugin javaPlugin = new JavaPlugin(wsPath + "/set", null, null, 20);
         EventService eventService = new EventService();
 
         TestWorkspaceHolder workspaceHolder = new TestWorkspaceHolder();
@@ -96,10 +96,10 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
                 MavenSettings mavenSettings = new MavenSettings();
                 //TODO add more user settings
                 mavenSettings.setMavenHome(new File(System.getenv("M2_HOME")));
-                mavenSettings.setUserSettings(new File(System.getProperty("user.home"), ".m2/settings.xml"));
+                mavenSettings.setUserSettings(getUserSettings());
                 // Setting Global maven setting
                 // for more maven info settings visit https://maven.apache.org/settings.html
-                mavenSettings.setGlobalSettings(new File(System.getenv("M2_HOME"), "conf/settings.xml"));
+                mavenSettings.setGlobalSettings(getGlobalSettings());
                 mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_INFO);
                 if (localRepository != null) {
                     mavenSettings.setLocalRepository(localRepository);
@@ -109,6 +109,16 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
         };
     }
 
+    /** Returns user settings.xml which maven servers are created with, file may not exist. */
+    public File getUserSettings() {
+        return new File(System.getProperty("user.home"), ".m2/settings.xml");
+    }
+
+    /** Returns global settings.xml of maven installation which maven servers are created with, file may not exist. */
+    public File getGlobalSettings() {
+        return new File(System.getenv("M2_HOME"), "conf/settings.xml");
+    }
+
     /**
      * For test use only. Sets the path to local maven repository
      *
@@ -18,6 +18,7 @@ import org.eclipse.che.maven.data.MavenRemoteRepository;
 import org.eclipse.che.maven.data.MavenWorkspaceCache;
 import org.eclipse.che.maven.server.MavenServer;
 import org.eclipse.che.maven.server.MavenServerProgressNotifier;
+import org.eclipse.che.maven.server.MavenServerResolveListener;
 import org.eclipse.che.maven.server.MavenServerResult;
 import org.eclipse.che.maven.server.MavenTerminal;
 import org.slf4j.Logger;
@@ -28,6 +29,7 @@ import java.rmi.NoSuchObjectException;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * @author Evgen Vidolob
@@ -102,6 +104,32 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
         return perform(() -> getOrCreateWrappedObject().resolveProject(pom, activeProfiles, inactiveProfile));
     }
 
+    /**
+     * Resolves projects in one call of maven server, result of each project is passed to the consumer
+     * as soon as project is resolved. When the call is repeated after failure of maven server
+     * consumer may receive result of the same project again.
+     */
+    public void resolveProjects(List<File> poms,
+                                List<String> activeProfiles,
+                                List<String> inactiveProfile,
+                                BiConsumer<File, MavenServerResult> consumer) {
+        MavenServerResolveListener listener = new MavenServerResolveListenerWrapper(consumer);
+        try {
+            UnicastRemoteObject.exportObject(listener, 0);
+        } catch (RemoteException e) {
+            throw new RuntimeException(e);
+        }
+        try {
+            perform(() -> getOrCreateWrappedObject().resolveProjects(poms, activeProfiles, inactiveProfile, listener));
+        } finally {
+            try {
+                UnicastRemoteObject.unexportObject(listener, true);
+            } catch (NoSuchObjectException e) {
+                LOG.warn("Can't unexport object", e);
+            }
+        }
+    }
+
     public String getEffectivePom(File pom, List<String> activeProfiles, List<String> inactiveProfile) {
         return perform(() -> getOrCreateWrappedObject().getEffectivePom(pom, activeProfiles, inactiveProfile));
     }
@@ -242,4 +270,18 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
             delegate.print(level, message, throwable);
         }
     }
+
+    private static class MavenServerResolveListenerWrapper implements MavenServerResolveListener {
+
+        private final BiConsumer<File, MavenServerResult> delegate;
+
+        public MavenServerResolveListenerWrapper(BiConsumer<File, MavenServerResult> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void projectResolved(File pom, MavenServerResult result) throws RemoteException {
+            delegate.accept(pom, result);
+        }
+    }
 }
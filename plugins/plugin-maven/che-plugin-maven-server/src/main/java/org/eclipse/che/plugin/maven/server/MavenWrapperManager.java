@@ -12,15 +12,19 @@ package org.eclipse.che.plugin.maven.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 /**
  *
- * Manages and cache MavenServerWrapper instances
+ * Manages and cache MavenServerWrapper instances.
+ * For each {@link ServerType} keeps pool of idle servers,
+ * so up to pool size servers of the same type may be used concurrently without creating new servers.
  *
  * @author Evgen Vidolob
  */
@@ -28,39 +32,64 @@ import java.util.Set;
 public class MavenWrapperManager {
 
 
-    private final MavenServerManager    serverManager;
-    private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
-    private final Set<MavenServerWrapper> usedServers = new HashSet<>();
-
+    private final MavenServerManager                         serverManager;
+    private final int                                        poolSize;
+    private final Map<ServerType, Deque<MavenServerWrapper>> idleServers = new EnumMap<>(ServerType.class);
+    private final Map<MavenServerWrapper, ServerType>        usedServers = new HashMap<>();
 
+    /**
+     * @param serverManager
+     *         creates maven servers
+     * @param poolSize
+     *         max number of idle servers of each type kept for reuse
+     */
     @Inject
-    public MavenWrapperManager(MavenServerManager serverManager) {
+    public MavenWrapperManager(MavenServerManager serverManager, @Named("che.maven.server.pool_size") int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive, but was " + poolSize);
+        }
         this.serverManager = serverManager;
+        this.poolSize = poolSize;
+        for (ServerType type : ServerType.values()) {
+            idleServers.put(type, new ArrayDeque<>(poolSize));
+        }
+    }
+
+    /** Returns max number of idle servers of each type kept for reuse. */
+    public int getPoolSize() {
+        return poolSize;
     }
 
     public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-        MavenServerWrapper wrapper = cache.get(type);
+        MavenServerWrapper wrapper = idleServers.get(type).poll();
         if (wrapper == null) {
             wrapper = serverManager.createMavenServer();
-            cache.put(type, wrapper);
-        }
-
-        if (usedServers.contains(wrapper)) {
-            //need to warn here
-            return serverManager.createMavenServer();
         }
 
-        usedServers.add(wrapper);
+        usedServers.put(wrapper, type);
         return wrapper;
     }
 
-    public synchronized void release(MavenServerWrapper wrapper) {
-        if (usedServers.contains(wrapper)) {
+    /**
+     * Returns server to the pool of idle servers of its type
+     * or disposes it if the pool is full or server wasn't obtained from this manager.
+     */
+    public void release(MavenServerWrapper wrapper) {
+        final ServerType type;
+        synchronized (this) {
+            type = usedServers.remove(wrapper);
+        }
+        if (type != null) {
             wrapper.reset();
-            usedServers.remove(wrapper);
-        } else {
-            wrapper.dispose();
+            synchronized (this) {
+                final Deque<MavenServerWrapper> idle = idleServers.get(type);
+                if (idle.size() < poolSize) {
+                    idle.push(wrapper);
+                    return;
+                }
+            }
         }
+        wrapper.dispose();
     }
 
     public enum ServerType {
@@ -11,19 +11,25 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * Runs maven tasks one by one in single thread. Tasks may resolve independent projects
+ * concurrently with {@link #getResolveExecutor() resolve executor}.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
@@ -32,18 +38,41 @@ public class MavenExecutorService {
     private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
     private final ExecutorService service;
+    private final ExecutorService resolveService;
+    private final int             resolveThreads;
 
-    public MavenExecutorService() {
+    /**
+     * @param resolveThreads
+     *         number of threads that resolve projects concurrently,
+     *         it is the same as number of maven servers kept by {@link org.eclipse.che.plugin.maven.server.MavenWrapperManager}
+     */
+    @Inject
+    public MavenExecutorService(@Named("che.maven.server.pool_size") int resolveThreads) {
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Maven Executor - %d")
                                                                 .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
                                                                 .build();
         service = Executors.newFixedThreadPool(1, threadFactory);
+        ThreadFactory resolveThreadFactory = new ThreadFactoryBuilder().setNameFormat("Maven Resolver - %d")
+                                                                       .setUncaughtExceptionHandler(
+                                                                               LoggingUncaughtExceptionHandler.getInstance())
+                                                                       .build();
+        resolveService = Executors.newFixedThreadPool(resolveThreads, resolveThreadFactory);
+        this.resolveThreads = resolveThreads;
     }
 
     public void submit(Runnable task) {
         service.execute(task);
     }
 
+    /** Returns executor which runs up to {@link #getResolveThreads()} resolving of projects concurrently. */
+    public Executor getResolveExecutor() {
+        return resolveService;
+    }
+
+    public int getResolveThreads() {
+        return resolveThreads;
+    }
+
     @PreDestroy
     public void shutdown() throws InterruptedException {
         // Tell threads to finish off.
@@ -61,6 +90,9 @@ public class MavenExecutorService {
             service.shutdownNow();
             // Preserve interrupt status
             Thread.currentThread().interrupt();
+        } finally {
+            // Tasks that resolve projects are done or cancelled at this point
+            resolveService.shutdownNow();
         }
     }
 }
@@ -21,17 +21,22 @@ import org.eclipse.che.maven.server.MavenTerminal;
 import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +45,7 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +55,7 @@ import java.util.stream.Collectors;
  */
 @Singleton
 public class MavenProjectManager {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenProjectManager.class);
 
     private final MavenWorkspaceCache                   mavenWorkspaceCache;
     private final Map<MavenKey, MavenProject>           keyToProjectMap;
@@ -66,19 +73,23 @@ public class MavenProjectManager {
     private final MavenTerminal         terminal;
     private final MavenProgressNotifier mavenNotifier;
     private final Provider<IWorkspace>  workspaceProvider;
+    private final MavenResolutionCache  resolutionCache;
 
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock                   readLock      = readWriteLock.readLock();
     private final Lock                   writeLock     = readWriteLock.writeLock();
 
     private final MavenProjectListener dispatcher;
+    private final Object               dispatchLock = new Object();
 
     @Inject
     public MavenProjectManager(MavenWrapperManager wrapperManager,
                                MavenServerManager serverManager,
                                MavenTerminal terminal,
                                MavenProgressNotifier mavenNotifier,
-                               EclipseWorkspaceProvider workspaceProvider) {
+                               EclipseWorkspaceProvider workspaceProvider,
+                               MavenResolutionCache resolutionCache) {
+        this.resolutionCache = resolutionCache;
         this.wrapperManager = wrapperManager;
         this.serverManager = serverManager;
         this.terminal = terminal;
@@ -97,8 +108,11 @@ public class MavenProjectManager {
         return (MavenProjectListener)Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(),
                                                             new Class[] {MavenProjectListener.class},
                                                             (proxy, method, args) -> {
-                                                                for (MavenProjectListener listener : listeners) {
-                                                                    method.invoke(listener, args);
+                                                                // projects are resolved concurrently, listeners are notified one at a time
+                                                                synchronized (dispatchLock) {
+                                                                    for (MavenProjectListener listener : listeners) {
+                                                                        method.invoke(listener, args);
+                                                                    }
                                                                 }
                                                                 return null;
                                                             });
@@ -112,19 +126,98 @@ public class MavenProjectManager {
         listeners.remove(listener);
     }
 
+    /**
+     * Resolves maven project, result of resolving is restored from {@link MavenResolutionCache}
+     * when project and its parents weren't changed since the last resolving.
+     */
     public void resolveMavenProject(IProject project, MavenProject mavenProject) {
+        resolveMavenProjects(Collections.singletonList(mavenProject), false, resolved -> {});
+    }
+
+    /**
+     * Resolves maven projects, results of projects which weren't changed together with their parents since the last
+     * resolving are restored from {@link MavenResolutionCache}, other projects are resolved with one call of maven server.
+     *
+     * @param mavenProjects
+     *         projects to resolve
+     * @param force
+     *         when {@code true} all projects are resolved by maven, e.g. on explicit reimport, and their stored results are replaced
+     * @param afterResolve
+     *         action which is performed for each project as soon as it is resolved and listeners are notified
+     */
+    public void resolveMavenProjects(List<MavenProject> mavenProjects, boolean force, Consumer<MavenProject> afterResolve) {
+        final Map<MavenProject, List<File>> toResolve = new LinkedHashMap<>();
+        for (MavenProject mavenProject : mavenProjects) {
+            final List<File> poms = getPomFiles(mavenProject);
+            final MavenModelReaderResult result = force ? null : resolutionCache.get(mavenProject, poms);
+            if (result == null) {
+                toResolve.put(mavenProject, poms);
+            } else {
+                applyResolveResult(mavenProject, result, afterResolve);
+            }
+        }
+        if (toResolve.isEmpty()) {
+            return;
+        }
+
         MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
         try {
-
-            mavenNotifier.setText("Resolving project: " + mavenProject.getName());
+            mavenNotifier.setText(toResolve.size() == 1 ? "Resolving project: " + toResolve.keySet().iterator().next().getName()
+                                                        : "Resolving " + toResolve.size() + " projects");
             mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
-            MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager);
-            dispatcher.projectResolved(mavenProject, modifications);
-
+            final File localRepository = getLocalRepository(mavenServer);
+            MavenProject.resolveModels(new ArrayList<>(toResolve.keySet()), mavenServer, serverManager, (mavenProject, result) -> {
+                if (localRepository != null) {
+                    resolutionCache.put(mavenProject, toResolve.get(mavenProject), localRepository, result);
+                } else {
+                    resolutionCache.remove(mavenProject);
+                }
+                applyResolveResult(mavenProject, result, afterResolve);
+            });
         } finally {
             wrapperManager.release(mavenServer);
         }
+    }
+
+    /** Returns local repository of maven server or {@code null} if it is unknown, results aren't stored in this case. */
+    private static File getLocalRepository(MavenServerWrapper mavenServer) {
+        try {
+            return mavenServer.getLocalRepository();
+        } catch (RuntimeException e) {
+            LOG.warn("Can't get local repository of maven server, results of resolving won't be stored", e);
+            return null;
+        }
+    }
 
+    private void applyResolveResult(MavenProject mavenProject, MavenModelReaderResult result, Consumer<MavenProject> afterResolve) {
+        MavenProjectModifications modifications = mavenProject.setResolveResult(result);
+        dispatcher.projectResolved(mavenProject, modifications);
+        afterResolve.accept(mavenProject);
+    }
+
+    /** Returns pom.xml of the project and pom.xml files of its parents and aggregators from workspace. */
+    private List<File> getPomFiles(MavenProject mavenProject) {
+        final List<File> poms = new ArrayList<>();
+        final Set<MavenProject> visited = new HashSet<>();
+        final Deque<MavenProject> toVisit = new LinkedList<>();
+        toVisit.add(mavenProject);
+        while (!toVisit.isEmpty()) {
+            final MavenProject current = toVisit.poll();
+            if (current == null || !visited.add(current)) {
+                continue;
+            }
+            poms.add(current.getPomFile());
+            toVisit.add(findParentProject(current));
+            if (current.getParentKey() != null) {
+                readLock.lock();
+                try {
+                    toVisit.add(keyToProjectMap.get(current.getParentKey()));
+                } finally {
+                    readLock.unlock();
+                }
+            }
+        }
+        return poms;
     }
 
 
@@ -273,6 +366,7 @@ public class MavenProjectManager {
 
             projectToMavenProjectMap.remove(removedModule.getProject());
             clearMavenKeyMap(removedModule);
+            resolutionCache.remove(removedModule);
             moduleToParentMap.remove(removedModule);
             parentToModulesMap.remove(removedModule);
         } finally {
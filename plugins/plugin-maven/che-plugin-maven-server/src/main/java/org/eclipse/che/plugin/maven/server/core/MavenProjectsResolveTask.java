@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Resolves set of maven projects in order of their dependencies, like maven reactor does.
+ * Project is resolved after its parent and dependencies from the same set are resolved,
+ * projects which don't depend on each other are resolved together in batches, one call of maven server per batch,
+ * and batches are resolved concurrently.
+ * <p>
+ * Action after resolving, e.g. update of classpath, is performed for each project as soon as project is resolved.
+ * Actions are never performed concurrently with each other.
+ */
+public class MavenProjectsResolveTask implements MavenProjectTask {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenProjectsResolveTask.class);
+
+    private final Collection<MavenProject> projects;
+    private final MavenProjectManager      projectManager;
+    private final Executor                 executor;
+    private final int                      parallelism;
+    private final boolean                  force;
+    private final Consumer<MavenProject>   afterResolve;
+    private final Object                   afterResolveLock = new Object();
+
+    /**
+     * @param projects
+     *         projects to resolve
+     * @param projectManager
+     *         resolves single project
+     * @param executor
+     *         executor to resolve projects with
+     * @param parallelism
+     *         max number of batches resolved at the same time
+     * @param force
+     *         when {@code true} projects are resolved by maven even if stored results of their resolving are up to date
+     * @param afterResolve
+     *         action which is performed for each resolved project
+     */
+    public MavenProjectsResolveTask(Collection<MavenProject> projects,
+                                    MavenProjectManager projectManager,
+                                    Executor executor,
+                                    int parallelism,
+                                    boolean force,
+                                    Consumer<MavenProject> afterResolve) {
+        this.projects = projects;
+        this.projectManager = projectManager;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.force = force;
+        this.afterResolve = afterResolve;
+    }
+
+    @Override
+    public void perform() {
+        final Map<MavenProject, List<MavenProject>> dependents = new HashMap<>();
+        // projects which are not scheduled yet with number of their unresolved dependencies
+        final Map<MavenProject, Integer> waiting = new LinkedHashMap<>();
+        for (Map.Entry<MavenProject, Set<MavenProject>> entry : dependencies(projects).entrySet()) {
+            waiting.put(entry.getKey(), entry.getValue().size());
+            for (MavenProject dependency : entry.getValue()) {
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        final Deque<MavenProject> ready = new ArrayDeque<>();
+        final CompletionService<List<MavenProject>> completionService = new ExecutorCompletionService<>(executor);
+        int running = 0;
+        int resolved = 0;
+        final int total = waiting.size();
+        while (resolved < total) {
+            takeReady(waiting, ready);
+            if (ready.isEmpty() && running == 0) {
+                // projects depend on each other, resolve any of them to break the cycle
+                final Iterator<MavenProject> it = waiting.keySet().iterator();
+                ready.add(it.next());
+                it.remove();
+            }
+            if (!ready.isEmpty() && running < parallelism) {
+                for (List<MavenProject> batch : split(ready, parallelism - running)) {
+                    completionService.submit(() -> resolve(batch), batch);
+                    running++;
+                }
+                ready.clear();
+            }
+
+            final List<MavenProject> done;
+            try {
+                done = completionService.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // never happens, errors of resolving are logged by resolving task
+                throw new IllegalStateException(e.getCause());
+            }
+            running--;
+            resolved += done.size();
+            for (MavenProject project : done) {
+                for (MavenProject dependent : dependents.getOrDefault(project, emptyList())) {
+                    waiting.computeIfPresent(dependent, (key, count) -> count - 1);
+                }
+            }
+        }
+    }
+
+    /** Moves projects which don't have unresolved dependencies from waiting to ready. */
+    private static void takeReady(Map<MavenProject, Integer> waiting, Deque<MavenProject> ready) {
+        for (Iterator<Map.Entry<MavenProject, Integer>> it = waiting.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<MavenProject, Integer> entry = it.next();
+            if (entry.getValue() == 0) {
+                ready.add(entry.getKey());
+                it.remove();
+            }
+        }
+    }
+
+    /** Splits projects into the given number of batches or less when there are not enough projects. */
+    static List<List<MavenProject>> split(Collection<MavenProject> projects, int batches) {
+        final List<List<MavenProject>> result = new ArrayList<>();
+        final int size = (projects.size() + batches - 1) / batches;
+        List<MavenProject> batch = new ArrayList<>(size);
+        for (MavenProject project : projects) {
+            if (batch.size() == size) {
+                result.add(batch);
+                batch = new ArrayList<>(size);
+            }
+            batch.add(project);
+        }
+        result.add(batch);
+        return result;
+    }
+
+    private void resolve(List<MavenProject> batch) {
+        final List<MavenProject> existing = batch.stream()
+                                                 .filter(project -> project.getProject().exists())
+                                                 .collect(Collectors.toList());
+        try {
+            projectManager.resolveMavenProjects(existing, force, project -> {
+                synchronized (afterResolveLock) {
+                    try {
+                        afterResolve.accept(project);
+                    } catch (RuntimeException e) {
+                        LOG.error(e.getMessage(), e);
+                    }
+                }
+            });
+        } catch (Throwable throwable) {
+            LOG.error(throwable.getMessage(), throwable);
+        }
+    }
+
+    /**
+     * Finds parent and dependencies of each project among the given projects.
+     *
+     * @return projects in the given order mapped to projects they depend on
+     */
+    static Map<MavenProject, Set<MavenProject>> dependencies(Collection<MavenProject> projects) {
+        final Map<MavenKey, MavenProject> keyToProject = new HashMap<>();
+        for (MavenProject project : projects) {
+            if (project.getMavenKey() != null) {
+                keyToProject.put(project.getMavenKey(), project);
+            }
+        }
+        final Map<MavenProject, Set<MavenProject>> dependencies = new LinkedHashMap<>();
+        for (MavenProject project : projects) {
+            final Set<MavenProject> projectDependencies = new LinkedHashSet<>();
+            if (project.getParentKey() != null) {
+                projectDependencies.add(keyToProject.get(project.getParentKey()));
+            }
+            if (project.getDependencies() != null) {
+                for (MavenArtifact artifact : project.getDependencies()) {
+                    projectDependencies.add(keyToProject.get(new MavenKey(artifact.getGroupId(),
+                                                                          artifact.getArtifactId(),
+                                                                          artifact.getVersion())));
+                }
+            }
+            projectDependencies.remove(null);
+            projectDependencies.remove(project);
+            dependencies.put(project, projectDependencies);
+        }
+        return dependencies;
+    }
+}
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.commons.xml.ReadOnlyXMLTree;
+import org.eclipse.che.commons.xml.XMLTreeException;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.plugin.maven.server.MavenServerManager;
+import org.eclipse.che.plugin.maven.server.core.classpath.MavenLocalRepositoryUtil;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+
+/**
+ * Keeps results of resolving maven projects on disk, so projects which weren't changed
+ * are not resolved again, e.g. after restart of workspace agent.
+ * <p>
+ * Result is stored together with hashes of files it depends on: pom.xml of project,
+ * pom.xml files of its parents and workspace dependencies, poms of parents resolved from
+ * local repository and settings files which maven servers are created with.
+ * Stored result is used only when all these files are the same and all resolved
+ * dependencies are still present in local repository.
+ * Only results without problems are stored, projects with problems are always resolved again.
+ */
+@Singleton
+public class MavenResolutionCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenResolutionCache.class);
+
+    private static final String MISSING_FILE_HASH = "";
+
+    private final File               cacheDir;
+    private final MavenServerManager serverManager;
+
+    @Inject
+    public MavenResolutionCache(@Named("che.maven.resolution_cache.dir") File cacheDir, MavenServerManager serverManager) {
+        this.cacheDir = cacheDir;
+        this.serverManager = serverManager;
+    }
+
+    /**
+     * Returns stored result of resolving of the project.
+     *
+     * @param project
+     *         maven project
+     * @param poms
+     *         pom.xml files of the project and its parents
+     * @return stored result or {@code null} if there is no result or it is out of date
+     */
+    public MavenModelReaderResult get(MavenProject project, List<File> poms) {
+        final File file = entryFile(project);
+        if (!file.isFile()) {
+            return null;
+        }
+        final Entry entry;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            entry = (Entry)in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOG.warn("Can't read resolved maven project from {}, {}", file, e.getMessage());
+            delete(file);
+            return null;
+        }
+        if (!isUpToDate(entry, poms)) {
+            return null;
+        }
+        return new MavenModelReaderResult(entry.model,
+                                          entry.activeProfiles,
+                                          entry.inactiveProfiles,
+                                          new ArrayList<>(),
+                                          new HashSet<>());
+    }
+
+    /**
+     * Stores result of resolving of the project, result which contains problems is not stored.
+     *
+     * @param project
+     *         maven project
+     * @param poms
+     *         pom.xml files of the project and its parents
+     * @param localRepository
+     *         local repository the project was resolved with, parents which are not in workspace are resolved from it
+     * @param result
+     *         result of resolving
+     */
+    public void put(MavenProject project, List<File> poms, File localRepository, MavenModelReaderResult result) {
+        final File file = entryFile(project);
+        if (!result.getProblems().isEmpty() || !result.getUnresolvedArtifacts().isEmpty()) {
+            delete(file);
+            return;
+        }
+        final Map<String, String> inputs = inputs(poms);
+        for (MavenArtifact dependency : result.getMavenModel().getDependencies()) {
+            final File dependencyFile = dependency.getFile();
+            if (isPom(dependencyFile)) {
+                inputs.put(dependencyFile.getAbsolutePath(), hash(dependencyFile));
+            }
+        }
+        for (File parentPom : repositoryParents(result.getMavenModel(), poms, localRepository)) {
+            inputs.put(parentPom.getAbsolutePath(), hash(parentPom));
+        }
+        final Entry entry = new Entry(inputs,
+                                      result.getMavenModel(),
+                                      new ArrayList<>(result.getActiveProfiles()),
+                                      new ArrayList<>(result.getInactiveProfiles()));
+        try {
+            if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+                throw new IOException("Can't create directory " + cacheDir);
+            }
+            final File tmp = File.createTempFile(file.getName(), ".tmp", cacheDir);
+            try {
+                try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                    out.writeObject(entry);
+                }
+                java.nio.file.Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                delete(tmp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Can't store resolved maven project {}, {}", project.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Removes stored result of resolving of the project.
+     */
+    public void remove(MavenProject project) {
+        delete(entryFile(project));
+    }
+
+    private boolean isUpToDate(Entry entry, List<File> poms) {
+        for (Map.Entry<String, String> input : inputs(poms).entrySet()) {
+            if (!input.getValue().equals(entry.inputs.get(input.getKey()))) {
+                return false;
+            }
+        }
+        // workspace dependencies and parents from local repository
+        for (Map.Entry<String, String> input : entry.inputs.entrySet()) {
+            if (!input.getValue().equals(hash(new File(input.getKey())))) {
+                return false;
+            }
+        }
+        for (MavenArtifact dependency : entry.model.getDependencies()) {
+            if (dependency.getFile() != null && !dependency.getFile().exists()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Hashes of given pom.xml files and settings files which maven servers are created with. */
+    private Map<String, String> inputs(List<File> poms) {
+        final Map<String, String> inputs = new HashMap<>();
+        for (File pom : poms) {
+            inputs.put(pom.getAbsolutePath(), hash(pom));
+        }
+        for (File settings : asList(serverManager.getUserSettings(), serverManager.getGlobalSettings())) {
+            inputs.put(settings.getAbsolutePath(), hash(settings));
+        }
+        return inputs;
+    }
+
+    /**
+     * Finds poms of parents which are resolved from local repository: parent of the resolved model,
+     * parents of the workspace poms and, transitively, parents of the found poms.
+     * Pom of parent which is not installed is returned as well, so installing of it makes stored result out of date.
+     */
+    private static Set<File> repositoryParents(MavenModel model, List<File> poms, File localRepository) {
+        final Set<File> parents = new LinkedHashSet<>();
+        final Set<MavenKey> visited = new HashSet<>();
+        final Deque<MavenKey> toVisit = new ArrayDeque<>();
+        if (model.getParent() != null) {
+            toVisit.add(model.getParent().getMavenKey());
+        }
+        for (File pom : poms) {
+            addParentKey(pom, toVisit);
+        }
+        while (!toVisit.isEmpty()) {
+            final MavenKey key = toVisit.poll();
+            if (key == null || !visited.add(key)) {
+                continue;
+            }
+            final File parentPom = MavenLocalRepositoryUtil.getFileForArtifact(localRepository,
+                                                                               key.getGroupId(),
+                                                                               key.getArtifactId(),
+                                                                               key.getVersion(),
+                                                                               null,
+                                                                               "pom");
+            parents.add(parentPom);
+            if (parentPom.isFile()) {
+                addParentKey(parentPom, toVisit);
+            }
+        }
+        return parents;
+    }
+
+    private static void addParentKey(File pom, Deque<MavenKey> keys) {
+        if (!pom.isFile()) {
+            return;
+        }
+        try {
+            final ReadOnlyXMLTree tree = ReadOnlyXMLTree.from(pom);
+            if (!tree.getText("/project/parent").isEmpty()) {
+                keys.add(new MavenKey(tree.getSingleText("/project/parent/groupId"),
+                                      tree.getSingleText("/project/parent/artifactId"),
+                                      tree.getSingleText("/project/parent/version")));
+            }
+        } catch (IOException | XMLTreeException e) {
+            LOG.debug("Can't read parent of {}, {}", pom, e.getMessage());
+        }
+    }
+
+    private static boolean isPom(File file) {
+        return file != null && "pom.xml".equals(file.getName());
+    }
+
+    private static String hash(File file) {
+        if (!file.isFile()) {
+            return MISSING_FILE_HASH;
+        }
+        try {
+            return Files.asByteSource(file).hash(Hashing.sha1()).toString();
+        } catch (IOException e) {
+            return MISSING_FILE_HASH;
+        }
+    }
+
+    private File entryFile(MavenProject project) {
+        return new File(cacheDir, Hashing.sha1().hashString(project.getProject().getFullPath().toString(), UTF_8) + ".ser");
+    }
+
+    private static void delete(File file) {
+        if (file.exists() && !file.delete()) {
+            LOG.warn("Can't delete file {}", file);
+        }
+    }
+
+    /** Stored result of resolving. */
+    private static class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final Map<String, String> inputs;
+        final MavenModel          model;
+        final List<String>        activeProfiles;
+        final List<String>        inactiveProfiles;
+
+        Entry(Map<String, String> inputs, MavenModel model, List<String> activeProfiles, List<String> inactiveProfiles) {
+            this.inputs = inputs;
+            this.model = model;
+            this.activeProfiles = activeProfiles;
+            this.inactiveProfiles = inactiveProfiles;
+        }
+    }
+}
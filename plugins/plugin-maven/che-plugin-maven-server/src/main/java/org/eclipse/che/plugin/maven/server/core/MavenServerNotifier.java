@@ -20,7 +20,9 @@ import org.eclipse.che.plugin.maven.shared.dto.StartStopNotification;
 import org.eclipse.che.maven.server.MavenServerProgressNotifier;
 
 /**
- * Default implementation of {@link MavenServerProgressNotifier}
+ * Default implementation of {@link MavenServerProgressNotifier}.
+ * Notifications are sent one at a time, projects are resolved concurrently
+ * and each resolving reports its progress through this notifier.
  *
  * @author Evgen Vidolob
  */
@@ -35,21 +37,21 @@ public class MavenServerNotifier implements MavenProgressNotifier {
     }
 
     @Override
-    public void setText(String text) {
+    public synchronized void setText(String text) {
         NotificationMessage dto = DtoFactory.newDto(NotificationMessage.class);
         dto.setText(text);
         communication.sendNotification(dto);
     }
 
     @Override
-    public void setPercent(double percent) {
+    public synchronized void setPercent(double percent) {
         NotificationMessage dto = DtoFactory.newDto(NotificationMessage.class);
         dto.setPercent(percent);
         communication.sendNotification(dto);
     }
 
     @Override
-    public void setPercentUndefined(boolean undefined) {
+    public synchronized void setPercentUndefined(boolean undefined) {
         NotificationMessage dto = DtoFactory.newDto(NotificationMessage.class);
         dto.setPercentUndefined(undefined);
         communication.sendNotification(dto);
@@ -61,7 +63,7 @@ public class MavenServerNotifier implements MavenProgressNotifier {
     }
 
     @Override
-    public void stop() {
+    public synchronized void stop() {
         sendStartStop(false);
     }
 
@@ -72,7 +74,7 @@ public class MavenServerNotifier implements MavenProgressNotifier {
     }
 
     @Override
-    public void start() {
+    public synchronized void start() {
         sendStartStop(true);
     }
 
@@ -64,6 +64,7 @@ public class MavenWorkspace {
     private final Provider<ProjectRegistry> projectRegistryProvider;
     private final MavenCommunication        communication;
     private final ClasspathManager          classpathManager;
+    private final MavenExecutorService      executorService;
 
     private MavenTaskExecutor resolveExecutor;
     private MavenTaskExecutor classPathExecutor;
@@ -84,6 +85,7 @@ public class MavenWorkspace {
         this.communication = communication;
         this.classpathManager = classpathManager;
         this.manager = manager;
+        this.executorService = executorService;
         resolveExecutor = new MavenTaskExecutor(executorService, notifier);
         eventService.subscribe(new EventSubscriber<ProjectDeletedEvent>() {
             @Override
@@ -145,23 +147,40 @@ public class MavenWorkspace {
     }
 
     public void update(List<IProject> projects) {
+        update(projects, false);
+    }
+
+    /**
+     * Updates the given projects with their modules and resolves them together with dependent projects.
+     *
+     * @param projects
+     *         projects to update
+     * @param force
+     *         when {@code true} projects are resolved by maven even if stored results of their resolving are up to date,
+     *         e.g. when user explicitly reimports projects
+     */
+    public void update(List<IProject> projects, boolean force) {
         manager.update(projects, true);
-        runResolve();
+        runResolve(force);
     }
 
-    private void runResolve() {
+    private void runResolve(boolean force) {
         //TODO synchronise on projectsToResolve change
         Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
         projectsToResolve.clear();
 
-        for (MavenProject mavenProject : needResolve) {
-
-            resolveExecutor.submitTask(new MavenProjectResolveTask(mavenProject, manager, () -> {
-                addSourcesFromBuildHelperPlugin(mavenProject);
-                classpathManager.updateClasspath(mavenProject);
-            }));
+        if (needResolve.isEmpty()) {
+            return;
         }
-
+        resolveExecutor.submitTask(new MavenProjectsResolveTask(needResolve,
+                                                                manager,
+                                                                executorService.getResolveExecutor(),
+                                                                executorService.getResolveThreads(),
+                                                                force,
+                                                                mavenProject -> {
+                                                                    addSourcesFromBuildHelperPlugin(mavenProject);
+                                                                    classpathManager.updateClasspath(mavenProject);
+                                                                }));
     }
 
     private void updateJavaProject(MavenProject project) {
@@ -34,10 +34,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
@@ -57,33 +59,71 @@ public class MavenModelReader {
                                                       List<String> inactiveProfiles, MavenServerManager serverManager) {
         try {
             MavenServerResult resolveProject = mavenServer.resolveProject(pom, activeProfiles, inactiveProfiles);
-            MavenProjectInfo projectInfo = resolveProject.getProjectInfo();
-            if (projectInfo != null) {
-                return new MavenModelReaderResult(projectInfo.getMavenModel(),
-                                                  projectInfo.getActiveProfiles(),
-                                                  Collections.emptyList(),
-                                                  resolveProject.getProblems(),
-                                                  resolveProject.getUnresolvedArtifacts());
-            } else {
-                MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
-                readMavenProject.getProblems().addAll(resolveProject.getProblems());
-                readMavenProject.getUnresolvedArtifacts().addAll(resolveProject.getUnresolvedArtifacts());
-                return readMavenProject;
-            }
+            return toReaderResult(pom, resolveProject, serverManager);
+        } catch (Throwable t) {
+            return readWithResolveProblem(pom, t, serverManager);
+        }
+    }
 
+    /**
+     * Resolves the given projects with one call of maven server, result of each project is passed to the consumer
+     * as soon as project is resolved. When maven server fails, projects which weren't resolved yet are read without maven.
+     */
+    public void resolveMavenProjects(List<File> poms, MavenServerWrapper mavenServer, List<String> activeProfiles,
+                                     List<String> inactiveProfiles, MavenServerManager serverManager,
+                                     BiConsumer<File, MavenModelReaderResult> consumer) {
+        final Set<File> notResolved = Collections.synchronizedSet(new LinkedHashSet<>(poms));
+        try {
+            mavenServer.resolveProjects(poms, activeProfiles, inactiveProfiles, (pom, result) -> {
+                // result of the same project may be received again when call is repeated after failure of maven server
+                if (notResolved.remove(pom)) {
+                    try {
+                        consumer.accept(pom, toReaderResult(pom, result, serverManager));
+                    } catch (RuntimeException e) {
+                        // error thrown back to maven server would be taken as its failure and resolving would be repeated
+                        LOG.error(e.getMessage(), e);
+                    }
+                }
+            });
         } catch (Throwable t) {
-            String message = t.getMessage();
-            LOG.info(message, t);
-            MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
-            if (message != null) {
-                readMavenProject.getProblems().add(MavenProjectProblem.newStructureProblem(pom.getPath(), message));
-            } else {
-                readMavenProject.getProblems().add(MavenProjectProblem.newSyntaxProblem(pom.getPath(), MavenProblemType.SYNTAX));
+            for (File pom : new ArrayList<>(notResolved)) {
+                consumer.accept(pom, readWithResolveProblem(pom, t, serverManager));
             }
+            return;
+        }
+        for (File pom : new ArrayList<>(notResolved)) {
+            consumer.accept(pom, readMavenProject(pom, serverManager));
+        }
+    }
+
+    private MavenModelReaderResult toReaderResult(File pom, MavenServerResult resolveProject, MavenServerManager serverManager) {
+        MavenProjectInfo projectInfo = resolveProject.getProjectInfo();
+        if (projectInfo != null) {
+            return new MavenModelReaderResult(projectInfo.getMavenModel(),
+                                              projectInfo.getActiveProfiles(),
+                                              Collections.emptyList(),
+                                              resolveProject.getProblems(),
+                                              resolveProject.getUnresolvedArtifacts());
+        } else {
+            MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
+            readMavenProject.getProblems().addAll(resolveProject.getProblems());
+            readMavenProject.getUnresolvedArtifacts().addAll(resolveProject.getUnresolvedArtifacts());
             return readMavenProject;
         }
     }
 
+    private MavenModelReaderResult readWithResolveProblem(File pom, Throwable t, MavenServerManager serverManager) {
+        String message = t.getMessage();
+        LOG.info(message, t);
+        MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
+        if (message != null) {
+            readMavenProject.getProblems().add(MavenProjectProblem.newStructureProblem(pom.getPath(), message));
+        } else {
+            readMavenProject.getProblems().add(MavenProjectProblem.newSyntaxProblem(pom.getPath(), MavenProblemType.SYNTAX));
+        }
+        return readMavenProject;
+    }
+
     public MavenModelReaderResult readMavenProject(File pom, MavenServerManager serverManager) {
         Pair<ModelReadingResult, Pair<List<String>, List<String>>> readResult = readModel(pom);
         MavenModel model = readResult.first.model;
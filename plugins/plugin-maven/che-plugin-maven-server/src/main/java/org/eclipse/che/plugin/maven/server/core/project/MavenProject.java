@@ -31,14 +31,17 @@ import org.jdom.Element;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -161,12 +164,59 @@ public class MavenProject {
      * @return the modification types that applied to this project
      */
     public MavenProjectModifications resolve(IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
+        return setResolveResult(resolveModel(project, mavenServer, serverManager));
+    }
+
+    /**
+     * Invoke maven to build project model, model isn't applied to this project.
+     *
+     * @param project     to resolve
+     * @param mavenServer the maven server
+     * @return result of resolving which may be applied with {@link #setResolveResult(MavenModelReaderResult)}
+     */
+    public MavenModelReaderResult resolveModel(IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
         MavenModelReader reader = new MavenModelReader();
+        return reader.resolveMavenProject(getPom(project), mavenServer, info.activeProfiles, info.inactiveProfiles, serverManager);
+    }
 
-        MavenModelReaderResult modelReaderResult =
-                reader.resolveMavenProject(getPom(project), mavenServer, info.activeProfiles, info.inactiveProfiles, serverManager);
+    /**
+     * Invoke maven to build models of the given projects, models aren't applied to projects.
+     * Projects with the same profiles are resolved with one call of maven server.
+     *
+     * @param projects    to resolve
+     * @param mavenServer the maven server
+     * @param consumer    receives result of each project as soon as project is resolved
+     */
+    public static void resolveModels(List<MavenProject> projects,
+                                     MavenServerWrapper mavenServer,
+                                     MavenServerManager serverManager,
+                                     BiConsumer<MavenProject, MavenModelReaderResult> consumer) {
+        final Map<List<List<String>>, Map<File, MavenProject>> byProfiles = new LinkedHashMap<>();
+        for (MavenProject project : projects) {
+            final Info info = project.info;
+            byProfiles.computeIfAbsent(Arrays.asList(info.activeProfiles, info.inactiveProfiles), key -> new LinkedHashMap<>())
+                      .put(project.getPomFile(), project);
+        }
+        MavenModelReader reader = new MavenModelReader();
+        for (Map.Entry<List<List<String>>, Map<File, MavenProject>> entry : byProfiles.entrySet()) {
+            final Map<File, MavenProject> pomToProject = entry.getValue();
+            reader.resolveMavenProjects(new ArrayList<>(pomToProject.keySet()),
+                                        mavenServer,
+                                        entry.getKey().get(0),
+                                        entry.getKey().get(1),
+                                        serverManager,
+                                        (pom, result) -> consumer.accept(pomToProject.get(pom), result));
+        }
+    }
 
-        return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
+    /**
+     * Applies result of resolving to this project, e.g. result restored from {@link org.eclipse.che.plugin.maven.server.core.MavenResolutionCache}.
+     *
+     * @param resolveResult result of resolving
+     * @return the modification types that applied to this project
+     */
+    public MavenProjectModifications setResolveResult(MavenModelReaderResult resolveResult) {
+        return setModel(resolveResult, resolveResult.getProblems().isEmpty(), false);
     }
 
     public MavenProjectModifications read(MavenServerManager manager) {
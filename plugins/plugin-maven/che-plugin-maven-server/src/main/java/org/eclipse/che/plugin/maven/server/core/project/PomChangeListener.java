@@ -19,7 +19,7 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
 import org.eclipse.che.api.project.shared.dto.event.PomModifiedEventDto;
 import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
-import org.eclipse.che.ide.maven.tools.Model;
+import org.eclipse.che.commons.xml.ReadOnlyXMLTree;
 import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.core.resources.IProject;
@@ -86,7 +86,7 @@ public class PomChangeListener {
 
     private boolean pomIsValid(String path) {
         try {
-            Model.readFrom(new File(workspacePath, path));
+            ReadOnlyXMLTree.from(new File(workspacePath, path));
         } catch (Exception e) {
             JavaPlugin.log(e);
             return false;
@@ -10,10 +10,14 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server.projecttype;
 
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.project.server.FileEntry;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.type.ProjectFileModelCache;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProviderFactory;
@@ -45,16 +49,28 @@ import static org.eclipse.che.plugin.maven.shared.MavenAttributes.TEST_SOURCE_FO
 import static org.eclipse.che.plugin.maven.shared.MavenAttributes.VERSION;
 
 /**
+ * Provides values of maven attributes from pom.xml of project. Parsed pom.xml is cached and shared between attributes
+ * of project, it is parsed again only when it is modified.
+ *
  * @author Evgen Vidolob
  */
+@Singleton
 public class MavenValueProviderFactory implements ValueProviderFactory {
 
+    private final ProjectFileModelCache<Model> models = new ProjectFileModelCache<>("pom.xml",
+                                                                                    pom -> Model.readFrom(pom.getInputStream()));
+
+    @Inject
+    public MavenValueProviderFactory(EventService eventService) {
+        eventService.subscribe(models);
+    }
+
     protected Model readModel(FolderEntry projectFolder) throws ValueStorageException, ServerException, ForbiddenException, IOException {
-        FileEntry pomFile = (FileEntry)projectFolder.getChild("pom.xml");
-        if (pomFile == null) {
+        final Model model = models.get(projectFolder);
+        if (model == null) {
             throw new ValueStorageException("pom.xml does not exist.");
         }
-        return Model.readFrom(pomFile.getInputStream());
+        return model;
     }
 
     protected void throwReadException(Exception e) throws ValueStorageException {
@@ -72,7 +72,7 @@ public abstract class BaseTest {
     protected static Map<String, String> options      = new HashMap<>();
     protected static EventService        eventService = new EventService();
     protected static ResourcesPlugin plugin;
-    protected static JavaPlugin        javaPlugin        = new JavaPlugin(wsPath + "/set", null, null);
+    protected static JavaPlugin        javaPlugin        = new JavaPlugin(wsPath + "/set", null, null, 20);
     protected static FileBuffersPlugin fileBuffersPlugin = new FileBuffersPlugin();
     protected static TestWorkspaceHolder workspaceHolder;
 
@@ -134,7 +134,7 @@ public abstract class BaseTest {
         projectTypeRegistry = new ProjectTypeRegistry(new HashSet<>());
         projectTypeRegistry.registerProjectType(new TestProjectType());
         projectTypeRegistry.registerProjectType(new JavaProjectType(new JavaValueProviderFactory()));
-        projectTypeRegistry.registerProjectType(new MavenProjectType(new MavenValueProviderFactory()));
+        projectTypeRegistry.registerProjectType(new MavenProjectType(new MavenValueProviderFactory(eventService)));
 
         projectHandlerRegistry = new ProjectHandlerRegistry(new HashSet<>());
 
@@ -21,6 +21,7 @@ import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
 import org.eclipse.che.plugin.maven.server.core.MavenCommunication;
 import org.eclipse.che.plugin.maven.server.core.MavenExecutorService;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
+import org.eclipse.che.plugin.maven.server.core.MavenResolutionCache;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
@@ -72,15 +73,16 @@ public class PomReconcilerTest extends BaseTest {
         localRepository.mkdirs();
         mavenServerManager.setLocalRepository(localRepository);
 
-        MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
+        MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager, 1);
         projectManager =
-                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider());
+                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider(),
+                                        mock(MavenResolutionCache.class));
 
 
         ClasspathManager classpathManager =
                 new ClasspathManager(root.getAbsolutePath(), wrapperManager, projectManager, terminal, mavenNotifier);
 
-        mavenWorkspace = new MavenWorkspace(projectManager, mavenNotifier, new MavenExecutorService(), projectRegistryProvider,
+        mavenWorkspace = new MavenWorkspace(projectManager, mavenNotifier, new MavenExecutorService(1), projectRegistryProvider,
                                             new MavenCommunication() {
                                                 @Override
                                                 public void sendUpdateMassage(Set<MavenProject> updated, List<MavenProject> removed) {
@@ -25,6 +25,7 @@ import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
 import org.eclipse.che.plugin.maven.server.core.MavenCommunication;
 import org.eclipse.che.plugin.maven.server.core.MavenExecutorService;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
+import org.eclipse.che.plugin.maven.server.core.MavenResolutionCache;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
@@ -85,12 +86,13 @@ public class WorkspaceTest extends BaseTest {
                 }
             }
         };
-        MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
+        MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager, 1);
         mavenProjectManager =
-                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider());
+                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider(),
+                                        mock(MavenResolutionCache.class));
         mavenWorkspace = new MavenWorkspace(mavenProjectManager,
                                             mavenNotifier,
-                                            new MavenExecutorService(),
+                                            new MavenExecutorService(1),
                                             projectRegistryProvider,
                                             new MavenCommunication() {
                                                 @Override
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(value = {MockitoTestNGListener.class})
+public class MavenProjectsResolveTaskTest {
+
+    @Mock
+    private MavenProjectManager projectManager;
+
+    private ExecutorService          executor;
+    private List<MavenProject>       resolved;
+    private List<List<MavenProject>> batches;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        resolved = Collections.synchronizedList(new ArrayList<>());
+        batches = Collections.synchronizedList(new ArrayList<>());
+        resolveWith(resolved::add);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldResolveProjectAfterParentAndDependencies() {
+        MavenProject parent = project("parent", null);
+        MavenProject api = project("api", "parent");
+        MavenProject impl = project("impl", "parent", "api");
+        MavenProject war = project("war", "parent", "impl", "external");
+        List<MavenProject> afterResolve = new ArrayList<>();
+
+        new MavenProjectsResolveTask(asList(war, impl, api, parent), projectManager, executor, 4, false, afterResolve::add).perform();
+
+        assertEquals(resolved, asList(parent, api, impl, war));
+        assertEquals(afterResolve, asList(parent, api, impl, war));
+    }
+
+    @Test
+    public void shouldResolveIndependentProjectsInOneBatch() {
+        MavenProject parent = project("parent", null);
+        MavenProject first = project("first", "parent");
+        MavenProject second = project("second", "parent");
+
+        new MavenProjectsResolveTask(asList(parent, first, second), projectManager, executor, 1, false, project -> {}).perform();
+
+        assertEquals(batches, asList(singletonList(parent), asList(first, second)));
+    }
+
+    @Test(timeOut = 10000)
+    public void shouldResolveBatchesConcurrently() throws Exception {
+        MavenProject first = project("first", null);
+        MavenProject second = project("second", null);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        resolveWith(project -> {
+            bothStarted.countDown();
+            try {
+                // fails when projects are resolved one by one
+                assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            resolved.add(project);
+        });
+
+        new MavenProjectsResolveTask(asList(first, second), projectManager, executor, 2, false, project -> {}).perform();
+
+        assertEquals(resolved.size(), 2);
+        assertEquals(batches.size(), 2);
+    }
+
+    @Test
+    public void shouldNotResolveRemovedProjects() {
+        MavenProject removed = project("removed", null);
+        MavenProject existing = project("existing", null);
+        when(removed.getProject().exists()).thenReturn(false);
+
+        new MavenProjectsResolveTask(asList(removed, existing), projectManager, executor, 1, false, project -> {}).perform();
+
+        assertEquals(resolved, singletonList(existing));
+    }
+
+    @Test(timeOut = 10000)
+    public void shouldResolveProjectsWithCyclicDependencies() {
+        MavenProject first = project("first", null, "second");
+        MavenProject second = project("second", null, "first");
+
+        new MavenProjectsResolveTask(asList(first, second), projectManager, executor, 2, false, project -> {}).perform();
+
+        assertEquals(resolved, asList(first, second));
+    }
+
+    @Test
+    public void shouldResolveProjectsBypassingStoredResultsWhenForced() {
+        MavenProject project = project("project", null);
+
+        new MavenProjectsResolveTask(singletonList(project), projectManager, executor, 1, true, resolved -> {}).perform();
+
+        verify(projectManager).resolveMavenProjects(eq(singletonList(project)), eq(true), any());
+    }
+
+    @Test
+    public void shouldContinueWhenProjectCanNotBeResolved() {
+        MavenProject parent = project("parent", null);
+        MavenProject module = project("module", "parent");
+        resolveWith(project -> {
+            resolved.add(project);
+            if (project == parent) {
+                throw new RuntimeException("Can't resolve");
+            }
+        });
+
+        new MavenProjectsResolveTask(asList(module, parent), projectManager, executor, 2, false, project -> {}).perform();
+
+        assertEquals(resolved, asList(parent, module));
+    }
+
+    /** Makes project manager resolve each project of a batch with the given action and perform action after resolving. */
+    @SuppressWarnings("unchecked")
+    private void resolveWith(Consumer<MavenProject> resolve) {
+        doAnswer(invocation -> {
+            List<MavenProject> batch = (List<MavenProject>)invocation.getArguments()[0];
+            Consumer<MavenProject> afterResolve = (Consumer<MavenProject>)invocation.getArguments()[2];
+            batches.add(batch);
+            for (MavenProject project : batch) {
+                resolve.accept(project);
+                afterResolve.accept(project);
+            }
+            return null;
+        }).when(projectManager).resolveMavenProjects(anyListOf(MavenProject.class), anyBoolean(), any());
+    }
+
+    private static MavenProject project(String artifactId, String parentArtifactId, String... dependencies) {
+        MavenProject project = mock(MavenProject.class);
+        IProject iProject = mock(IProject.class);
+        when(iProject.exists()).thenReturn(true);
+        when(project.getProject()).thenReturn(iProject);
+        when(project.getMavenKey()).thenReturn(new MavenKey("org.test", artifactId, "1.0"));
+        if (parentArtifactId != null) {
+            when(project.getParentKey()).thenReturn(new MavenKey("org.test", parentArtifactId, "1.0"));
+        }
+        List<MavenArtifact> artifacts = new ArrayList<>();
+        for (String dependency : dependencies) {
+            MavenArtifact artifact = mock(MavenArtifact.class);
+            when(artifact.getGroupId()).thenReturn("org.test");
+            when(artifact.getArtifactId()).thenReturn(dependency);
+            when(artifact.getVersion()).thenReturn("1.0");
+            artifacts.add(artifact);
+        }
+        when(project.getDependencies()).thenReturn(artifacts);
+        return project;
+    }
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenParent;
+import org.eclipse.che.maven.data.MavenProblemType;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.eclipse.che.plugin.maven.server.MavenServerManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Path;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class MavenResolutionCacheTest {
+
+    private File                 root;
+    private File                 pom;
+    private File                 parentPom;
+    private File                 jar;
+    private File                 repository;
+    private File                 userSettings;
+    private MavenProject         project;
+    private MavenServerManager   serverManager;
+    private MavenResolutionCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("maven-resolution").toFile();
+        pom = write(new File(root, "project/pom.xml"), "<project/>");
+        parentPom = write(new File(root, "parent/pom.xml"), "<project/>");
+        jar = write(new File(root, "repository/dependency.jar"), "jar");
+        repository = new File(root, "repository");
+        userSettings = write(new File(root, "home/.m2/settings.xml"), "<settings/>");
+
+        IProject iProject = mock(IProject.class);
+        when(iProject.getFullPath()).thenReturn(new Path("/project"));
+        project = mock(MavenProject.class);
+        when(project.getProject()).thenReturn(iProject);
+
+        serverManager = mock(MavenServerManager.class);
+        when(serverManager.getUserSettings()).thenReturn(userSettings);
+        when(serverManager.getGlobalSettings()).thenReturn(new File(root, "maven/conf/settings.xml"));
+
+        cache = new MavenResolutionCache(new File(root, "cache"), serverManager);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldRestoreStoredResult() throws Exception {
+        cache.put(project, poms(), repository, result(new ArrayList<>()));
+
+        MavenModelReaderResult restored = new MavenResolutionCache(new File(root, "cache"), serverManager).get(project, poms());
+
+        assertNotNull(restored);
+        assertEquals(restored.getMavenModel().getMavenKey(), new MavenKey("org.test", "project", "1.0"));
+        assertEquals(restored.getMavenModel().getDependencies().get(0).getFile(), jar);
+        assertEquals(restored.getActiveProfiles(), singletonList("default"));
+        assertEquals(restored.getProblems().size(), 0);
+    }
+
+    @Test
+    public void shouldNotRestoreResultWhenPomIsChanged() throws Exception {
+        cache.put(project, poms(), repository, result(new ArrayList<>()));
+        write(pom, "<project><version>2.0</version></project>");
+
+        assertNull(cache.get(project, poms()));
+    }
+
+    @Test
+    public void shouldNotRestoreResultWhenParentPomIsChanged() throws Exception {
+        cache.put(project, poms(), repository, result(new ArrayList<>()));
+        write(parentPom, "<project><version>2.0</version></project>");
+
+        assertNull(cache.get(project, poms()));
+    }
+
+    @Test
+    public void shouldNotRestoreResultWhenNewParentAppears() throws Exception {
+        cache.put(project, singletonList(pom), repository, result(new ArrayList<>()));
+
+        assertNull(cache.get(project, poms()));
+    }
+
+    @Test
+    public void shouldNotRestoreResultWhenSettingsAreChanged() throws Exception {
+        cache.put(project, poms(), repository, result(new ArrayList<>()));
+        write(userSettings, "<settings><offline>true</offline></settings>");
+
+        assertNull(cache.get(project, poms()));
+    }
+
+    @Test
+    public void shouldNotRestoreResultWhenGlobalSettingsAppear() throws Exception {
+        cache.put(project, poms(), repository, result(new ArrayList<>()));
+        write(serverManager.getGlobalSettings(), "<settings/>");
+
+        assertNull(cache.get(project, poms()));
+    }
+
+    @Test
+    public void shouldNotRestoreResultWhenParentFromRepositoryIsChanged() throws Exception {
+        File grandParent = write(new File(repository, "org/test/grandparent/1.0/grandparent-1.0.pom"), "<project/>");
+        write(new File(repository, "org/test/parent/1.0/parent-1.0.pom"),
+              "<project><parent><groupId>org.test</groupId><artifactId>grandparent</artifactId><version>1.0</version></parent></project>");
+        MavenModelReaderResult result = result(new ArrayList<>());
+        result.getMavenModel().setParent(new MavenParent(new MavenKey("org.test", "parent", "1.0"), "../pom.xml"));
+        cache.put(project, singletonList(pom), repository, result);
+        assertNotNull(cache.get(project, singletonList(pom)));
+
+        write(grandParent, "<project><version>2.0</version></project>");
+
+        assertNull(cache.get(project, singletonList(pom)));
+    }
+
+    @Test
+    public void shouldNotRestoreResultWhenParentOfWorkspaceParentIsInstalled() throws Exception {
+        write(parentPom,
+              "<project><parent><groupId>org.test</groupId><artifactId>root</artifactId><version>1.0</version></parent></project>");
+        cache.put(project, poms(), repository, result(new ArrayList<>()));
+        assertNotNull(cache.get(project, poms()));
+
+        write(new File(repository, "org/test/root/1.0/root-1.0.pom"), "<project/>");
+
+        assertNull(cache.get(project, poms()));
+    }
+
+    @Test
+    public void shouldNotRestoreResultWhenDependencyIsRemovedFromRepository() throws Exception {
+        cache.put(project, poms(), repository, result(new ArrayList<>()));
+        Files.delete(jar.toPath());
+
+        assertNull(cache.get(project, poms()));
+    }
+
+    @Test
+    public void shouldNotStoreResultWithProblems() throws Exception {
+        cache.put(project, poms(), repository, result(new ArrayList<>()));
+        cache.put(project, poms(), repository, result(singletonList(MavenProjectProblem.newProblem(pom.getPath(),
+                                                                                                   "Can't resolve",
+                                                                                                   MavenProblemType.DEPENDENCY))));
+
+        assertNull(cache.get(project, poms()));
+    }
+
+    @Test
+    public void shouldRemoveStoredResult() throws Exception {
+        cache.put(project, poms(), repository, result(new ArrayList<>()));
+        cache.remove(project);
+
+        assertNull(cache.get(project, poms()));
+    }
+
+    private List<File> poms() {
+        List<File> poms = new ArrayList<>();
+        poms.add(pom);
+        poms.add(parentPom);
+        return poms;
+    }
+
+    private MavenModelReaderResult result(List<MavenProjectProblem> problems) {
+        MavenModel model = new MavenModel();
+        model.setMavenKey(new MavenKey("org.test", "project", "1.0"));
+        model.setDependencies(singletonList(new MavenArtifact("org.test", "dependency", "1.0", "1.0", "jar", null, "compile",
+                                                              false, "jar", jar, new File(root, "repository"), true, false)));
+        return new MavenModelReaderResult(model, singletonList("default"), new ArrayList<>(), problems, new HashSet<>());
+    }
+
+    private static File write(File file, String content) throws Exception {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server.projecttype;
 
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
@@ -68,7 +69,7 @@ public class MavenProjectTypeTest {
         MockitoAnnotations.initMocks(this);
         Set<ProjectTypeDef> projTypes = new HashSet<>();
         projTypes.add(new JavaProjectType(new JavaValueProviderFactory()));
-        projTypes.add(new MavenProjectType(new MavenValueProviderFactory()));
+        projTypes.add(new MavenProjectType(new MavenValueProviderFactory(mock(EventService.class))));
 
         ptRegistry = new ProjectTypeRegistry(projTypes);
 
@@ -17,6 +17,7 @@ import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectListener;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
+import org.eclipse.che.plugin.maven.server.core.MavenResolutionCache;
 import org.eclipse.che.plugin.maven.server.core.MavenTerminalImpl;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
@@ -79,9 +80,10 @@ public class MavenProjectManagerTest {
 
     @BeforeMethod
     public void setUp() throws Exception {
-        MavenWrapperManager wrapperManager = new MavenWrapperManager(manager);
+        MavenWrapperManager wrapperManager = new MavenWrapperManager(manager, 1);
         projectManager = new MavenProjectManager(wrapperManager, manager, new MavenTerminalImpl(),
-                                                 new MavenServerManagerTest.MyMavenServerProgressNotifier(), workspaceProvider);
+                                                 new MavenServerManagerTest.MyMavenServerProgressNotifier(), workspaceProvider,
+                                                 mock(MavenResolutionCache.class));
         when(workspaceProvider.get()).thenReturn(workspace);
         when(workspace.getRoot()).thenReturn(workspaceRoot);
     }
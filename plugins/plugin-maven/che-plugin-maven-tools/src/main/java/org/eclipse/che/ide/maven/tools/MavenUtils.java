@@ -17,8 +17,10 @@ import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.ProcessUtil;
 import org.eclipse.che.api.core.util.SystemInfo;
 import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.xml.ReadOnlyXMLTree;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -199,12 +201,30 @@ public class MavenUtils {
 
     /** Get source directories. */
     public static List<String> getSourceDirectories(VirtualFile pom) throws ServerException, IOException, ForbiddenException {
-        return getSourceDirectories(Model.readFrom(pom));
+        try (InputStream content = pom.getContent()) {
+            return getSourceDirectories(ReadOnlyXMLTree.from(content));
+        }
     }
 
     /** Get source directories. */
     public static List<String> getSourceDirectories(java.io.File pom) throws IOException {
-        return getSourceDirectories(Model.readFrom(pom));
+        return getSourceDirectories(ReadOnlyXMLTree.from(pom));
+    }
+
+    private static List<String> getSourceDirectories(ReadOnlyXMLTree pom) {
+        List<String> list = new LinkedList<>();
+        List<String> sourceDirectory = pom.getText("/project/build/sourceDirectory");
+        List<String> testSourceDirectory = pom.getText("/project/build/testSourceDirectory");
+        if (!sourceDirectory.isEmpty()) {
+            list.add(sourceDirectory.get(0));
+        } else if (!testSourceDirectory.isEmpty()) {
+            list.add(testSourceDirectory.get(0));
+        }
+        if (list.isEmpty()) {
+            list.add("src/main/java");
+            list.add("src/test/java");
+        }
+        return list;
     }
 
     /** Get resource directories. */
@@ -227,12 +247,23 @@ public class MavenUtils {
 
     /** Get resource directories. */
     public static List<String> getResourceDirectories(VirtualFile pom) throws ServerException, IOException, ForbiddenException {
-        return getResourceDirectories(Model.readFrom(pom));
+        try (InputStream content = pom.getContent()) {
+            return getResourceDirectories(ReadOnlyXMLTree.from(content));
+        }
     }
 
     /** Get resource directories. */
     public static List<String> getResourceDirectories(java.io.File pom) throws IOException {
-        return getResourceDirectories(Model.readFrom(pom));
+        return getResourceDirectories(ReadOnlyXMLTree.from(pom));
+    }
+
+    private static List<String> getResourceDirectories(ReadOnlyXMLTree pom) {
+        List<String> list = new LinkedList<>(pom.getText("/project/build/resources/resource/directory"));
+        if (list.isEmpty()) {
+            list.add("src/main/resources");
+            list.add("src/test/resources");
+        }
+        return list;
     }
 
     public static Map<String, String> getMavenVersionInformation() throws IOException {
@@ -16,10 +16,13 @@ import org.junit.Test;
 
 import java.io.File;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /** @author andrew00x */
 public class MavenUtilTest {
 
@@ -42,6 +45,42 @@ public class MavenUtilTest {
         Assert.assertTrue("Unexpected modules " + modules, modulesStr.isEmpty());
     }
 
+    @Test
+    public void testGetSourceAndResourceDirectories() throws Exception {
+        File pom = File.createTempFile("pom", ".xml");
+        try {
+            Files.write(pom.toPath(), ("<project>" +
+                                       "    <build>" +
+                                       "        <testSourceDirectory>src/it/java</testSourceDirectory>" +
+                                       "        <resources>" +
+                                       "            <resource><directory>src/main/resources</directory></resource>" +
+                                       "            <resource><directory>src/main/config</directory></resource>" +
+                                       "        </resources>" +
+                                       "    </build>" +
+                                       "</project>").getBytes(UTF_8));
+
+            Assert.assertEquals(Arrays.asList("src/it/java"), MavenUtils.getSourceDirectories(pom));
+            Assert.assertEquals(MavenUtils.getSourceDirectories(Model.readFrom(pom)), MavenUtils.getSourceDirectories(pom));
+            Assert.assertEquals(Arrays.asList("src/main/resources", "src/main/config"), MavenUtils.getResourceDirectories(pom));
+            Assert.assertEquals(MavenUtils.getResourceDirectories(Model.readFrom(pom)), MavenUtils.getResourceDirectories(pom));
+        } finally {
+            Assert.assertTrue(pom.delete());
+        }
+    }
+
+    @Test
+    public void testGetDefaultSourceAndResourceDirectories() throws Exception {
+        File pom = File.createTempFile("pom", ".xml");
+        try {
+            Files.write(pom.toPath(), "<project><artifactId>a</artifactId></project>".getBytes(UTF_8));
+
+            Assert.assertEquals(Arrays.asList("src/main/java", "src/test/java"), MavenUtils.getSourceDirectories(pom));
+            Assert.assertEquals(Arrays.asList("src/main/resources", "src/test/resources"), MavenUtils.getResourceDirectories(pom));
+        } finally {
+            Assert.assertTrue(pom.delete());
+        }
+    }
+
     private String toString(Model model) {
         String groupId = model.getGroupId();
         if (groupId == null) {
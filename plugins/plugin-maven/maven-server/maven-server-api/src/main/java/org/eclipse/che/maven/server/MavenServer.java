@@ -34,6 +34,24 @@ public interface MavenServer extends Remote {
 
     MavenServerResult resolveProject(File pom, List<String> activeProfiles, List<String> inactiveProfiles) throws RemoteException;
 
+    /**
+     * Resolves projects in one maven session, so parent poms and artifacts are read once for all projects.
+     * Result of each project is passed to the listener as soon as project is resolved.
+     *
+     * @param poms
+     *         pom.xml files of projects to resolve
+     * @param activeProfiles
+     *         profiles activated for all projects
+     * @param inactiveProfiles
+     *         profiles deactivated for all projects
+     * @param listener
+     *         receives result of each project in the order of given poms
+     */
+    void resolveProjects(List<File> poms,
+                         List<String> activeProfiles,
+                         List<String> inactiveProfiles,
+                         MavenServerResolveListener listener) throws RemoteException;
+
     MavenArtifact resolveArtifact(MavenArtifactKey artifactKey, List<MavenRemoteRepository> remoteRepositories) throws RemoteException;
 
     void reset() throws RemoteException;
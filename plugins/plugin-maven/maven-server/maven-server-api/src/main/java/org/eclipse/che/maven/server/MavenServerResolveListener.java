@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.maven.server;
+
+import java.io.File;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Listener that receives results of resolving of projects one by one,
+ * as soon as each project is resolved.
+ *
+ * @see MavenServer#resolveProjects(java.util.List, java.util.List, java.util.List, MavenServerResolveListener)
+ */
+public interface MavenServerResolveListener extends Remote {
+
+    void projectResolved(File pom, MavenServerResult result) throws RemoteException;
+}
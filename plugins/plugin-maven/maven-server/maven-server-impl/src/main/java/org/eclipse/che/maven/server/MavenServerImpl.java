@@ -375,10 +375,19 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
 
     @Override
     public MavenServerResult resolveProject(File pom, List<String> activeProfiles, List<String> inactiveProfiles) throws RemoteException {
-        DependencyTreeResolutionListener listener = new DependencyTreeResolutionListener(terminalLogger);
-        MavenResult mavenResult = internalResolveProject(pom, activeProfiles, inactiveProfiles, Collections.singletonList(listener));
+        AtomicReference<MavenServerResult> reference = new AtomicReference<>();
+        internalResolveProjects(Collections.singletonList(pom), activeProfiles, inactiveProfiles, (file, result) -> reference.set(result));
+        return reference.get();
+    }
 
-        return createResult(pom, mavenResult);
+    @Override
+    public void resolveProjects(List<File> poms,
+                                List<String> activeProfiles,
+                                List<String> inactiveProfiles,
+                                MavenServerResolveListener listener) throws RemoteException {
+        if (!poms.isEmpty()) {
+            internalResolveProjects(poms, activeProfiles, inactiveProfiles, listener);
+        }
     }
 
     @Override
@@ -528,55 +537,99 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
         }
     }
 
-    private MavenResult internalResolveProject(File pom, List<String> activeProfiles, List<String> inactiveProfiles,
-                                               List<ResolutionListener> dependencyTreeResolutionListeners) {
+    /**
+     * Resolves projects in a single maven session, so repository session and its caches,
+     * e.g. caches of {@link CheArtifactResolver}, are shared between all projects.
+     * Results are passed to the listener in the order of given poms.
+     */
+    private void internalResolveProjects(List<File> poms, List<String> activeProfiles, List<String> inactiveProfiles,
+                                         MavenServerResolveListener listener) throws RemoteException {
 
-        MavenExecutionRequest request = newMavenRequest(pom, activeProfiles, inactiveProfiles, Collections.emptyList());
+        MavenExecutionRequest request = newMavenRequest(poms.get(0), activeProfiles, inactiveProfiles, Collections.emptyList());
         request.setUpdateSnapshots(updateSnapshots);
 
-        AtomicReference<MavenResult> reference = new AtomicReference<>();
+        AtomicReference<RemoteException> listenerError = new AtomicReference<>();
         runMavenRequest(request, () -> {
-            try {
-                ProjectBuilder builder = getMavenComponent(ProjectBuilder.class);
-
-                List<ProjectBuildingResult> resultList =
-                        builder.build(Collections.singletonList(pom), false, request.getProjectBuildingRequest());
-                ProjectBuildingResult result = resultList.get(0);
-                MavenProject mavenProject = result.getProject();
-                RepositorySystemSession repositorySession = getMavenComponent(LegacySupport.class).getRepositorySession();
-                if (repositorySession instanceof DefaultRepositorySystemSession) {
-                    ((DefaultRepositorySystemSession)repositorySession)
-                            .setTransferListener(new ArtifactTransferListener(mavenProgressNotifier));
-                    if (workspaceCache != null) {
-                        ((DefaultRepositorySystemSession)repositorySession).setWorkspaceReader(new MavenWorkspaceReader(workspaceCache));
-                    }
-
+            List<MavenResult> builtProjects = buildProjects(poms, request);
+            RepositorySystemSession repositorySession = getMavenComponent(LegacySupport.class).getRepositorySession();
+            if (repositorySession instanceof DefaultRepositorySystemSession) {
+                ((DefaultRepositorySystemSession)repositorySession)
+                        .setTransferListener(new ArtifactTransferListener(mavenProgressNotifier));
+                if (workspaceCache != null) {
+                    ((DefaultRepositorySystemSession)repositorySession).setWorkspaceReader(new MavenWorkspaceReader(workspaceCache));
                 }
 
-                List<Exception> exceptions = new ArrayList<>();
-
-                loadExtensions(mavenProject, exceptions);
-                mavenProject.setDependencyArtifacts(mavenProject.createArtifacts(getMavenComponent(ArtifactFactory.class), null, null));
-
-                ArtifactResolutionRequest resolutionRequest = new ArtifactResolutionRequest();
-                resolutionRequest.setArtifact(mavenProject.getArtifact());
-                resolutionRequest.setRemoteRepositories(mavenProject.getRemoteArtifactRepositories());
-                resolutionRequest.setArtifactDependencies(mavenProject.getDependencyArtifacts());
-                resolutionRequest.setListeners(dependencyTreeResolutionListeners);
-                resolutionRequest.setLocalRepository(localRepo);
-                resolutionRequest.setManagedVersionMap(mavenProject.getManagedVersionMap());
-                resolutionRequest.setResolveTransitively(true);
-                resolutionRequest.setResolveRoot(false);
-                ArtifactResolver resolver = getMavenComponent(ArtifactResolver.class);
-                ArtifactResolutionResult resolve = resolver.resolve(resolutionRequest);
-                mavenProject.setArtifacts(resolve.getArtifacts());
-                reference.set(new MavenResult(mavenProject, exceptions));
-
-            } catch (Exception e) {
-                reference.set(new MavenResult(null, null, Collections.singletonList(e)));
+            }
+
+            for (int i = 0; i < poms.size(); i++) {
+                MavenResult mavenResult = builtProjects.get(i);
+                if (mavenResult.getMavenProject() != null) {
+                    DependencyTreeResolutionListener dependencyTreeListener = new DependencyTreeResolutionListener(terminalLogger);
+                    mavenResult = resolveDependencies(mavenResult.getMavenProject(), Collections.singletonList(dependencyTreeListener));
+                }
+                try {
+                    listener.projectResolved(poms.get(i), createResult(poms.get(i), mavenResult));
+                } catch (RemoteException e) {
+                    listenerError.set(e);
+                    return;
+                }
             }
         });
-        return reference.get();
+        if (listenerError.get() != null) {
+            throw listenerError.get();
+        }
+    }
+
+    /**
+     * Builds projects with single request, when it fails projects are built one by one,
+     * so problems of one project don't affect others.
+     */
+    private List<MavenResult> buildProjects(List<File> poms, MavenExecutionRequest request) {
+        ProjectBuilder builder = getMavenComponent(ProjectBuilder.class);
+        List<MavenResult> results = new ArrayList<>(poms.size());
+        try {
+            for (ProjectBuildingResult result : builder.build(poms, false, request.getProjectBuildingRequest())) {
+                results.add(new MavenResult(result.getProject(), new ArrayList<>()));
+            }
+            if (results.size() == poms.size()) {
+                return results;
+            }
+            results.clear();
+        } catch (Exception e) {
+            if (poms.size() == 1) {
+                return Collections.singletonList(new MavenResult(null, null, Collections.singletonList(e)));
+            }
+        }
+        for (File pom : poms) {
+            results.addAll(buildProjects(Collections.singletonList(pom), request));
+        }
+        return results;
+    }
+
+    private MavenResult resolveDependencies(MavenProject mavenProject, List<ResolutionListener> dependencyTreeResolutionListeners) {
+        try {
+            List<Exception> exceptions = new ArrayList<>();
+
+            loadExtensions(mavenProject, exceptions);
+            mavenProject.setDependencyArtifacts(mavenProject.createArtifacts(getMavenComponent(ArtifactFactory.class), null, null));
+
+            ArtifactResolutionRequest resolutionRequest = new ArtifactResolutionRequest();
+            resolutionRequest.setArtifact(mavenProject.getArtifact());
+            resolutionRequest.setRemoteRepositories(mavenProject.getRemoteArtifactRepositories());
+            resolutionRequest.setArtifactDependencies(mavenProject.getDependencyArtifacts());
+            resolutionRequest.setListeners(dependencyTreeResolutionListeners);
+            resolutionRequest.setLocalRepository(localRepo);
+            resolutionRequest.setManagedVersionMap(mavenProject.getManagedVersionMap());
+            resolutionRequest.setResolveTransitively(true);
+            resolutionRequest.setResolveRoot(false);
+            ArtifactResolver resolver = getMavenComponent(ArtifactResolver.class);
+            ArtifactResolutionResult resolve = resolver.resolve(resolutionRequest);
+            mavenProject.setArtifacts(resolve.getArtifacts());
+            return new MavenResult(mavenProject, exceptions);
+
+        } catch (Exception e) {
+            return new MavenResult(null, null, Collections.singletonList(e));
+        }
     }
 
     private void loadExtensions(MavenProject project, List<Exception> exceptions) {
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.maven.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving of modules of multi-module project one by one with
+ * {@link MavenServer#resolveProject(File, List, List)} and in a single call of
+ * {@link MavenServer#resolveProjects(List, List, List, MavenServerResolveListener)}.
+ * <p>
+ * Dependencies are downloaded to {@code target/localrepo} during setup, so the benchmark measures
+ * building of projects and resolving of dependencies from local repository.
+ * <p>
+ * Benchmark isn't run with unit tests, to run it build test classes and start JMH runner with test classpath of module:
+ * <pre>
+ *     java -cp &lt;test classpath&gt; org.openjdk.jmh.Main MavenServerBenchmark
+ * </pre>
+ * Maven installation is taken from {@code M2_HOME} environment variable or {@code maven.home} system property,
+ * setup fails with clear message when none of them is set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MavenServerBenchmark {
+
+    private MavenServerImpl mavenServer;
+    private List<File>      poms;
+
+    @Setup
+    public void setUp() throws Exception {
+        MavenServerContext.setLoggerAndListener(new MavenServerLogger() {
+            @Override
+            public void warning(Throwable t) throws RemoteException {
+            }
+
+            @Override
+            public void info(Throwable t) throws RemoteException {
+            }
+
+            @Override
+            public void error(Throwable t) throws RemoteException {
+            }
+        }, (file, relativePath) -> {
+        });
+        MavenSettings mavenSettings = new MavenSettings();
+        mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_ERROR);
+        mavenSettings.setMavenHome(getMavenHome());
+        mavenSettings.setGlobalSettings(new File(System.getProperty("user.home"), ".m2/settings.xml"));
+        File localRepository = new File("target/localrepo");
+        localRepository.mkdirs();
+        mavenSettings.setLocalRepository(localRepository);
+        mavenServer = new MavenServerImpl(mavenSettings);
+        mavenServer.setComponents(null, false, (level, message, throwable) -> {
+        }, new MavenServerProgressNotifier() {
+            @Override
+            public void setText(String text) throws RemoteException {
+            }
+
+            @Override
+            public void setPercent(double percent) throws RemoteException {
+            }
+
+            @Override
+            public void setPercentUndefined(boolean undefined) throws RemoteException {
+            }
+
+            @Override
+            public boolean isCanceled() throws RemoteException {
+                return false;
+            }
+        }, false);
+
+        poms = Arrays.asList(new File(getClass().getResource("/multimoduleProject/pom.xml").getFile()),
+                             new File(getClass().getResource("/multimoduleProject/subModule/pom.xml").getFile()),
+                             new File(getClass().getResource("/multimoduleProject/test/pom.xml").getFile()));
+        // download dependencies before measurement
+        resolveProjects(null);
+    }
+
+    private static File getMavenHome() {
+        String mavenHome = System.getenv("M2_HOME");
+        if (mavenHome == null) {
+            mavenHome = System.getProperty("maven.home");
+        }
+        if (mavenHome == null) {
+            throw new IllegalStateException("Maven installation is not found, set M2_HOME environment variable or maven.home property");
+        }
+        return new File(mavenHome);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        mavenServer.dispose();
+    }
+
+    @Benchmark
+    public void resolveProjectsOneByOne(Blackhole blackhole) throws Exception {
+        for (File pom : poms) {
+            blackhole.consume(mavenServer.resolveProject(pom, Collections.emptyList(), Collections.emptyList()));
+        }
+    }
+
+    @Benchmark
+    public void resolveProjects(Blackhole blackhole) throws Exception {
+        mavenServer.resolveProjects(poms, Collections.emptyList(), Collections.emptyList(), (pom, result) -> {
+            if (blackhole != null) {
+                blackhole.consume(result);
+            }
+        });
+    }
+}
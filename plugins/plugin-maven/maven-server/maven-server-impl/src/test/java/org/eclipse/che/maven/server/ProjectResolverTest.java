@@ -21,6 +21,8 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -128,6 +130,39 @@ public class ProjectResolverTest {
         assertEquals(1, resolveProject.getProblems().size());
     }
 
+    @Test
+    public void testResolveProjects() throws Exception {
+        List<File> poms = Arrays.asList(new File(MavenServerTest.class.getResource("/multimoduleProject/pom.xml").getFile()),
+                                        new File(MavenServerTest.class.getResource("/multimoduleProject/subModule/pom.xml").getFile()),
+                                        new File(MavenServerTest.class.getResource("/multimoduleProject/test/pom.xml").getFile()));
+        List<File> resolvedPoms = new ArrayList<>();
+        List<MavenServerResult> results = new ArrayList<>();
+
+        mavenServer.resolveProjects(poms, Collections.emptyList(), Collections.emptyList(), (pom, result) -> {
+            resolvedPoms.add(pom);
+            results.add(result);
+        });
+
+        assertEquals(resolvedPoms, poms);
+        assertEquals(results.get(0).getProjectInfo().getMavenModel().getMavenKey().getArtifactId(), "codenvy-ide-parent");
+        assertEquals(results.get(1).getProjectInfo().getMavenModel().getMavenKey().getArtifactId(), "codenvy-ide-subModule");
+        assertEquals(results.get(2).getProjectInfo().getMavenModel().getMavenKey().getArtifactId(), "codenvy-ide-client");
+        assertFalse(results.get(1).getProjectInfo().getMavenModel().getDependencies().isEmpty());
+    }
+
+    @Test
+    public void testResolveProjectsWithBadProject() throws Exception {
+        List<File> poms = Arrays.asList(new File(MavenServerTest.class.getResource("/BadProject/pom.xml").getFile()),
+                                        new File(MavenServerTest.class.getResource("/FirstProject/pom.xml").getFile()));
+        List<MavenServerResult> results = new ArrayList<>();
+
+        mavenServer.resolveProjects(poms, Collections.emptyList(), Collections.emptyList(), (pom, result) -> results.add(result));
+
+        assertEquals(results.size(), 2);
+        assertEquals(1, results.get(0).getProblems().size());
+        assertNotNull(results.get(1).getProjectInfo());
+    }
+
     @Test
     public void testResolveArtifact() throws Exception {
         MavenArtifactKey artifactKey = new MavenArtifactKey("junit", "junit", "3.7", "jar", "");
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Progress of indexing of projects for full-text search.
+ */
+@DTO
+public interface IndexingStatisticsDto {
+    /** Whether indexing is still in progress. */
+    boolean isRunning();
+
+    void setRunning(boolean running);
+
+    IndexingStatisticsDto withRunning(boolean running);
+
+    /** Number of files added to index. */
+    long getIndexedFiles();
+
+    void setIndexedFiles(long indexedFiles);
+
+    IndexingStatisticsDto withIndexedFiles(long indexedFiles);
+
+    /** Number of files that were not re-indexed because index is up to date with them. */
+    long getSkippedFiles();
+
+    void setSkippedFiles(long skippedFiles);
+
+    IndexingStatisticsDto withSkippedFiles(long skippedFiles);
+
+    /** Number of bytes of content of files added to index. */
+    long getIndexedBytes();
+
+    void setIndexedBytes(long indexedBytes);
+
+    IndexingStatisticsDto withIndexedBytes(long indexedBytes);
+
+    /** Time when indexing was started or {@code 0} if indexing was not started. */
+    long getStartTime();
+
+    void setStartTime(long startTime);
+
+    IndexingStatisticsDto withStartTime(long startTime);
+
+    /** Time spent on indexing so far. */
+    long getElapsedTimeMillis();
+
+    void setElapsedTimeMillis(long elapsedTimeMillis);
+
+    IndexingStatisticsDto withElapsedTimeMillis(long elapsedTimeMillis);
+}
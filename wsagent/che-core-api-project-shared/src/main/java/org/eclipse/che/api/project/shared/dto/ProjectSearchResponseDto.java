@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Single page of full-text search results.
+ */
+@DTO
+public interface ProjectSearchResponseDto {
+    /** Total number of files that match the search criteria. */
+    int getTotalHits();
+
+    void setTotalHits(int totalHits);
+
+    ProjectSearchResponseDto withTotalHits(int totalHits);
+
+    /** Number of items that should be skipped to retrieve the next page or {@code -1} if this page is the last one. */
+    int getNextSkipCount();
+
+    void setNextSkipCount(int nextSkipCount);
+
+    ProjectSearchResponseDto withNextSkipCount(int nextSkipCount);
+
+    List<SearchResultDto> getItemReferences();
+
+    void setItemReferences(List<SearchResultDto> itemReferences);
+
+    ProjectSearchResponseDto withItemReferences(List<SearchResultDto> itemReferences);
+}
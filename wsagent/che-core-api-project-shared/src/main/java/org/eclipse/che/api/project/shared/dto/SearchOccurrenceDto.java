@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Single match of search text inside of file.
+ */
+@DTO
+public interface SearchOccurrenceDto {
+    /** Matched text as it appears in file. */
+    String getPhrase();
+
+    void setPhrase(String phrase);
+
+    SearchOccurrenceDto withPhrase(String phrase);
+
+    /** Offset of the first character of match from the beginning of file. */
+    int getStartOffset();
+
+    void setStartOffset(int startOffset);
+
+    SearchOccurrenceDto withStartOffset(int startOffset);
+
+    /** Offset after the last character of match from the beginning of file. */
+    int getEndOffset();
+
+    void setEndOffset(int endOffset);
+
+    SearchOccurrenceDto withEndOffset(int endOffset);
+
+    /** Number of line that contains the match, the first line has number 1. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchOccurrenceDto withLineNumber(int lineNumber);
+
+    /** Content of line that contains the match. */
+    String getLineContent();
+
+    void setLineContent(String lineContent);
+
+    SearchOccurrenceDto withLineContent(String lineContent);
+}
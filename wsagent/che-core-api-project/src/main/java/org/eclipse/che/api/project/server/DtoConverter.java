@@ -17,10 +17,14 @@ import org.eclipse.che.api.core.model.project.type.Attribute;
 import org.eclipse.che.api.project.server.importer.ProjectImporter;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.shared.dto.AttributeDto;
+import org.eclipse.che.api.project.shared.dto.IndexingStatisticsDto;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.ProjectImporterDescriptor;
 import org.eclipse.che.api.project.shared.dto.ProjectTypeDto;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
 import org.eclipse.che.api.project.shared.dto.ValueDto;
+import org.eclipse.che.api.vfs.search.IndexingStatistics;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectProblemDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
@@ -146,4 +150,21 @@ public class DtoConverter {
     public static ProjectProblemDto asDto(RegisteredProject.Problem problem) {
         return newDto(ProjectProblemDto.class).withCode(problem.code).withMessage(problem.message);
     }
+
+    public static SearchOccurrenceDto asDto(SearchOccurrence occurrence) {
+        return newDto(SearchOccurrenceDto.class).withPhrase(occurrence.getPhrase())
+                                                .withStartOffset(occurrence.getStartOffset())
+                                                .withEndOffset(occurrence.getEndOffset())
+                                                .withLineNumber(occurrence.getLineNumber())
+                                                .withLineContent(occurrence.getLineContent());
+    }
+
+    public static IndexingStatisticsDto asDto(IndexingStatistics statistics) {
+        return newDto(IndexingStatisticsDto.class).withRunning(statistics.isRunning())
+                                                  .withIndexedFiles(statistics.getIndexedFiles())
+                                                  .withSkippedFiles(statistics.getSkippedFiles())
+                                                  .withIndexedBytes(statistics.getIndexedBytes())
+                                                  .withStartTime(statistics.getStartTime())
+                                                  .withElapsedTimeMillis(statistics.getElapsedTimeMillis());
+    }
 }
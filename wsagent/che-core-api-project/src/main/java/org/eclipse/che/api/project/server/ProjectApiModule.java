@@ -69,6 +69,7 @@ public class ProjectApiModule extends AbstractModule {
         bind(ProjectRegistry.class).asEagerSingleton();
         bind(ProjectService.class);
         bind(ProjectTypeService.class);
+        bind(SearchIndexService.class);
         bind(ProjectImportersService.class);
 
         bind(WorkspaceProjectsSyncer.class).to(WorkspaceHolder.class);
@@ -125,6 +125,7 @@ public class ProjectManager {
                     }
                 };
         fileWatchNotifier.addNotificationListener(defaultListener);
+        fileWatchNotifier.addNotificationListener(projectRegistry.getRootFoldersListener());
         try {
             fileWatcher.startup();
         } catch (IOException e) {
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.vfs.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registered projects organized in a tree by elements of their paths. Lookup of project, of project that owns some path
+ * and of nested projects takes time proportional to depth of path and doesn't depend on number of registered projects.
+ * Modifications are serialized, lookups are not blocked by modifications.
+ */
+class ProjectPathTree {
+    private final Node root = new Node();
+
+    /** Registers project under its path, replaces previously registered project with the same path. */
+    synchronized void put(RegisteredProject project) {
+        Node node = root;
+        for (String element : Path.of(project.getPath()).elements()) {
+            node = node.children.computeIfAbsent(element, key -> new Node());
+        }
+        node.project = project;
+    }
+
+    /**
+     * Unregisters project with specified path. Projects nested to it stay registered.
+     *
+     * @return removed project or {@code null} if there is no project with such path
+     */
+    synchronized RegisteredProject remove(String path) {
+        final Path projectPath = Path.of(path);
+        final Node[] nodes = findAll(projectPath);
+        if (nodes == null) {
+            return null;
+        }
+        final Node node = nodes[nodes.length - 1];
+        final RegisteredProject removed = node.project;
+        node.project = null;
+        prune(projectPath, nodes);
+        return removed;
+    }
+
+    /**
+     * Unregisters project with specified path and all projects nested to it.
+     *
+     * @return removed projects
+     */
+    synchronized List<RegisteredProject> removeAll(String path) {
+        final Path projectPath = Path.of(path);
+        final Node[] nodes = findAll(projectPath);
+        if (nodes == null) {
+            return new ArrayList<>();
+        }
+        final Node node = nodes[nodes.length - 1];
+        final List<RegisteredProject> removed = new ArrayList<>();
+        collect(node, removed);
+        if (projectPath.isRoot()) {
+            root.project = null;
+            root.children.clear();
+        } else {
+            nodes[nodes.length - 2].children.remove(projectPath.getName());
+            prune(projectPath.getParent(), Arrays.copyOf(nodes, nodes.length - 1));
+        }
+        return removed;
+    }
+
+    /** Gets project with specified path or {@code null} if there is no such project. */
+    RegisteredProject get(String path) {
+        final Node node = find(Path.of(path));
+        return node == null ? null : node.project;
+    }
+
+    /**
+     * Gets project with specified path or if there is no such project the closest project among ancestors of path.
+     *
+     * @return project that owns path or {@code null} if path is out of any project
+     */
+    RegisteredProject getOwner(String path) {
+        Node node = root;
+        RegisteredProject owner = root.project;
+        for (String element : Path.of(path).elements()) {
+            node = node.children.get(element);
+            if (node == null) {
+                break;
+            }
+            if (node.project != null) {
+                owner = node.project;
+            }
+        }
+        return owner;
+    }
+
+    /** Gets all projects nested to specified path at any depth. Project with specified path itself is not included. */
+    List<RegisteredProject> getNested(String path) {
+        final List<RegisteredProject> nested = new ArrayList<>();
+        final Node node = find(Path.of(path));
+        if (node != null) {
+            for (Node child : node.children.values()) {
+                collect(child, nested);
+            }
+        }
+        return nested;
+    }
+
+    /** Gets all registered projects. */
+    List<RegisteredProject> getAll() {
+        final List<RegisteredProject> all = new ArrayList<>();
+        collect(root, all);
+        return all;
+    }
+
+    private Node find(Path path) {
+        Node node = root;
+        for (String element : path.elements()) {
+            node = node.children.get(element);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /** Gets nodes of all elements of path starting from root or {@code null} if path is not in tree. */
+    private Node[] findAll(Path path) {
+        final Node[] nodes = new Node[path.length() + 1];
+        nodes[0] = root;
+        for (int i = 0; i < path.length(); i++) {
+            nodes[i + 1] = nodes[i].children.get(path.element(i));
+            if (nodes[i + 1] == null) {
+                return null;
+            }
+        }
+        return nodes;
+    }
+
+    /** Removes nodes of path that don't contain projects any more starting from the last element of path. */
+    private void prune(Path path, Node[] nodes) {
+        for (int i = nodes.length - 1; i > 0 && nodes[i].isEmpty(); i--) {
+            nodes[i - 1].children.remove(path.element(i - 1));
+        }
+    }
+
+    private static void collect(Node node, List<RegisteredProject> projects) {
+        if (node.project != null) {
+            projects.add(node.project);
+        }
+        for (Node child : node.children.values()) {
+            collect(child, projects);
+        }
+    }
+
+    private static class Node {
+        final Map<String, Node> children = new ConcurrentHashMap<>();
+        volatile RegisteredProject project;
+
+        boolean isEmpty() {
+            return project == null && children.isEmpty();
+        }
+    }
+}
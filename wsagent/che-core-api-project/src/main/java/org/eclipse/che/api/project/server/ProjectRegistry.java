@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.NewProjectConfig;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
 import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
@@ -25,6 +26,7 @@ import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,13 +35,16 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 
 /**
  * Stores internal representation of Projects registered in the Workspace Agent.
+ * <p>
+ * Folders on root that are not configured as projects are registered on initialization and then are tracked with file
+ * watcher events (see {@link #getRootFoldersListener()}), so lookups never list root folder.
  *
  * @author gazarenkov
  */
@@ -47,15 +52,16 @@ import java.util.stream.Collectors;
 public class ProjectRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(ProjectRegistry.class);
 
-    private final Map<String, RegisteredProject> projects;
-    private final WorkspaceProjectsSyncer        workspaceHolder;
-    private final VirtualFileSystem              vfs;
-    private final ProjectTypeRegistry            projectTypeRegistry;
-    private final ProjectHandlerRegistry         handlers;
-    private final FolderEntry                    root;
-    private final EventService                   eventService;
+    private final ProjectPathTree                 projects;
+    private final WorkspaceProjectsSyncer         workspaceHolder;
+    private final VirtualFileSystem               vfs;
+    private final ProjectTypeRegistry             projectTypeRegistry;
+    private final ProjectHandlerRegistry          handlers;
+    private final FolderEntry                     root;
+    private final EventService                    eventService;
+    private final FileWatcherNotificationListener rootFoldersListener;
 
-    private boolean initialized;
+    private volatile boolean initialized;
 
     @Inject
     public ProjectRegistry(WorkspaceProjectsSyncer workspaceHolder,
@@ -64,12 +70,18 @@ public class ProjectRegistry {
                            ProjectHandlerRegistry handlers,
                            EventService eventService) throws ServerException {
         this.eventService = eventService;
-        this.projects = new ConcurrentHashMap<>();
+        this.projects = new ProjectPathTree();
         this.workspaceHolder = workspaceHolder;
         this.vfs = vfsProvider.getVirtualFileSystem();
         this.projectTypeRegistry = projectTypeRegistry;
         this.handlers = handlers;
         this.root = new FolderEntry(vfs.getRoot());
+        this.rootFoldersListener = new FileWatcherNotificationListener(file -> file.getPath().length() == 1 && file.isFolder()) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                onRootFolderEvent(virtualFile, eventType);
+            }
+        };
     }
 
     @PostConstruct
@@ -91,7 +103,7 @@ public class ProjectRegistry {
 
         initialized = true;
 
-        for (RegisteredProject project : projects.values()) {
+        for (RegisteredProject project : projects.getAll()) {
             // only for projects with sources
             if(project.getBaseFolder() != null) {
                 fireInitHandlers(project);
@@ -106,9 +118,7 @@ public class ProjectRegistry {
     public List<RegisteredProject> getProjects() {
         checkInitializationState();
 
-        initUnconfiguredFolders();
-
-        return new ArrayList<>(projects.values());
+        return projects.getAll();
     }
 
     /**
@@ -119,9 +129,14 @@ public class ProjectRegistry {
     public RegisteredProject getProject(String projectPath) {
         checkInitializationState();
 
-        initUnconfiguredFolders();
-
-        return projects.get(absolutizePath(projectPath));
+        final String path = absolutizePath(projectPath);
+        final RegisteredProject project = projects.get(path);
+        if (project != null) {
+            return project;
+        }
+        // folder might be just created on root, file watcher registers such folders with delay
+        final Path folderPath = Path.of(path);
+        return folderPath.length() == 1 ? initRootFolder(folderPath) : null;
     }
 
     /**
@@ -132,14 +147,10 @@ public class ProjectRegistry {
     public List<String> getProjects(String parentPath) {
         checkInitializationState();
 
-        initUnconfiguredFolders();
-
-        final Path root = Path.of(absolutizePath(parentPath));
-
-        return projects.keySet()
+        return projects.getNested(absolutizePath(parentPath))
                        .stream()
-                       .filter(key -> Path.of(key).isChild(root))
-                       .collect(Collectors.toList());
+                       .map(RegisteredProject::getPath)
+                       .collect(toList());
     }
 
     /**
@@ -150,23 +161,12 @@ public class ProjectRegistry {
     public RegisteredProject getParentProject(String path) {
         checkInitializationState();
 
-        // return this if a project
-        if (getProject(path) != null) {
-            return getProject(path);
+        final RegisteredProject owner = projects.getOwner(absolutizePath(path));
+        if (owner != null) {
+            return owner;
         }
-
-        // otherwise try to find matched parent
-        Path test;
-        while ((test = Path.of(path).getParent()) != null) {
-            final RegisteredProject project = projects.get(test.toString());
-            if (project != null) {
-                return project;
-            }
-
-            path = test.toString();
-        }
-
-        return null;
+        // folder might be just created on root, file watcher registers such folders with delay
+        return initRootFolder(Path.of(absolutizePath(path)));
     }
 
     /**
@@ -190,7 +190,7 @@ public class ProjectRegistry {
                                  boolean detected) throws ServerException {
 
         final RegisteredProject project = new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry);
-        projects.put(project.getPath(), project);
+        projects.put(project);
 
         return project;
     }
@@ -204,10 +204,7 @@ public class ProjectRegistry {
      */
     void removeProjects(String path) throws ServerException {
 
-        List<RegisteredProject> removed = new ArrayList<>();
-        Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
-        getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p))
-                                               .ifPresent(removed::add));
+        List<RegisteredProject> removed = projects.removeAll(path);
 
         removed.forEach(registeredProject -> eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
     }
@@ -362,7 +359,7 @@ public class ProjectRegistry {
     private void initUnconfiguredFolders() {
         try {
             for (FolderEntry folder : root.getChildFolders()) {
-                if (!projects.containsKey(folder.getVirtualFile().getPath().toString())) {
+                if (projects.get(folder.getVirtualFile().getPath().toString()) == null) {
                     putProject(null, folder, true, false);
                 }
             }
@@ -371,6 +368,53 @@ public class ProjectRegistry {
         }
     }
 
+    /** Registers root folder which contains the given path as unconfigured project if it isn't registered yet. */
+    private RegisteredProject initRootFolder(Path path) {
+        if (path.isRoot()) {
+            return null;
+        }
+        try {
+            final FolderEntry folder = root.getChildFolder(path.element(0));
+            if (folder == null) {
+                return null;
+            }
+            final RegisteredProject project = projects.get(folder.getPath().toString());
+            return project != null ? project : putProject(null, folder, true, false);
+        } catch (ServerException e) {
+            LOG.warn(e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets listener that should be notified about file system events. Folders created on root are registered as
+     * unconfigured projects, unconfigured projects are unregistered when their folders are removed.
+     */
+    public FileWatcherNotificationListener getRootFoldersListener() {
+        return rootFoldersListener;
+    }
+
+    private void onRootFolderEvent(VirtualFile folder, FileWatcherEventType eventType) {
+        if (!initialized) {
+            return;
+        }
+        final String path = folder.getPath().toString();
+        try {
+            if (eventType == CREATED) {
+                if (projects.get(path) == null) {
+                    putProject(null, new FolderEntry(folder, this), true, false);
+                }
+            } else if (eventType == DELETED) {
+                final RegisteredProject project = projects.get(path);
+                if (project != null && project.isUnconfigured()) {
+                    removeProjects(path);
+                }
+            }
+        } catch (ServerException e) {
+            LOG.warn(e.getLocalizedMessage());
+        }
+    }
+
     /**
      * Fires init handlers for all the project types of incoming project.
      *
@@ -37,6 +37,8 @@ import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.ProjectSearchResponseDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.VirtualFile;
@@ -71,11 +73,17 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -501,7 +509,33 @@ public class ProjectService extends Service {
         if (file == null) {
             throw new NotFoundException("File not found for " + path);
         }
-        return Response.ok().entity(file.getInputStream()).type(TIKA.detect(file.getName())).build();
+        final InputStream content = file.getInputStream();
+        if (content instanceof FileInputStream) {
+            // content is read directly from file, transfer it to response without copying through intermediate buffers
+            final FileChannel channel = ((FileInputStream)content).getChannel();
+            return Response.ok()
+                           .entity((StreamingOutput)output -> transfer(channel, output))
+                           .header(HttpHeaders.CONTENT_LENGTH, Long.toString(channel.size()))
+                           .type(TIKA.detect(file.getName()))
+                           .build();
+        }
+        return Response.ok().entity(content).type(TIKA.detect(file.getName())).build();
+    }
+
+    private static void transfer(FileChannel channel, OutputStream output) throws IOException {
+        try (FileChannel source = channel) {
+            final WritableByteChannel target = Channels.newChannel(output);
+            final long size = source.size();
+            long position = 0;
+            while (position < size) {
+                final long transferred = source.transferTo(position, size - position, target);
+                if (transferred <= 0) {
+                    // file was truncated while being transferred
+                    break;
+                }
+                position += transferred;
+            }
+        }
     }
 
     @PUT
@@ -731,8 +765,8 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public InputStream exportZip(@ApiParam(value = "Path to resource to be exported")
-                                 @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+    public Response exportZip(@ApiParam(value = "Path to resource to be exported")
+                              @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
 
         final FolderEntry folder = projectManager.asFolder(path);
 
@@ -740,7 +774,16 @@ public class ProjectService extends Service {
             throw new NotFoundException("Folder not found " + path);
         }
 
-        return folder.getVirtualFile().zip();
+        final VirtualFile virtualFile = folder.getVirtualFile();
+        // archive is written directly to response while it is being created
+        final StreamingOutput zip = output -> {
+            try {
+                virtualFile.zip(output);
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getLocalizedMessage(), e);
+            }
+        };
+        return Response.ok(zip, ExtMediaType.APPLICATION_ZIP).build();
     }
 
     @GET
@@ -867,6 +910,8 @@ public class ProjectService extends Service {
                                       @QueryParam("name") String name,
                                       @ApiParam(value = "Search keywords")
                                       @QueryParam("text") String text,
+                                      @ApiParam(value = "Whether search keywords are regular expression")
+                                      @QueryParam("regex") boolean regex,
                                       @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
                                       @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
                                       @ApiParam(value = "Skip count")
@@ -890,6 +935,7 @@ public class ProjectService extends Service {
                 .setPath(path.startsWith("/") ? path : ('/' + path))
                 .setName(name)
                 .setText(text)
+                .setRegex(regex)
                 .setMaxItems(maxItems)
                 .setSkipCount(skipCount);
 
@@ -909,6 +955,82 @@ public class ProjectService extends Service {
         return items;
     }
 
+    @GET
+    @Path("/textsearch/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Search for text in files",
+                  notes = "Search for files applying a number of search filters as query parameters. Each found file is returned " +
+                          "together with matches of text, their offsets, line numbers and content of lines",
+                  response = ProjectSearchResponseDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 409, message = "Conflict error"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public ProjectSearchResponseDto searchText(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                                               @PathParam("path") String path,
+                                               @ApiParam(value = "Resource name")
+                                               @QueryParam("name") String name,
+                                               @ApiParam(value = "Search keywords", required = true)
+                                               @QueryParam("text") String text,
+                                               @ApiParam(value = "Whether search keywords are regular expression")
+                                               @QueryParam("regex") boolean regex,
+                                               @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
+                                               @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
+                                               @ApiParam(value = "Skip count")
+                                               @QueryParam("skipCount") int skipCount) throws NotFoundException,
+                                                                                              ForbiddenException,
+                                                                                              ConflictException,
+                                                                                              ServerException {
+        final ProjectSearchResponseDto response = DtoFactory.newDto(ProjectSearchResponseDto.class)
+                                                            .withItemReferences(new ArrayList<>())
+                                                            .withNextSkipCount(-1);
+        final Searcher searcher;
+        try {
+            searcher = projectManager.getSearcher();
+        } catch (NotFoundException e) {
+            LOG.warn(e.getLocalizedMessage());
+            return response;
+        }
+
+        if (skipCount < 0) {
+            throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
+        }
+        if (text == null) {
+            throw new ConflictException("Missed 'text' parameter.");
+        }
+
+        final QueryExpression expr = new QueryExpression()
+                .setPath(path.startsWith("/") ? path : ('/' + path))
+                .setName(name)
+                .setText(text)
+                .setRegex(regex)
+                .setIncludeOccurrences(true)
+                .setMaxItems(maxItems)
+                .setSkipCount(skipCount);
+
+        final SearchResult result = searcher.search(expr);
+        final FolderEntry root = projectManager.getProjectsRoot();
+
+        for (SearchResultEntry searchResultEntry : result.getResults()) {
+            final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+
+            if (child != null && child.isFile()) {
+                response.getItemReferences().add(DtoFactory.newDto(SearchResultDto.class)
+                                                           .withItemReference(injectFileLinks(asDto((FileEntry)child)))
+                                                           .withSearchOccurrences(searchResultEntry.getOccurrences()
+                                                                                                   .stream()
+                                                                                                   .map(DtoConverter::asDto)
+                                                                                                   .collect(Collectors.toList())));
+            }
+        }
+
+        if (result.getNextPageQueryExpression().isPresent()) {
+            response.setNextSkipCount(result.getNextPageQueryExpression().get().getSkipCount());
+        }
+        return response.withTotalHits(result.getTotalHits());
+    }
+
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
         LOG.info("EVENT#project-created# PROJECT#{}# TYPE#{}# WS#{}# USER#{}# PAAS#default#",
                  projectName,
@@ -38,6 +38,8 @@ import static java.lang.String.format;
  * @author gazarenkov
  */
 public class RegisteredProject implements ProjectConfig {
+    /** Code of the problem of the folder which has no project configuration in workspace. */
+    static final int NO_PROJECT_CONFIGURED = 11;
 
     private final List<Problem>      problems;
     private final Map<String, Value> attributes;
@@ -91,7 +93,7 @@ public class RegisteredProject implements ProjectConfig {
         }
 
         if (config == null) {
-            problems.add(new Problem(11, "No project configured in workspace " + this.config.getPath()));
+            problems.add(new Problem(NO_PROJECT_CONFIGURED, "No project configured in workspace " + this.config.getPath()));
         }
 
 
@@ -227,6 +229,13 @@ public class RegisteredProject implements ProjectConfig {
         return problems;
     }
 
+    /**
+     * @return {@code true} if the project is a folder which has no project configuration in workspace
+     */
+    public boolean isUnconfigured() {
+        return problems.stream().anyMatch(problem -> problem.code == NO_PROJECT_CONFIGURED);
+    }
+
     /**
      * @return list of Problems as a String
      */
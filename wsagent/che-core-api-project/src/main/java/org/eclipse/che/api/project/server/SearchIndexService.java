@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.project.shared.dto.IndexingStatisticsDto;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import static org.eclipse.che.api.project.server.DtoConverter.asDto;
+
+/**
+ * Provides information about full-text search index of projects.
+ */
+@Api(value = "/search-index", description = "Full-text search index REST API")
+@Path("search-index")
+public class SearchIndexService extends Service {
+
+    private final ProjectManager projectManager;
+
+    @Inject
+    public SearchIndexService(ProjectManager projectManager) {
+        this.projectManager = projectManager;
+    }
+
+    @GET
+    @Path("/statistics")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get progress of indexing of projects",
+                  response = IndexingStatisticsDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 404, message = "Searcher is not configured"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public IndexingStatisticsDto getIndexingStatistics() throws NotFoundException, ServerException {
+        return asDto(projectManager.getSearcher().getIndexingStatistics());
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.FileEntry;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.VirtualFileEntry;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps models parsed from file with the same name in different projects, e.g. from pom.xml, so
+ * {@link ValueProvider}s may read values of all attributes of project from the same model instead of parsing file for
+ * each attribute. Model is parsed again when modification date of file changes or when file is reported as modified
+ * with {@link ProjectItemModifiedEvent}, to get such notifications subscribe cache to
+ * {@link org.eclipse.che.api.core.notification.EventService}.
+ * <p>
+ * Models are shared between threads and must not be modified by callers.
+ *
+ * @param <T>
+ *         type of model
+ */
+public class ProjectFileModelCache<T> implements EventSubscriber<ProjectItemModifiedEvent> {
+
+    /** Parses model from file. */
+    public interface ModelReader<T> {
+        T read(FileEntry file) throws ServerException, IOException;
+    }
+
+    private final String                          fileName;
+    private final ModelReader<T>                  reader;
+    private final ConcurrentMap<String, Entry<T>> models;
+
+    /**
+     * @param fileName
+     *         name of file in root folder of project which model is cached
+     * @param reader
+     *         parses model from file
+     */
+    public ProjectFileModelCache(String fileName, ModelReader<T> reader) {
+        this.fileName = fileName;
+        this.reader = reader;
+        this.models = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets model of file in specified project folder, parses file if there is no model in cache or file was modified
+     * since it was parsed last time.
+     *
+     * @return model or {@code null} if there is no such file in project folder
+     */
+    public T get(FolderEntry projectFolder) throws ServerException, IOException {
+        final VirtualFileEntry child = projectFolder.getChild(fileName);
+        if (child == null || !child.isFile()) {
+            return null;
+        }
+        final String path = child.getPath().toString();
+        final long modified = child.getModified();
+        final Entry<T> cached = models.get(path);
+        if (cached != null && cached.modified == modified) {
+            return cached.model;
+        }
+        final T model = reader.read((FileEntry)child);
+        models.put(path, new Entry<>(modified, model));
+        return model;
+    }
+
+    /** Removes models of file with specified path or of files located under it if path is a folder. */
+    public void invalidate(String path) {
+        if (path == null) {
+            return;
+        }
+        models.remove(path);
+        final String prefix = path.endsWith("/") ? path : path + '/';
+        models.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    @Override
+    public void onEvent(ProjectItemModifiedEvent event) {
+        final String path = event.getPath();
+        if (event.isFolder() || (path != null && path.endsWith('/' + fileName))) {
+            invalidate(path);
+            invalidate(event.getOldPath());
+        }
+    }
+
+    private static class Entry<T> {
+        final long modified;
+        final T    model;
+
+        Entry(long modified, T model) {
+            this.modified = modified;
+            this.model = model;
+        }
+    }
+}
@@ -10,16 +10,66 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@Singleton
 public class ArchiverFactory {
+    private final ExecutorService zipDeflateExecutor;
+
+    /**
+     * @param zipDeflateThreads
+     *         number of threads shared by zip archivers to deflate content of files in parallel, {@code 0} or {@code 1} means that
+     *         files are deflated sequentially
+     */
+    @Inject
+    public ArchiverFactory(@Named("vfs.local.zip_deflate_threads") int zipDeflateThreads) {
+        if (zipDeflateThreads > 1) {
+            zipDeflateExecutor = Executors.newFixedThreadPool(zipDeflateThreads, new ThreadFactoryBuilder()
+                    .setNameFormat("ZipArchiverDeflate-%d")
+                    .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                    .setDaemon(true)
+                    .build());
+        } else {
+            zipDeflateExecutor = null;
+        }
+    }
+
     public Archiver createArchiver(VirtualFile folder, String archiveType) {
         if (archiveType == null) {
             throw new IllegalArgumentException("Archive type might not be null");
         }
         if ("zip".equals(archiveType.toLowerCase())) {
-            return new ZipArchiver(folder);
+            return new ZipArchiver(folder, zipDeflateExecutor);
         } else if ("tar".equals(archiveType.toLowerCase())) {
             return new TarArchiver(folder);
         }
         throw new IllegalArgumentException(String.format("Unsupported archive type %s", archiveType));
     }
+
+    @PreDestroy
+    public void stop() {
+        if (zipDeflateExecutor == null) {
+            return;
+        }
+        zipDeflateExecutor.shutdown();
+        try {
+            if (!zipDeflateExecutor.awaitTermination(3, SECONDS)) {
+                zipDeflateExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            zipDeflateExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.eclipse.che.api.core.ServerException;
+
+/**
+ * Cache of hash sums of files used by {@link HashSumsCounter}. Cached hash sum of file is valid while length and modification
+ * date of file stay the same. Implementation must be thread-safe.
+ */
+public interface HashSumsCache {
+    /**
+     * Gets cached hash sum of file.
+     *
+     * @return hash sum of file represented as HEX String or {@code null} if hash sum of file is not cached or file was modified
+     * after its hash sum was cached
+     */
+    String get(VirtualFile virtualFile) throws ServerException;
+
+    /** Caches hash sum of file represented as HEX String. */
+    void put(VirtualFile virtualFile, String hashSum) throws ServerException;
+}
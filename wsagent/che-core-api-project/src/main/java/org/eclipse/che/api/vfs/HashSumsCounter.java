@@ -21,24 +21,44 @@ import org.eclipse.che.commons.lang.Pair;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.hash.Funnels.asOutputStream;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Traverses recursively all files in folder given in constructor and calculates hash sum for each file.
  * Algorithm specified by {@code hashFunction} is used for calculating hash sum.
+ * <p>
+ * If cache is given in constructor hash sums are calculated only for files that were modified since their hash sums were
+ * cached. If fork-join pool is given in constructor hash sums of files are calculated in parallel.
  */
 public class HashSumsCounter implements VirtualFileVisitor {
-    private final VirtualFile                folder;
-    private final HashFunction               hashFunction;
-    private final List<Pair<String, String>> hashSums;
+    private final VirtualFile       folder;
+    private final HashFunction      hashFunction;
+    private final HashSumsCache     cache;
+    private final ForkJoinPool      pool;
+    private final List<VirtualFile> files;
 
 
     public HashSumsCounter(VirtualFile folder, HashFunction hashFunction) {
+        this(folder, hashFunction, null, null);
+    }
+
+    /**
+     * @param cache
+     *         cache of hash sums of files, {@code null} if hash sums should not be cached
+     * @param pool
+     *         pool for calculating hash sums in parallel, {@code null} if hash sums should be calculated in calling thread
+     */
+    public HashSumsCounter(VirtualFile folder, HashFunction hashFunction, HashSumsCache cache, ForkJoinPool pool) {
         this.folder = folder;
         this.hashFunction = hashFunction;
-        hashSums = newArrayList();
+        this.cache = cache;
+        this.pool = pool;
+        files = newArrayList();
     }
 
     /**
@@ -51,26 +71,73 @@ public class HashSumsCounter implements VirtualFileVisitor {
      */
     public List<Pair<String, String>> countHashSums() throws ServerException {
         folder.accept(this);
-        return hashSums;
+        if (pool == null) {
+            final List<Pair<String, String>> hashSums = newArrayList();
+            for (VirtualFile file : files) {
+                hashSums.add(countHashSum(file));
+            }
+            return hashSums;
+        }
+        try {
+            return pool.submit(() -> files.parallelStream().map(this::countHashSumUnchecked).collect(toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof UncheckedServerException) {
+                throw ((UncheckedServerException)cause).getCause();
+            }
+            throw new ServerException(cause);
+        }
     }
 
     @Override
     public void visit(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.isFile()) {
+            files.add(virtualFile);
+        } else {
+            for (VirtualFile child : virtualFile.getChildren()) {
+                child.accept(this);
+            }
+        }
+    }
+
+    private Pair<String, String> countHashSum(VirtualFile virtualFile) throws ServerException {
+        String hexHash = cache == null ? null : cache.get(virtualFile);
+        if (hexHash == null) {
             try (InputStream in = virtualFile.getContent()) {
                 final Hasher hasher = hashFunction.newHasher();
                 ByteStreams.copy(in, asOutputStream(hasher));
-                final String hexHash = hasher.hash().toString();
-                hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
+                hexHash = hasher.hash().toString();
             } catch (IOException e) {
                 throw new ServerException(e);
             } catch (ForbiddenException e) {
                 throw new ServerException(e.getServiceError());
             }
-        } else {
-            for (VirtualFile child : virtualFile.getChildren()) {
-                child.accept(this);
+            if (cache != null) {
+                cache.put(virtualFile, hexHash);
             }
         }
+        return Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString());
+    }
+
+    private Pair<String, String> countHashSumUnchecked(VirtualFile virtualFile) {
+        try {
+            return countHashSum(virtualFile);
+        } catch (ServerException e) {
+            throw new UncheckedServerException(e);
+        }
+    }
+
+    private static class UncheckedServerException extends RuntimeException {
+        UncheckedServerException(ServerException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ServerException getCause() {
+            return (ServerException)super.getCause();
+        }
     }
 }
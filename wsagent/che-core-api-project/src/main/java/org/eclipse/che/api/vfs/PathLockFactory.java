@@ -10,6 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
@@ -30,15 +36,22 @@ package org.eclipse.che.api.vfs;
  *         }
  *      }
  * </pre>
+ * Lock of path conflicts with locks of its ancestors and descendants: exclusive lock may not be obtained while any other
+ * thread has lock of the same path, parent or child path, shared lock may not be obtained while other thread has exclusive
+ * lock of such path. Locks obtained by current thread never block it.
+ * <p/>
+ * Locks are kept in a tree of nodes, one node per path element, each node is guarded with its own lock. Thread that
+ * acquires lock of path puts intention marks on all ancestors of path, so conflicts with locks of descendants are found in
+ * the node of the path itself without scanning of subtree. Acquisition of lock takes time proportional to depth of path and
+ * threads that work with different paths are not blocked on any global monitor.
  *
  * @author andrew00x>
  */
 public final class PathLockFactory {
     private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int  maxThreads;
+    private final Node root = new Node(null);
 
     /**
      * @param maxThreads
@@ -53,142 +66,340 @@ public final class PathLockFactory {
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
-        return new PathLock(path, exclusive ? maxThreads : 1);
+        return new PathLock(path, exclusive);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    /**
+     * Acquires lock of path.
+     *
+     * @param timeoutMilliseconds
+     *         maximum time to wait for lock, negative value means wait without timeout
+     */
+    private void acquire(Path path, boolean exclusive, long timeoutMilliseconds) {
+        final long endTime = timeoutMilliseconds < 0 ? Long.MAX_VALUE : System.currentTimeMillis() + timeoutMilliseconds;
+        final Node[] nodes = new Node[path.length() + 1];
+        Conflict conflict;
+        while ((conflict = tryAcquire(path, exclusive, nodes)) != null) {
+            if (conflict.node != null) {
+                awaitChange(conflict, path, endTime);
             }
         }
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
+    /**
+     * Tries to acquire lock of path. Returns {@code null} if lock is acquired or conflict that prevents acquiring of lock.
+     * Nothing is held by current thread if conflict is returned.
+     */
+    private Conflict tryAcquire(Path path, boolean exclusive, Node[] nodes) {
+        final Thread current = Thread.currentThread();
+        final int depth = path.length();
+        Node node = root;
+        for (int i = 0; i < depth; i++) {
+            Conflict conflict = null;
+            Node next = null;
+            node.lock.lock();
             try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+                if (node.removed) {
+                    conflict = Conflict.RETRY;
+                } else if (node.conflictsWithDescendant(exclusive, current)) {
+                    conflict = new Conflict(node);
+                } else {
+                    node.addIntention(exclusive, current);
+                    nodes[i] = node;
+                    next = node.getOrCreateChild(path.element(i));
+                }
+            } finally {
+                node.lock.unlock();
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+            if (conflict != null) {
+                rollback(nodes, i, exclusive, current);
+                return conflict;
             }
-            waitTime = endTime - now;
+            node = next;
         }
+        Conflict conflict = null;
+        boolean tooManyRecursiveLocks = false;
+        node.lock.lock();
+        try {
+            if (node.removed) {
+                conflict = Conflict.RETRY;
+            } else if (node.conflicts(exclusive, current, maxThreads)) {
+                conflict = new Conflict(node);
+            } else if (node.holds(exclusive, current) >= MAX_RECURSIVE_LOCKS) {
+                tooManyRecursiveLocks = true;
+            } else {
+                node.addHolder(exclusive, current);
+                nodes[depth] = node;
+            }
+        } finally {
+            node.lock.unlock();
+        }
+        if (conflict != null || tooManyRecursiveLocks) {
+            rollback(nodes, depth, exclusive, current);
+        }
+        if (tooManyRecursiveLocks) {
+            throw new Error("Max number of recursive locks exceeded. ");
+        }
+        return conflict;
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
-            }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
-                    }
-                } else {
-                    --prev.threadDeep;
+    private void awaitChange(Conflict conflict, Path path, long endTime) {
+        final Node node = conflict.node;
+        node.lock.lock();
+        try {
+            while (node.version == conflict.version && !node.removed) {
+                final long waitTime = endTime - System.currentTimeMillis();
+                if (waitTime <= 0) {
+                    throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
                 }
+                node.changed.await(waitTime, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            node.lock.unlock();
+        }
+    }
+
+    /** Removes intention marks that current thread put on the first {@code depth} nodes. */
+    private void rollback(Node[] nodes, int depth, boolean exclusive, Thread current) {
+        for (int i = depth - 1; i >= 0; i--) {
+            final Node node = nodes[i];
+            node.lock.lock();
+            try {
+                node.removeIntention(exclusive, current);
+                node.signalChange();
+            } finally {
+                node.lock.unlock();
             }
-            node = node.prev;
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
+        prune(nodes, depth - 1);
     }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
+    private void release(Path path, boolean exclusive) {
         final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
+        final int depth = path.length();
+        final Node[] nodes = new Node[depth + 1];
+        Node node = root;
+        for (int i = 0; i < depth && node != null; i++) {
+            nodes[i] = node;
+            node.lock.lock();
+            try {
+                node = node.children.get(path.element(i));
+            } finally {
+                nodes[i].lock.unlock();
+            }
+        }
+        if (node == null) {
+            // lock for this path was not acquired
+            return;
+        }
+        nodes[depth] = node;
+        node.lock.lock();
+        try {
+            if (!node.removeHolder(exclusive, current)) {
+                return;
+            }
+            node.signalChange();
+        } finally {
+            node.lock.unlock();
+        }
+        for (int i = depth - 1; i >= 0; i--) {
+            nodes[i].lock.lock();
+            try {
+                nodes[i].removeIntention(exclusive, current);
+                nodes[i].signalChange();
+            } finally {
+                nodes[i].lock.unlock();
+            }
+        }
+        prune(nodes, depth);
+    }
+
+    /** Removes unused nodes from the tree starting from {@code nodes[depth]} towards the root. */
+    private void prune(Node[] nodes, int depth) {
+        for (int i = depth; i > 0; i--) {
+            final Node parent = nodes[i - 1];
+            final Node node = nodes[i];
+            parent.lock.lock();
+            try {
+                node.lock.lock();
+                try {
+                    if (node.removed || !node.isUnused()) {
+                        return;
                     }
-                    ++node.threadDeep;
-                    return true;
-                }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
-                }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
+                    node.removed = true;
+                    parent.children.remove(node.name);
+                    node.signalChange();
+                } finally {
+                    node.lock.unlock();
                 }
+            } finally {
+                parent.lock.unlock();
             }
-            node = node.prev;
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
     }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+    public void checkClean() {
+        root.lock.lock();
+        try {
+            assert root.isUnused();
+        } finally {
+            root.lock.unlock();
+        }
     }
 
    /* =============================================== */
 
+    /** Node that conflicts with lock requested by current thread and version of node when conflict was found. */
+    private static class Conflict {
+        /** Means that tree was changed concurrently and attempt to acquire lock must be repeated immediately. */
+        static final Conflict RETRY = new Conflict(null);
+
+        final Node node;
+        final long version;
+
+        Conflict(Node node) {
+            this.node = node;
+            this.version = node == null ? 0 : node.version;
+        }
+    }
+
+    /** Locks of single path. All fields are guarded by {@link #lock}. */
     private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+        final String               name;
+        final ReentrantLock        lock                = new ReentrantLock();
+        final Condition            changed             = lock.newCondition();
+        final Map<String, Node>    children            = new HashMap<>(4);
+        /** Number of shared locks of this path per thread. */
+        final Map<Thread, Integer> sharedHolders       = new HashMap<>(4);
+        /** Number of shared locks of descendants of this path per thread. */
+        final Map<Thread, Integer> sharedIntentions    = new HashMap<>(4);
+        /** Number of exclusive locks of descendants of this path per thread. */
+        final Map<Thread, Integer> exclusiveIntentions = new HashMap<>(4);
+        Thread  exclusiveOwner;
+        int     exclusiveHolds;
+        long    version;
+        boolean removed;
 
-        Node(Path path, int permits, Node prev) {
-            this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+        Node(String name) {
+            this.name = name;
+        }
+
+        Node getOrCreateChild(String name) {
+            return children.computeIfAbsent(name, Node::new);
+        }
+
+        /** Checks whether lock of descendant of this node conflicts with locks of this node. */
+        boolean conflictsWithDescendant(boolean exclusive, Thread current) {
+            return (exclusiveOwner != null && exclusiveOwner != current) || (exclusive && hasOtherThreads(sharedHolders, current));
+        }
+
+        /** Checks whether lock of this node conflicts with locks of this node and its descendants. */
+        boolean conflicts(boolean exclusive, Thread current, int maxThreads) {
+            if (exclusiveOwner != null && exclusiveOwner != current) {
+                return true;
+            }
+            if (exclusive) {
+                return hasOtherThreads(sharedHolders, current)
+                       || hasOtherThreads(sharedIntentions, current)
+                       || hasOtherThreads(exclusiveIntentions, current);
+            }
+            return hasOtherThreads(exclusiveIntentions, current)
+                   || (!sharedHolders.containsKey(current) && sharedHolders.size() >= maxThreads);
+        }
+
+        int holds(boolean exclusive, Thread current) {
+            if (exclusive) {
+                return exclusiveOwner == current ? exclusiveHolds : 0;
+            }
+            return sharedHolders.getOrDefault(current, 0);
+        }
+
+        void addHolder(boolean exclusive, Thread current) {
+            if (exclusive) {
+                exclusiveOwner = current;
+                exclusiveHolds++;
+            } else {
+                increment(sharedHolders, current);
+            }
+        }
+
+        /** Returns {@code false} if current thread doesn't hold lock of this node. */
+        boolean removeHolder(boolean exclusive, Thread current) {
+            if (exclusive) {
+                if (exclusiveOwner != current) {
+                    return false;
+                }
+                if (--exclusiveHolds == 0) {
+                    exclusiveOwner = null;
+                }
+                return true;
+            }
+            return decrement(sharedHolders, current);
+        }
+
+        void addIntention(boolean exclusive, Thread current) {
+            increment(exclusive ? exclusiveIntentions : sharedIntentions, current);
+        }
+
+        void removeIntention(boolean exclusive, Thread current) {
+            decrement(exclusive ? exclusiveIntentions : sharedIntentions, current);
+        }
+
+        void signalChange() {
+            version++;
+            changed.signalAll();
+        }
+
+        boolean isUnused() {
+            return exclusiveOwner == null
+                   && sharedHolders.isEmpty()
+                   && sharedIntentions.isEmpty()
+                   && exclusiveIntentions.isEmpty()
+                   && children.isEmpty();
+        }
+
+        private static boolean hasOtherThreads(Map<Thread, Integer> counters, Thread current) {
+            return counters.size() > (counters.containsKey(current) ? 1 : 0);
+        }
+
+        private static void increment(Map<Thread, Integer> counters, Thread current) {
+            counters.merge(current, 1, Integer::sum);
+        }
+
+        private static boolean decrement(Map<Thread, Integer> counters, Thread current) {
+            final Integer count = counters.get(current);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                counters.remove(current);
+            } else {
+                counters.put(current, count - 1);
+            }
+            return true;
         }
 
         @Override
         public String toString() {
             return "Node{" +
-                   "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
+                   "name=" + name +
+                   ", exclusiveOwner=" + exclusiveOwner +
+                   ", sharedHolders=" + sharedHolders.size() +
+                   ", children=" + children.size() +
                    '}';
         }
     }
 
     public final class PathLock {
-        private final Path path;
-        private final int  permits;
+        private final Path    path;
+        private final boolean exclusive;
 
-        private PathLock(Path path, int permits) {
+        private PathLock(Path path, boolean exclusive) {
             this.path = path;
-            this.permits = permits;
+            this.exclusive = exclusive;
         }
 
         /**
@@ -197,7 +408,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(path, exclusive, -1);
             return this;
         }
 
@@ -212,18 +423,18 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            PathLockFactory.this.acquire(path, exclusive, timeoutMilliseconds);
             return this;
         }
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(path, exclusive);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
         public boolean isExclusive() {
-            return permits == PathLockFactory.this.maxThreads;
+            return exclusive;
         }
     }
 }
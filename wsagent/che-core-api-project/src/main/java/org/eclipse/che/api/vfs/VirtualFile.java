@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.Pair;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -504,6 +505,19 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream zip() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of folder denoted by this VirtualFile as ZIP archive to specified output. Unlike {@link #zip()} archive is
+     * not buffered, so it is possible to send it to client while it is being created. Output is closed when archive is written.
+     *
+     * @param zipOutput
+     *         output for ZIP archive
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     */
+    void zip(OutputStream zipOutput) throws ForbiddenException, ServerException;
+
     /**
      * Extracts zip archive to the folder denoted by this VirtualFile.
      *
@@ -537,6 +551,19 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream tar() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of folder denoted by this VirtualFile as TAR archive to specified output. Unlike {@link #tar()} archive is
+     * not buffered, so it is possible to send it to client while it is being created. Output is closed when archive is written.
+     *
+     * @param tarOutput
+     *         output for TAR archive
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     */
+    void tar(OutputStream tarOutput) throws ForbiddenException, ServerException;
+
     /**
      * Extracts tar archive to the folder denoted by this VirtualFile.
      *
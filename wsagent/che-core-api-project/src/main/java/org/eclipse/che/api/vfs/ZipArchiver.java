@@ -15,19 +15,48 @@ import com.google.common.io.ByteStreams;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.util.DeflatedZipWriter;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
 import org.eclipse.che.api.vfs.util.ZipContent;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 public class ZipArchiver extends Archiver {
+    /** Max size of file that is deflated by worker thread, bigger files are deflated by thread that writes archive. */
+    static final long MAX_PARALLEL_DEFLATE_SIZE = 1024 * 1024;
+    /** Max number of entries that may be deflated but not written to archive yet. */
+    static final int  MAX_PENDING_ENTRIES       = 64;
+
+    private final ExecutorService deflateExecutor;
+
     public ZipArchiver(VirtualFile folder) {
+        this(folder, null);
+    }
+
+    /**
+     * @param deflateExecutor
+     *         executor that deflates content of files in parallel, it is not shut down by archiver. {@code null} means that files
+     *         are deflated sequentially by thread that writes archive
+     */
+    public ZipArchiver(VirtualFile folder, ExecutorService deflateExecutor) {
         super(folder);
+        this.deflateExecutor = deflateExecutor;
     }
 
     @Override
@@ -37,6 +66,10 @@ public class ZipArchiver extends Archiver {
 
     @Override
     public void compress(OutputStream zipOutput, VirtualFileFilter filter) throws IOException, ServerException {
+        if (deflateExecutor != null) {
+            compressInParallel(zipOutput, filter);
+            return;
+        }
         try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipOutput)) {
             folder.accept(new VirtualFileVisitor() {
                 @Override
@@ -56,6 +89,93 @@ public class ZipArchiver extends Archiver {
         }
     }
 
+    /**
+     * Deflates content of files on worker threads and writes entries in the same order as sequential compression does. Number of
+     * deflated entries that are kept in memory is limited, big files are deflated while writing.
+     */
+    private void compressInParallel(OutputStream zipOutput, VirtualFileFilter filter) throws IOException, ServerException {
+        final Deque<Future<PendingEntry>> pendingEntries = new ArrayDeque<>();
+        try (DeflatedZipWriter zipWriter = new DeflatedZipWriter(zipOutput)) {
+            folder.accept(new VirtualFileVisitor() {
+                @Override
+                public void visit(VirtualFile visitedVirtualFile) throws ServerException {
+                    if (filter.accept(visitedVirtualFile)) {
+                        if (!visitedVirtualFile.equals(folder)) {
+                            pendingEntries.add(submit(visitedVirtualFile));
+                            while (pendingEntries.size() > MAX_PENDING_ENTRIES) {
+                                writeEntry(pendingEntries.poll(), zipWriter);
+                            }
+                        }
+                        if (visitedVirtualFile.isFolder()) {
+                            for (VirtualFile child : visitedVirtualFile.getChildren()) {
+                                child.accept(this);
+                            }
+                        }
+                    }
+                }
+            });
+            while (!pendingEntries.isEmpty()) {
+                writeEntry(pendingEntries.poll(), zipWriter);
+            }
+        } finally {
+            // executor is shared with other archivers, so only entries of this archive are cancelled
+            for (Future<PendingEntry> pendingEntry : pendingEntries) {
+                pendingEntry.cancel(true);
+            }
+        }
+    }
+
+    private Future<PendingEntry> submit(VirtualFile virtualFile) throws ServerException {
+        final String name = getZipEntryName(virtualFile);
+        if (virtualFile.isFolder() || virtualFile.getLength() > MAX_PARALLEL_DEFLATE_SIZE) {
+            return CompletableFuture.completedFuture(new PendingEntry(virtualFile, name));
+        }
+        return deflateExecutor.submit(() -> {
+            final Deflater deflater = DeflatedZipWriter.newDeflater();
+            try (CheckedInputStream content = new CheckedInputStream(virtualFile.getContent(), new CRC32())) {
+                final ExposedByteArrayOutputStream deflated = new ExposedByteArrayOutputStream();
+                final DeflaterOutputStream deflaterOutput = new DeflaterOutputStream(deflated, deflater);
+                ByteStreams.copy(content, deflaterOutput);
+                deflaterOutput.finish();
+                return new PendingEntry(virtualFile, name, deflated, content.getChecksum().getValue(), deflater.getBytesRead());
+            } finally {
+                deflater.end();
+            }
+        });
+    }
+
+    private void writeEntry(Future<PendingEntry> future, DeflatedZipWriter zipWriter) throws ServerException {
+        try {
+            final PendingEntry entry = future.get();
+            final VirtualFile virtualFile = entry.virtualFile;
+            if (virtualFile.isFolder()) {
+                zipWriter.putFolder(entry.name, virtualFile.getLastModificationDate());
+            } else if (entry.deflated == null) {
+                try (InputStream content = virtualFile.getContent()) {
+                    zipWriter.putContent(entry.name, virtualFile.getLastModificationDate(), content);
+                }
+            } else {
+                zipWriter.putDeflated(entry.name, virtualFile.getLastModificationDate(), entry.deflated.buffer(),
+                                      entry.deflated.size(), entry.crc, entry.size);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            } else if (cause instanceof ForbiddenException) {
+                throw new ServerException(((ForbiddenException)cause).getServiceError());
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     private String getZipEntryName(VirtualFile virtualFile) {
         Path zipPath = virtualFile.getPath().subPath(folder.getPath());
         if (virtualFile.isFolder()) {
@@ -133,4 +253,31 @@ public class ZipArchiver extends Archiver {
             }
         }
     }
+
+    /** Entry of archive that is ready to be written. Content of file is {@code null} if file must be deflated while writing. */
+    private static class PendingEntry {
+        final VirtualFile                  virtualFile;
+        final String                       name;
+        final ExposedByteArrayOutputStream deflated;
+        final long                         crc;
+        final long                         size;
+
+        PendingEntry(VirtualFile virtualFile, String name) {
+            this(virtualFile, name, null, 0, 0);
+        }
+
+        PendingEntry(VirtualFile virtualFile, String name, ExposedByteArrayOutputStream deflated, long crc, long size) {
+            this.virtualFile = virtualFile;
+            this.name = name;
+            this.deflated = deflated;
+            this.crc = crc;
+            this.size = size;
+        }
+    }
+
+    private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        byte[] buffer() {
+            return buf;
+        }
+    }
 }
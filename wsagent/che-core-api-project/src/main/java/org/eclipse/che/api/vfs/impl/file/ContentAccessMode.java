@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+/**
+ * Defines how {@link LocalVirtualFileSystem} gives access to content of files.
+ */
+public enum ContentAccessMode {
+    /**
+     * Content of small files is read in memory, content of big files is copied to temporary file. Lock of file is released
+     * before caller starts reading of content, so update of file doesn't affect content that is already opened.
+     */
+    SPOOL,
+    /**
+     * Content is read directly from file without any copying. Update of content is written to temporary file that atomically
+     * replaces original file, so caller that already opened content continues reading of previous version of file.
+     */
+    SNAPSHOT;
+
+    /**
+     * Parses content access mode from its name, case is ignored.
+     *
+     * @param name
+     *         name of mode, {@code null} or empty string means {@link #SPOOL}
+     * @throws IllegalArgumentException
+     *         if name is not a name of any mode
+     */
+    public static ContentAccessMode fromString(String name) {
+        if (name == null || name.isEmpty()) {
+            return SPOOL;
+        }
+        for (ContentAccessMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unsupported content access mode '%s'", name));
+    }
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.HashSumsCache;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Hash sums of files of one folder tree persisted in service directory of virtual filesystem. Instance is designed for single
+ * counting of hash sums: cached hash sums are loaded on creation and hash sums of all visited files are saved with
+ * {@link #save()}, so hash sums of files that were removed from the tree are dropped from cache.
+ */
+class FileHashSumsCache implements HashSumsCache {
+    private static final Logger LOG = LoggerFactory.getLogger(FileHashSumsCache.class);
+
+    private final File                       cacheIoFile;
+    private final HashSumsSerializer         serializer;
+    private final Map<String, CachedHashSum> loaded;
+    private final Map<String, CachedHashSum> visited;
+    private final Map<String, CachedHashSum> counting;
+
+    private volatile boolean modified;
+
+    FileHashSumsCache(File cacheIoFile, HashSumsSerializer serializer) {
+        this.cacheIoFile = cacheIoFile;
+        this.serializer = serializer;
+        loaded = load();
+        visited = new ConcurrentHashMap<>();
+        counting = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public String get(VirtualFile virtualFile) throws ServerException {
+        final String path = virtualFile.getPath().toString();
+        // length and modification date are remembered before content is read, so changes made while counting are not missed
+        final CachedHashSum current = new CachedHashSum(virtualFile.getLength(), virtualFile.getLastModificationDate(), null);
+        final CachedHashSum cached = loaded.get(path);
+        if (cached != null && cached.length == current.length && cached.modified == current.modified) {
+            visited.put(path, cached);
+            return cached.hashSum;
+        }
+        counting.put(path, current);
+        return null;
+    }
+
+    @Override
+    public void put(VirtualFile virtualFile, String hashSum) throws ServerException {
+        final String path = virtualFile.getPath().toString();
+        final CachedHashSum current = counting.remove(path);
+        if (current != null) {
+            visited.put(path, new CachedHashSum(current.length, current.modified, hashSum));
+            modified = true;
+        }
+    }
+
+    /** Saves hash sums of visited files if anything was changed since cache was loaded. Errors are logged but not thrown. */
+    void save() {
+        if (!modified && visited.size() == loaded.size()) {
+            return;
+        }
+        File tmpIoFile = null;
+        try {
+            final File parent = cacheIoFile.getParentFile();
+            if (!(parent.exists() || parent.mkdirs())) {
+                throw new IOException(String.format("Unable create directory '%s'", parent));
+            }
+            tmpIoFile = File.createTempFile(cacheIoFile.getName(), null, parent);
+            try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpIoFile)))) {
+                serializer.write(dos, visited);
+            }
+            Files.move(tmpIoFile.toPath(), cacheIoFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+            tmpIoFile = null;
+        } catch (IOException e) {
+            LOG.warn("Unable save hash sums to {}: {}", cacheIoFile, e.getMessage());
+        } finally {
+            if (tmpIoFile != null && !tmpIoFile.delete()) {
+                LOG.warn("Unable delete file {}", tmpIoFile);
+            }
+        }
+    }
+
+    private Map<String, CachedHashSum> load() {
+        if (cacheIoFile.exists()) {
+            try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheIoFile)))) {
+                return serializer.read(dis);
+            } catch (IOException e) {
+                LOG.warn("Unable read hash sums from {}, they will be counted again: {}", cacheIoFile, e.getMessage());
+            }
+        }
+        return Collections.emptyMap();
+    }
+
+    /** Hash sum of file along with length and modification date of file at the moment hash sum was counted. */
+    static class CachedHashSum {
+        final long   length;
+        final long   modified;
+        final String hashSum;
+
+        CachedHashSum(long length, long modified, String hashSum) {
+            this.length = length;
+            this.modified = modified;
+            this.hashSum = hashSum;
+        }
+    }
+}
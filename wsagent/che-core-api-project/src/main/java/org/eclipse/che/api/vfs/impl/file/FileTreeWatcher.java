@@ -12,8 +12,11 @@ package org.eclipse.che.api.vfs.impl.file;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.watcher.DirectoryChangeListener;
+import org.eclipse.che.api.vfs.watcher.FileWatcherEventHandler;
+import org.eclipse.che.api.vfs.watcher.FileWatcherService;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,7 +25,6 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
@@ -30,61 +32,74 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
-import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
-import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.Files.getLastModifiedTime;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
-import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Collections.emptySet;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 
+/**
+ * Tracks changes of whole tree of workspace directories and reports them to {@link FileWatcherNotificationHandler}. Does not
+ * have own watch service: directories are registered in {@link FileWatcherService} which is shared with
+ * {@link org.eclipse.che.api.vfs.watcher.FileWatcherManager}, so each directory is watched only once. Changes are received
+ * as debounced batches of directories and each changed directory is rescanned to find out created, modified and deleted
+ * items. Rescanning and notifications are done by own thread of this watcher, so watcher thread of {@link FileWatcherService}
+ * is not delayed by disk access.
+ */
 @Singleton
-public class FileTreeWatcher {
+public class FileTreeWatcher implements DirectoryChangeListener {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
 
-    private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
-
     private final File                           watchRoot;
     private final Path                           watchRootPath;
     private final Map<Path, WatchedDirectory>    watchedDirectories;
     private final List<PathMatcher>              excludePatterns;
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
+    private final Set<Path>                      pendingDirectories;
     private final ExecutorService                executor;
-    private final AtomicBoolean                  running;
-    private       WatchService                   watchService;
-    private       WatchEvent.Modifier[]          watchEventModifiers;
+    private       FileWatcherService             watcherService;
+    private       boolean                        ownWatcherService;
+    private       boolean                        running;
+    private       boolean                        processingScheduled;
+
+    /**
+     * Creates watcher that owns its {@link FileWatcherService}, service is started and stopped together with this watcher.
+     */
+    public FileTreeWatcher(File watchRoot,
+                           Set<PathMatcher> excludePatterns,
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        this(watchRoot, excludePatterns, fileWatcherNotificationHandler, null);
+        ownWatcherService = true;
+    }
 
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
                            @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
-                           FileWatcherNotificationHandler fileWatcherNotificationHandler) {
-        watchEventModifiers = new WatchEvent.Modifier[0];
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                           FileWatcherService watcherService) {
         this.watchRoot = toCanonicalFile(watchRoot);
         this.watchRootPath = this.watchRoot.toPath();
         this.excludePatterns = newArrayList(excludePatterns);
         this.fileWatcherNotificationHandler = fileWatcherNotificationHandler;
+        this.watcherService = watcherService;
+        watchedDirectories = new ConcurrentHashMap<>();
+        pendingDirectories = newLinkedHashSet();
 
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true)
                                                                 .setUncaughtExceptionHandler(
@@ -92,8 +107,6 @@ public class FileTreeWatcher {
                                                                 .setNameFormat("FileTreeWatcher-%d")
                                                                 .build();
         executor = Executors.newSingleThreadExecutor(threadFactory);
-        running = new AtomicBoolean();
-        watchedDirectories = newHashMap();
     }
 
     private static File toCanonicalFile(File file) {
@@ -105,32 +118,27 @@ public class FileTreeWatcher {
     }
 
     public void startup() throws IOException {
-        watchService = FileSystems.getDefault().newWatchService();
-        if (isPollingWatchService(watchService)) {
-            watchEventModifiers = new WatchEvent.Modifier[]{createSensitivityWatchEventModifier()};
+        if (ownWatcherService) {
+            watcherService = new FileWatcherService(emptySet(),
+                                                    new FileWatcherEventHandler(watchRoot),
+                                                    FileSystems.getDefault().newWatchService());
+            watcherService.start();
         }
-        running.set(true);
+        // changes that come while tree is walked are kept in pendingDirectories and processed after walk is completed
+        watcherService.addDirectoryChangeListener(this);
         walkTreeAndSetupWatches(watchRootPath);
-        executor.execute(new WatchEventTask());
-        fileWatcherNotificationHandler.started(watchRoot);
-    }
-
-    private boolean isPollingWatchService(WatchService watchService) {
-        return "sun.nio.fs.PollingWatchService".equals(watchService.getClass().getName());
-    }
-
-    private WatchEvent.Modifier createSensitivityWatchEventModifier() {
-        try {
-            Class<?> aModifierEnum = Class.forName("com.sun.nio.file.SensitivityWatchEventModifier");
-            Object[] sensitivityEnumConstants = aModifierEnum.getEnumConstants();
-            return (WatchEvent.Modifier)sensitivityEnumConstants[0];
-        } catch (Exception e) {
-            LOG.warn("Can't create 'com.sun.nio.file.SensitivityWatchEventModifier'", e);
+        synchronized (this) {
+            running = true;
+            scheduleProcessing();
         }
-        return null;
+        fileWatcherNotificationHandler.started(watchRoot);
     }
 
     public void shutdown() {
+        synchronized (this) {
+            running = false;
+            pendingDirectories.clear();
+        }
         boolean interrupted = false;
         executor.shutdown();
         try {
@@ -144,22 +152,19 @@ public class FileTreeWatcher {
             interrupted = true;
             executor.shutdownNow();
         }
-
-        try {
-            walkTreeAndRemoveWatches(watchRootPath);
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
-        }
-
-        try {
-            watchService.close();
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
-        }
-
         if (interrupted) {
             Thread.currentThread().interrupt();
         }
+        if (watcherService == null) {
+            return;
+        }
+        watcherService.removeDirectoryChangeListener(this);
+        for (Path directory : watchedDirectories.keySet()) {
+            cancelDirectoryWatcher(directory);
+        }
+        if (ownWatcherService) {
+            watcherService.stop();
+        }
     }
 
     public void addExcludeMatcher(PathMatcher exclude) {
@@ -170,6 +175,44 @@ public class FileTreeWatcher {
         this.excludePatterns.remove(exclude);
     }
 
+    @Override
+    public synchronized void directoriesChanged(Set<Path> directories) {
+        for (Path directory : directories) {
+            if (watchedDirectories.containsKey(directory)) {
+                pendingDirectories.add(directory);
+            }
+        }
+        scheduleProcessing();
+    }
+
+    /** Hands pending directories off to own thread, directories that come while they are processed wait for the next run. */
+    private synchronized void scheduleProcessing() {
+        if (running && !processingScheduled && !pendingDirectories.isEmpty()) {
+            processingScheduled = true;
+            executor.execute(this::processPendingEvents);
+        }
+    }
+
+    private void processPendingEvents() {
+        final List<Path> directories;
+        synchronized (this) {
+            processingScheduled = false;
+            if (!running) {
+                return;
+            }
+            directories = newArrayList(pendingDirectories);
+            pendingDirectories.clear();
+        }
+        try {
+            processPendingEvents(directories);
+        } catch (Throwable e) {
+            synchronized (this) {
+                running = false;
+            }
+            fileWatcherNotificationHandler.errorOccurred(watchRoot, e);
+        }
+    }
+
     private void walkTreeAndSetupWatches(Path root) throws IOException {
         Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
             @Override
@@ -192,16 +235,6 @@ public class FileTreeWatcher {
         return true;
     }
 
-    private void walkTreeAndRemoveWatches(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                cancelDirectoryWatcher(dir);
-                return CONTINUE;
-            }
-        });
-    }
-
     private void walkTreeAndFireCreatedEvents(Path root) throws IOException {
         Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
             @Override
@@ -222,10 +255,8 @@ public class FileTreeWatcher {
 
     private void setupDirectoryWatcher(Path directory) throws IOException {
         if (watchedDirectories.get(directory) == null) {
-            WatchKey watchKey = directory.register(watchService,
-                                                   new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
-                                                   watchEventModifiers);
-            WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
+            watcherService.register(directory);
+            WatchedDirectory watchedDirectory = new WatchedDirectory(directory);
             try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
                 for (Path entry : entries) {
                     watchedDirectory
@@ -241,47 +272,13 @@ public class FileTreeWatcher {
     }
 
     private void cancelDirectoryWatcher(Path path) {
-        WatchedDirectory watchedDirectory = watchedDirectories.remove(path);
-        if (watchedDirectory != null) {
-            watchedDirectory.getWatchKey().cancel();
-        }
-    }
-
-    private class WatchEventTask implements Runnable {
-        final Set<PendingEvent> pendingEvents = newLinkedHashSet();
-
-        @Override
-        public void run() {
-            while (running.get()) {
-                try {
-                    WatchKey watchKey;
-                    if (pendingEvents.isEmpty()) {
-                        watchKey = watchService.take();
-                    } else {
-                        watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
-                        if (watchKey == null) {
-                            processPendingEvents(pendingEvents);
-                            pendingEvents.clear();
-                        }
-                    }
-                    if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
-                        watchKey.reset();
-                    }
-                } catch (InterruptedException | ClosedWatchServiceException e) {
-                    running.set(false);
-                } catch (Throwable e) {
-                    running.set(false);
-                    fileWatcherNotificationHandler.errorOccurred(watchRoot, e);
-                }
-            }
+        if (watchedDirectories.remove(path) != null) {
+            watcherService.unRegister(path);
         }
     }
 
-    private void processPendingEvents(Collection<PendingEvent> pendingEvents) throws IOException {
-        for (PendingEvent pendingEvent : pendingEvents) {
-            Path eventDirectoryPath = pendingEvent.getPath();
+    private void processPendingEvents(Collection<Path> pendingDirectories) throws IOException {
+        for (Path eventDirectoryPath : pendingDirectories) {
             WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
             if (watchedDirectory == null){
                 continue;
@@ -340,7 +337,7 @@ public class FileTreeWatcher {
                 for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
                     fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
                 }
-                watchedDirectories.remove(eventDirectoryPath);
+                cancelDirectoryWatcher(eventDirectoryPath);
             }
         }
     }
@@ -356,51 +353,16 @@ public class FileTreeWatcher {
         return getLastModifiedTime(path, NOFOLLOW_LINKS).toMillis();
     }
 
-    static class PendingEvent {
-        final Path path;
-
-        PendingEvent(Path path) {
-            this.path = path;
-        }
-
-        Path getPath() {
-            return path;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o instanceof PendingEvent) {
-                PendingEvent other = (PendingEvent)o;
-                return Objects.equals(path, other.path);
-            }
-            return false;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hashCode(path);
-        }
-    }
-
     static class WatchedDirectory {
         final Path                path;
-        final WatchKey            watchKey;
         final List<DirectoryItem> items;
         int hitCounter;
 
-        WatchedDirectory(Path path, WatchKey watchKey) {
+        WatchedDirectory(Path path) {
             this.path = path;
-            this.watchKey = watchKey;
             items = newArrayList();
         }
 
-        WatchKey getWatchKey() {
-            return watchKey;
-        }
-
         Path getPath() {
             return path;
         }
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+/**
+ * Serializer for cached hash sums of files.
+ *
+ * @see FileHashSumsCache
+ */
+class HashSumsSerializer implements DataSerializer<Map<String, FileHashSumsCache.CachedHashSum>> {
+    @Override
+    public void write(DataOutput output, Map<String, FileHashSumsCache.CachedHashSum> hashSums) throws IOException {
+        output.writeInt(hashSums.size());
+        for (Map.Entry<String, FileHashSumsCache.CachedHashSum> entry : hashSums.entrySet()) {
+            final FileHashSumsCache.CachedHashSum hashSum = entry.getValue();
+            output.writeUTF(entry.getKey());
+            output.writeLong(hashSum.length);
+            output.writeLong(hashSum.modified);
+            output.writeUTF(hashSum.hashSum);
+        }
+    }
+
+    @Override
+    public Map<String, FileHashSumsCache.CachedHashSum> read(DataInput input) throws IOException {
+        final int recordsNum = input.readInt();
+        final Map<String, FileHashSumsCache.CachedHashSum> hashSums = newHashMapWithExpectedSize(recordsNum);
+        for (int i = 0; i < recordsNum; i++) {
+            final String path = input.readUTF();
+            final long length = input.readLong();
+            final long modified = input.readLong();
+            hashSums.put(path, new FileHashSumsCache.CachedHashSum(length, modified, input.readUTF()));
+        }
+        return hashSums;
+    }
+}
@@ -52,16 +52,22 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newLinkedHashMap;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
@@ -88,6 +94,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final FileLock NO_LOCK                = new FileLock("no_lock", 0);
     private static final String   FILE_PROPERTIES_DIR    = VFS_SERVICE_DIR + File.separatorChar + "props";
     private static final String   PROPERTIES_FILE_SUFFIX = "_props";
+    private static final String   SNAPSHOTS_DIR          = VFS_SERVICE_DIR + File.separatorChar + "snapshots";
+    private static final String   MD5_SUMS_DIR           = VFS_SERVICE_DIR + File.separatorChar + "md5sums";
 
     private static final FilenameFilter DOT_VFS_DIR_FILTER = (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
 
@@ -124,6 +132,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final ArchiverFactory                                 archiverFactory;
     private final SearcherProvider                                searcherProvider;
     private final AbstractVirtualFileSystemProvider.CloseCallback closeCallback;
+    private final ContentAccessMode                               contentAccessMode;
 
     /* NOTE -- This does not related to virtual file system locking in any kind. -- */
     private final PathLockFactory pathLockFactory;
@@ -136,15 +145,27 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
-    @SuppressWarnings("unchecked")
+    private final HashSumsSerializer hashSumsSerializer;
+    private final ForkJoinPool       hashSumsPool;
+
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
                                   SearcherProvider searcherProvider,
                                   AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+        this(ioRoot, archiverFactory, searcherProvider, closeCallback, ContentAccessMode.SPOOL);
+    }
+
+    @SuppressWarnings("unchecked")
+    public LocalVirtualFileSystem(File ioRoot,
+                                  ArchiverFactory archiverFactory,
+                                  SearcherProvider searcherProvider,
+                                  AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+                                  ContentAccessMode contentAccessMode) {
         this.ioRoot = ioRoot;
         this.archiverFactory = archiverFactory;
         this.searcherProvider = searcherProvider;
         this.closeCallback = closeCallback;
+        this.contentAccessMode = contentAccessMode;
 
         root = new LocalVirtualFile(ioRoot, Path.ROOT, this);
         pathLockFactory = new PathLockFactory(FILE_LOCK_MAX_THREADS);
@@ -162,6 +183,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        hashSumsSerializer = new HashSumsSerializer();
+        hashSumsPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
     }
 
     @Override
@@ -177,6 +201,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        hashSumsPool.shutdown();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -243,7 +268,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    /* Listing of directory doesn't change state of virtual filesystem, so it isn't synchronized and may be performed concurrently. */
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
             final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
             Collections.sort(children);
@@ -259,7 +285,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             ioFileFilter = IoUtil.ANY_FILTER;
         }
 
-        final String[] names = parent.toIoFile().list(ioFileFilter);
+        final File parentIoFile = parent.toIoFile();
+        final String[] names = parentIoFile.list(ioFileFilter);
         if (names == null) {
             throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
         }
@@ -271,7 +298,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         final List<VirtualFile> children = newArrayListWithCapacity(names.length);
         for (String name : names) {
             final Path childPath = parent.getPath().newPath(name);
-            final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
+            final LocalVirtualFile child = new LocalVirtualFile(new File(parentIoFile, name), childPath, this);
             if (vfsFilter.accept(child)) {
                 children.add(child);
             }
@@ -494,6 +521,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             File spoolFile = null;
             try {
                 final File ioFile = virtualFile.toIoFile();
+                if (contentAccessMode == ContentAccessMode.SNAPSHOT) {
+                    // Opened file keeps its content even if file is replaced by update, so lock may be released.
+                    return new FileInputStream(ioFile);
+                }
                 final long fileLength = ioFile.length();
                 if (fileLength <= MAX_BUFFER_SIZE) {
                     return new ByteArrayInputStream(Files.toByteArray(ioFile));
@@ -538,6 +569,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
 
     private void doUpdateContent(LocalVirtualFile virtualFile, InputStream content) throws ServerException {
+        if (contentAccessMode == ContentAccessMode.SNAPSHOT) {
+            replaceContent(virtualFile, content);
+            return;
+        }
         try (FileOutputStream fileOut = new FileOutputStream(virtualFile.toIoFile())) {
             ByteStreams.copy(content, fileOut);
         } catch (IOException e) {
@@ -547,6 +582,49 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    /**
+     * Writes content to temporary file and atomically replaces file with it, so readers of previous content aren't affected.
+     * Symbolic links are kept, the file which link points to is replaced.
+     */
+    private void replaceContent(LocalVirtualFile virtualFile, InputStream content) throws ServerException {
+        java.nio.file.Path snapshot = null;
+        try {
+            final java.nio.file.Path target = virtualFile.toIoFile().toPath().toRealPath();
+            final File snapshotsDir = new File(ioRoot, SNAPSHOTS_DIR);
+            if (!(snapshotsDir.exists() || snapshotsDir.mkdirs())) {
+                throw new IOException(String.format("Unable create directory '%s'", snapshotsDir));
+            }
+            snapshot = java.nio.file.Files.createTempFile(snapshotsDir.toPath(), "snapshot", null);
+            try (FileOutputStream fileOut = new FileOutputStream(snapshot.toFile())) {
+                ByteStreams.copy(content, fileOut);
+            }
+            try {
+                java.nio.file.Files.setPosixFilePermissions(snapshot, java.nio.file.Files.getPosixFilePermissions(target));
+            } catch (UnsupportedOperationException ignored) {
+                // not POSIX file system
+            }
+            replace(snapshot, target);
+            snapshot = null;
+        } catch (IOException e) {
+            String errorMessage = String.format("Unable set content of '%s'", virtualFile.getPath());
+            LOG.error(errorMessage + "\n" + e.getMessage(), e);
+            throw new ServerException(errorMessage);
+        } finally {
+            if (snapshot != null) {
+                FileCleaner.addFile(snapshot.toFile());
+            }
+        }
+    }
+
+    /** Moves source over target, move isn't atomic if file system doesn't support it, e.g. target is on other mount. */
+    private static void replace(java.nio.file.Path source, java.nio.file.Path target) throws IOException {
+        try {
+            java.nio.file.Files.move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            java.nio.file.Files.move(source, target, REPLACE_EXISTING);
+        }
+    }
+
     void delete(LocalVirtualFile virtualFile, String lockToken) throws ForbiddenException, ServerException {
         if (virtualFile.isRoot()) {
             throw new ForbiddenException("Unable delete root folder");
@@ -608,6 +686,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    void zip(LocalVirtualFile folder, OutputStream zipOutput) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            compress(archiverFactory.createArchiver(folder, "zip"), zipOutput);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
+
     void unzip(LocalVirtualFile parent, InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
@@ -633,6 +723,17 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    void tar(LocalVirtualFile folder, OutputStream tarOutput) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            compress(archiverFactory.createArchiver(folder, "tar"), tarOutput);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to tar archive. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
     void untar(LocalVirtualFile parent, InputStream tarArchive, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
@@ -662,6 +763,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    private void compress(Archiver archiver, OutputStream output) throws ServerException {
+        try {
+            archiver.compress(output, dotGitFilter());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     private void extract(Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
             throws ConflictException, ServerException, ForbiddenException {
         try {
@@ -908,7 +1017,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         if (virtualFile.isFile()) {
             return emptyList();
         }
-        return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+        final FileHashSumsCache cache = new FileHashSumsCache(getMd5SumsIoFile(virtualFile.getPath()), hashSumsSerializer);
+        final List<Pair<String, String>> md5Sums = new HashSumsCounter(virtualFile, Hashing.md5(), cache, hashSumsPool).countHashSums();
+        cache.save();
+        return md5Sums;
+    }
+
+    private File getMd5SumsIoFile(Path virtualFolderPath) {
+        final String md5SumsFileName = Hashing.md5().hashString(virtualFolderPath.toString(), UTF_8).toString();
+        return new File(ioRoot, MD5_SUMS_DIR + File.separatorChar + md5SumsFileName);
     }
 
 
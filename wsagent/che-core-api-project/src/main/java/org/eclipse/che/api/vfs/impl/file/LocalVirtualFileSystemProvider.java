@@ -15,6 +15,7 @@ import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.commons.annotation.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -25,19 +26,39 @@ import java.nio.file.Files;
 
 @Singleton
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
-    private final File             rootDirectory;
-    private final SearcherProvider searcherProvider;
+    private final File              rootDirectory;
+    private final SearcherProvider  searcherProvider;
+    private final ContentAccessMode contentAccessMode;
+    private final ArchiverFactory   archiverFactory;
 
+    public LocalVirtualFileSystemProvider(File rootDirectory, SearcherProvider searcherProvider) throws IOException {
+        this(rootDirectory, searcherProvider, null, new ArchiverFactory(0));
+    }
+
+    /**
+     * @param rootDirectory
+     *         root directory of virtual filesystem
+     * @param searcherProvider
+     *         provider of searcher for virtual filesystem
+     * @param contentAccessMode
+     *         name of {@link ContentAccessMode}, {@code null} means {@link ContentAccessMode#SPOOL}
+     * @param archiverFactory
+     *         factory of archivers used to export folders of virtual filesystem
+     */
     @Inject
     public LocalVirtualFileSystemProvider(@Named("che.user.workspaces.storage") File rootDirectory,
-                                          SearcherProvider searcherProvider) throws IOException {
+                                          SearcherProvider searcherProvider,
+                                          @Nullable @Named("vfs.local.content_access_mode") String contentAccessMode,
+                                          ArchiverFactory archiverFactory) throws IOException {
         this.rootDirectory = rootDirectory;
         this.searcherProvider = searcherProvider;
+        this.contentAccessMode = ContentAccessMode.fromString(contentAccessMode);
+        this.archiverFactory = archiverFactory;
         Files.createDirectories(rootDirectory.toPath());
     }
 
     @Override
     protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) throws ServerException {
-        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        return new LocalVirtualFileSystem(rootDirectory, archiverFactory, searcherProvider, closeCallback, contentAccessMode);
     }
 }
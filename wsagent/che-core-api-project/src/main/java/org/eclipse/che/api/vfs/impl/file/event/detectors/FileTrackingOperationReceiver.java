@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import static java.nio.charset.Charset.defaultCharset;
@@ -68,7 +69,7 @@ public class FileTrackingOperationReceiver extends RequestHandler<FileTrackingOp
     private static final String OUTGOING_METHOD = "event:file-state-changed";
 
     private final Map<String, String>  hashRegistry    = new HashMap<>();
-    private final Map<String, Integer> watchIdRegistry = new HashMap<>();
+    private final Map<String, Integer> watchIdRegistry = new ConcurrentHashMap<>();
 
     private final RequestTransmitter        transmitter;
     private       File                      root;
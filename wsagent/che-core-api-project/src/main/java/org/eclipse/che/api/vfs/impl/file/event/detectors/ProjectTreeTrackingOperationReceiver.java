@@ -20,12 +20,12 @@ import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -43,7 +43,7 @@ public class ProjectTreeTrackingOperationReceiver extends RequestHandler<Project
 
     private static final String OUTGOING_METHOD = "event:project-tree-state-changed";
 
-    private final Map<String, Integer> watchIdRegistry = new HashMap<>();
+    private final Map<String, Integer> watchIdRegistry = new ConcurrentHashMap<>();
     private final Set<String>          timer           = newConcurrentHashSet();
 
 
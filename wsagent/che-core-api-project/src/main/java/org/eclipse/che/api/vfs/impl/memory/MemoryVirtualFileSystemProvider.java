@@ -29,6 +29,6 @@ public class MemoryVirtualFileSystemProvider extends AbstractVirtualFileSystemPr
 
     @Override
     protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) {
-        return new MemoryVirtualFileSystem(new ArchiverFactory(), searcherProvider, closeCallback);
+        return new MemoryVirtualFileSystem(new ArchiverFactory(0), searcherProvider, closeCallback);
     }
 }
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Snapshot of progress of indexing of whole virtual filesystem.
+ */
+public class IndexingStatistics {
+    /** Statistics of searcher that has not started indexing yet. */
+    public static final IndexingStatistics NOT_STARTED = new IndexingStatistics(false, 0, 0, 0, 0, 0);
+
+    private final boolean running;
+    private final long    indexedFiles;
+    private final long    skippedFiles;
+    private final long    indexedBytes;
+    private final long    startTime;
+    private final long    elapsedTimeMillis;
+
+    public IndexingStatistics(boolean running,
+                              long indexedFiles,
+                              long skippedFiles,
+                              long indexedBytes,
+                              long startTime,
+                              long elapsedTimeMillis) {
+        this.running = running;
+        this.indexedFiles = indexedFiles;
+        this.skippedFiles = skippedFiles;
+        this.indexedBytes = indexedBytes;
+        this.startTime = startTime;
+        this.elapsedTimeMillis = elapsedTimeMillis;
+    }
+
+    /** Whether indexing is still in progress. */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Number of files added to index. */
+    public long getIndexedFiles() {
+        return indexedFiles;
+    }
+
+    /** Number of files that were not re-indexed because index is up to date with them. */
+    public long getSkippedFiles() {
+        return skippedFiles;
+    }
+
+    /** Number of bytes of content of files added to index. */
+    public long getIndexedBytes() {
+        return indexedBytes;
+    }
+
+    /** Time when indexing was started or {@code 0} if indexing was not started. */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /** Time spent on indexing so far. */
+    public long getElapsedTimeMillis() {
+        return elapsedTimeMillis;
+    }
+
+    /** Average number of files added to index per second. */
+    public double getFilesPerSecond() {
+        return elapsedTimeMillis == 0 ? 0 : indexedFiles * 1000.0 / elapsedTimeMillis;
+    }
+
+    /** Average number of bytes of content added to index per second. */
+    public double getBytesPerSecond() {
+        return elapsedTimeMillis == 0 ? 0 : indexedBytes * 1000.0 / elapsedTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingStatistics{" +
+               "running=" + running +
+               ", indexedFiles=" + indexedFiles +
+               ", skippedFiles=" + skippedFiles +
+               ", indexedBytes=" + indexedBytes +
+               ", startTime=" + startTime +
+               ", elapsedTimeMillis=" + elapsedTimeMillis +
+               '}';
+    }
+}
@@ -14,9 +14,11 @@ package org.eclipse.che.api.vfs.search;
 public class QueryExpression {
     private String name;
     private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  text;
+    private boolean regex;
+    private boolean includeOccurrences;
+    private int     skipCount;
+    private int     maxItems;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +50,32 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Whether {@link #getText() text} is regular expression. Syntax of expression depends on the index of searcher, see
+     * {@link org.eclipse.che.api.vfs.search.impl.LuceneIndexMode}.
+     */
+    public boolean isRegex() {
+        return regex;
+    }
+
+    public QueryExpression setRegex(boolean regex) {
+        this.regex = regex;
+        return this;
+    }
+
+    /**
+     * Whether matches of {@link #getText() text} inside of each found file, together with line numbers and content of lines,
+     * should be included in search result.
+     */
+    public boolean isIncludeOccurrences() {
+        return includeOccurrences;
+    }
+
+    public QueryExpression setIncludeOccurrences(boolean includeOccurrences) {
+        this.includeOccurrences = includeOccurrences;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -72,6 +100,8 @@ public class QueryExpression {
     public String toString() {
         return "QueryExpression{" +
                "text='" + text + '\'' +
+               ", regex=" + regex +
+               ", includeOccurrences=" + includeOccurrences +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import java.util.Objects;
+
+/**
+ * Single match of query text inside of file.
+ */
+public class SearchOccurrence {
+    private final String phrase;
+    private final int    startOffset;
+    private final int    endOffset;
+    private final int    lineNumber;
+    private final String lineContent;
+
+    public SearchOccurrence(String phrase, int startOffset, int endOffset, int lineNumber, String lineContent) {
+        this.phrase = phrase;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.lineNumber = lineNumber;
+        this.lineContent = lineContent;
+    }
+
+    /** Matched text as it appears in file. */
+    public String getPhrase() {
+        return phrase;
+    }
+
+    /** Offset of the first character of match from the beginning of file. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Offset after the last character of match from the beginning of file. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /** Number of line that contains the beginning of match, the first line has number 1. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Content of line that contains the beginning of match without line separator. */
+    public String getLineContent() {
+        return lineContent;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchOccurrence)) {
+            return false;
+        }
+        SearchOccurrence other = (SearchOccurrence)o;
+        return startOffset == other.startOffset
+               && endOffset == other.endOffset
+               && lineNumber == other.lineNumber
+               && Objects.equals(phrase, other.phrase)
+               && Objects.equals(lineContent, other.lineContent);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(phrase, startOffset, endOffset, lineNumber, lineContent);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOccurrence{" +
+               "phrase='" + phrase + '\'' +
+               ", startOffset=" + startOffset +
+               ", endOffset=" + endOffset +
+               ", lineNumber=" + lineNumber +
+               ", lineContent='" + lineContent + '\'' +
+               '}';
+    }
+}
@@ -10,18 +10,36 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search;
 
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
 /**
  * Single item in {@code SearchResult}.
  */
 public class SearchResultEntry {
-    private final String filePath;
+    private final String                 filePath;
+    private final List<SearchOccurrence> occurrences;
 
     public SearchResultEntry(String filePath) {
+        this(filePath, null);
+    }
+
+    public SearchResultEntry(String filePath, List<SearchOccurrence> occurrences) {
         this.filePath = filePath;
+        this.occurrences = occurrences == null ? emptyList() : occurrences;
     }
 
     /** Path of file that matches the search criteria. */
     public String getFilePath() {
         return filePath;
     }
+
+    /**
+     * Matches of query text inside of file. List is empty if query doesn't contain text or occurrences were not requested with
+     * {@link QueryExpression#setIncludeOccurrences(boolean)}.
+     */
+    public List<SearchOccurrence> getOccurrences() {
+        return occurrences;
+    }
 }
@@ -56,6 +56,9 @@ public interface Searcher {
      */
     void update(VirtualFile virtualFile) throws ServerException;
 
+    /** Gets progress of indexing of whole virtual filesystem that is performed when searcher is initialized. */
+    IndexingStatistics getIndexingStatistics();
+
     /** Close Searcher. */
     void close();
 
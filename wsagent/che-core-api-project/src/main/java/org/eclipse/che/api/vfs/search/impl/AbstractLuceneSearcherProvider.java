@@ -32,6 +32,7 @@ import static com.google.common.collect.Lists.newArrayList;
 
 public abstract class AbstractLuceneSearcherProvider implements SearcherProvider {
     protected final VirtualFileFilter excludeFileIndexFilters;
+    protected final LuceneIndexMode   indexMode;
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
     private final ExecutorService executor;
 
@@ -40,7 +41,18 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
      *         set filter for files that should not be indexed
      */
     protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters) {
+        this(excludeFileIndexFilters, LuceneIndexMode.WORDS);
+    }
+
+    /**
+     * @param excludeFileIndexFilters
+     *         set filter for files that should not be indexed
+     * @param indexMode
+     *         mode of index for searchers created by this provider
+     */
+    protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters, LuceneIndexMode indexMode) {
         this.excludeFileIndexFilters = mergeFileIndexFilters(excludeFileIndexFilters);
+        this.indexMode = indexMode;
         executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
                                                              .setDaemon(true)
                                                              .setUncaughtExceptionHandler(
@@ -20,40 +20,114 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Properties;
 
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 /**
- * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Filesystem based LuceneSearcher. Non-persistent searcher cleans index directory after call method {@link #close()}. Persistent
+ * searcher keeps index directory and reconciles existed index with virtual filesystem on initialization.
  *
  * @author andrew00x
  */
 public class FSLuceneSearcher extends LuceneSearcher {
     private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
 
-    private final File indexDirectory;
+    /** Version of document structure, must be increased each time when persistent index becomes incompatible with the code. */
+    private static final String INDEX_FORMAT_VERSION = "1";
+    private static final String INDEX_PROPERTIES     = "che-index.properties";
+    private static final String VERSION_PROPERTY     = "version";
+    private static final String MODE_PROPERTY        = "mode";
+
+    private final File    indexDirectory;
+    private final boolean persistent;
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
         this(indexDirectory, filter, null);
     }
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
-        super(filter, closeCallback);
+        this(indexDirectory, filter, closeCallback, LuceneIndexMode.WORDS);
+    }
+
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     LuceneIndexMode indexMode) {
+        this(indexDirectory, filter, closeCallback, indexMode, false);
+    }
+
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     LuceneIndexMode indexMode,
+                     boolean persistent) {
+        super(filter, closeCallback, indexMode);
         this.indexDirectory = indexDirectory;
+        this.persistent = persistent;
+    }
+
+    @Override
+    protected boolean isIndexPersistent() {
+        return persistent;
     }
 
     @Override
     protected Directory makeDirectory() throws ServerException {
         try {
+            if (persistent) {
+                checkIndexFormat();
+            }
             return FSDirectory.open(indexDirectory.toPath(), new SingleInstanceLockFactory());
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
+    /** Drops existed index if it was created with another index mode or by incompatible version of code. */
+    private void checkIndexFormat() throws IOException {
+        final Properties expected = new Properties();
+        expected.setProperty(VERSION_PROPERTY, INDEX_FORMAT_VERSION);
+        expected.setProperty(MODE_PROPERTY, getIndexMode().name());
+
+        final File propertiesFile = new File(indexDirectory, INDEX_PROPERTIES);
+        if (propertiesFile.exists()) {
+            final Properties actual = new Properties();
+            try (InputStream in = new FileInputStream(propertiesFile)) {
+                actual.load(in);
+            }
+            if (expected.equals(actual)) {
+                return;
+            }
+            LOG.info("Index in '{}' has incompatible format {}, it will be created from scratch", indexDirectory, actual);
+        }
+
+        final File[] files = indexDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!deleteRecursive(file)) {
+                    throw new IOException(String.format("Unable delete '%s' from index directory", file));
+                }
+            }
+        }
+        Files.createDirectories(indexDirectory.toPath());
+        try (OutputStream out = new FileOutputStream(propertiesFile)) {
+            expected.store(out, null);
+        }
+    }
+
     @Override
     protected void afterClose() throws IOException {
+        if (persistent) {
+            super.afterClose();
+            return;
+        }
         if (!deleteRecursive(indexDirectory)) {
             LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
             FileCleaner.addFile(indexDirectory);
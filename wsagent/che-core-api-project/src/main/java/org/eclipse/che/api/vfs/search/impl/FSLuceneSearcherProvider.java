@@ -11,6 +11,7 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import org.eclipse.che.api.vfs.VirtualFileFilters;
+import org.eclipse.che.commons.annotation.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -26,7 +27,10 @@ import static com.google.common.collect.Sets.newHashSet;
 
 @Singleton
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
-    private final File indexRootDirectory;
+    private final File    indexRootDirectory;
+    private final boolean persistentIndex;
+    private final int     indexingThreads;
+    private final long    indexingReadAheadBytes;
 
     /**
      * @param indexRootDirectory
@@ -35,16 +39,47 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
      *         set filter for files that should not be indexed
      * @see LuceneSearcher
      */
+    public FSLuceneSearcherProvider(File indexRootDirectory, Set<PathMatcher> excludePatterns) throws IOException {
+        this(indexRootDirectory, excludePatterns, null, false, 0, 0);
+    }
+
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @param indexMode
+     *         name of {@link LuceneIndexMode}, {@code null} means {@link LuceneIndexMode#WORDS}
+     * @param persistentIndex
+     *         if {@code true} index is kept between restarts and only changed files are re-indexed on startup, otherwise index is
+     *         removed when searcher is closed
+     * @param indexingThreads
+     *         number of threads used for initial indexing of virtual filesystem, {@code 0} means number of available processors
+     * @param indexingReadAheadMb
+     *         max amount of files content in megabytes that is read in advance while initial indexing is in progress, {@code 0}
+     *         means default value
+     * @see LuceneSearcher
+     */
     @Inject
     public FSLuceneSearcherProvider(@Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
-                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns) throws IOException {
-        super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)));
+                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                                    @Nullable @Named("vfs.local.fs_index_mode") String indexMode,
+                                    @Named("vfs.local.fs_index_persistent") boolean persistentIndex,
+                                    @Named("vfs.local.fs_index_threads") int indexingThreads,
+                                    @Named("vfs.local.fs_index_read_ahead_mb") int indexingReadAheadMb) throws IOException {
+        super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)), LuceneIndexMode.fromString(indexMode));
         this.indexRootDirectory = indexRootDirectory;
+        this.persistentIndex = persistentIndex;
+        this.indexingThreads = indexingThreads;
+        this.indexingReadAheadBytes = indexingReadAheadMb * 1024L * 1024L;
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback);
+        final LuceneSearcher searcher =
+                new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback, indexMode, persistentIndex);
+        searcher.configureIndexing(indexingThreads, indexingReadAheadBytes);
+        return searcher;
     }
 }
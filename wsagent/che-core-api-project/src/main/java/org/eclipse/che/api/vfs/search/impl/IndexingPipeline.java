@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.search.IndexingStatistics;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Indexes whole tree of virtual filesystem in parallel. Pipeline consists of two stages:
+ * <ul>
+ * <li>walkers list folders in parallel and read content of selected files in advance. Amount of content that is read but not
+ * indexed yet is limited, so walkers are blocked when indexers can't keep up with them</li>
+ * <li>indexers add files to index, all of them share the same thread-safe lucene index writer. Changes are committed
+ * periodically</li>
+ * </ul>
+ * Instance of pipeline is designed for single run.
+ */
+class IndexingPipeline {
+    private static final Logger LOG = LoggerFactory.getLogger(IndexingPipeline.class);
+
+    /** Number of indexed files after which changes are committed to index. */
+    static final int COMMIT_INTERVAL = 10_000;
+
+    private static final int         QUEUE_CAPACITY = 1024;
+    private static final int         PERMIT_SIZE    = 1024;
+    private static final PendingFile END            = new PendingFile(null, false, null, 0);
+
+    /** Decides whether file should be added to index. */
+    interface FileSelector {
+        boolean accept(VirtualFile file) throws ServerException;
+    }
+
+    private final LuceneSearcher             searcher;
+    private final int                        threads;
+    private final int                        readAheadPermits;
+    private final BlockingQueue<PendingFile> queue;
+    private final Semaphore                  readAhead;
+    private final AtomicInteger              pendingFolders;
+    private final AtomicReference<Throwable> error;
+    private final AtomicLong                 indexedFiles;
+    private final AtomicLong                 skippedFiles;
+    private final AtomicLong                 indexedBytes;
+
+    private ExecutorService walkers;
+    private FileSelector    selector;
+
+    private volatile boolean running;
+    private volatile long    startTime;
+    private volatile long    endTime;
+
+    /**
+     * @param searcher
+     *         searcher which index is populated
+     * @param threads
+     *         number of threads of each stage of pipeline
+     * @param readAheadBytes
+     *         max amount of content that may be read in advance, files bigger than this limit are streamed directly to index
+     */
+    IndexingPipeline(LuceneSearcher searcher, int threads, long readAheadBytes) {
+        this.searcher = searcher;
+        this.threads = Math.max(1, threads);
+        this.readAheadPermits = (int)Math.min(Integer.MAX_VALUE, Math.max(1, readAheadBytes / PERMIT_SIZE));
+        queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        readAhead = new Semaphore(readAheadPermits);
+        pendingFolders = new AtomicInteger();
+        error = new AtomicReference<>();
+        indexedFiles = new AtomicLong();
+        skippedFiles = new AtomicLong();
+        indexedBytes = new AtomicLong();
+    }
+
+    /**
+     * Indexes all files of the tree accepted by selector. Method returns when all files are indexed and changes are committed.
+     *
+     * @throws ServerException
+     *         if any error occurs while walking through the tree or indexing, in this case indexing of remaining files is stopped
+     */
+    void run(VirtualFile tree, FileSelector selector) throws ServerException {
+        this.selector = selector;
+        startTime = System.currentTimeMillis();
+        running = true;
+        walkers = Executors.newFixedThreadPool(threads, threadFactory("LuceneIndexWalker-%d"));
+        final ExecutorService indexers = Executors.newFixedThreadPool(threads, threadFactory("LuceneIndexer-%d"));
+        try {
+            for (int i = 0; i < threads; i++) {
+                indexers.execute(this::index);
+            }
+            pendingFolders.incrementAndGet();
+            walkers.execute(() -> walk(tree));
+            indexers.shutdown();
+            while (!indexers.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.info("Indexing of {} is in progress: {}", tree.getPath(), getStatistics());
+            }
+            searcher.getIndexWriter().commit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error.compareAndSet(null, e);
+        } catch (IOException e) {
+            error.compareAndSet(null, e);
+        } finally {
+            walkers.shutdownNow();
+            indexers.shutdownNow();
+            endTime = System.currentTimeMillis();
+            running = false;
+        }
+
+        final IndexingStatistics statistics = getStatistics();
+        LOG.info("Indexed {} files ({} bytes) from {}, skipped {} up to date files, time: {} ms, {} files/s, {} bytes/s",
+                 statistics.getIndexedFiles(), statistics.getIndexedBytes(), tree.getPath(), statistics.getSkippedFiles(),
+                 statistics.getElapsedTimeMillis(), (long)statistics.getFilesPerSecond(), (long)statistics.getBytesPerSecond());
+
+        final Throwable failure = error.get();
+        if (failure instanceof Error) {
+            throw (Error)failure;
+        } else if (failure instanceof ServerException) {
+            throw (ServerException)failure;
+        } else if (failure != null) {
+            throw new ServerException(failure.getMessage(), failure);
+        }
+    }
+
+    IndexingStatistics getStatistics() {
+        final long start = startTime;
+        final long elapsed = start == 0 ? 0 : (running ? System.currentTimeMillis() : endTime) - start;
+        return new IndexingStatistics(running, indexedFiles.get(), skippedFiles.get(), indexedBytes.get(), start, elapsed);
+    }
+
+    private void walk(VirtualFile folder) {
+        try {
+            if (error.get() == null && folder.exists()) {
+                for (VirtualFile child : folder.getChildren()) {
+                    if (error.get() != null) {
+                        break;
+                    }
+                    if (child.isFolder()) {
+                        pendingFolders.incrementAndGet();
+                        walkers.execute(() -> walk(child));
+                    } else if (selector.accept(child)) {
+                        queue.put(readAhead(child));
+                    } else {
+                        skippedFiles.incrementAndGet();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error.compareAndSet(null, e);
+        } catch (Throwable e) {
+            error.compareAndSet(null, e);
+        } finally {
+            if (pendingFolders.decrementAndGet() == 0) {
+                finishWalking();
+            }
+        }
+    }
+
+    private PendingFile readAhead(VirtualFile file) throws ServerException, InterruptedException {
+        if (!searcher.shouldIndexContent(file)) {
+            return new PendingFile(file, false, null, 0);
+        }
+        final long length = file.getLength();
+        final int permits = (int)Math.max(1, (length + PERMIT_SIZE - 1) / PERMIT_SIZE);
+        if (length > Integer.MAX_VALUE || permits > readAheadPermits) {
+            // too big to be kept in memory, indexer reads content itself
+            return new PendingFile(file, true, null, 0);
+        }
+        readAhead.acquire(permits);
+        try (InputStream content = file.getContent()) {
+            return new PendingFile(file, true, ByteStreams.toByteArray(content), permits);
+        } catch (ForbiddenException e) {
+            readAhead.release(permits);
+            throw new ServerException(e.getServiceError());
+        } catch (IOException | RuntimeException e) {
+            readAhead.release(permits);
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    private void finishWalking() {
+        try {
+            for (int i = 0; i < threads; i++) {
+                queue.put(END);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error.compareAndSet(null, e);
+        }
+    }
+
+    private void index() {
+        try {
+            PendingFile pending;
+            while ((pending = queue.take()) != END) {
+                try {
+                    // after failure queue is still drained to release blocked walkers
+                    if (error.get() == null) {
+                        searcher.indexFile(pending.file, pending.indexContent, pending.content);
+                        indexedBytes.addAndGet(pending.content != null ? pending.content.length
+                                                                       : pending.indexContent ? pending.file.getLength() : 0);
+                        if (indexedFiles.incrementAndGet() % COMMIT_INTERVAL == 0) {
+                            searcher.getIndexWriter().commit();
+                            LOG.debug("Indexing progress: {}", getStatistics());
+                        }
+                    }
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                } finally {
+                    readAhead.release(pending.permits);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error.compareAndSet(null, e);
+        }
+    }
+
+    private static ThreadFactory threadFactory(String nameFormat) {
+        return new ThreadFactoryBuilder().setDaemon(true)
+                                         .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                         .setNameFormat(nameFormat)
+                                         .build();
+    }
+
+    private static class PendingFile {
+        final VirtualFile file;
+        final boolean     indexContent;
+        final byte[]      content;
+        final int         permits;
+
+        PendingFile(VirtualFile file, boolean indexContent, byte[] content, int permits) {
+            this.file = file;
+            this.indexContent = indexContent;
+            this.content = content;
+            this.permits = permits;
+        }
+    }
+}
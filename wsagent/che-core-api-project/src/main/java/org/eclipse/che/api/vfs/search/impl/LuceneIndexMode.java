@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+/**
+ * Describes how content of files is indexed by {@link LuceneSearcher}.
+ */
+public enum LuceneIndexMode {
+    /**
+     * Content is split in whitespace separated lower-cased words. Text of query is parsed with lucene query parser, so it is
+     * possible to find only whole words or use wildcards.
+     */
+    WORDS,
+    /**
+     * Content is split in overlapping lower-cased trigrams. Text of query is treated as case-insensitive substring or regular
+     * expression. Trigrams of query are used to select candidate files, then each candidate is verified against the query.
+     */
+    TRIGRAM;
+
+    /**
+     * Parses index mode from its name, case is ignored.
+     *
+     * @param name
+     *         name of mode, {@code null} or empty string means {@link #WORDS}
+     * @throws IllegalArgumentException
+     *         if name is not a name of any mode
+     */
+    public static LuceneIndexMode fromString(String name) {
+        if (name == null || name.isEmpty()) {
+            return WORDS;
+        }
+        for (LuceneIndexMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unsupported index mode '%s'", name));
+    }
+}
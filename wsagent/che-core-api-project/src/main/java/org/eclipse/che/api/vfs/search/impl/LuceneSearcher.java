@@ -10,39 +10,55 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.io.CharStreams;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.RegexpQuery;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
+import org.eclipse.che.api.vfs.search.IndexingStatistics;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -50,15 +66,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 
 /**
  * Lucene based searcher.
@@ -66,17 +90,41 @@ import static com.google.common.collect.Lists.newArrayList;
  * @author andrew00x
  */
 public abstract class LuceneSearcher implements Searcher {
-    private static final Logger LOG          = LoggerFactory.getLogger(LuceneSearcher.class);
-    private static final int    RESULT_LIMIT = 1000;
-    private static final String PATH_FIELD   = "path";
-    private static final String NAME_FIELD   = "name";
-    private static final String TEXT_FIELD   = "text";
+    private static final Logger LOG            = LoggerFactory.getLogger(LuceneSearcher.class);
+    private static final int    RESULT_LIMIT   = 1000;
+    /** Max number of candidate files which content is read to verify one page of trigram search. */
+    private static final int    VERIFY_LIMIT   = 10 * RESULT_LIMIT;
+    private static final String PATH_FIELD     = "path";
+    private static final String NAME_FIELD     = "name";
+    private static final String TEXT_FIELD     = "text";
+    private static final String GRAM_FIELD     = "gram";
+    private static final String LENGTH_FIELD   = "length";
+    private static final String MODIFIED_FIELD = "modified";
+
+    /** Default max amount of files content that is read in advance while initial indexing is in progress. */
+    public static final long DEFAULT_INDEXING_READ_AHEAD = 64 * 1024 * 1024;
+
+    private static final FieldType GRAM_FIELD_TYPE = new FieldType();
+
+    static {
+        GRAM_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+        GRAM_FIELD_TYPE.setTokenized(true);
+        GRAM_FIELD_TYPE.setOmitNorms(true);
+        GRAM_FIELD_TYPE.freeze();
+    }
 
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final LuceneIndexMode                              indexMode;
+    private final TrigramQueryPlanner                          trigramQueryPlanner;
 
-    private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
+    private IndexWriter       luceneIndexWriter;
+    private SearcherManager   searcherManager;
+    private VirtualFileSystem virtualFileSystem;
+
+    private volatile int              indexingThreads        = Runtime.getRuntime().availableProcessors();
+    private volatile long             indexingReadAheadBytes = DEFAULT_INDEXING_READ_AHEAD;
+    private volatile IndexingPipeline indexingPipeline;
 
     private boolean closed = true;
 
@@ -94,11 +142,52 @@ public abstract class LuceneSearcher implements Searcher {
      *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
      */
     protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+        this(excludeFileIndexFilter, closeCallback, LuceneIndexMode.WORDS);
+    }
+
+    /**
+     * @param excludeFileIndexFilter
+     *         common filter for files that should not be indexed. If complex excluding rules needed then few filters might be combined
+     *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
+     * @param indexMode
+     *         defines how content of files is indexed and how text of query is interpreted
+     */
+    protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             LuceneIndexMode indexMode) {
         this.closeCallback = closeCallback;
+        this.indexMode = indexMode;
+        trigramQueryPlanner = new TrigramQueryPlanner(GRAM_FIELD);
         excludeFileIndexFilters = new CopyOnWriteArrayList<>();
         excludeFileIndexFilters.add(excludeFileIndexFilter);
     }
 
+    public LuceneIndexMode getIndexMode() {
+        return indexMode;
+    }
+
+    /**
+     * Configures initial indexing of virtual filesystem. Must be called before {@link #init(VirtualFileSystem)} or
+     * {@link #initAsynchronously(ExecutorService, VirtualFileSystem)}.
+     *
+     * @param threads
+     *         number of threads that walk through the filesystem and number of threads that add files to index, value less then
+     *         {@code 1} means number of available processors
+     * @param readAheadBytes
+     *         max amount of files content that may be read but not indexed yet, value less then {@code 1} means
+     *         {@link #DEFAULT_INDEXING_READ_AHEAD}
+     */
+    public void configureIndexing(int threads, long readAheadBytes) {
+        this.indexingThreads = threads < 1 ? Runtime.getRuntime().availableProcessors() : threads;
+        this.indexingReadAheadBytes = readAheadBytes < 1 ? DEFAULT_INDEXING_READ_AHEAD : readAheadBytes;
+    }
+
+    @Override
+    public IndexingStatistics getIndexingStatistics() {
+        final IndexingPipeline pipeline = indexingPipeline;
+        return pipeline == null ? IndexingStatistics.NOT_STARTED : pipeline.getStatistics();
+    }
+
     @Override
     public boolean addIndexFilter(VirtualFileFilter indexFilter) {
         return excludeFileIndexFilters.add(indexFilter);
@@ -113,7 +202,9 @@ public abstract class LuceneSearcher implements Searcher {
         return new Analyzer() {
             @Override
             protected TokenStreamComponents createComponents(String fieldName) {
-                Tokenizer tokenizer = new WhitespaceTokenizer();
+                Tokenizer tokenizer = GRAM_FIELD.equals(fieldName)
+                                      ? new NGramTokenizer(TrigramQueryPlanner.GRAM_SIZE, TrigramQueryPlanner.GRAM_SIZE)
+                                      : new WhitespaceTokenizer();
                 TokenStream filter = new LowerCaseFilter(tokenizer);
                 return new TokenStreamComponents(tokenizer, filter);
             }
@@ -131,16 +222,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        initIndex(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.initIndex(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -148,6 +241,24 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Indicates whether index survives closing of this searcher. Persistent index is reconciled with virtual filesystem on
+     * initialization instead of indexing all files from scratch.
+     */
+    protected boolean isIndexPersistent() {
+        return false;
+    }
+
+    private void initIndex(VirtualFile root) throws ServerException {
+        final IndexingPipeline pipeline = new IndexingPipeline(this, indexingThreads, indexingReadAheadBytes);
+        indexingPipeline = pipeline;
+        if (isIndexPersistent()) {
+            reconcileTree(root, pipeline);
+        } else {
+            pipeline.run(root, file -> true);
+        }
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
             luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
@@ -194,6 +305,13 @@ public abstract class LuceneSearcher implements Searcher {
             luceneSearcher = searcherManager.acquire();
 
             Query luceneQuery = createLuceneQuery(query);
+            if (isVerificationRequired(query)) {
+                return searchAndVerify(luceneSearcher, luceneQuery, query, startTime);
+            }
+            Predicate<String> termMatcher = null;
+            if (query.isIncludeOccurrences() && query.getText() != null) {
+                termMatcher = OccurrenceFinder.termMatcher(createTextQuery(query), TEXT_FIELD);
+            }
 
             ScoreDoc after = null;
             final int numSkipDocs = Math.max(0, query.getSkipCount());
@@ -209,7 +327,7 @@ public abstract class LuceneSearcher implements Searcher {
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
                 String filePath = luceneSearcher.doc(scoreDoc.doc).getField(PATH_FIELD).stringValue();
-                results.add(new SearchResultEntry(filePath));
+                results.add(new SearchResultEntry(filePath, termMatcher == null ? null : findOccurrences(filePath, termMatcher)));
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
@@ -226,7 +344,7 @@ public abstract class LuceneSearcher implements Searcher {
                                .withNextPageQueryExpression(nextPageQueryExpression)
                                .withElapsedTimeMillis(elapsedTimeMillis)
                                .build();
-        } catch (IOException | ParseException e) {
+        } catch (IOException | ParseException | PatternSyntaxException e) {
             throw new ServerException(e.getMessage(), e);
         } finally {
             try {
@@ -251,13 +369,123 @@ public abstract class LuceneSearcher implements Searcher {
             luceneQuery.add(qParser.parse(name), BooleanClause.Occur.MUST);
         }
         if (text != null) {
-            QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
-            qParser.setAllowLeadingWildcard(true);
-            luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
+            luceneQuery.add(createTextQuery(query), BooleanClause.Occur.MUST);
         }
         return luceneQuery;
     }
 
+    private Query createTextQuery(QueryExpression query) throws ParseException {
+        final String text = query.getText();
+        if (indexMode == LuceneIndexMode.TRIGRAM) {
+            Query candidatesQuery = trigramQueryPlanner.createCandidatesQuery(text, query.isRegex());
+            return candidatesQuery == null ? new MatchAllDocsQuery() : candidatesQuery;
+        }
+        if (query.isRegex()) {
+            return new RegexpQuery(new Term(TEXT_FIELD, text.toLowerCase()));
+        }
+        QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
+        qParser.setAllowLeadingWildcard(true);
+        return qParser.parse(text);
+    }
+
+    private boolean isVerificationRequired(QueryExpression query) {
+        return indexMode == LuceneIndexMode.TRIGRAM && query.getText() != null;
+    }
+
+    /**
+     * Iterates through candidates selected by trigram query and checks content of each candidate. Iteration stops as soon as
+     * requested page is filled and one more matched file is found, so total number of hits in result is exact only for the
+     * last page.
+     * <p>
+     * Query without trigrams, e.g. short text, selects every indexed file, so content of at most {@link #VERIFY_LIMIT} candidates
+     * is read for one page. When limit is reached result contains files that are found so far and doesn't have next page.
+     */
+    private SearchResult searchAndVerify(IndexSearcher luceneSearcher,
+                                         Query candidatesQuery,
+                                         QueryExpression query,
+                                         long startTime) throws IOException, ServerException {
+        final Pattern pattern = TrigramQueryPlanner.createMatcher(query.getText(), query.isRegex());
+        // constant score keeps candidates in index order, so pages are stable
+        final Query luceneQuery = new ConstantScoreQuery(candidatesQuery);
+        final int numSkipDocs = Math.max(0, query.getSkipCount());
+        final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+
+        final List<SearchResultEntry> results = newArrayList();
+        int matchedDocs = 0;
+        int verifiedDocs = 0;
+        boolean hasMoreToRetrieve = false;
+        ScoreDoc after = null;
+        TopDocs topDocs;
+        do {
+            topDocs = luceneSearcher.searchAfter(after, luceneQuery, RESULT_LIMIT);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                if (verifiedDocs++ == VERIFY_LIMIT) {
+                    LOG.warn("Search of '{}' is stopped after verification of {} files", query.getText(), VERIFY_LIMIT);
+                    break;
+                }
+                after = scoreDoc;
+                String filePath = luceneSearcher.doc(scoreDoc.doc).getField(PATH_FIELD).stringValue();
+                String content = readContent(filePath);
+                if (content == null || !pattern.matcher(content).find()) {
+                    continue;
+                }
+                if (matchedDocs == numSkipDocs + numDocs) {
+                    hasMoreToRetrieve = true;
+                    break;
+                }
+                if (matchedDocs >= numSkipDocs) {
+                    results.add(new SearchResultEntry(filePath,
+                                                      query.isIncludeOccurrences() ? OccurrenceFinder.find(content, pattern) : null));
+                }
+                matchedDocs++;
+            }
+        } while (!hasMoreToRetrieve && verifiedDocs <= VERIFY_LIMIT && topDocs.scoreDocs.length == RESULT_LIMIT);
+
+        final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
+
+        QueryExpression nextPageQueryExpression = null;
+        if (hasMoreToRetrieve) {
+            nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + results.size());
+        }
+
+        return SearchResult.aSearchResult()
+                           .withResults(results)
+                           .withTotalHits(hasMoreToRetrieve ? matchedDocs + 1 : matchedDocs)
+                           .withNextPageQueryExpression(nextPageQueryExpression)
+                           .withElapsedTimeMillis(elapsedTimeMillis)
+                           .build();
+    }
+
+    private List<SearchOccurrence> findOccurrences(String filePath, Predicate<String> termMatcher) throws ServerException {
+        final String content = readContent(filePath);
+        if (content == null) {
+            return null;
+        }
+        try {
+            return OccurrenceFinder.find(content, getIndexWriter().getAnalyzer(), TEXT_FIELD, termMatcher);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /** Reads content of indexed file. Returns {@code null} if file doesn't exist any more or its content is not indexed. */
+    private String readContent(String filePath) throws ServerException {
+        if (virtualFileSystem == null) {
+            throw new ServerException("Searcher is not initialized with virtual filesystem");
+        }
+        final VirtualFile virtualFile = virtualFileSystem.getRoot().getChild(Path.of(filePath));
+        if (virtualFile == null || !virtualFile.isFile() || !shouldIndexContent(virtualFile)) {
+            return null;
+        }
+        try (Reader contentReader = new InputStreamReader(virtualFile.getContent())) {
+            return CharStreams.toString(contentReader);
+        } catch (ForbiddenException e) {
+            return null;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -281,6 +509,8 @@ public abstract class LuceneSearcher implements Searcher {
 
     private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
         return new QueryExpression().setText(originalQuery.getText())
+                                    .setRegex(originalQuery.isRegex())
+                                    .setIncludeOccurrences(originalQuery.isIncludeOccurrences())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
@@ -322,6 +552,67 @@ public abstract class LuceneSearcher implements Searcher {
         LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
     }
 
+    /**
+     * Brings existed index in accordance with the tree. Only files which length or modification date differ from those stored in
+     * index are re-indexed, documents of files that don't exist any more are deleted from index.
+     */
+    private void reconcileTree(VirtualFile tree, IndexingPipeline pipeline) throws ServerException {
+        final long start = System.currentTimeMillis();
+        final Map<String, IndexedFile> indexedFiles;
+        try {
+            indexedFiles = readIndexedFiles(tree.getPath().toString());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        pipeline.run(tree, file -> {
+            final IndexedFile indexedFile = indexedFiles.remove(file.getPath().toString());
+            return indexedFile == null || !indexedFile.isUpToDate(file);
+        });
+        try {
+            for (String path : indexedFiles.keySet()) {
+                getIndexWriter().deleteDocuments(new Term(PATH_FIELD, path));
+            }
+            getIndexWriter().commit();
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        final IndexingStatistics statistics = pipeline.getStatistics();
+        final long end = System.currentTimeMillis();
+        LOG.info("Reconciled index of {}: {} files updated, {} files unchanged, {} files deleted, time: {} ms",
+                 tree.getPath(), statistics.getIndexedFiles(), statistics.getSkippedFiles(), indexedFiles.size(), (end - start));
+    }
+
+    /** Reads paths, lengths and modification dates of all files under specified path that are present in index. */
+    private Map<String, IndexedFile> readIndexedFiles(String rootPath) throws IOException {
+        final String pathPrefix = rootPath.endsWith("/") ? rootPath : rootPath + '/';
+        final Set<String> fieldsToLoad = newHashSet(PATH_FIELD, LENGTH_FIELD, MODIFIED_FIELD);
+        final Map<String, IndexedFile> indexedFiles = new ConcurrentHashMap<>();
+        searcherManager.maybeRefresh();
+        final IndexSearcher luceneSearcher = searcherManager.acquire();
+        try {
+            for (LeafReaderContext context : luceneSearcher.getIndexReader().leaves()) {
+                final LeafReader reader = context.reader();
+                final Bits liveDocs = reader.getLiveDocs();
+                for (int i = 0; i < reader.maxDoc(); i++) {
+                    if (liveDocs != null && !liveDocs.get(i)) {
+                        continue;
+                    }
+                    final Document doc = reader.document(i, fieldsToLoad);
+                    final String path = doc.get(PATH_FIELD);
+                    if (path != null && path.startsWith(pathPrefix)) {
+                        indexedFiles.put(path, new IndexedFile(doc.getField(LENGTH_FIELD), doc.getField(MODIFIED_FIELD)));
+                    }
+                }
+            }
+        } finally {
+            searcherManager.release(luceneSearcher);
+        }
+        return indexedFiles;
+    }
+
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
             try (Reader fContentReader = shouldIndexContent(virtualFile)
@@ -340,6 +631,31 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Adds file to index using content that was read in advance. Used by {@link IndexingPipeline}, may be called concurrently.
+     *
+     * @param indexContent
+     *         {@code false} if content of file should not be indexed
+     * @param content
+     *         content of file or {@code null} if content should be read from file
+     */
+    void indexFile(VirtualFile virtualFile, boolean indexContent, byte[] content) throws ServerException {
+        try (Reader fContentReader = !indexContent ? null
+                                                   : new BufferedReader(new InputStreamReader(content != null
+                                                                                              ? new ByteArrayInputStream(content)
+                                                                                              : virtualFile.getContent()))) {
+            getIndexWriter().updateDocument(new Term(PATH_FIELD, virtualFile.getPath().toString()),
+                                            createDocument(virtualFile, fContentReader));
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
         try {
@@ -382,13 +698,19 @@ public abstract class LuceneSearcher implements Searcher {
         final Document doc = new Document();
         doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField(LENGTH_FIELD, virtualFile.getLength()));
+        doc.add(new StoredField(MODIFIED_FIELD, virtualFile.getLastModificationDate()));
         if (reader != null) {
-            doc.add(new TextField(TEXT_FIELD, reader));
+            if (indexMode == LuceneIndexMode.TRIGRAM) {
+                doc.add(new Field(GRAM_FIELD, reader, GRAM_FIELD_TYPE));
+            } else {
+                doc.add(new TextField(TEXT_FIELD, reader));
+            }
         }
         return doc;
     }
 
-    private boolean shouldIndexContent(VirtualFile virtualFile) {
+    boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : excludeFileIndexFilters) {
             if (indexFilter.accept(virtualFile)) {
                 return false;
@@ -396,4 +718,23 @@ public abstract class LuceneSearcher implements Searcher {
         }
         return true;
     }
+
+    /** Length and modification date of file at the moment of indexing. */
+    private static class IndexedFile {
+        private final Number length;
+        private final Number modified;
+
+        IndexedFile(IndexableField length, IndexableField modified) {
+            this.length = length == null ? null : length.numericValue();
+            this.modified = modified == null ? null : modified.numericValue();
+        }
+
+        boolean isUpToDate(VirtualFile virtualFile) throws ServerException {
+            // documents created before length and modification date were stored in index are always out of date
+            return length != null
+                   && modified != null
+                   && length.longValue() == virtualFile.getLength()
+                   && modified.longValue() == virtualFile.getLastModificationDate();
+        }
+    }
 }
@@ -26,6 +26,12 @@ public class MemoryLuceneSearcher extends LuceneSearcher {
         super(filter, closeCallback);
     }
 
+    MemoryLuceneSearcher(VirtualFileFilter filter,
+                         AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                         LuceneIndexMode indexMode) {
+        super(filter, closeCallback, indexMode);
+    }
+
     @Override
     protected Directory makeDirectory() {
         return new RAMDirectory();
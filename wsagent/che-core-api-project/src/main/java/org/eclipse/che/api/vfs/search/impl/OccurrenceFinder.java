@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.RegexpQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Finds matches of query inside of content of file and resolves line number and line content for each of them.
+ * <p>
+ * Offsets of matches are not kept in index. Content of file has to be read anyway to provide content of lines, so matches are
+ * found by running the same analyzer that is used for indexing (or the same pattern that is used for verification of trigram
+ * candidates) over the content.
+ */
+class OccurrenceFinder {
+    /** Max number of occurrences returned for single file. */
+    static final int MAX_OCCURRENCES  = 100;
+    /** Max length of line content included in occurrence. */
+    static final int MAX_LINE_CONTENT = 512;
+
+    private OccurrenceFinder() {
+    }
+
+    /** Finds matches of pattern in content. */
+    static List<SearchOccurrence> find(String content, Pattern pattern) {
+        final LineResolver lines = new LineResolver(content);
+        final List<SearchOccurrence> occurrences = new ArrayList<>();
+        final Matcher matcher = pattern.matcher(content);
+        while (occurrences.size() < MAX_OCCURRENCES && matcher.find()) {
+            if (matcher.end() == matcher.start()) {
+                // skip empty matches, e.g. for expression 'a*'
+                continue;
+            }
+            occurrences.add(lines.occurrence(matcher.start(), matcher.end()));
+        }
+        return occurrences;
+    }
+
+    /** Finds tokens of content accepted by term matcher. Content is tokenized with the same analyzer that is used for indexing. */
+    static List<SearchOccurrence> find(String content, Analyzer analyzer, String field, Predicate<String> termMatcher)
+            throws IOException {
+        final LineResolver lines = new LineResolver(content);
+        final List<SearchOccurrence> occurrences = new ArrayList<>();
+        try (TokenStream tokenStream = analyzer.tokenStream(field, content)) {
+            final CharTermAttribute termAttribute = tokenStream.addAttribute(CharTermAttribute.class);
+            final OffsetAttribute offsetAttribute = tokenStream.addAttribute(OffsetAttribute.class);
+            tokenStream.reset();
+            while (occurrences.size() < MAX_OCCURRENCES && tokenStream.incrementToken()) {
+                if (termMatcher.test(termAttribute.toString())) {
+                    occurrences.add(lines.occurrence(offsetAttribute.startOffset(), offsetAttribute.endOffset()));
+                }
+            }
+            tokenStream.end();
+        }
+        return occurrences;
+    }
+
+    /**
+     * Creates matcher for indexed terms from query that is parsed by lucene query parser. Only clauses that relate to specified
+     * field are taken into account, prohibited clauses are ignored.
+     */
+    static Predicate<String> termMatcher(Query query, String field) {
+        final List<Predicate<String>> matchers = new ArrayList<>();
+        collectTermMatchers(query, field, matchers);
+        return term -> matchers.stream().anyMatch(matcher -> matcher.test(term));
+    }
+
+    private static void collectTermMatchers(Query query, String field, List<Predicate<String>> matchers) {
+        if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (!clause.isProhibited()) {
+                    collectTermMatchers(clause.getQuery(), field, matchers);
+                }
+            }
+        } else if (query instanceof TermQuery) {
+            addExactMatcher(((TermQuery)query).getTerm(), field, matchers);
+        } else if (query instanceof PhraseQuery) {
+            for (Term term : ((PhraseQuery)query).getTerms()) {
+                addExactMatcher(term, field, matchers);
+            }
+        } else if (query instanceof FuzzyQuery) {
+            addExactMatcher(((FuzzyQuery)query).getTerm(), field, matchers);
+        } else if (query instanceof PrefixQuery) {
+            final Term prefix = ((PrefixQuery)query).getPrefix();
+            if (field.equals(prefix.field())) {
+                final String text = prefix.text();
+                matchers.add(term -> term.startsWith(text));
+            }
+        } else if (query instanceof WildcardQuery) {
+            final Term wildcard = ((WildcardQuery)query).getTerm();
+            if (field.equals(wildcard.field())) {
+                final Pattern pattern = wildcardToPattern(wildcard.text());
+                matchers.add(term -> pattern.matcher(term).matches());
+            }
+        } else if (query instanceof RegexpQuery) {
+            if (field.equals(((RegexpQuery)query).getField())) {
+                // regexp query is printed as /expression/ for its own field, boost may follow the closing slash
+                final String expression = query.toString(field);
+                try {
+                    final Pattern pattern = Pattern.compile(expression.substring(1, expression.lastIndexOf('/')));
+                    matchers.add(term -> pattern.matcher(term).matches());
+                } catch (PatternSyntaxException ignored) {
+                    // lucene syntax of regular expression isn't compatible with java, occurrences are not resolved
+                }
+            }
+        }
+    }
+
+    private static void addExactMatcher(Term term, String field, List<Predicate<String>> matchers) {
+        if (field.equals(term.field())) {
+            final String text = term.text();
+            matchers.add(text::equals);
+        }
+    }
+
+    private static Pattern wildcardToPattern(String wildcard) {
+        final StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < wildcard.length(); i++) {
+            final char c = wildcard.charAt(i);
+            if (c == WildcardQuery.WILDCARD_STRING) {
+                regex.append(".*");
+            } else if (c == WildcardQuery.WILDCARD_CHAR) {
+                regex.append('.');
+            } else if (c == WildcardQuery.WILDCARD_ESCAPE && i + 1 < wildcard.length()) {
+                regex.append(Pattern.quote(String.valueOf(wildcard.charAt(++i))));
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /** Resolves lines for increasing offsets in single pass through content. */
+    private static class LineResolver {
+        private final String content;
+
+        private int lineNumber = 1;
+        private int lineStart  = 0;
+
+        LineResolver(String content) {
+            this.content = content;
+        }
+
+        SearchOccurrence occurrence(int startOffset, int endOffset) {
+            if (startOffset < lineStart) {
+                lineNumber = 1;
+                lineStart = 0;
+            }
+            int lineSeparator;
+            while ((lineSeparator = content.indexOf('\n', lineStart)) >= 0 && lineSeparator < startOffset) {
+                lineStart = lineSeparator + 1;
+                lineNumber++;
+            }
+            int lineEnd = lineSeparator < 0 ? content.length() : lineSeparator;
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            final String lineContent = content.substring(lineStart, Math.min(lineEnd, lineStart + MAX_LINE_CONTENT));
+            return new SearchOccurrence(content.substring(startOffset, endOffset), startOffset, endOffset, lineNumber, lineContent);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Converts substring and regular expression queries to queries over trigram field. Query built by this class selects superset
+ * of files that match original query, each selected file must be verified with {@link #createMatcher(String, boolean)}.
+ * <p>
+ * Regular expressions are analysed conservatively: only literal runs that must be present in any match are converted to
+ * trigrams. Top level alternatives are converted to disjunction of trigram sets, content of groups, character classes,
+ * optional characters and escape sequences other than escaped metacharacters are ignored.
+ * <p>
+ * Number of clauses of built query is limited: only first {@link #MAX_TRIGRAMS} trigrams of each alternative are used and
+ * expression with more than {@link #MAX_TRIGRAMS} top level alternatives doesn't produce query at all.
+ */
+class TrigramQueryPlanner {
+    static final int GRAM_SIZE    = 3;
+    /** Max number of trigrams of one alternative and max number of alternatives, far below limit of clauses of BooleanQuery. */
+    static final int MAX_TRIGRAMS = 64;
+
+    /** Inline flags which turn on comments mode, whitespaces of expression don't match themselves in this mode. */
+    private static final Pattern COMMENTS_FLAG = Pattern.compile("\\(\\?[a-zA-Z-]*x");
+
+    private final String field;
+
+    TrigramQueryPlanner(String field) {
+        this.field = field;
+    }
+
+    /**
+     * Creates query that selects candidates for specified text.
+     *
+     * @param text
+     *         substring or regular expression
+     * @param regex
+     *         {@code true} if {@code text} is regular expression
+     * @return query over trigram field or {@code null} if text doesn't contain any trigram so every file is candidate
+     */
+    Query createCandidatesQuery(String text, boolean regex) {
+        final List<Set<String>> alternatives = regex ? regexTrigrams(text) : singleAlternative(trigrams(text));
+        if (alternatives == null || alternatives.size() > MAX_TRIGRAMS) {
+            return null;
+        }
+        if (alternatives.size() == 1) {
+            return conjunction(alternatives.get(0));
+        }
+        final BooleanQuery disjunction = new BooleanQuery();
+        for (Set<String> alternative : alternatives) {
+            disjunction.add(conjunction(alternative), BooleanClause.Occur.SHOULD);
+        }
+        return disjunction;
+    }
+
+    /**
+     * Creates pattern for verification of candidates.
+     *
+     * @throws PatternSyntaxException
+     *         if {@code text} is not valid regular expression
+     */
+    static Pattern createMatcher(String text, boolean regex) {
+        final int flags = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.MULTILINE;
+        return regex ? Pattern.compile(text, flags) : Pattern.compile(Pattern.quote(text), flags);
+    }
+
+    private Query conjunction(Set<String> trigrams) {
+        final BooleanQuery query = new BooleanQuery();
+        for (String trigram : trigrams) {
+            if (query.clauses().size() == MAX_TRIGRAMS) {
+                // query still selects superset of matched files
+                break;
+            }
+            query.add(new TermQuery(new Term(field, trigram)), BooleanClause.Occur.MUST);
+        }
+        return query;
+    }
+
+    private List<Set<String>> singleAlternative(Set<String> trigrams) {
+        if (trigrams.isEmpty()) {
+            return null;
+        }
+        final List<Set<String>> alternatives = new ArrayList<>(1);
+        alternatives.add(trigrams);
+        return alternatives;
+    }
+
+    /** Gets lower-cased trigrams of literal in the same way as they are produced by indexer. */
+    static Set<String> trigrams(String literal) {
+        final int[] codePoints = literal.codePoints().map(Character::toLowerCase).toArray();
+        final Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= codePoints.length; i++) {
+            trigrams.add(new String(codePoints, i, GRAM_SIZE));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Gets trigrams required by regular expression. Each element of returned list is a set of trigrams that must be present in
+     * file if it matches one of top level alternatives of expression. Returns {@code null} if at least one alternative doesn't
+     * require any trigram.
+     */
+    private List<Set<String>> regexTrigrams(String regex) {
+        if (COMMENTS_FLAG.matcher(regex).find()) {
+            return null;
+        }
+        final List<Set<String>> alternatives = new ArrayList<>();
+        for (String alternative : splitTopLevelAlternatives(regex)) {
+            final Set<String> trigrams = new LinkedHashSet<>();
+            for (String literal : requiredLiterals(alternative)) {
+                trigrams.addAll(trigrams(literal));
+            }
+            if (trigrams.isEmpty()) {
+                return null;
+            }
+            alternatives.add(trigrams);
+        }
+        return alternatives;
+    }
+
+    private List<String> splitTopLevelAlternatives(String regex) {
+        final List<String> alternatives = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i = skipEscape(regex, i) - 1;
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                }
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                alternatives.add(regex.substring(start, i));
+                start = i + 1;
+            }
+        }
+        alternatives.add(regex.substring(start));
+        return alternatives;
+    }
+
+    private List<String> requiredLiterals(String regex) {
+        final List<String> literals = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 < regex.length() && regex.charAt(i + 1) == 'Q') {
+                        final int end = skipEscape(regex, i);
+                        current.append(regex, i + 2, regex.startsWith("\\E", end - 2) ? end - 2 : end);
+                        i = end;
+                    } else if (i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                        // escaped metacharacter
+                        current.append(regex.charAt(i + 1));
+                        i += 2;
+                    } else {
+                        // character class, boundary, back reference or character given by code, e.g. \d, \b, \1, \x41, \cM
+                        current = flush(current, literals);
+                        i = skipEscape(regex, i);
+                    }
+                    break;
+                case '*':
+                case '?':
+                case '{':
+                    // previous character is optional
+                    if (current.length() > 0) {
+                        current.setLength(current.length() - 1);
+                    }
+                    current = flush(current, literals);
+                    i = c == '{' ? skipTo(regex, i, '}') : i + 1;
+                    break;
+                case '+':
+                    current = flush(current, literals);
+                    i++;
+                    break;
+                case '[':
+                    current = flush(current, literals);
+                    i = skipCharacterClass(regex, i);
+                    break;
+                case '(':
+                    current = flush(current, literals);
+                    i = skipGroup(regex, i);
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                case ')':
+                    current = flush(current, literals);
+                    i++;
+                    break;
+                default:
+                    current.append(c);
+                    i++;
+            }
+        }
+        flush(current, literals);
+        return literals;
+    }
+
+    private StringBuilder flush(StringBuilder current, List<String> literals) {
+        if (current.length() > 0) {
+            literals.add(current.toString());
+        }
+        return new StringBuilder();
+    }
+
+    private int skipTo(String regex, int from, char end) {
+        final int index = regex.indexOf(end, from);
+        return index < 0 ? regex.length() : index + 1;
+    }
+
+    private int skipCharacterClass(String regex, int from) {
+        int i = from + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i = skipEscape(regex, i);
+            } else if (c == ']') {
+                return skipQuantifier(regex, i + 1);
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private int skipGroup(String regex, int from) {
+        int depth = 0;
+        boolean inClass = false;
+        int i = from;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i = skipEscape(regex, i);
+                continue;
+            }
+            if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                }
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return skipQuantifier(regex, i + 1);
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Gets index of character which follows escape sequence that starts with backslash at specified index. Besides single
+     * escaped characters, sequences with arguments are recognized: {@code \xhh}, {@code \x{h...h}}, unicode escape with four
+     * hexadecimal digits, {@code \0n}-{@code \0mnn}, {@code \cX}, {@code \k<name>}, {@code \p{name}}, {@code \N{name}}, back
+     * references and quotation {@code \Q...\E}.
+     */
+    private static int skipEscape(String regex, int from) {
+        if (from + 1 >= regex.length()) {
+            return regex.length();
+        }
+        final char c = regex.charAt(from + 1);
+        int i = from + 2;
+        switch (c) {
+            case 'x':
+                i = i < regex.length() && regex.charAt(i) == '{' ? regex.indexOf('}', i) + 1 : i + 2;
+                break;
+            case 'u':
+                i += 4;
+                break;
+            case '0':
+                final int maxEnd = Math.min(i + 3, regex.length());
+                while (i < maxEnd && regex.charAt(i) >= '0' && regex.charAt(i) <= '7') {
+                    i++;
+                }
+                break;
+            case 'c':
+                i++;
+                break;
+            case 'k':
+                i = i < regex.length() && regex.charAt(i) == '<' ? regex.indexOf('>', i) + 1 : i;
+                break;
+            case 'p':
+            case 'P':
+                i = i < regex.length() && regex.charAt(i) == '{' ? regex.indexOf('}', i) + 1 : i + 1;
+                break;
+            case 'N':
+                i = i < regex.length() && regex.charAt(i) == '{' ? regex.indexOf('}', i) + 1 : i;
+                break;
+            case 'Q':
+                final int end = regex.indexOf("\\E", i);
+                i = end < 0 ? regex.length() : end + 2;
+                break;
+            default:
+                if (c >= '1' && c <= '9') {
+                    while (i < regex.length() && Character.isDigit(regex.charAt(i))) {
+                        i++;
+                    }
+                }
+        }
+        // indexOf returns -1 for unclosed sequence
+        return i <= from ? regex.length() : Math.min(i, regex.length());
+    }
+
+    private int skipQuantifier(String regex, int from) {
+        if (from < regex.length()) {
+            final char c = regex.charAt(from);
+            if (c == '*' || c == '?' || c == '+') {
+                return from + 1;
+            }
+            if (c == '{') {
+                return skipTo(regex, from, '}');
+            }
+        }
+        return from;
+    }
+}
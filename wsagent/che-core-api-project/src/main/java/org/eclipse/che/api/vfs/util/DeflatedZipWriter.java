@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.util;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Writes ZIP archive sequentially to output stream. Unlike {@link java.util.zip.ZipOutputStream} accepts content of entries that
+ * is already deflated, so entries may be compressed in parallel and then written in required order. Content of big entries
+ * may be deflated while writing. ZIP64 extensions are used when archive or any of its entries are too big for ZIP format.
+ */
+public final class DeflatedZipWriter implements Closeable {
+    private static final int  LOCAL_HEADER_SIGNATURE    = 0x04034b50;
+    private static final int  DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int  CENTRAL_HEADER_SIGNATURE  = 0x02014b50;
+    private static final int  ZIP64_END_SIGNATURE       = 0x06064b50;
+    private static final int  ZIP64_LOCATOR_SIGNATURE   = 0x07064b50;
+    private static final int  END_SIGNATURE             = 0x06054b50;
+    private static final long ZIP64_MAGIC               = 0xFFFFFFFFL;
+    private static final int  ZIP64_MAGIC_COUNT         = 0xFFFF;
+    private static final int  ZIP64_EXTRA_ID            = 0x0001;
+    private static final int  VERSION                   = 20;
+    private static final int  VERSION_ZIP64             = 45;
+    private static final int  FLAG_DATA_DESCRIPTOR      = 1 << 3;
+    private static final int  FLAG_UTF8                 = 1 << 11;
+
+    /**
+     * Creates deflater that produces content of entries in format expected by this writer. Deflater must be {@link Deflater#end()
+     * ended} by caller.
+     */
+    public static Deflater newDeflater() {
+        return new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    }
+
+    private final CountingOutputStream output;
+    private final List<Entry>          entries;
+    private final byte[]               buffer;
+
+    private boolean closed;
+
+    public DeflatedZipWriter(OutputStream output) {
+        this.output = new CountingOutputStream(new BufferedOutputStream(output, 64 * 1024));
+        entries = new ArrayList<>();
+        buffer = new byte[8];
+    }
+
+    /**
+     * Adds entry for folder.
+     *
+     * @param name
+     *         name of entry, must end with '/'
+     */
+    public void putFolder(String name, long time) throws IOException {
+        final Entry entry = new Entry(name, ZipEntry.STORED, 0, toDosTime(time), output.getCount());
+        writeLocalHeader(entry);
+        entries.add(entry);
+    }
+
+    /**
+     * Adds entry which content is already deflated with deflater created by {@link #newDeflater()}.
+     *
+     * @param deflated
+     *         buffer that contains deflated content
+     * @param deflatedLength
+     *         number of bytes of deflated content in buffer
+     * @param crc
+     *         CRC-32 of original content
+     * @param size
+     *         size of original content
+     */
+    public void putDeflated(String name, long time, byte[] deflated, int deflatedLength, long crc, long size) throws IOException {
+        final Entry entry = new Entry(name, ZipEntry.DEFLATED, FLAG_DATA_DESCRIPTOR, toDosTime(time), output.getCount());
+        writeLocalHeader(entry);
+        output.write(deflated, 0, deflatedLength);
+        entry.crc = crc;
+        entry.compressedSize = deflatedLength;
+        entry.size = size;
+        writeDataDescriptor(entry);
+        entries.add(entry);
+    }
+
+    /** Adds entry and deflates its content in calling thread. Content stream isn't closed by this method. */
+    public void putContent(String name, long time, InputStream content) throws IOException {
+        final Entry entry = new Entry(name, ZipEntry.DEFLATED, FLAG_DATA_DESCRIPTOR, toDosTime(time), output.getCount());
+        writeLocalHeader(entry);
+        final Deflater deflater = newDeflater();
+        try {
+            final CheckedInputStream checkedContent = new CheckedInputStream(content, new CRC32());
+            final DeflaterOutputStream deflaterOutput = new DeflaterOutputStream(new NotClosableOutputStream(output), deflater);
+            ByteStreams.copy(checkedContent, deflaterOutput);
+            deflaterOutput.finish();
+            entry.crc = checkedContent.getChecksum().getValue();
+            entry.compressedSize = deflater.getBytesWritten();
+            entry.size = deflater.getBytesRead();
+        } finally {
+            deflater.end();
+        }
+        writeDataDescriptor(entry);
+        entries.add(entry);
+    }
+
+    /** Writes central directory of archive and closes underlying output stream. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            final long centralDirectoryOffset = output.getCount();
+            for (Entry entry : entries) {
+                writeCentralHeader(entry);
+            }
+            final long centralDirectorySize = output.getCount() - centralDirectoryOffset;
+            if (entries.size() >= ZIP64_MAGIC_COUNT || centralDirectoryOffset >= ZIP64_MAGIC || centralDirectorySize >= ZIP64_MAGIC) {
+                final long zip64EndOffset = output.getCount();
+                writeInt(ZIP64_END_SIGNATURE);
+                writeLong(44);
+                writeShort(VERSION_ZIP64);
+                writeShort(VERSION_ZIP64);
+                writeInt(0);
+                writeInt(0);
+                writeLong(entries.size());
+                writeLong(entries.size());
+                writeLong(centralDirectorySize);
+                writeLong(centralDirectoryOffset);
+                writeInt(ZIP64_LOCATOR_SIGNATURE);
+                writeInt(0);
+                writeLong(zip64EndOffset);
+                writeInt(1);
+            }
+            writeInt(END_SIGNATURE);
+            writeShort(0);
+            writeShort(0);
+            writeShort(Math.min(entries.size(), ZIP64_MAGIC_COUNT));
+            writeShort(Math.min(entries.size(), ZIP64_MAGIC_COUNT));
+            writeInt(Math.min(centralDirectorySize, ZIP64_MAGIC));
+            writeInt(Math.min(centralDirectoryOffset, ZIP64_MAGIC));
+            writeShort(0);
+        } finally {
+            output.close();
+        }
+    }
+
+    private void writeLocalHeader(Entry entry) throws IOException {
+        // sizes and CRC of files are written in data descriptor
+        writeInt(LOCAL_HEADER_SIGNATURE);
+        writeShort(VERSION);
+        writeShort(entry.flags);
+        writeShort(entry.method);
+        writeInt(entry.dosTime);
+        writeInt(0);
+        writeInt(0);
+        writeInt(0);
+        writeShort(entry.name.length);
+        writeShort(0);
+        output.write(entry.name);
+    }
+
+    private void writeDataDescriptor(Entry entry) throws IOException {
+        writeInt(DATA_DESCRIPTOR_SIGNATURE);
+        writeInt(entry.crc);
+        if (entry.compressedSize >= ZIP64_MAGIC || entry.size >= ZIP64_MAGIC) {
+            writeLong(entry.compressedSize);
+            writeLong(entry.size);
+        } else {
+            writeInt(entry.compressedSize);
+            writeInt(entry.size);
+        }
+    }
+
+    private void writeCentralHeader(Entry entry) throws IOException {
+        final boolean zip64Size = entry.size >= ZIP64_MAGIC;
+        final boolean zip64CompressedSize = entry.compressedSize >= ZIP64_MAGIC;
+        final boolean zip64Offset = entry.offset >= ZIP64_MAGIC;
+        final int extraLength = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+        final int version = extraLength > 0 ? VERSION_ZIP64 : VERSION;
+        writeInt(CENTRAL_HEADER_SIGNATURE);
+        writeShort(version);
+        writeShort(version);
+        writeShort(entry.flags);
+        writeShort(entry.method);
+        writeInt(entry.dosTime);
+        writeInt(entry.crc);
+        writeInt(zip64CompressedSize ? ZIP64_MAGIC : entry.compressedSize);
+        writeInt(zip64Size ? ZIP64_MAGIC : entry.size);
+        writeShort(entry.name.length);
+        writeShort(extraLength > 0 ? extraLength + 4 : 0);
+        writeShort(0);
+        writeShort(0);
+        writeShort(0);
+        writeInt(0);
+        writeInt(zip64Offset ? ZIP64_MAGIC : entry.offset);
+        output.write(entry.name);
+        if (extraLength > 0) {
+            writeShort(ZIP64_EXTRA_ID);
+            writeShort(extraLength);
+            if (zip64Size) {
+                writeLong(entry.size);
+            }
+            if (zip64CompressedSize) {
+                writeLong(entry.compressedSize);
+            }
+            if (zip64Offset) {
+                writeLong(entry.offset);
+            }
+        }
+    }
+
+    private void writeShort(int value) throws IOException {
+        buffer[0] = (byte)value;
+        buffer[1] = (byte)(value >>> 8);
+        output.write(buffer, 0, 2);
+    }
+
+    private void writeInt(long value) throws IOException {
+        for (int i = 0; i < 4; i++) {
+            buffer[i] = (byte)(value >>> (i * 8));
+        }
+        output.write(buffer, 0, 4);
+    }
+
+    private void writeLong(long value) throws IOException {
+        for (int i = 0; i < 8; i++) {
+            buffer[i] = (byte)(value >>> (i * 8));
+        }
+        output.write(buffer, 0, 8);
+    }
+
+    private static long toDosTime(long time) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        final int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (year - 1980) << 25
+               | (calendar.get(Calendar.MONTH) + 1) << 21
+               | calendar.get(Calendar.DAY_OF_MONTH) << 16
+               | calendar.get(Calendar.HOUR_OF_DAY) << 11
+               | calendar.get(Calendar.MINUTE) << 5
+               | calendar.get(Calendar.SECOND) >> 1;
+    }
+
+    private static class Entry {
+        final byte[] name;
+        final int    method;
+        final int    flags;
+        final long   dosTime;
+        final long   offset;
+
+        long crc;
+        long compressedSize;
+        long size;
+
+        Entry(String name, int method, int flags, long dosTime, long offset) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.method = method;
+            this.flags = flags | FLAG_UTF8;
+            this.dosTime = dosTime;
+            this.offset = offset;
+        }
+    }
+
+    private static class NotClosableOutputStream extends FilterOutputStream {
+        NotClosableOutputStream(OutputStream delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
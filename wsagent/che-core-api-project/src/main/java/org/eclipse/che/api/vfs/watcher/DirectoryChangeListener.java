@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Receives batches of directories registered in {@link FileWatcherService}
+ * which entries were changed. Listener is notified once per batch of
+ * coalesced events, so burst of changes in the same directory results in a
+ * single notification about that directory.
+ */
+public interface DirectoryChangeListener {
+    /**
+     * Is called from watcher thread when entries of directories were
+     * created, modified or removed. Events aren't collected until method
+     * returns, so it must not block for long.
+     *
+     * @param directories
+     *         changed directories in order of the first event
+     */
+    void directoriesChanged(Set<Path> directories);
+}
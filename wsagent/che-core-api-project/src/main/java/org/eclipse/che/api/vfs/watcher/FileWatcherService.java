@@ -31,21 +31,25 @@ import java.nio.file.WatchEvent.Kind;
 import java.nio.file.WatchEvent.Modifier;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Predicate;
 
 import static java.lang.Thread.currentThread;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Collections.unmodifiableSet;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
 
@@ -57,35 +61,62 @@ import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
  * java file system paths in counter to che virtual file system which may have
  * custom root element and structure. Transforming one we of path representation
  * into another and backwards is the responsibility of upper services.
+ * <p>
+ * This is the single watcher of workspace agent: each directory is registered
+ * in underlying {@link WatchService} only once no matter how many consumers
+ * are interested in it. Events are collected until there are no new events
+ * during debounce period, then they are coalesced per path and passed to
+ * {@link FileWatcherEventHandler} and to all {@link DirectoryChangeListener}s
+ * as a single batch. That keeps bursts of changes, e.g. checkout of a branch,
+ * from flooding consumers with thousands of separate notifications.
+ * <p>
+ * Handler and listeners are called sequentially from the single watcher
+ * thread, so they see batches in order and don't need to synchronize with
+ * each other, but no new events are collected while they run. Consumers
+ * which do long operations, e.g. network calls, should hand them off to
+ * their own executors.
  */
 @Singleton
 public class FileWatcherService {
     private static final Logger LOG = LoggerFactory.getLogger(FileWatcherService.class);
 
+    /** Default period of silence after which collected events are passed to consumers. */
+    public static final long DEFAULT_DEBOUNCE_MS = 500;
+    /** Max delay of events in batch in debounce periods, limits latency when file system is changed continuously. */
+    private static final int MAX_BATCH_DELAY_FACTOR = 10;
+
     private final AtomicBoolean suspended = new AtomicBoolean(true);
     private final AtomicBoolean running   = new AtomicBoolean();
 
-    private final Map<WatchKey, Path> keys          = new ConcurrentHashMap<>();
-    private final Map<Path, Integer>  registrations = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Path>           keys          = new ConcurrentHashMap<>();
+    private final Map<Path, Registration>       registrations = new ConcurrentHashMap<>();
+    private final List<DirectoryChangeListener> listeners     = new CopyOnWriteArrayList<>();
 
     private final Set<PathMatcher>        excludes;
     private final FileWatcherEventHandler handler;
     private final WatchService            service;
     private final Modifier[]              eventModifiers;
     private final Kind<?>[]               eventKinds;
+    private final long                    debounceMs;
 
     private ExecutorService executor;
 
+    public FileWatcherService(Set<PathMatcher> excludes, FileWatcherEventHandler handler, WatchService service) {
+        this(excludes, handler, service, DEFAULT_DEBOUNCE_MS);
+    }
+
     @Inject
     public FileWatcherService(@Named("che.user.workspaces.storage.excludes") Set<PathMatcher> excludes,
-                              FileWatcherEventHandler handler, WatchService service) {
+                              FileWatcherEventHandler handler,
+                              WatchService service,
+                              @Named("vfs.watcher.debounce_ms") long debounceMs) {
         this.excludes = excludes;
         this.handler = handler;
         this.service = service;
+        this.debounceMs = debounceMs;
 
         this.eventModifiers = getWatchEventModifiers();
         this.eventKinds = getWatchEventKinds();
-
     }
 
     @SuppressWarnings("unchecked")
@@ -126,7 +157,7 @@ public class FileWatcherService {
     }
 
     @PostConstruct
-    void start() throws IOException {
+    public void start() throws IOException {
         ThreadFactoryBuilder builder = new ThreadFactoryBuilder();
         ThreadFactory factory = builder.setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
                                        .setNameFormat(FileWatcherService.class.getSimpleName())
@@ -137,7 +168,7 @@ public class FileWatcherService {
     }
 
     @PreDestroy
-    void stop() {
+    public void stop() {
         running.compareAndSet(true, false);
 
         try {
@@ -184,47 +215,62 @@ public class FileWatcherService {
      */
     public void register(Path dir) {
         LOG.debug("Registering directory '{}'", dir);
-        if (keys.values().contains(dir)) {
-            int previous = registrations.get(dir);
-            LOG.debug("Directory is already being watched, increasing watch counter, previous value: {}", previous);
-            registrations.put(dir, previous + 1);
-        } else {
+        registrations.compute(dir, (path, registration) -> {
+            if (registration != null) {
+                LOG.debug("Directory is already being watched, increasing watch counter, previous value: {}", registration.counter);
+                registration.counter++;
+                return registration;
+            }
             try {
                 LOG.debug("Starting watching directory '{}'", dir);
                 WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
                 keys.put(watchKey, dir);
-                registrations.put(dir, 1);
+                return new Registration(watchKey);
             } catch (IOException e) {
                 LOG.error("Can't register dir {} in file watch service", dir, e);
+                return null;
             }
-        }
+        });
     }
 
     /**
      * Cancels registration of a directory for being watched. Each call of this
      * method decreases by one registration counter that corresponds to
      * directory specified by the argument. If registration counter comes to
-     * zero directory watching is totally cancelled.
+     * zero directory watching is totally cancelled. Nothing happens if
+     * directory is not registered, e.g. if it was already removed from file
+     * system.
      *
      * @param dir
      *         directory
      */
-    void unRegister(Path dir) {
+    public void unRegister(Path dir) {
         LOG.debug("Canceling directory '{}' registration", dir);
-
-        int previous = registrations.get(dir);
-        if (previous == 1) {
+        registrations.computeIfPresent(dir, (path, registration) -> {
+            if (registration.counter > 1) {
+                LOG.debug("Directory is being watched by someone else, decreasing watch counter, previous value: {}",
+                          registration.counter);
+                registration.counter--;
+                return registration;
+            }
             LOG.debug("Stopping watching directory '{}'", dir);
-            registrations.remove(dir);
+            registration.watchKey.cancel();
+            keys.remove(registration.watchKey);
+            return null;
+        });
+    }
 
-            Predicate<Entry<WatchKey, Path>> equalsDir = it -> it.getValue().equals(dir);
+    /**
+     * Adds listener which is notified about batches of changed directories.
+     * Listener receives changes even if service is suspended. Listener is
+     * called from the watcher thread and delays next batches while it runs.
+     */
+    public void addDirectoryChangeListener(DirectoryChangeListener listener) {
+        listeners.add(listener);
+    }
 
-            keys.entrySet().stream().filter(equalsDir).map(Entry::getKey).forEach(WatchKey::cancel);
-            keys.entrySet().removeIf(equalsDir);
-        } else {
-            LOG.debug("Directory is being watched by someone else, decreasing watch counter, previous value: {}", previous);
-            registrations.put(dir, previous - 1);
-        }
+    public void removeDirectoryChangeListener(DirectoryChangeListener listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -252,39 +298,26 @@ public class FileWatcherService {
         suspended.compareAndSet(true, false);
         running.compareAndSet(false, true);
 
+        Batch batch = new Batch();
         while (running.get()) {
             try {
-                WatchKey watchKey = service.take();
-                Path dir = keys.get(watchKey);
-
-                if (suspended.get()) {
-                    resetAndRemove(watchKey, dir);
-
-                    LOG.debug("File watchers are running in suspended mode - skipping.");
-                    continue;
+                WatchKey watchKey;
+                if (batch.isEmpty()) {
+                    watchKey = service.take();
+                    batch.started = System.currentTimeMillis();
+                } else {
+                    watchKey = service.poll(debounceMs, MILLISECONDS);
                 }
 
-                for (WatchEvent<?> event : watchKey.pollEvents()) {
-                    Kind<?> kind = event.kind();
-
-                    if (kind == OVERFLOW) {
-                        LOG.warn("Detected file system events overflowing");
-                        continue;
-                    }
-
-                    WatchEvent<Path> ev = cast(event);
-                    Path item = ev.context();
-                    Path path = dir.resolve(item).toAbsolutePath();
-
-                    if (isExcluded(excludes, path)) {
-                        LOG.debug("Path is within exclude list, skipping...");
-                        continue;
-                    }
-
-                    handler.handle(path, kind);
+                if (watchKey != null) {
+                    collect(watchKey, batch);
                 }
 
-                resetAndRemove(watchKey, dir);
+                if (!batch.isEmpty()
+                    && (watchKey == null || System.currentTimeMillis() - batch.started >= debounceMs * MAX_BATCH_DELAY_FACTOR)) {
+                    dispatch(batch);
+                    batch = new Batch();
+                }
             } catch (InterruptedException e) {
                 running.compareAndSet(true, false);
                 LOG.debug("Interruption error when running file watcher, most likely caused by stopping it", e);
@@ -295,6 +328,58 @@ public class FileWatcherService {
         }
     }
 
+    private void collect(WatchKey watchKey, Batch batch) {
+        Path dir = keys.get(watchKey);
+        if (dir == null) {
+            watchKey.reset();
+            return;
+        }
+
+        batch.directories.add(dir);
+
+        if (suspended.get()) {
+            watchKey.pollEvents();
+            resetAndRemove(watchKey, dir);
+
+            LOG.debug("File watchers are running in suspended mode - skipping.");
+            return;
+        }
+
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            Kind<?> kind = event.kind();
+
+            if (kind == OVERFLOW) {
+                LOG.warn("Detected file system events overflowing");
+                continue;
+            }
+
+            WatchEvent<Path> ev = cast(event);
+            Path item = ev.context();
+            Path path = dir.resolve(item).toAbsolutePath();
+
+            if (isExcluded(excludes, path)) {
+                LOG.debug("Path is within exclude list, skipping...");
+                continue;
+            }
+
+            batch.add(path, kind);
+        }
+
+        resetAndRemove(watchKey, dir);
+    }
+
+    private void dispatch(Batch batch) {
+        LOG.debug("Dispatching {} events of {} directories", batch.events.size(), batch.directories.size());
+        for (DirectoryChangeListener listener : listeners) {
+            try {
+                listener.directoriesChanged(unmodifiableSet(batch.directories));
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+        batch.events.forEach(handler::handle);
+    }
+
     private void resetAndRemove(WatchKey watchKey, Path dir) {
         if (!watchKey.reset()) {
             registrations.remove(dir);
@@ -302,4 +387,40 @@ public class FileWatcherService {
             keys.remove(watchKey);
         }
     }
+
+    private static class Registration {
+        final WatchKey watchKey;
+        int counter;
+
+        Registration(WatchKey watchKey) {
+            this.watchKey = watchKey;
+            this.counter = 1;
+        }
+    }
+
+    /** Events collected during debounce period. Only the resulting kind of event is kept for each path. */
+    private static class Batch {
+        final Set<Path>          directories = new LinkedHashSet<>();
+        final Map<Path, Kind<?>> events      = new LinkedHashMap<>();
+        long started;
+
+        void add(Path path, Kind<?> kind) {
+            Kind<?> previous = events.get(path);
+            if (previous == null) {
+                events.put(path, kind);
+            } else if (previous == ENTRY_CREATE && kind == ENTRY_DELETE) {
+                // item was created and removed within the same batch, consumers never saw it
+                events.remove(path);
+            } else if (previous == ENTRY_DELETE && kind == ENTRY_CREATE) {
+                // item was replaced, e.g. by version control system
+                events.put(path, ENTRY_MODIFY);
+            } else if (previous != ENTRY_CREATE) {
+                events.put(path, kind);
+            }
+        }
+
+        boolean isEmpty() {
+            return directories.isEmpty();
+        }
+    }
 }
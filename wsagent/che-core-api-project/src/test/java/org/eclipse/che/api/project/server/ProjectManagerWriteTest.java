@@ -879,6 +879,55 @@ public class ProjectManagerWriteTest extends WsAgentTestBase {
         }
     }
 
+    @Test
+    public void testRenameRootProject() throws Exception {
+        ProjectConfig pc = new NewProjectConfigImpl("/testRenameRootProject", BaseProjectType.ID, null, "name", "descr", null, null, null);
+        pm.createProject(pc, null);
+
+        // SPECS:
+        // Project moved on root is registered under the new path even if file watcher has not notified registry yet
+
+        pm.moveTo("/testRenameRootProject", null, "testRenameRootProjectRenamed", false);
+
+        assertNull(projectRegistry.getProject("/testRenameRootProject"));
+        final RegisteredProject renamed = projectRegistry.getProject("/testRenameRootProjectRenamed");
+        assertNotNull(renamed);
+        assertEquals(BaseProjectType.ID, renamed.getType());
+        assertFalse(renamed.isUnconfigured());
+    }
+
+    @Test
+    public void testCopyRootProjectToRoot() throws Exception {
+        ProjectConfig pc = new NewProjectConfigImpl("/testCopyRootProject", BaseProjectType.ID, null, "name", "descr", null, null, null);
+        pm.createProject(pc, null);
+
+        // SPECS:
+        // Folder copied on root is registered as unconfigured project even if file watcher has not notified registry yet
+
+        final VirtualFileEntry copy = pm.copyTo("/testCopyRootProject", "/", "testCopyRootProjectCopy", false);
+
+        assertTrue(copy.isProject());
+        assertNotNull(projectRegistry.getProject("/testCopyRootProject"));
+        final RegisteredProject copied = projectRegistry.getProject("/testCopyRootProjectCopy");
+        assertNotNull(copied);
+        assertTrue(copied.isUnconfigured());
+    }
+
+    @Test
+    public void testGetProjectOfFolderJustCreatedOnRoot() throws Exception {
+        vfsProvider.getVirtualFileSystem().getRoot().createFolder("testFolderJustCreatedOnRoot").createFolder("inner");
+
+        // SPECS:
+        // Folder created on root is returned as unconfigured project even if file watcher has not notified registry yet,
+        // its sub-folders are not projects
+
+        final RegisteredProject project = projectRegistry.getProject("/testFolderJustCreatedOnRoot");
+        assertNotNull(project);
+        assertTrue(project.isUnconfigured());
+        assertNull(projectRegistry.getProject("/testFolderJustCreatedOnRoot/inner"));
+        assertNull(projectRegistry.getProject("/testFolderNotExistingOnRoot"));
+    }
+
 
     @Test
     public void testProvidedAttributesNotSerialized() throws Exception {
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.stream.Collectors.toSet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ProjectPathTreeTest {
+    private ProjectPathTree   tree;
+    private RegisteredProject project;
+    private RegisteredProject module;
+    private RegisteredProject submodule;
+
+    @BeforeMethod
+    public void setUp() {
+        tree = new ProjectPathTree();
+        project = aProject("/project");
+        module = aProject("/project/module");
+        submodule = aProject("/project/module/src/submodule");
+        tree.put(project);
+        tree.put(module);
+        tree.put(submodule);
+        tree.put(aProject("/other"));
+    }
+
+    @Test
+    public void getsProjectByPath() {
+        assertSame(tree.get("/project/module"), module);
+        assertNull(tree.get("/project/module/src"));
+        assertNull(tree.get("/missing"));
+    }
+
+    @Test
+    public void getsClosestProjectThatOwnsPath() {
+        assertSame(tree.getOwner("/project/module"), module);
+        assertSame(tree.getOwner("/project/module/src/Main.java"), module);
+        assertSame(tree.getOwner("/project/pom.xml"), project);
+        assertNull(tree.getOwner("/folder/file.txt"));
+    }
+
+    @Test
+    public void getsNestedProjectsAtAnyDepth() {
+        assertEquals(paths(tree.getNested("/project")), newHashSet("/project/module", "/project/module/src/submodule"));
+        assertTrue(tree.getNested("/other").isEmpty());
+    }
+
+    @Test
+    public void removesProjectButKeepsNestedProjects() {
+        assertSame(tree.remove("/project/module"), module);
+
+        assertNull(tree.get("/project/module"));
+        assertSame(tree.getOwner("/project/module/src/submodule/pom.xml"), submodule);
+        assertSame(tree.getOwner("/project/module/pom.xml"), project);
+    }
+
+    @Test
+    public void removesProjectTogetherWithNestedProjects() {
+        List<RegisteredProject> removed = tree.removeAll("/project");
+
+        assertEquals(paths(removed), newHashSet("/project", "/project/module", "/project/module/src/submodule"));
+        assertEquals(paths(tree.getAll()), newHashSet("/other"));
+    }
+
+    private static RegisteredProject aProject(String path) {
+        RegisteredProject project = mock(RegisteredProject.class);
+        when(project.getPath()).thenReturn(path);
+        return project;
+    }
+
+    private static Set<String> paths(List<RegisteredProject> projects) {
+        return projects.stream().map(RegisteredProject::getPath).collect(toSet());
+    }
+}
@@ -40,6 +40,9 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.ProjectSearchResponseDto;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.user.server.spi.UserDao;
@@ -1950,6 +1953,31 @@ public class ProjectServiceTest {
         Assert.assertTrue(result.get(0).getPath().equals("/my_project/c/test.txt"));
     }
 
+    @Test
+    public void testSearchTextReturnsOccurrences() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("x/y").createFile("test.txt", "first line\nsecond searchhit line"
+                .getBytes(Charset.defaultCharset()));
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/textsearch/my_project?text=searchhit",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        ProjectSearchResponseDto result = (ProjectSearchResponseDto)response.getEntity();
+        assertEquals(result.getItemReferences().size(), 1);
+        assertEquals(result.getNextSkipCount(), -1);
+        SearchResultDto searchResult = result.getItemReferences().get(0);
+        assertEquals(searchResult.getItemReference().getPath(), "/my_project/x/y/test.txt");
+        assertEquals(searchResult.getSearchOccurrences().size(), 1);
+        SearchOccurrenceDto occurrence = searchResult.getSearchOccurrences().get(0);
+        assertEquals(occurrence.getPhrase(), "searchhit");
+        assertEquals(occurrence.getStartOffset(), 18);
+        assertEquals(occurrence.getEndOffset(), 27);
+        assertEquals(occurrence.getLineNumber(), 2);
+        assertEquals(occurrence.getLineContent(), "second searchhit line");
+    }
+
     private void validateFileLinks(ItemReference item) {
         Link link = item.getLink("delete");
         assertNotNull(link);
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import org.eclipse.che.api.project.server.FileEntry;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.vfs.Path;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.RENAMED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.UPDATED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProjectFileModelCacheTest {
+    private AtomicInteger                 reads;
+    private ProjectFileModelCache<Object> cache;
+    private FolderEntry                   project;
+    private FileEntry                     file;
+
+    @Before
+    public void setUp() throws Exception {
+        reads = new AtomicInteger();
+        cache = new ProjectFileModelCache<>("model.xml", f -> {
+            reads.incrementAndGet();
+            return new Object();
+        });
+        project = mock(FolderEntry.class);
+        file = mock(FileEntry.class);
+        when(project.getChild("model.xml")).thenReturn(file);
+        when(file.isFile()).thenReturn(true);
+        when(file.getPath()).thenReturn(Path.of("/project/model.xml"));
+        when(file.getModified()).thenReturn(1L);
+    }
+
+    @Test
+    public void parsesFileOnceForAllRequests() throws Exception {
+        final Object model = cache.get(project);
+
+        assertSame(model, cache.get(project));
+        assertSame(model, cache.get(project));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void parsesFileAgainWhenModificationDateChanges() throws Exception {
+        final Object model = cache.get(project);
+        when(file.getModified()).thenReturn(2L);
+
+        final Object updated = cache.get(project);
+
+        assertEquals(2, reads.get());
+        assertSame(updated, cache.get(project));
+        assertNotSame(model, updated);
+    }
+
+    @Test
+    public void parsesFileAgainAfterModificationEvent() throws Exception {
+        cache.get(project);
+        cache.onEvent(new ProjectItemModifiedEvent(UPDATED, "workspace", "project", "/project/model.xml", false));
+        cache.get(project);
+
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void invalidatesModelsUnderRenamedFolder() throws Exception {
+        cache.get(project);
+        cache.onEvent(new ProjectItemModifiedEvent(RENAMED, "workspace", "renamed", "/renamed", true, "/project"));
+        cache.get(project);
+
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void ignoresEventsAboutOtherFiles() throws Exception {
+        cache.get(project);
+        cache.onEvent(new ProjectItemModifiedEvent(UPDATED, "workspace", "project", "/project/src/Main.java", false));
+        cache.get(project);
+
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void returnsNullWhenThereIsNoFile() throws Exception {
+        when(project.getChild("model.xml")).thenReturn(null);
+
+        assertNull(cache.get(project));
+    }
+}
@@ -19,7 +19,9 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.io.ByteArrayInputStream;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
@@ -27,6 +29,8 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class HashSumsCounterTest {
@@ -45,6 +49,41 @@ public class HashSumsCounterTest {
         assertEquals(expected, hashSums);
     }
 
+    @Test
+    public void countsHashSumsInParallel() throws Exception {
+        List<VirtualFile> files = newArrayList();
+        Set<Pair<String, String>> expected = newHashSet();
+        for (int i = 0; i < 100; i++) {
+            byte[] content = ("file" + i).getBytes();
+            files.add(mockFile("/a/file" + i, content));
+            expected.add(Pair.of(countMd5Sum(content), "file" + i));
+        }
+        VirtualFile folderA = mockFolder("/a", files.toArray(new VirtualFile[files.size()]));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Set<Pair<String, String>> hashSums = newHashSet(new HashSumsCounter(folderA, Hashing.md5(), null, pool).countHashSums());
+
+            assertEquals(expected, hashSums);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void usesCachedHashSums() throws Exception {
+        VirtualFile fileAB = mockFile("/a/file", "file1".getBytes());
+        VirtualFile fileAC = mockFile("/a/file2", "file2".getBytes());
+        VirtualFile folderA = mockFolder("/a", fileAB, fileAC);
+        HashSumsCache cache = mock(HashSumsCache.class);
+        when(cache.get(fileAB)).thenReturn("cached");
+
+        Set<Pair<String, String>> hashSums = newHashSet(new HashSumsCounter(folderA, Hashing.md5(), cache, null).countHashSums());
+
+        assertEquals(newHashSet(Pair.of("cached", "file"), Pair.of(countMd5Sum("file2".getBytes()), "file2")), hashSums);
+        verify(fileAB, never()).getContent();
+        verify(cache).put(fileAC, countMd5Sum("file2".getBytes()));
+    }
+
     private String countMd5Sum(byte[] bytes) throws Exception {
         return ByteSource.wrap(bytes).hash(Hashing.md5()).toString();
     }
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PathLockFactory} with {@link MonitorPathLockFactory} under load that is typical for
+ * {@link org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem}: many threads read content of files, fewer threads update
+ * files and sometimes whole folder is locked, e.g. when it is moved or removed. The same timeout of lock is used as in
+ * virtual file system.
+ * <p>
+ * Benchmark isn't run with unit tests, to run it build test classes and start JMH runner with test classpath of module:
+ * <pre>
+ *     java -cp &lt;test classpath&gt; org.openjdk.jmh.Main PathLockFactoryBenchmark
+ * </pre>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PathLockFactoryBenchmark {
+    private static final int  MAX_THREADS  = 1024;
+    private static final long LOCK_TIMEOUT = 30000;
+
+    @Param({"hierarchical", "monitor"})
+    public String implementation;
+
+    /** Amount of work done while lock is held, in units of {@link Blackhole#consumeCPU(long)}. */
+    @Param({"100"})
+    public long work;
+
+    private Locks  locks;
+    private Path[] files;
+    private Path[] folders;
+
+    @Setup
+    public void setUp() {
+        if ("hierarchical".equals(implementation)) {
+            final PathLockFactory factory = new PathLockFactory(MAX_THREADS);
+            locks = (path, exclusive) -> factory.getLock(path, exclusive).acquire(LOCK_TIMEOUT)::release;
+        } else {
+            final MonitorPathLockFactory factory = new MonitorPathLockFactory(MAX_THREADS);
+            locks = (path, exclusive) -> factory.getLock(path, exclusive).acquire(LOCK_TIMEOUT)::release;
+        }
+
+        final List<Path> files = new ArrayList<>();
+        final List<Path> folders = new ArrayList<>();
+        for (int project = 0; project < 4; project++) {
+            for (int pkg = 0; pkg < 16; pkg++) {
+                final Path folder = Path.of(String.format("/project-%d/src/main/java/org/example/pkg%d", project, pkg));
+                folders.add(folder);
+                for (int file = 0; file < 16; file++) {
+                    files.add(folder.newPath(String.format("Class%d.java", file)));
+                }
+            }
+        }
+        this.files = files.toArray(new Path[files.size()]);
+        this.folders = folders.toArray(new Path[folders.size()]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public void readFile() {
+        locked(randomOf(files), false);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void updateFile() {
+        locked(randomOf(files), true);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void moveFolder() {
+        locked(randomOf(folders), true);
+    }
+
+    private void locked(Path path, boolean exclusive) {
+        final Runnable release = locks.acquire(path, exclusive);
+        try {
+            Blackhole.consumeCPU(work);
+        } finally {
+            release.run();
+        }
+    }
+
+    private static Path randomOf(Path[] paths) {
+        return paths[ThreadLocalRandom.current().nextInt(paths.length)];
+    }
+
+    /** Common view of compared implementations. */
+    private interface Locks {
+        /** Acquires lock and returns action that releases it. */
+        Runnable acquire(Path path, boolean exclusive);
+    }
+}
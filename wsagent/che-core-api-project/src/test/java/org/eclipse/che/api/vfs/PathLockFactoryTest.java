@@ -236,4 +236,38 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testDescendantLockBlocksExclusiveAncestorLock() throws Exception {
+        final Path ancestor = path.getParent().getParent();
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false).acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            pathLockFactory.getLock(ancestor, true).acquire(100);
+            fail();
+        } catch (RuntimeException e) {
+            // OK
+        }
+        // shared lock of ancestor is compatible with shared lock of descendant
+        pathLockFactory.getLock(ancestor, false).acquire(100).release();
+
+        finisher.countDown();
+        t.join();
+        pathLockFactory.getLock(ancestor, true).acquire(100).release();
+        pathLockFactory.checkClean();
+    }
 }
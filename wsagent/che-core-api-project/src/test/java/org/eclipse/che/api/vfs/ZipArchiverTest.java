@@ -11,6 +11,7 @@
 package org.eclipse.che.api.vfs;
 
 import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -34,13 +35,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.stream.Collectors.toMap;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
@@ -54,8 +60,9 @@ public class ZipArchiverTest {
     private static final String TEST_CONTENT       = "___TEST___";
     private static final byte[] TEST_CONTENT_BYTES = TEST_CONTENT.getBytes();
 
-    private File        testDirectory;
-    private VirtualFile vfsRoot;
+    private File            testDirectory;
+    private VirtualFile     vfsRoot;
+    private ExecutorService deflateExecutor;
 
     @Before
     public void setUp() throws Exception {
@@ -72,10 +79,12 @@ public class ZipArchiverTest {
         when(searcherProvider.getSearcher(eq(virtualFileSystem), eq(true))).thenReturn(searcher);
         when(searcherProvider.getSearcher(eq(virtualFileSystem))).thenReturn(searcher);
         vfsRoot = virtualFileSystem.getRoot();
+        deflateExecutor = Executors.newFixedThreadPool(4);
     }
 
     @After
     public void tearDown() throws Exception {
+        deflateExecutor.shutdownNow();
         IoUtil.deleteRecursive(testDirectory);
         FileCleaner.stop();
     }
@@ -105,6 +114,65 @@ public class ZipArchiverTest {
         assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
     }
 
+    @Test
+    public void compressesFolderToArchiveInParallel() throws Exception {
+        VirtualFile folder = createFileTreeForArchiving();
+        ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+        Map<String, String> entries = getFileTreeAsList(folder).stream()
+                                                               .collect(toMap(f -> getZipEntryName(folder, f),
+                                                                              this::readContentUnchecked));
+
+        new ZipArchiver(folder, deflateExecutor).compress(compressedFolder);
+        assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
+    }
+
+    @Test
+    public void keepsOrderOfEntriesWhenCompressesInParallel() throws Exception {
+        VirtualFile folder = vfsRoot.createFolder("arc");
+        for (int i = 0; i < ZipArchiver.MAX_PENDING_ENTRIES * 2; i++) {
+            folder.createFile(String.format("file%03d.txt", i), TEST_CONTENT + i);
+        }
+        byte[] bigContent = new byte[(int)ZipArchiver.MAX_PARALLEL_DEFLATE_SIZE * 2];
+        new Random().nextBytes(bigContent);
+        folder.createFolder("big").createFile("big.bin", bigContent);
+        ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+
+        new ZipArchiver(folder).compress(sequential);
+        new ZipArchiver(folder, deflateExecutor).compress(parallel);
+
+        assertEquals(readEntryNames(new ByteArrayInputStream(sequential.toByteArray())),
+                     readEntryNames(new ByteArrayInputStream(parallel.toByteArray())));
+        File archive = new File(testDirectory, "parallel.zip");
+        Files.write(parallel.toByteArray(), archive);
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            assertEquals(ZipArchiver.MAX_PENDING_ENTRIES * 2 + 2, zipFile.size());
+            try (InputStream content = zipFile.getInputStream(zipFile.getEntry("big/big.bin"))) {
+                assertArrayEquals(bigContent, ByteStreams.toByteArray(content));
+            }
+            try (InputStream content = zipFile.getInputStream(zipFile.getEntry("file007.txt"))) {
+                assertEquals(TEST_CONTENT + 7, new String(ByteStreams.toByteArray(content)));
+            }
+        }
+    }
+
+    @Test
+    public void keepsModificationTimeOfFoldersWhenCompressesInParallel() throws Exception {
+        VirtualFile folder = vfsRoot.createFolder("arc");
+        VirtualFile subFolder = folder.createFolder("sub");
+        subFolder.createFile("file.txt", TEST_CONTENT);
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+
+        new ZipArchiver(folder, deflateExecutor).compress(parallel);
+
+        File archive = new File(testDirectory, "parallel.zip");
+        Files.write(parallel.toByteArray(), archive);
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            // zip keeps time with two seconds precision
+            assertEquals(subFolder.getLastModificationDate() / 2000, zipFile.getEntry("sub/").getTime() / 2000);
+        }
+    }
+
     @Test
     public void extractsArchiveToFolder() throws Exception {
         byte[] archive = createTestZipArchive();
@@ -185,6 +253,17 @@ public class ZipArchiverTest {
         }
     }
 
+    private List<String> readEntryNames(InputStream archive) throws Exception {
+        List<String> names = newArrayList();
+        try (ZipInputStream zipIn = new ZipInputStream(archive)) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zipIn.getNextEntry()) != null) {
+                names.add(zipEntry.getName());
+            }
+        }
+        return names;
+    }
+
     private Map<String, String> readArchiveEntries(InputStream archive) throws Exception {
         Map<String, String> entries = newHashMap();
         try (ZipInputStream zip = new ZipInputStream(archive)) {
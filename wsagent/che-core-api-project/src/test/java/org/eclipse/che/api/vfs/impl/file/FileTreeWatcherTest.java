@@ -23,6 +23,7 @@ import java.nio.file.PathMatcher;
 import java.util.List;
 import java.util.Set;
 
+import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static com.google.common.collect.Sets.newHashSet;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
@@ -33,6 +34,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -351,6 +353,25 @@ public class FileTreeWatcherTest {
         verify(notificationHandler, timeout(10000)).errorOccurred(eq(testDirectory), eq(error));
     }
 
+    @Test
+    public void notifiesNotificationListenerFromOwnThread() throws Exception {
+        Set<String> threads = newConcurrentHashSet();
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        doAnswer(invocation -> threads.add(Thread.currentThread().getName()))
+                .when(notificationHandler).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
+
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.startup();
+
+        Thread.sleep(500);
+        fileWatcherTestTree.createFile("");
+        Thread.sleep(5000);
+
+        verify(notificationHandler, timeout(10000)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
+        assertEquals(1, threads.size());
+        assertTrue(threads.iterator().next().startsWith("FileTreeWatcher-"));
+    }
+
     private FileWatcherNotificationHandler aNotificationHandler() {
         return mock(FileWatcherNotificationHandler.class);
     }
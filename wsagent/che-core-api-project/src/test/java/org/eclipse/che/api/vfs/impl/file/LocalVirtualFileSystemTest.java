@@ -13,6 +13,7 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -20,8 +21,20 @@ import org.eclipse.che.commons.lang.NameGenerator;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
 
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
@@ -30,6 +43,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class LocalVirtualFileSystemTest {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalVirtualFileSystemTest.class);
+
     private LocalVirtualFileSystem                          fileSystem;
     private Searcher                                        searcher;
     private AbstractVirtualFileSystemProvider.CloseCallback closeCallback;
@@ -64,4 +79,59 @@ public class LocalVirtualFileSystemTest {
         fileSystem.close();
         verify(searcher).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void listsChildrenConcurrently() throws Exception {
+        final int callers = 32;
+        final int listingsPerCaller = 200;
+        final int files = 100;
+        testDirectory.mkdirs();
+        VirtualFile folder = fileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < files; i++) {
+            folder.createFile(String.format("file%03d", i), "");
+        }
+        VirtualFile mutableFolder = fileSystem.getRoot().createFolder("mutable");
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers + 1);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> listings = new ArrayList<>(callers);
+            for (int i = 0; i < callers; i++) {
+                listings.add(executor.submit(listChildren(folder, listingsPerCaller, startSignal)));
+            }
+            // concurrent modifications of other folder must not affect listing
+            Future<?> writer = executor.submit(() -> {
+                startSignal.await();
+                for (int i = 0; i < files; i++) {
+                    mutableFolder.createFile(String.format("file%03d", i), "");
+                }
+                return null;
+            });
+
+            final long start = System.nanoTime();
+            startSignal.countDown();
+            for (Future<Integer> listing : listings) {
+                assertEquals(files * listingsPerCaller, (int)listing.get(1, TimeUnit.MINUTES));
+            }
+            final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            writer.get(1, TimeUnit.MINUTES);
+            LOG.info("{} concurrent callers listed folder {} times in {} ms", callers, callers * listingsPerCaller, elapsed);
+            assertEquals(files, mutableFolder.getChildren().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Integer> listChildren(VirtualFile folder, int times, CountDownLatch startSignal) {
+        return () -> {
+            startSignal.await();
+            int listed = 0;
+            for (int i = 0; i < times; i++) {
+                List<VirtualFile> children = folder.getChildren();
+                assertEquals("file000", children.get(0).getName());
+                listed += children.size();
+            }
+            return listed;
+        };
+    }
+}
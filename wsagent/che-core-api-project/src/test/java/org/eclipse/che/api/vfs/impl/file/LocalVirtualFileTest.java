@@ -14,6 +14,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
 import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -42,6 +43,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -49,11 +51,13 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
 import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -305,6 +309,25 @@ public class LocalVirtualFileTest {
         assertEquals(expected, newHashSet(folder.countMd5Sums()));
     }
 
+    @Test
+    public void reusesCachedMd5SumsOfUnchangedFiles() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        VirtualFile file = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        String md5Sum = countMd5Sum(file);
+        String fileName = file.getName();
+        assertEquals(newArrayList(Pair.of(md5Sum, fileName)), folder.countMd5Sums());
+
+        // content is changed but length and modification date are not, so cached md5 sum is used
+        File ioFile = file.toIoFile();
+        long lastModified = ioFile.lastModified();
+        Files.write(new StringBuilder(DEFAULT_CONTENT).reverse().toString().getBytes(), ioFile);
+        assertTrue(ioFile.setLastModified(lastModified));
+        assertEquals(newArrayList(Pair.of(md5Sum, fileName)), folder.countMd5Sums());
+
+        assertTrue(ioFile.setLastModified(lastModified - 10000));
+        assertEquals(newArrayList(Pair.of(countMd5Sum(file), fileName)), folder.countMd5Sums());
+    }
+
     @Test
     public void returnsEmptyListWhenCountMd5SumsOnFile() throws Exception {
         VirtualFile root = getRoot();
@@ -399,6 +422,55 @@ public class LocalVirtualFileTest {
         assertEquals(DEFAULT_CONTENT, new String(bytes));
     }
 
+    @Test
+    public void readsContentOfBigFileDirectlyInSnapshotMode() throws Exception {
+        LocalVirtualFileSystem snapshotFileSystem = newSnapshotFileSystem();
+        byte[] bigContent = new byte[LocalVirtualFileSystem.MAX_BUFFER_SIZE * 2];
+        new Random().nextBytes(bigContent);
+        VirtualFile file = snapshotFileSystem.getRoot().createFile(generateFileName(), bigContent);
+
+        byte[] bytes;
+        try (InputStream content = file.getContent()) {
+            assertTrue(content instanceof FileInputStream);
+            bytes = ByteStreams.toByteArray(content);
+        }
+
+        assertArrayEquals(bigContent, bytes);
+        snapshotFileSystem.getPathLockFactory().checkClean();
+    }
+
+    @Test
+    public void keepsOpenedContentWhenFileUpdatedInSnapshotMode() throws Exception {
+        LocalVirtualFileSystem snapshotFileSystem = newSnapshotFileSystem();
+        VirtualFile file = snapshotFileSystem.getRoot().createFile(generateFileName(), DEFAULT_CONTENT);
+
+        try (InputStream content = file.getContent()) {
+            file.updateContent("updated content");
+
+            assertEquals(DEFAULT_CONTENT, new String(ByteStreams.toByteArray(content)));
+        }
+        assertionHelper.assertThatIoFileHasContent(file.getPath(), "updated content".getBytes());
+        assertEquals("updated content", file.getContentAsString());
+        assertEquals(newArrayList(file), snapshotFileSystem.getRoot().getChildren());
+        snapshotFileSystem.getPathLockFactory().checkClean();
+    }
+
+    @Test
+    public void updatesContentOfLinkedFileAndKeepsLinkInSnapshotMode() throws Exception {
+        LocalVirtualFileSystem snapshotFileSystem = newSnapshotFileSystem();
+        VirtualFile file = snapshotFileSystem.getRoot().createFile(generateFileName(), DEFAULT_CONTENT);
+        String linkName = generateFileName();
+        java.nio.file.Path link = new File(testDirectory, linkName).toPath();
+        java.nio.file.Files.createSymbolicLink(link, java.nio.file.Paths.get(file.getName()));
+
+        snapshotFileSystem.getRoot().getChild(Path.of(linkName)).updateContent("updated content");
+
+        assertTrue(java.nio.file.Files.isSymbolicLink(link));
+        assertionHelper.assertThatIoFileHasContent(file.getPath(), "updated content".getBytes());
+        assertEquals("updated content", file.getContentAsString());
+        snapshotFileSystem.getPathLockFactory().checkClean();
+    }
+
     @Test
     public void getsContentAsBytes() throws Exception {
         VirtualFile root = getRoot();
@@ -1768,6 +1840,18 @@ public class LocalVirtualFileTest {
         verify(searcher).add(folder);
     }
 
+    private LocalVirtualFileSystem newSnapshotFileSystem() throws Exception {
+        SearcherProvider searcherProvider = mock(SearcherProvider.class);
+        LocalVirtualFileSystem snapshotFileSystem = new LocalVirtualFileSystem(testDirectory,
+                                                                               archiverFactory,
+                                                                               searcherProvider,
+                                                                               mock(AbstractVirtualFileSystemProvider.CloseCallback.class),
+                                                                               ContentAccessMode.SNAPSHOT);
+        when(searcherProvider.getSearcher(eq(snapshotFileSystem), eq(true))).thenReturn(searcher);
+        when(searcherProvider.getSearcher(eq(snapshotFileSystem))).thenReturn(searcher);
+        return snapshotFileSystem;
+    }
+
     private VirtualFile getRoot() {
         return fileSystem.getRoot();
     }
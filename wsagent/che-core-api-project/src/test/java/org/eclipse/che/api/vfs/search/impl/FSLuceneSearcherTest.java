@@ -35,6 +35,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -336,6 +337,64 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void reconcilesPersistentIndexWithVirtualFileSystemOnInit() throws Exception {
+        File persistentIndexDirectory = new File(indexDirectory, "persistent");
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("unchanged.txt", TEST_CONTENT[0]);
+        VirtualFile updated = folder.createFile("updated.txt", TEST_CONTENT[1]);
+        VirtualFile deleted = folder.createFile("deleted.txt", TEST_CONTENT[2]);
+        FSLuceneSearcher persistentSearcher =
+                new FSLuceneSearcher(persistentIndexDirectory, filter, closeCallback, LuceneIndexMode.WORDS, true);
+        persistentSearcher.init(virtualFileSystem);
+        persistentSearcher.close();
+        assertTrue(persistentIndexDirectory.exists());
+
+        updated.updateContent(TEST_CONTENT[3]);
+        deleted.delete();
+        folder.createFile("created.txt", TEST_CONTENT[1]);
+        VirtualFileFilter reconcileFilter = mock(VirtualFileFilter.class);
+        persistentSearcher = new FSLuceneSearcher(persistentIndexDirectory, reconcileFilter, closeCallback, LuceneIndexMode.WORDS, true);
+        try {
+            persistentSearcher.init(virtualFileSystem);
+
+            verify(reconcileFilter, never()).accept(withName("unchanged.txt"));
+            verify(reconcileFilter).accept(withName("updated.txt"));
+            verify(reconcileFilter).accept(withName("created.txt"));
+            assertEquals(newArrayList("/folder/unchanged.txt"),
+                         persistentSearcher.search(new QueryExpression().setText("spaceflight")).getFilePaths());
+            assertEquals(newArrayList("/folder/updated.txt"),
+                         persistentSearcher.search(new QueryExpression().setText("nasa")).getFilePaths());
+            assertEquals(newArrayList("/folder/created.txt"),
+                         persistentSearcher.search(new QueryExpression().setText("think")).getFilePaths());
+            assertTrue(persistentSearcher.search(new QueryExpression().setText("be")).getFilePaths().isEmpty());
+        } finally {
+            persistentSearcher.close();
+        }
+    }
+
+    @Test
+    public void recreatesPersistentIndexWhenIndexModeChanged() throws Exception {
+        File persistentIndexDirectory = new File(indexDirectory, "persistent");
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[0]);
+        FSLuceneSearcher persistentSearcher =
+                new FSLuceneSearcher(persistentIndexDirectory, filter, closeCallback, LuceneIndexMode.WORDS, true);
+        persistentSearcher.init(virtualFileSystem);
+        persistentSearcher.close();
+
+        persistentSearcher = new FSLuceneSearcher(persistentIndexDirectory, filter, closeCallback, LuceneIndexMode.TRIGRAM, true);
+        try {
+            persistentSearcher.init(virtualFileSystem);
+
+            assertEquals(newArrayList("/folder/xxx.txt"),
+                         persistentSearcher.search(new QueryExpression().setText("ceflig")).getFilePaths());
+        } finally {
+            persistentSearcher.close();
+        }
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.base.Strings;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingStatistics;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class IndexingPipelineTest {
+    private static final int FOLDERS          = 20;
+    private static final int FILES_PER_FOLDER = 50;
+
+    private MemoryLuceneSearcher searcher;
+    private VirtualFileSystem    virtualFileSystem;
+    private long                 contentLength;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        VirtualFileFilter filter = mock(VirtualFileFilter.class);
+        when(filter.accept(any(VirtualFile.class))).thenReturn(false);
+        searcher = new MemoryLuceneSearcher(filter, mock(AbstractLuceneSearcherProvider.CloseCallback.class));
+        // read-ahead budget is smaller than the biggest file, such file must be streamed by indexer
+        searcher.configureIndexing(4, 4 * 1024);
+        virtualFileSystem = new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
+        VirtualFile root = virtualFileSystem.getRoot();
+        for (int i = 0; i < FOLDERS; i++) {
+            VirtualFile folder = root.createFolder(String.format("folder%d/nested%d", i, i));
+            for (int j = 0; j < FILES_PER_FOLDER; j++) {
+                String content = String.format("content of file%d_%d in folder%d", j, i, i);
+                folder.createFile(String.format("file%d_%d.txt", j, i), content);
+                contentLength += content.length();
+            }
+        }
+        String bigContent = Strings.repeat("big ", 4 * 1024);
+        root.createFile("big.txt", bigContent);
+        contentLength += bigContent.length();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        searcher.close();
+    }
+
+    @Test
+    public void returnsNotStartedStatisticsBeforeInitialization() throws Exception {
+        assertEquals(searcher.getIndexingStatistics(), IndexingStatistics.NOT_STARTED);
+    }
+
+    @Test
+    public void indexesAllFilesOfVirtualFileSystemInParallel() throws Exception {
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("file7_13")).getFilePaths();
+        assertEquals(paths, newArrayList("/folder13/nested13/file7_13.txt"));
+        paths = searcher.search(new QueryExpression().setText("big")).getFilePaths();
+        assertEquals(paths, newArrayList("/big.txt"));
+        assertEquals(searcher.search(new QueryExpression().setText("content").setMaxItems(FOLDERS * FILES_PER_FOLDER))
+                             .getTotalHits(),
+                     FOLDERS * FILES_PER_FOLDER);
+    }
+
+    @Test
+    public void collectsIndexingStatistics() throws Exception {
+        searcher.init(virtualFileSystem);
+
+        IndexingStatistics statistics = searcher.getIndexingStatistics();
+        assertFalse(statistics.isRunning());
+        assertEquals(statistics.getIndexedFiles(), FOLDERS * FILES_PER_FOLDER + 1);
+        assertEquals(statistics.getSkippedFiles(), 0);
+        assertEquals(statistics.getIndexedBytes(), contentLength);
+        assertTrue(statistics.getStartTime() > 0);
+    }
+}
@@ -18,7 +18,9 @@ import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -284,6 +286,35 @@ public class MemoryLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void returnsOccurrencesOfTextWithLines() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0] + '\n' + TEST_CONTENT[1]);
+        folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        List<SearchResultEntry> results = searcher.search(new QueryExpression().setText("think sp*")
+                                                                               .setIncludeOccurrences(true)).getResults();
+
+        assertEquals(1, results.size());
+        assertEquals(newArrayList(new SearchOccurrence("spaceflight", 31, 42, 1, TEST_CONTENT[0]),
+                                  new SearchOccurrence("think", 71, 76, 2, TEST_CONTENT[1])),
+                     results.get(0).getOccurrences());
+    }
+
+    @Test
+    public void doesNotReturnOccurrencesIfTheyAreNotRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        List<SearchResultEntry> results = searcher.search(new QueryExpression().setText("think")).getResults();
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).getOccurrences().isEmpty());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
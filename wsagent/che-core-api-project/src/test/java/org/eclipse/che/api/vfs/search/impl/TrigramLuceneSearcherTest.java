@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.api.vfs.search.SearchResultEntry;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TrigramLuceneSearcherTest {
+    private static final String[] TEST_CONTENT = {
+            "public class ProjectRegistryTest extends WsAgentTestBase {",
+            "private static final Logger LOG = LoggerFactory.getLogger(ProjectRegistry.class);",
+            "To be or not to be",
+            "String version = model.getVersion();"
+    };
+
+    private MemoryLuceneSearcher searcher;
+    private VirtualFileSystem    virtualFileSystem;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        VirtualFileFilter filter = mock(VirtualFileFilter.class);
+        when(filter.accept(any(VirtualFile.class))).thenReturn(false);
+        searcher = new MemoryLuceneSearcher(filter, mock(AbstractLuceneSearcherProvider.CloseCallback.class), LuceneIndexMode.TRIGRAM);
+        virtualFileSystem = new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < TEST_CONTENT.length; i++) {
+            folder.createFile(String.format("file%d.txt", i), TEST_CONTENT[i]);
+        }
+        searcher.init(virtualFileSystem);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        searcher.close();
+    }
+
+    @Test
+    public void findsSubstringInsideOfWord() throws Exception {
+        List<String> paths = sorted(searcher.search(new QueryExpression().setText("ectRegis")).getFilePaths());
+        assertEquals(newArrayList("/folder/file0.txt", "/folder/file1.txt"), paths);
+    }
+
+    @Test
+    public void substringSearchIsCaseInsensitive() throws Exception {
+        List<String> paths = searcher.search(new QueryExpression().setText("loggerfactory.GETLOGGER")).getFilePaths();
+        assertEquals(newArrayList("/folder/file1.txt"), paths);
+    }
+
+    @Test
+    public void findsSubstringThatContainsWhitespaces() throws Exception {
+        List<String> paths = searcher.search(new QueryExpression().setText("or not to")).getFilePaths();
+        assertEquals(newArrayList("/folder/file2.txt"), paths);
+    }
+
+    @Test
+    public void verifiesCandidatesThatContainAllTrigramsOfQuery() throws Exception {
+        // all trigrams of query are present in file2.txt but not as continuous substring
+        List<String> paths = searcher.search(new QueryExpression().setText("not to be or")).getFilePaths();
+        assertTrue(paths.isEmpty());
+    }
+
+    @Test
+    public void findsShortSubstring() throws Exception {
+        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        assertEquals(newArrayList("/folder/file2.txt"), paths);
+    }
+
+    @Test
+    public void findsByRegularExpression() throws Exception {
+        List<String> paths = sorted(searcher.search(new QueryExpression().setText("get(Logger|Version)\\(").setRegex(true))
+                                            .getFilePaths());
+        assertEquals(newArrayList("/folder/file1.txt", "/folder/file3.txt"), paths);
+    }
+
+    @Test
+    public void findsByRegularExpressionWithTopLevelAlternatives() throws Exception {
+        List<String> paths = sorted(searcher.search(new QueryExpression().setText("Agent\\w+Base|not\\s+to").setRegex(true))
+                                            .getFilePaths());
+        assertEquals(newArrayList("/folder/file0.txt", "/folder/file2.txt"), paths);
+    }
+
+    @Test
+    public void findsByRegularExpressionWithEscapeSequences() throws Exception {
+        // escaped characters must not be taken as literal text of expression
+        assertEquals(searcher.search(new QueryExpression().setText("get\\x4cogger").setRegex(true)).getFilePaths(),
+                     newArrayList("/folder/file1.txt"));
+        assertEquals(searcher.search(new QueryExpression().setText("get\\x{4c}ogger").setRegex(true)).getFilePaths(),
+                     newArrayList("/folder/file1.txt"));
+        assertEquals(searcher.search(new QueryExpression().setText("Logger\\u0046actory").setRegex(true)).getFilePaths(),
+                     newArrayList("/folder/file1.txt"));
+        assertEquals(sorted(searcher.search(new QueryExpression().setText("Project\\0122egistry").setRegex(true)).getFilePaths()),
+                     newArrayList("/folder/file0.txt", "/folder/file1.txt"));
+        assertEquals(searcher.search(new QueryExpression().setText("(?<w>be) or not to \\k<w>").setRegex(true)).getFilePaths(),
+                     newArrayList("/folder/file2.txt"));
+        assertEquals(searcher.search(new QueryExpression().setText("\\Qmodel.getVersion()\\E").setRegex(true)).getFilePaths(),
+                     newArrayList("/folder/file3.txt"));
+        assertEquals(searcher.search(new QueryExpression().setText("model\\.get\\p{Lu}ersion").setRegex(true)).getFilePaths(),
+                     newArrayList("/folder/file3.txt"));
+    }
+
+    @Test
+    public void findsByLongText() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        virtualFileSystem.getRoot().createFolder("long").createFile("file.txt", content.toString());
+        searcher.add(virtualFileSystem.getRoot().getChild(Path.of("long")));
+
+        // text has more trigrams than clauses allowed in lucene query
+        List<String> paths = searcher.search(new QueryExpression().setText(content.toString())).getFilePaths();
+        assertEquals(paths, newArrayList("/long/file.txt"));
+    }
+
+    @Test
+    public void findsByRegularExpressionWithManyAlternatives() throws Exception {
+        StringBuilder regex = new StringBuilder("not\\s+to");
+        for (int i = 0; i < 2000; i++) {
+            regex.append("|absent").append(i);
+        }
+
+        List<String> paths = searcher.search(new QueryExpression().setText(regex.toString()).setRegex(true)).getFilePaths();
+        assertEquals(paths, newArrayList("/folder/file2.txt"));
+    }
+
+    @Test
+    public void combinesTextWithPathAndName() throws Exception {
+        virtualFileSystem.getRoot().createFolder("other").createFile("file2.txt", TEST_CONTENT[2]);
+        searcher.add(virtualFileSystem.getRoot().getChild(Path.of("other")));
+
+        List<String> paths = searcher.search(new QueryExpression().setText("not to").setPath("/other")).getFilePaths();
+        assertEquals(newArrayList("/other/file2.txt"), paths);
+        paths = searcher.search(new QueryExpression().setText("not to").setName("file2.txt")).getFilePaths();
+        assertEquals(2, paths.size());
+    }
+
+    @Test
+    public void retrievesSearchResultWithPages() throws Exception {
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("pages");
+        for (int i = 0; i < 30; i++) {
+            folder.createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.add(folder);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("ersion").setPath("/pages").setMaxItems(3));
+        assertEquals(firstPage.getFilePaths().size(), 3);
+        assertTrue(firstPage.getNextPageQueryExpression().isPresent());
+
+        QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+        assertEquals(nextPageQueryExpression.getSkipCount(), 3);
+        nextPageQueryExpression.setMaxItems(100);
+
+        SearchResult lastPage = searcher.search(nextPageQueryExpression);
+        assertEquals(lastPage.getFilePaths().size(), 4);
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+    }
+
+    @Test
+    public void returnsOccurrencesOfText() throws Exception {
+        virtualFileSystem.getRoot().createFolder("lines").createFile("file.txt", "first line\r\nProjectRegistry registry;\nregistry");
+        searcher.add(virtualFileSystem.getRoot().getChild(Path.of("lines")));
+
+        List<SearchResultEntry> results = searcher.search(new QueryExpression().setText("registry")
+                                                                               .setPath("/lines")
+                                                                               .setIncludeOccurrences(true))
+                                                  .getResults();
+
+        assertEquals(results.size(), 1);
+        assertEquals(results.get(0).getOccurrences(),
+                     newArrayList(new SearchOccurrence("Registry", 19, 27, 2, "ProjectRegistry registry;"),
+                                  new SearchOccurrence("registry", 28, 36, 2, "ProjectRegistry registry;"),
+                                  new SearchOccurrence("registry", 38, 46, 3, "registry")));
+    }
+
+    @Test
+    public void deletesFileFromTrigramIndex() throws Exception {
+        searcher.delete("/folder/file2.txt", true);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("or not")).getFilePaths();
+        assertTrue(paths.isEmpty());
+    }
+
+    private static List<String> sorted(List<String> paths) {
+        List<String> copy = newArrayList(paths);
+        Collections.sort(copy);
+        return copy;
+    }
+}
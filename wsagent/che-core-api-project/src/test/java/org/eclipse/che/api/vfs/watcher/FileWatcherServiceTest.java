@@ -32,9 +32,12 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.apache.commons.io.FileUtils.write;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
@@ -258,4 +261,30 @@ public class FileWatcherServiceTest {
         createDirectory(path.resolve(FILE_NAME));
         verify(handler, timeout(TIMEOUT_VALUE).never()).handle(path, ENTRY_MODIFY);
     }
+
+    @Test
+    public void shouldCoalesceCreationAndModificationOfFileInOneBatch() throws Exception {
+        service.register(rootFolder.getRoot().toPath());
+
+        File file = rootFolder.newFile(FILE_NAME);
+        write(file, "content");
+        Path path = file.toPath();
+
+        verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_CREATE);
+        verify(handler, never()).handle(path, ENTRY_MODIFY);
+    }
+
+    @Test
+    public void shouldNotifyDirectoryChangeListenerAboutChangedDirectory() throws Exception {
+        DirectoryChangeListener listener = mock(DirectoryChangeListener.class);
+        service.addDirectoryChangeListener(listener);
+        Path root = rootFolder.getRoot().toPath();
+        service.register(root);
+
+        rootFolder.newFile(FILE_NAME);
+        rootFolder.newFolder(FOLDER_NAME);
+
+        verify(listener, timeout(TIMEOUT_VALUE)).directoriesChanged(singleton(root));
+        service.removeDirectoryChangeListener(listener);
+    }
 }